@@ -0,0 +1,167 @@
+package com.sudoku.benchmarks;
+
+import com.sudoku.model.BoardFactory;
+import com.sudoku.model.Geometry;
+import com.sudoku.model.IBoard;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compares the node tree {@code Board} against the flat {@code BitmaskBoard}
+ * on the three per-cell operations the game calls on every keystroke.
+ * <p>
+ * Each invocation touches the next cell of the board, so the tree walk is
+ * measured over all positions and not only the first section. Every
+ * benchmark runs for each supported board size.
+ * </p>
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class BoardAccessBenchmark {
+
+    /** Board implementation, as understood by {@link BoardFactory#createBoard(String)}. */
+    @Param({"tree", "bitmask"})
+    public String implementation;
+
+    /** Side length of the board, as understood by {@link Geometry#of(int)}. */
+    @Param({"4", "6", "9", "12", "16", "25"})
+    public int size;
+
+    /** Board under test. */
+    private IBoard board;
+
+    /** IDs of all cells. */
+    private String[] allIds;
+
+    /** IDs of the cells that are not initial values, the only ones the player can write. */
+    private String[] editableIds;
+
+    /** Indices of the editable cells. */
+    private int[] editableCells;
+
+    /** Position of the next cell to use. */
+    private int next;
+
+    /**
+     * Creates the board and the ID tables.
+     */
+    @Setup
+    public void setUp() {
+        Geometry geometry = Geometry.of(size);
+        board = BoardFactory.createBoard(implementation, geometry);
+        List<String> all = new ArrayList<>();
+        List<String> editable = new ArrayList<>();
+        for (int cell = 0; cell < geometry.getCellCount(); cell++) {
+            String id = geometry.idOf(cell);
+            all.add(id);
+            if (!board.getNode(id).getIsInitialValue()) {
+                editable.add(id);
+            }
+        }
+        allIds = all.toArray(new String[0]);
+        editableIds = editable.toArray(new String[0]);
+        editableCells = editable.stream().mapToInt(geometry::indexOf).toArray();
+
+        // Half-filled board, so validation has something to compare against
+        for (int i = 0; i < editableIds.length; i += 2) {
+            board.setNodeValue(editableIds[i], String.valueOf(1 + i % size));
+        }
+    }
+
+    /**
+     * Writes a value into the next editable cell.
+     */
+    @Benchmark
+    public void setNodeValue() {
+        int i = next++ % editableIds.length;
+        board.setNodeValue(editableIds[i], (i & 1) == 0 ? "3" : " ");
+    }
+
+    /**
+     * Reads the value of the next cell.
+     *
+     * @return the value read
+     */
+    @Benchmark
+    public String getValueNode() {
+        return board.getValueNode(allIds[next++ % allIds.length]);
+    }
+
+    /**
+     * Writes a value into the next editable cell through the int-indexed API.
+     */
+    @Benchmark
+    public void setNodeValueByIndex() {
+        int i = next++ % editableCells.length;
+        board.setNodeValue(editableCells[i], (i & 1) == 0 ? 3 : 0);
+    }
+
+    /**
+     * Reads the digit of the next cell through the int-indexed API.
+     *
+     * @return the digit read
+     */
+    @Benchmark
+    public int getValueByIndex() {
+        return board.getValue(next++ % allIds.length);
+    }
+
+    /**
+     * Validates the next cell against its row, column and section.
+     *
+     * @return the validation result
+     */
+    @Benchmark
+    public boolean validateInput() {
+        return board.validateInput(allIds[next++ % allIds.length]);
+    }
+
+    /**
+     * Simulates a keystroke as handled by the game window: one write followed
+     * by the validation of every cell the board reports as changed.
+     *
+     * @return the number of valid cells among the changed ones
+     */
+    @Benchmark
+    public int keystroke() {
+        int i = next++ % editableIds.length;
+        board.setNodeValue(editableIds[i], (i & 1) == 0 ? "3" : " ");
+        int valid = 0;
+        int changed = board.getChangedCellCount();
+        for (int c = 0; c < changed; c++) {
+            if (board.validateInput(board.getChangedCellId(c))) valid++;
+        }
+        return valid;
+    }
+
+    /**
+     * Validates every cell, as the game window did after each keystroke.
+     *
+     * @return the number of valid cells
+     */
+    @Benchmark
+    public int validateAllCells() {
+        int valid = 0;
+        for (String id : allIds) {
+            if (board.validateInput(id)) valid++;
+        }
+        return valid;
+    }
+}
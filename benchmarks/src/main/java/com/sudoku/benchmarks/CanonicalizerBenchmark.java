@@ -0,0 +1,76 @@
+package com.sudoku.benchmarks;
+
+import com.sudoku.model.Canonicalizer;
+import com.sudoku.model.Geometry;
+import com.sudoku.model.PuzzleGenerator;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures how many puzzles per second the {@link Canonicalizer} can map to
+ * their canonical form, which bounds how fast a corpus can be deduplicated.
+ * <p>
+ * Each benchmark thread owns its canonicalizer and puzzles, as the workers of
+ * {@code BulkGenerator --dedupe} do, so the scaling over cores is measured by
+ * running with more threads, e.g. {@code -t 4}.
+ * </p>
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class CanonicalizerBenchmark {
+
+    /** Number of distinct puzzles canonicalized in turn. */
+    private static final int PUZZLES = 64;
+
+    /** Side length of the board, as understood by {@link Geometry#of(int)}. */
+    @Param({"4", "6", "9", "12"})
+    public int size;
+
+    /** Canonicalizer under test. */
+    private Canonicalizer canonicalizer;
+
+    /** Clues of the canonicalized puzzles. */
+    private int[][] givens;
+
+    /** Position of the next puzzle to canonicalize. */
+    private int next;
+
+    /**
+     * Generates the puzzles and creates the canonicalizer.
+     */
+    @Setup
+    public void setUp() {
+        Geometry geometry = Geometry.of(size);
+        PuzzleGenerator generator = new PuzzleGenerator(geometry);
+        givens = new int[PUZZLES][];
+        for (int i = 0; i < PUZZLES; i++) {
+            givens[i] = generator.generate().getGivens();
+        }
+        canonicalizer = new Canonicalizer(geometry);
+    }
+
+    /**
+     * Canonicalizes the next puzzle.
+     *
+     * @return its canonical clues
+     */
+    @Benchmark
+    public int[] canonicalize() {
+        return canonicalizer.canonicalize(givens[next++ % PUZZLES]);
+    }
+}
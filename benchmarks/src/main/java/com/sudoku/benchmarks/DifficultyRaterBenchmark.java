@@ -0,0 +1,77 @@
+package com.sudoku.benchmarks;
+
+import com.sudoku.model.DifficultyRater;
+import com.sudoku.model.DifficultyRating;
+import com.sudoku.model.Geometry;
+import com.sudoku.model.PuzzleGenerator;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures how many puzzles per second the {@link DifficultyRater} can grade
+ * for each supported board size, which bounds how fast difficulty rejection
+ * sampling can go.
+ * <p>
+ * The rated puzzles are unique-solution puzzles generated once in the setup;
+ * each invocation rates the next one.
+ * </p>
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class DifficultyRaterBenchmark {
+
+    /** Number of distinct puzzles rated in turn. */
+    private static final int PUZZLES = 32;
+
+    /** Side length of the board, as understood by {@link Geometry#of(int)}. */
+    @Param({"4", "6", "9", "12", "16", "25"})
+    public int size;
+
+    /** Rater under test. */
+    private DifficultyRater rater;
+
+    /** Clues of the rated puzzles. */
+    private int[][] givens;
+
+    /** Position of the next puzzle to rate. */
+    private int next;
+
+    /**
+     * Generates the puzzles and creates the rater.
+     */
+    @Setup
+    public void setUp() {
+        Geometry geometry = Geometry.of(size);
+        PuzzleGenerator generator = new PuzzleGenerator(geometry);
+        givens = new int[PUZZLES][];
+        for (int i = 0; i < PUZZLES; i++) {
+            givens[i] = generator.generate().getGivens();
+        }
+        rater = new DifficultyRater(geometry);
+    }
+
+    /**
+     * Rates the next puzzle.
+     *
+     * @return its rating
+     */
+    @Benchmark
+    public DifficultyRating rate() {
+        return rater.rate(givens[next++ % PUZZLES]);
+    }
+}
@@ -0,0 +1,84 @@
+package com.sudoku.benchmarks;
+
+import com.sudoku.model.DlxSolver;
+import com.sudoku.model.Geometry;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures {@link DlxSolver} on a partial grid of each supported size: solving
+ * it, and counting its solutions up to two as a uniqueness check would.
+ * <p>
+ * The partial grid keeps every other cell of a random complete grid, from a
+ * fixed seed so that all runs measure the same puzzle.
+ * </p>
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class DlxSolverBenchmark {
+
+    /** Side length of the board, as understood by {@link Geometry#of(int)}. */
+    @Param({"4", "6", "9", "12", "16", "25"})
+    public int size;
+
+    /** Solver under test. */
+    private DlxSolver solver;
+
+    /** Partial grid to solve. */
+    private int[] puzzle;
+
+    /** Copy of the puzzle handed to {@link DlxSolver#solve(int[])}, which fills it in. */
+    private int[] work;
+
+    /**
+     * Builds the solver and the partial grid.
+     */
+    @Setup
+    public void setUp() {
+        Geometry geometry = Geometry.of(size);
+        solver = new DlxSolver(geometry);
+        puzzle = new int[geometry.getCellCount()];
+        solver.fill(puzzle, new Random(42));
+        for (int cell = 1; cell < puzzle.length; cell += 2) {
+            puzzle[cell] = 0;
+        }
+        work = new int[puzzle.length];
+    }
+
+    /**
+     * Solves the partial grid.
+     *
+     * @return whether it was solved
+     */
+    @Benchmark
+    public boolean solve() {
+        System.arraycopy(puzzle, 0, work, 0, puzzle.length);
+        return solver.solve(work);
+    }
+
+    /**
+     * Counts the solutions of the partial grid, stopping at two.
+     *
+     * @return the number of solutions found
+     */
+    @Benchmark
+    public int countSolutions() {
+        return solver.countSolutions(puzzle, 2);
+    }
+}
@@ -0,0 +1,60 @@
+package com.sudoku.benchmarks;
+
+import com.sudoku.model.Geometry;
+import com.sudoku.model.SudokuGenerator;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures how long {@link SudokuGenerator} takes to fill a complete solution
+ * for each supported board size, with the DLX engine and with the original
+ * backtracking search.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class GeneratorBenchmark {
+
+    /** Side length of the board, as understood by {@link Geometry#of(int)}. */
+    @Param({"4", "6", "9", "12", "16", "25"})
+    public int size;
+
+    /** Search used to fill the grid, as named by {@link SudokuGenerator.Engine}. */
+    @Param({"DLX", "BACKTRACKING"})
+    public SudokuGenerator.Engine engine;
+
+    /** Shape of the boards to generate. */
+    private Geometry geometry;
+
+    /**
+     * Resolves the geometry of the benchmarked size.
+     */
+    @Setup
+    public void setUp() {
+        geometry = Geometry.of(size);
+    }
+
+    /**
+     * Generates one complete solution.
+     *
+     * @return the generator holding the solution
+     */
+    @Benchmark
+    public SudokuGenerator generate() {
+        return new SudokuGenerator(geometry, engine);
+    }
+}
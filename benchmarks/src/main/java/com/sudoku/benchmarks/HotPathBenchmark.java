@@ -0,0 +1,132 @@
+package com.sudoku.benchmarks;
+
+import com.sudoku.model.BoardFactory;
+import com.sudoku.model.Geometry;
+import com.sudoku.model.Helper;
+import com.sudoku.model.Hint;
+import com.sudoku.model.IBoard;
+import com.sudoku.model.Puzzle;
+import com.sudoku.model.PuzzleGenerator;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures the game's hot paths on a board filled to a given level: cell
+ * validation, the completion check run after every keystroke, and hints.
+ * <p>
+ * The board is loaded from a puzzle generated from a fixed seed, so every run
+ * measures the same clues and hint techniques, and {@code fill} percent of
+ * its empty cells are then written with their solved value, so at 100 the
+ * board is complete and the completion check has to scan every cell.
+ * Generation itself is covered by {@link PuzzleGeneratorBenchmark}.
+ * </p>
+ * <p>
+ * Results are in operations per second; run through {@link HotPathRunner}
+ * to also get the allocation rate of each path from the GC profiler.
+ * </p>
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class HotPathBenchmark {
+
+    /** Board implementation, as understood by {@link BoardFactory#createBoard(String, Puzzle)}. */
+    @Param({"tree", "bitmask"})
+    public String implementation;
+
+    /** Side length of the board, as understood by {@link Geometry#of(int)}. */
+    @Param({"6", "9", "16", "25"})
+    public int size;
+
+    /** Percentage of the empty cells written with their solved value. */
+    @Param({"0", "50", "100"})
+    public int fill;
+
+    /** Board under test. */
+    private IBoard board;
+
+    /** Hint provider of the board. */
+    private Helper helper;
+
+    /** Shape of the board. */
+    private Geometry geometry;
+
+    /** Value of each cell right after setup, restored after every hint. */
+    private int[] initial;
+
+    /** IDs of all cells. */
+    private String[] allIds;
+
+    /** Position of the next cell to validate. */
+    private int next;
+
+    /**
+     * Creates the board and fills it to the benchmarked level.
+     */
+    @Setup
+    public void setUp() {
+        geometry = Geometry.of(size);
+        Puzzle puzzle = new PuzzleGenerator(geometry, PuzzleGenerator.Mode.UNIQUE, size).generate();
+        board = BoardFactory.createBoard(implementation, puzzle);
+        helper = new Helper(board);
+        Random random = new Random(42);
+        initial = new int[geometry.getCellCount()];
+        allIds = new String[geometry.getCellCount()];
+        for (int cell = 0; cell < initial.length; cell++) {
+            allIds[cell] = geometry.idOf(cell);
+            if (!puzzle.isGiven(cell) && random.nextInt(100) < fill) {
+                board.setNodeValue(cell, puzzle.getSolution(cell));
+            }
+            initial[cell] = board.getValue(cell);
+        }
+    }
+
+    /**
+     * Validates the next cell against its row, column and section.
+     *
+     * @return the validation result
+     */
+    @Benchmark
+    public boolean validateInput() {
+        return board.validateInput(allIds[next++ % allIds.length]);
+    }
+
+    /**
+     * Checks whether the board is complete and valid, as the game does after every keystroke.
+     *
+     * @return the check result
+     */
+    @Benchmark
+    public boolean isSudokuCompleteAndValid() {
+        return board.isSudokuCompleteAndValid();
+    }
+
+    /**
+     * Applies one hint, then puts the board back to its benchmarked fill level.
+     *
+     * @return the hint applied, {@code null} on a solved board
+     */
+    @Benchmark
+    public Hint getHint() {
+        Hint hint = helper.getHint();
+        if (hint != null) {
+            board.setNodeValue(hint.getCell(), initial[hint.getCell()]);
+        }
+        return hint;
+    }
+}
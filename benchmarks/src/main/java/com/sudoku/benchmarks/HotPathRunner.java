@@ -0,0 +1,44 @@
+package com.sudoku.benchmarks;
+
+import org.openjdk.jmh.profile.GCProfiler;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+/**
+ * Runs the hot-path benchmarks with the GC profiler, so that every result
+ * comes with its allocation rate ({@code gc.alloc.rate.norm}, bytes per operation)
+ * next to its throughput.
+ * <p>
+ * Runs headless from the benchmarks jar:
+ * </p>
+ * <pre>
+ *     java -cp benchmarks/target/benchmarks.jar com.sudoku.benchmarks.HotPathRunner [regex]
+ * </pre>
+ * The optional regex replaces the default selection of {@link HotPathBenchmark}
+ * and {@link PuzzleGeneratorBenchmark}.
+ */
+public final class HotPathRunner {
+
+    /** Benchmarks run when no regex is given. */
+    private static final String DEFAULT_INCLUDE = "HotPathBenchmark|PuzzleGeneratorBenchmark";
+
+    /** Entry point only, not meant to be instantiated. */
+    private HotPathRunner() {
+    }
+
+    /**
+     * Runs the selected benchmarks with the GC profiler.
+     *
+     * @param args an optional regex selecting the benchmarks
+     * @throws RunnerException if a benchmark fails
+     */
+    public static void main(String[] args) throws RunnerException {
+        Options options = new OptionsBuilder()
+                .include(args.length > 0 ? args[0] : DEFAULT_INCLUDE)
+                .addProfiler(GCProfiler.class)
+                .build();
+        new Runner(options).run();
+    }
+}
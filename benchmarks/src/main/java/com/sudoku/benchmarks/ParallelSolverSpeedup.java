@@ -0,0 +1,151 @@
+package com.sudoku.benchmarks;
+
+import com.sudoku.model.DlxSolver;
+import com.sudoku.model.Geometry;
+import com.sudoku.model.ParallelSolver;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.ForkJoinPool;
+
+/**
+ * Reports the speedup of the {@link ParallelSolver} over the sequential
+ * {@link DlxSolver} on 1, 2, 4 and 8 worker threads, and on every available
+ * processor when there are more.
+ * <p>
+ * Three workloads are timed, each on fixed grids so that runs compare:
+ * counting the first {@value #COUNT_LIMIT} solutions of sparse 9×9 grids (an
+ * exhaustive search, whose counts are summed over the tasks), and solving sets
+ * of sparse 16×16 and 25×25 grids (where the search stops at the first
+ * solution and cancels the other tasks). The grids are random complete grids
+ * keeping a fraction of their cells. Each configuration runs once to warm up,
+ * then once timed; a parallel result that differs from the sequential one
+ * fails the run. It runs headless:
+ * </p>
+ * <pre>
+ *     java -cp benchmarks/target/benchmarks.jar com.sudoku.benchmarks.ParallelSolverSpeedup
+ * </pre>
+ * The speedup is bounded by the processors actually available: on a single
+ * core, more workers only time-share it.
+ */
+public final class ParallelSolverSpeedup {
+
+    /** Solutions counted per grid by the counting workload. */
+    private static final int COUNT_LIMIT = 200_000;
+
+    /** Entry point only, not meant to be instantiated. */
+    private ParallelSolverSpeedup() {
+    }
+
+    /**
+     * Times every workload sequentially and on each number of workers, and prints the speedups.
+     *
+     * @param args unused
+     */
+    public static void main(String[] args) {
+        int processors = Runtime.getRuntime().availableProcessors();
+        List<Integer> workers = new ArrayList<>(List.of(1, 2, 4, 8));
+        if (processors > 8) {
+            workers.add(processors);
+        }
+        System.out.printf("%d available processors%n", processors);
+        System.out.printf("%-14s %-10s %8s %10s %8s%n", "workload", "engine", "threads", "time ms", "speedup");
+        run("count 9x9", grids(Geometry.NINE, 22.0 / 81, 4), COUNT_LIMIT, workers);
+        run("solve 16x16", grids(Geometry.SIXTEEN, 0.4, 20), 0, workers);
+        run("solve 25x25", grids(Geometry.TWENTY_FIVE, 0.3, 10), 0, workers);
+    }
+
+    /**
+     * Builds sparse grids: random complete grids keeping a fraction of their cells.
+     *
+     * @param geometry the shape of the grids
+     * @param keep     the probability of keeping each cell
+     * @param count    the number of grids
+     * @return the grids, the same in every run
+     */
+    private static int[][] grids(Geometry geometry, double keep, int count) {
+        DlxSolver solver = new DlxSolver(geometry);
+        int[][] grids = new int[count][];
+        for (int i = 0; i < count; i++) {
+            int[] solution = new int[geometry.getCellCount()];
+            solver.fill(solution, new Random(i));
+            Random random = new Random(1000 + i);
+            grids[i] = new int[solution.length];
+            for (int cell = 0; cell < solution.length; cell++) {
+                if (random.nextDouble() < keep) {
+                    grids[i][cell] = solution[cell];
+                }
+            }
+        }
+        return grids;
+    }
+
+    /**
+     * Times one workload and prints its lines.
+     *
+     * @param name    the name of the workload
+     * @param grids   the grids of the workload
+     * @param limit   the number of solutions to count per grid, or 0 to solve the grids
+     * @param workers the numbers of worker threads to time
+     */
+    private static void run(String name, int[][] grids, int limit, List<Integer> workers) {
+        Geometry geometry = Geometry.of((int) Math.round(Math.sqrt(grids[0].length)));
+        DlxSolver sequential = new DlxSolver(geometry);
+        long expected = sequential(sequential, grids, limit);
+        long start = System.nanoTime();
+        sequential(sequential, grids, limit);
+        double baseline = (System.nanoTime() - start) / 1e6;
+        System.out.printf("%-14s %-10s %8d %10.1f %8.2f%n", name, "sequential", 1, baseline, 1.0);
+        for (int threads : workers) {
+            ForkJoinPool pool = new ForkJoinPool(threads);
+            try {
+                ParallelSolver parallel = new ParallelSolver(geometry, pool);
+                parallel(parallel, grids, limit);
+                start = System.nanoTime();
+                long result = parallel(parallel, grids, limit);
+                double millis = (System.nanoTime() - start) / 1e6;
+                if (result != expected) {
+                    throw new IllegalStateException(name + " on " + threads + " threads: " + result
+                            + " instead of " + expected);
+                }
+                System.out.printf("%-14s %-10s %8d %10.1f %8.2f%n", "", "parallel", threads, millis,
+                        baseline / millis);
+            } finally {
+                pool.shutdown();
+            }
+        }
+    }
+
+    /**
+     * Runs a workload on the sequential solver.
+     *
+     * @param solver the solver
+     * @param grids  the grids
+     * @param limit  the number of solutions to count per grid, or 0 to solve the grids
+     * @return the total count, or the number of grids solved
+     */
+    private static long sequential(DlxSolver solver, int[][] grids, int limit) {
+        long total = 0;
+        for (int[] grid : grids) {
+            total += limit > 0 ? solver.countSolutions(grid, limit) : solver.solve(grid.clone()) ? 1 : 0;
+        }
+        return total;
+    }
+
+    /**
+     * Runs a workload on the parallel solver.
+     *
+     * @param solver the solver
+     * @param grids  the grids
+     * @param limit  the number of solutions to count per grid, or 0 to solve the grids
+     * @return the total count, or the number of grids solved
+     */
+    private static long parallel(ParallelSolver solver, int[][] grids, int limit) {
+        long total = 0;
+        for (int[] grid : grids) {
+            total += limit > 0 ? solver.countSolutions(grid, limit) : solver.solve(grid.clone()) ? 1 : 0;
+        }
+        return total;
+    }
+}
@@ -0,0 +1,61 @@
+package com.sudoku.benchmarks;
+
+import com.sudoku.model.Geometry;
+import com.sudoku.model.Puzzle;
+import com.sudoku.model.PuzzleGenerator;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures how long {@link PuzzleGenerator} takes to produce a puzzle for each
+ * supported board size, with unique-solution clue removal and with the
+ * original clues per section.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class PuzzleGeneratorBenchmark {
+
+    /** Side length of the board, as understood by {@link Geometry#of(int)}. */
+    @Param({"4", "6", "9", "12", "16", "25"})
+    public int size;
+
+    /** How the clues are chosen, as named by {@link PuzzleGenerator.Mode}. */
+    @Param({"UNIQUE", "SECTIONS"})
+    public PuzzleGenerator.Mode mode;
+
+    /** Generator under test. */
+    private PuzzleGenerator generator;
+
+    /**
+     * Creates the generator for the benchmarked size and mode.
+     */
+    @Setup
+    public void setUp() {
+        generator = new PuzzleGenerator(Geometry.of(size), mode);
+    }
+
+    /**
+     * Generates one puzzle.
+     *
+     * @return the puzzle
+     */
+    @Benchmark
+    public Puzzle generate() {
+        return generator.generate();
+    }
+}
@@ -0,0 +1,213 @@
+package com.sudoku.benchmarks;
+
+import com.sudoku.model.Geometry;
+import com.sudoku.model.Puzzle;
+import com.sudoku.model.PuzzleGenerator;
+import com.sudoku.model.PuzzlePool;
+import com.sudoku.server.PuzzleServer;
+import com.sudoku.server.PuzzleText;
+
+import java.io.IOException;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.util.Arrays;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.IntFunction;
+
+/**
+ * Loopback load test of the {@link PuzzleServer}: starts a server on a free
+ * local port, drives each endpoint with concurrent clients and reports the
+ * requests per second with the p50, p99 and maximum latencies.
+ * <p>
+ * Each scenario is warmed up for a second, then measured for the given
+ * duration, every client sending its next request as soon as the previous one
+ * is answered. The scenarios are {@code /generate} of 9×9 puzzles (served from
+ * the pool while it keeps up, so the rate above the refill speed measures
+ * generation), {@code /solve} and {@code /validate} of a single 9×9 puzzle, and
+ * a batch {@code /solve} of {@value #BATCH} puzzles. It runs headless:
+ * </p>
+ * <pre>
+ *     java -cp benchmarks/target/benchmarks.jar com.sudoku.benchmarks.ServerLoadTest [clients] [seconds]
+ * </pre>
+ * The number of clients defaults to 8 and the duration to 5 seconds.
+ */
+public final class ServerLoadTest {
+
+    /** Number of puzzles sent in turn, and per batch request. */
+    private static final int BATCH = 100;
+
+    /** Puzzles kept ready per tier by the pool behind {@code /generate}. */
+    private static final int POOL_CAPACITY = 256;
+
+    /** Warm-up time of each scenario, in nanoseconds. */
+    private static final long WARMUP_NANOS = 1_000_000_000L;
+
+    /** Entry point only, not meant to be instantiated. */
+    private ServerLoadTest() {
+    }
+
+    /**
+     * Starts the server, runs every scenario and prints the results.
+     *
+     * @param args an optional number of clients and duration in seconds
+     * @throws IOException if the server cannot be started
+     */
+    public static void main(String[] args) throws IOException {
+        System.setProperty(PuzzleServer.NODELAY_PROPERTY, "true"); // As PuzzleServer.main, to measure the service
+        int clients = args.length > 0 ? Integer.parseInt(args[0]) : 8;
+        long seconds = args.length > 1 ? Long.parseLong(args[1]) : 5;
+
+        PuzzleGenerator generator = new PuzzleGenerator(Geometry.NINE);
+        String[] puzzles = new String[BATCH];
+        String[] moves = new String[BATCH];
+        for (int i = 0; i < BATCH; i++) {
+            Puzzle puzzle = generator.generate();
+            int[] givens = puzzle.getGivens();
+            int cell = 0;
+            while (givens[cell] != 0) {
+                cell++;
+            }
+            puzzles[i] = PuzzleText.format(givens);
+            moves[i] = puzzles[i] + "," + cell + "," + puzzle.getSolution(cell);
+        }
+        String batch = String.join("\n", puzzles);
+
+        try (PuzzlePool pool = new PuzzlePool(POOL_CAPACITY, PuzzleGenerator.Mode.UNIQUE);
+             PuzzleServer server = new PuzzleServer(
+                     new InetSocketAddress(InetAddress.getLoopbackAddress(), 0), pool)) {
+            pool.register(Geometry.NINE, null);
+            String base = "http://127.0.0.1:" + server.getPort();
+            HttpClient client = HttpClient.newBuilder().version(HttpClient.Version.HTTP_1_1).build();
+            System.out.printf("%d clients, %d s per scenario, server on %s%n", clients, seconds,
+                    server.usesVirtualThreads() ? "virtual threads" : "a cached thread pool");
+            System.out.printf("%-12s %10s %10s %10s %10s %10s %7s%n",
+                    "scenario", "requests", "req/s", "p50 us", "p99 us", "max us", "errors");
+            URI generate = URI.create(base + "/generate?size=9");
+            URI solve = URI.create(base + "/solve");
+            URI validate = URI.create(base + "/validate");
+            run("generate", client, clients, seconds, i -> HttpRequest.newBuilder(generate).build());
+            run("solve", client, clients, seconds, i -> post(solve, puzzles[i % BATCH]));
+            run("validate", client, clients, seconds, i -> post(validate, moves[i % BATCH]));
+            run("solve x" + BATCH, client, clients, seconds, i -> post(solve, batch));
+        }
+    }
+
+    /**
+     * Builds a {@code POST} request.
+     *
+     * @param uri  the endpoint
+     * @param body the text of the body
+     * @return the request
+     */
+    private static HttpRequest post(URI uri, String body) {
+        return HttpRequest.newBuilder(uri).POST(HttpRequest.BodyPublishers.ofString(body)).build();
+    }
+
+    /**
+     * Warms up then measures one scenario, and prints its line of results.
+     *
+     * @param name     the name of the scenario
+     * @param client   the HTTP client shared by the client threads
+     * @param clients  the number of concurrent clients
+     * @param seconds  the measured duration
+     * @param requests the request to send, by request number
+     */
+    private static void run(String name, HttpClient client, int clients, long seconds,
+                            IntFunction<HttpRequest> requests) {
+        drive(client, clients, WARMUP_NANOS, requests, new AtomicLong());
+        AtomicLong errors = new AtomicLong();
+        long start = System.nanoTime();
+        long[] latencies = drive(client, clients, seconds * 1_000_000_000L, requests, errors);
+        double elapsed = (System.nanoTime() - start) / 1e9;
+        Arrays.sort(latencies);
+        int n = latencies.length;
+        System.out.printf("%-12s %10d %10.0f %10.0f %10.0f %10.0f %7d%n", name, n, n / elapsed,
+                percentile(latencies, 50) / 1e3, percentile(latencies, 99) / 1e3,
+                n == 0 ? 0 : latencies[n - 1] / 1e3, errors.get());
+    }
+
+    /**
+     * Sends requests from concurrent client threads for a duration.
+     *
+     * @param client   the HTTP client
+     * @param clients  the number of client threads
+     * @param nanos    the duration, in nanoseconds
+     * @param requests the request to send, by request number
+     * @param errors   incremented for every failed or non-200 response
+     * @return the latency of every answered request, in nanoseconds
+     */
+    private static long[] drive(HttpClient client, int clients, long nanos, IntFunction<HttpRequest> requests,
+                                AtomicLong errors) {
+        long deadline = System.nanoTime() + nanos;
+        long[][] perClient = new long[clients][];
+        int[] counts = new int[clients];
+        Thread[] threads = new Thread[clients];
+        for (int t = 0; t < clients; t++) {
+            int id = t;
+            threads[t] = new Thread(() -> {
+                long[] latencies = new long[1024];
+                int count = 0;
+                for (int i = id; System.nanoTime() < deadline; i += clients) {
+                    HttpRequest request = requests.apply(i);
+                    long sent = System.nanoTime();
+                    try {
+                        HttpResponse<String> response = client.send(request, HttpResponse.BodyHandlers.ofString());
+                        if (response.statusCode() != 200) {
+                            errors.incrementAndGet();
+                            continue;
+                        }
+                    } catch (IOException e) {
+                        errors.incrementAndGet();
+                        continue;
+                    } catch (InterruptedException e) {
+                        Thread.currentThread().interrupt();
+                        break;
+                    }
+                    if (count == latencies.length) {
+                        latencies = Arrays.copyOf(latencies, 2 * count);
+                    }
+                    latencies[count++] = System.nanoTime() - sent;
+                }
+                perClient[id] = latencies;
+                counts[id] = count;
+            }, "load-client-" + t);
+            threads[t].start();
+        }
+        int total = 0;
+        for (int t = 0; t < clients; t++) {
+            try {
+                threads[t].join();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new IllegalStateException("Interrupted while waiting for the clients", e);
+            }
+            total += counts[t];
+        }
+        long[] all = new long[total];
+        int at = 0;
+        for (int t = 0; t < clients; t++) {
+            System.arraycopy(perClient[t], 0, all, at, counts[t]);
+            at += counts[t];
+        }
+        return all;
+    }
+
+    /**
+     * Returns a percentile of sorted values, by the nearest-rank method.
+     *
+     * @param sorted  the values, in ascending order
+     * @param percent the percentile, from 1 to 100
+     * @return the value, or 0 if there is none
+     */
+    private static long percentile(long[] sorted, int percent) {
+        if (sorted.length == 0) {
+            return 0;
+        }
+        int rank = (int) Math.ceil(percent / 100.0 * sorted.length);
+        return sorted[Math.max(rank, 1) - 1];
+    }
+}
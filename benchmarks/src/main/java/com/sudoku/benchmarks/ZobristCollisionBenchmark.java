@@ -0,0 +1,109 @@
+package com.sudoku.benchmarks;
+
+import com.sudoku.model.BoardFactory;
+import com.sudoku.model.Geometry;
+import com.sudoku.model.IBoard;
+import com.sudoku.model.Puzzle;
+import com.sudoku.model.PuzzleGenerator;
+
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.SplittableRandom;
+
+/**
+ * Measures the collision rate of the board Zobrist hashes on positions one
+ * write apart, the worst case for an incremental hash.
+ * <p>
+ * The benchmark walks random writes from a generated puzzle, hashing each
+ * distinct position reached, and counts the pairs of distinct positions that
+ * share a hash: on the full 64 bits, where none is expected, and on the low
+ * 32 and 24 bits, where the counts are compared with the birthday bound
+ * {@code n(n-1)/2^(bits+1)} of an ideal random hash. It runs headless:
+ * </p>
+ * <pre>
+ *     java -cp benchmarks/target/benchmarks.jar com.sudoku.benchmarks.ZobristCollisionBenchmark [size] [positions]
+ * </pre>
+ * The size defaults to 9 and the number of positions to 200,000.
+ */
+public final class ZobristCollisionBenchmark {
+
+    /** Hash widths measured, in bits. */
+    private static final int[] BITS = {64, 32, 24};
+
+    /** Entry point only, not meant to be instantiated. */
+    private ZobristCollisionBenchmark() {
+    }
+
+    /**
+     * Walks the positions and prints the collision counts per hash width.
+     *
+     * @param args an optional board size and number of positions
+     */
+    public static void main(String[] args) {
+        Geometry geometry = Geometry.of(args.length > 0 ? Integer.parseInt(args[0]) : 9);
+        int positions = args.length > 1 ? Integer.parseInt(args[1]) : 200_000;
+        Puzzle puzzle = new PuzzleGenerator(geometry).generate();
+        IBoard board = BoardFactory.createBoard(puzzle);
+        SplittableRandom random = new SplittableRandom(42);
+
+        // One entry per distinct position, keyed by its full 64-bit hash
+        Map<Long, byte[]> seen = new HashMap<>(positions * 2);
+        long fullCollisions = 0;
+        long start = System.nanoTime();
+        while (seen.size() < positions) {
+            int cell = random.nextInt(geometry.getCellCount());
+            if (puzzle.isGiven(cell)) {
+                continue;
+            }
+            board.setNodeValue(cell, random.nextInt(geometry.getSize() + 1));
+            byte[] grid = snapshot(board);
+            byte[] previous = seen.putIfAbsent(board.getZobristHash(), grid);
+            if (previous != null && !Arrays.equals(previous, grid)) {
+                fullCollisions++;
+            }
+        }
+        long nanos = System.nanoTime() - start;
+
+        System.out.printf("%s, %,d distinct positions one write apart (%.0f ns per write and snapshot)%n",
+                geometry, positions, (double) nanos / positions);
+        double pairs = (double) positions * (positions - 1) / 2;
+        for (int bits : BITS) {
+            long collisions = bits == 64 ? fullCollisions : truncatedCollisions(seen, bits);
+            System.out.printf("  %2d bits: %,d colliding pairs, %.3g expected from a random hash%n",
+                    bits, collisions, pairs / Math.pow(2, bits));
+        }
+    }
+
+    /**
+     * Copies the values of a board.
+     *
+     * @param board the board
+     * @return one byte per cell
+     */
+    private static byte[] snapshot(IBoard board) {
+        byte[] grid = new byte[board.getGeometry().getCellCount()];
+        for (int cell = 0; cell < grid.length; cell++) {
+            grid[cell] = (byte) board.getValue(cell);
+        }
+        return grid;
+    }
+
+    /**
+     * Counts the pairs of distinct positions whose hashes share their low bits.
+     *
+     * @param seen the positions, keyed by full hash
+     * @param bits the number of low bits compared
+     * @return the number of colliding pairs
+     */
+    private static long truncatedCollisions(Map<Long, byte[]> seen, int bits) {
+        long mask = (1L << bits) - 1;
+        Map<Long, Integer> counts = new HashMap<>(seen.size() * 2);
+        long collisions = 0;
+        for (long hash : seen.keySet()) {
+            // Each new position collides with every earlier one in its bucket
+            collisions += counts.merge(hash & mask, 1, Integer::sum) - 1;
+        }
+        return collisions;
+    }
+}
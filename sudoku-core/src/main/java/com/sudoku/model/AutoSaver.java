@@ -0,0 +1,179 @@
+package com.sudoku.model;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * Writes {@link SavedGame} snapshots to the save file on a background thread.
+ * <p>
+ * {@link #save(SavedGame)} never blocks: it hands the snapshot to a single
+ * daemon writer thread and returns. Snapshots submitted while a write is
+ * pending replace each other, so a burst of edits costs one write of the
+ * latest state. {@link #flush()} waits for the pending writes, for use on exit.
+ * </p>
+ *
+ * Example usage:
+ * <pre>
+ *     AutoSaver saver = AutoSaver.getShared();
+ *     SavedGame previous = saver.load();           // null if there is no game to resume
+ *     saver.save(SavedGame.capture(board, log, elapsedMillis));
+ *     saver.flush();                               // before exiting
+ * </pre>
+ */
+public class AutoSaver implements AutoCloseable {
+
+    /** System property holding the path of the save file. */
+    public static final String SAVE_PROPERTY = "sudoku.save";
+
+    /** Save file used when {@value #SAVE_PROPERTY} is not set, under the user's home directory. */
+    public static final String DEFAULT_SAVE_FILE = ".sudoku/save.bin";
+
+    /** File the snapshots are written to. */
+    private final Path file;
+
+    /** Background thread writing the snapshots. */
+    private final ExecutorService writer;
+
+    /** Latest snapshot not yet written, or {@code null}. */
+    private final AtomicReference<SavedGame> pending = new AtomicReference<>();
+
+    /**
+     * Static inner class implementing the Singleton holder pattern.
+     */
+    private static class Holder {
+        /** Shared saver, writing to the file selected by {@link #getConfiguredFile()}. */
+        private static final AutoSaver INSTANCE = new AutoSaver(getConfiguredFile());
+    }
+
+    /**
+     * Returns the saver shared by the game, started on first use.
+     *
+     * @return the shared {@link AutoSaver}
+     */
+    public static AutoSaver getShared() {
+        return Holder.INSTANCE;
+    }
+
+    /**
+     * Returns the save file selected with {@code -Dsudoku.save=<path>}, by default
+     * {@value #DEFAULT_SAVE_FILE} in the user's home directory.
+     *
+     * @return the path of the save file
+     */
+    public static Path getConfiguredFile() {
+        String path = System.getProperty(SAVE_PROPERTY);
+        return path != null ? Paths.get(path) : Paths.get(System.getProperty("user.home"), DEFAULT_SAVE_FILE);
+    }
+
+    /**
+     * Creates a saver writing to the given file and starts its writer thread.
+     *
+     * @param file the save file
+     */
+    public AutoSaver(Path file) {
+        this.file = file;
+        this.writer = Executors.newSingleThreadExecutor(task -> {
+            Thread thread = new Thread(task, "autosave");
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    /**
+     * Returns the file the snapshots are written to.
+     * @return the save file
+     */
+    public Path getFile() {
+        return file;
+    }
+
+    /**
+     * Reads the saved game, if any.
+     *
+     * @return the snapshot, or {@code null} if there is no save or it cannot be read
+     */
+    public SavedGame load() {
+        if (!Files.exists(file)) {
+            return null;
+        }
+        try {
+            return SavedGame.read(file);
+        } catch (IOException | IllegalArgumentException e) {
+            System.err.println("Ignoring save file " + file + ": " + e.getMessage());
+            return null;
+        }
+    }
+
+    /**
+     * Schedules a snapshot to be written, replacing any snapshot still waiting.
+     *
+     * @param game the snapshot to write
+     */
+    public void save(SavedGame game) {
+        if (pending.getAndSet(game) == null) {
+            writer.execute(this::writePending);
+        }
+    }
+
+    /**
+     * Drops any snapshot still waiting and deletes the save file, e.g. once the game is won.
+     */
+    public void delete() {
+        pending.set(null);
+        writer.execute(() -> {
+            try {
+                Files.deleteIfExists(file);
+            } catch (IOException e) {
+                System.err.println("Could not delete save file " + file + ": " + e.getMessage());
+            }
+        });
+    }
+
+    /**
+     * Waits until every snapshot scheduled so far has been written.
+     */
+    public void flush() {
+        try {
+            writer.submit(() -> { }).get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } catch (ExecutionException e) {
+            throw new IllegalStateException(e.getCause());
+        }
+    }
+
+    /**
+     * Writes the pending snapshots, then stops the writer thread.
+     */
+    @Override
+    public void close() {
+        writer.shutdown();
+        try {
+            writer.awaitTermination(10, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    /**
+     * Writes the latest pending snapshot, if any; runs on the writer thread.
+     */
+    private void writePending() {
+        SavedGame game = pending.getAndSet(null);
+        if (game == null) {
+            return;
+        }
+        try {
+            game.write(file);
+        } catch (IOException e) {
+            System.err.println("Autosave to " + file + " failed: " + e.getMessage());
+        }
+    }
+}
@@ -0,0 +1,513 @@
+package com.sudoku.model;
+
+import java.util.Arrays;
+
+/**
+ * Flat implementation of the Sudoku board backed by primitive arrays.
+ * <p>
+ * Instead of walking the {@link Node} tree used by {@link Board}, this class
+ * stores the cells in a {@code byte[]} indexed by {@link Geometry} (row-major
+ * order, {@code row * size + col}) and keeps, for every row, column and section,
+ * the number of times each digit appears in it. From those counts it derives two
+ * bitmasks per unit:
+ * </p>
+ * <ul>
+ *   <li>an <em>occupancy</em> mask, where bit {@code d} is set if digit {@code d} is present;</li>
+ *   <li>a <em>duplicate</em> mask, where bit {@code d} is set if digit {@code d} appears more than once.</li>
+ * </ul>
+ * <p>
+ * With those masks, reading, writing and validating a cell are O(1) operations
+ * that do not allocate any object, whatever the size of the grid.
+ * </p>
+ * <p>
+ * The board also keeps a live conflict flag per cell. A write can only change
+ * the conflict state of the written cell and of its peers (cells sharing a
+ * row, column or section: 12 on the 6×6 grid), so only those are re-checked, and
+ * the ones whose state changed are reported through {@link #getChangedCellCount()}
+ * and {@link #getChangedCell(int)}. Completion is answered from the filled and
+ * conflict counters.
+ * </p>
+ */
+public class BitmaskBoard implements IBoard {
+
+    /** Shape of the board. */
+    private final Geometry geometry;
+
+    /** Number of rows, columns, sections and digits. */
+    private final int size;
+
+    /** Digit stored in each cell (0 means empty). */
+    private final byte[] cells;
+
+    /** Occurrences of each digit per row, addressed as {@code row * (size + 1) + digit}. */
+    private final byte[] rowCounts;
+
+    /** Occurrences of each digit per column, addressed as {@code col * (size + 1) + digit}. */
+    private final byte[] colCounts;
+
+    /** Occurrences of each digit per section, addressed as {@code section * (size + 1) + digit}. */
+    private final byte[] boxCounts;
+
+    /** Occupancy bitmask of each row. */
+    private final int[] rowMask;
+
+    /** Occupancy bitmask of each column. */
+    private final int[] colMask;
+
+    /** Occupancy bitmask of each section. */
+    private final int[] boxMask;
+
+    /** Digits repeated inside each row. */
+    private final int[] rowDup;
+
+    /** Digits repeated inside each column. */
+    private final int[] colDup;
+
+    /** Digits repeated inside each section. */
+    private final int[] boxDup;
+
+    /** Candidate mask of each cell: digits absent from its row, column and section (0 for a filled cell). */
+    private final int[] candidates;
+
+    /** Zobrist keys of the geometry. */
+    private final Zobrist zobrist;
+
+    /** Zobrist hash of the values on the board, updated on each write. */
+    private long hash;
+
+    /** Number of non-empty cells. */
+    private int filledCount;
+
+    /** Whether each cell currently repeats a digit of its row, column or section. */
+    private final boolean[] conflict;
+
+    /** Number of cells currently in conflict. */
+    private int conflictCount;
+
+    /** Cells affected by the last write (only the first {@link #changedCount} entries are used). */
+    private final int[] changedCells;
+
+    /** Number of valid entries in {@link #changedCells}. */
+    private int changedCount;
+
+    /** Validation calls since the last batch recorded in the {@link EngineMetrics}. */
+    private int validations;
+
+    /**
+     * One {@link Node} per cell, kept in sync with {@link #cells} so that
+     * {@link #getNode(String)} can still expose the initial-value flag.
+     */
+    private final Node[] nodes;
+
+    /** The puzzle the board was loaded from. */
+    private final Puzzle puzzle;
+
+    /** The Sudoku generator holding the solution of the puzzle. */
+    private final SudokuGenerator generator;
+
+    /**
+     * Constructs a classic 6×6 Sudoku board with a unique-solution puzzle.
+     */
+    public BitmaskBoard() {
+        this(Geometry.SIX);
+    }
+
+    /**
+     * Constructs a Sudoku board of the given shape with a newly generated
+     * unique-solution puzzle.
+     *
+     * @param geometry the shape of the board
+     */
+    public BitmaskBoard(Geometry geometry) {
+        this(new PuzzleGenerator(geometry).generate());
+    }
+
+    /**
+     * Constructs a Sudoku board from an existing puzzle.
+     * <ul>
+     * <li>Creates the empty cells.</li>
+     * <li>Writes the clues of the puzzle as initial (fixed) values.</li>
+     * </ul>
+     *
+     * @param puzzle the puzzle to load
+     */
+    public BitmaskBoard(Puzzle puzzle) {
+        this.puzzle = puzzle;
+        this.geometry = puzzle.getGeometry();
+        this.size = geometry.getSize();
+        int cellCount = geometry.getCellCount();
+        this.cells = new byte[cellCount];
+        this.rowCounts = new byte[size * (size + 1)];
+        this.colCounts = new byte[size * (size + 1)];
+        this.boxCounts = new byte[size * (size + 1)];
+        this.rowMask = new int[size];
+        this.colMask = new int[size];
+        this.boxMask = new int[size];
+        this.rowDup = new int[size];
+        this.colDup = new int[size];
+        this.boxDup = new int[size];
+        this.conflict = new boolean[cellCount];
+        this.candidates = new int[cellCount];
+        Arrays.fill(candidates, geometry.getAllDigitsMask());
+        this.zobrist = Zobrist.of(geometry);
+        this.changedCells = new int[cellCount];
+        this.nodes = new Node[cellCount];
+        for (int cell = 0; cell < cellCount; cell++) {
+            nodes[cell] = new Node(cell);
+        }
+        this.generator = new SudokuGenerator(puzzle);
+        fillInitialValues();
+    }
+
+    /**
+     * Returns the puzzle the board was loaded from.
+     * @return The {@link Puzzle} instance.
+     */
+    @Override
+    public Puzzle getPuzzle() {
+        return puzzle;
+    }
+
+    /**
+     * Returns the Sudoku generator.
+     * @return The {@link SudokuGenerator} instance.
+     */
+    @Override
+    public SudokuGenerator getGenerator() {
+        return generator;
+    }
+
+    /**
+     * Returns the shape of the board.
+     * @return The {@link Geometry} of this board.
+     */
+    @Override
+    public Geometry getGeometry() {
+        return geometry;
+    }
+
+    // ----------------------------------------------------------
+    // Initialization
+    // ----------------------------------------------------------
+
+    /**
+     * Writes the clues of the puzzle and marks them as initial (fixed) values.
+     */
+    private void fillInitialValues() {
+        for (int index = 0; index < cells.length; index++) {
+            if (puzzle.isGiven(index)) {
+                setDigit(index, puzzle.getGiven(index));
+                nodes[index].setIsInitialValue(true);
+            }
+        }
+    }
+
+    // ----------------------------------------------------------
+    // Node Value Handling
+    // ----------------------------------------------------------
+
+    /**
+     * Sets the value of a cell based on the corresponding TextField ID.
+     * This method is part of the {@link IBoard} interface.
+     *
+     * @param textFieldId the TextField ID (e.g., "P1C3")
+     * @param value the new value to assign (" " clears the cell)
+     */
+    @Override
+    public void setNodeValue(String textFieldId, String value) {
+        setDigit(geometry.indexOf(textFieldId), geometry.digitOf(value));
+    }
+
+    /**
+     * Sets the value of a cell addressed by its {@link Geometry} cell index.
+     * This method is part of the {@link IBoard} interface.
+     *
+     * @param cell  the cell index
+     * @param value the digit to assign (1–size), or 0 to clear the cell
+     * @throws IllegalArgumentException if the value is not between 0 and the grid size
+     */
+    @Override
+    public void setNodeValue(int cell, int value) {
+        if (value < 0 || value > size) {
+            throw new IllegalArgumentException("Invalid cell value: " + value);
+        }
+        setDigit(cell, value);
+    }
+
+    /**
+     * Writes a digit into a cell, updates the counts and masks of its row,
+     * column and section, and refreshes the conflict state of the cell and its peers.
+     *
+     * @param index the cell index
+     * @param digit the digit to write (0 clears the cell)
+     */
+    private void setDigit(int index, int digit) {
+        changedCount = 0;
+        int old = cells[index];
+        if (old == digit) return;
+
+        int row = geometry.rowOf(index);
+        int col = geometry.colOf(index);
+        int box = geometry.sectionOf(index);
+
+        if (old != 0) {
+            rowMask[row] = remove(rowCounts, rowDup, rowMask[row], row, old);
+            colMask[col] = remove(colCounts, colDup, colMask[col], col, old);
+            boxMask[box] = remove(boxCounts, boxDup, boxMask[box], box, old);
+            filledCount--;
+        }
+        if (digit != 0) {
+            rowMask[row] = add(rowCounts, rowDup, rowMask[row], row, digit);
+            colMask[col] = add(colCounts, colDup, colMask[col], col, digit);
+            boxMask[box] = add(boxCounts, boxDup, boxMask[box], box, digit);
+            filledCount++;
+        }
+
+        cells[index] = (byte) digit;
+        hash = zobrist.update(hash, index, old, digit);
+        nodes[index].setValor(geometry.valueString(digit));
+
+        // The written cell is always reported, since its value changed
+        refreshConflict(index);
+        refreshCandidates(index);
+        changedCells[changedCount++] = index;
+        for (int peer : geometry.peersOf(index)) {
+            refreshCandidates(peer);
+            int peerDigit = cells[peer];
+            // Only peers holding the old or the new digit can change their state
+            if (peerDigit != 0 && (peerDigit == old || peerDigit == digit) && refreshConflict(peer)) {
+                changedCells[changedCount++] = peer;
+            }
+        }
+    }
+
+    /**
+     * Registers one more occurrence of a digit in a unit.
+     *
+     * @param counts the digit counts of this kind of unit
+     * @param dup    the duplicate masks of this kind of unit
+     * @param mask   the current occupancy mask of the unit
+     * @param unit   the unit index
+     * @param digit  the digit added
+     * @return the new occupancy mask of the unit
+     */
+    private int add(byte[] counts, int[] dup, int mask, int unit, int digit) {
+        int count = ++counts[unit * (size + 1) + digit];
+        if (count > 1) dup[unit] |= 1 << digit;
+        return mask | (1 << digit);
+    }
+
+    /**
+     * Registers one less occurrence of a digit in a unit.
+     *
+     * @param counts the digit counts of this kind of unit
+     * @param dup    the duplicate masks of this kind of unit
+     * @param mask   the current occupancy mask of the unit
+     * @param unit   the unit index
+     * @param digit  the digit removed
+     * @return the new occupancy mask of the unit
+     */
+    private int remove(byte[] counts, int[] dup, int mask, int unit, int digit) {
+        int count = --counts[unit * (size + 1) + digit];
+        if (count < 2) dup[unit] &= ~(1 << digit);
+        return count == 0 ? mask & ~(1 << digit) : mask;
+    }
+
+    /**
+     * Recomputes the conflict flag of a cell from the duplicate masks of its units.
+     *
+     * @param index the cell index
+     * @return {@code true} if the conflict state of the cell changed
+     */
+    private boolean refreshConflict(int index) {
+        int digit = cells[index];
+        boolean nowInConflict = digit != 0
+                && ((rowDup[geometry.rowOf(index)] | colDup[geometry.colOf(index)]
+                | boxDup[geometry.sectionOf(index)]) & (1 << digit)) != 0;
+        if (nowInConflict == conflict[index]) return false;
+        conflict[index] = nowInConflict;
+        conflictCount += nowInConflict ? 1 : -1;
+        return true;
+    }
+
+    /**
+     * Recomputes the candidate mask of a cell from the occupancy masks of its units.
+     *
+     * @param index the cell index
+     */
+    private void refreshCandidates(int index) {
+        candidates[index] = cells[index] != 0 ? 0 : geometry.getAllDigitsMask()
+                & ~(rowMask[geometry.rowOf(index)] | colMask[geometry.colOf(index)]
+                | boxMask[geometry.sectionOf(index)]);
+    }
+
+    /**
+     * Returns how many cells were affected by the last write: the written
+     * cell plus every peer whose conflict state changed.
+     *
+     * @return the number of affected cells
+     */
+    @Override
+    public int getChangedCellCount() {
+        return changedCount;
+    }
+
+    /**
+     * Returns the TextField ID of one of the cells affected by the last write.
+     *
+     * @param index position in the change list
+     * @return the ID of the affected cell
+     */
+    @Override
+    public String getChangedCellId(int index) {
+        return geometry.idOf(getChangedCell(index));
+    }
+
+    /**
+     * Returns the cell index of one of the cells affected by the last write.
+     *
+     * @param index position in the change list
+     * @return the index of the affected cell
+     */
+    @Override
+    public int getChangedCell(int index) {
+        if (index < 0 || index >= changedCount) {
+            throw new IndexOutOfBoundsException("Changed cell index out of range: " + index);
+        }
+        return changedCells[index];
+    }
+
+    // ----------------------------------------------------------
+    // Validation
+    // ----------------------------------------------------------
+
+    /**
+     * Validates the value of a cell using its TextField ID.
+     * This method is part of the {@link IBoard} interface.
+     * The answer is the live conflict flag of the cell.
+     *
+     * @param textFieldId the TextField ID (e.g., "P1C3")
+     * @return {@code true} if the value does not violate Sudoku rules (empty cells are valid)
+     */
+    @Override
+    public boolean validateInput(String textFieldId) {
+        return validateInput(geometry.indexOf(textFieldId));
+    }
+
+    /**
+     * Validates the value of a cell addressed by its {@link Geometry} cell index.
+     * Calls are recorded in the {@link EngineMetrics} in batches, timing one call per batch.
+     *
+     * @param cell the cell index
+     * @return {@code true} if the value does not violate Sudoku rules (empty cells are valid)
+     */
+    @Override
+    public boolean validateInput(int cell) {
+        if (++validations < EngineMetrics.VALIDATION_SAMPLE_INTERVAL) {
+            return !conflict[cell];
+        }
+        validations = 0;
+        long start = System.nanoTime();
+        boolean valid = !conflict[cell];
+        EngineMetrics.VALIDATION.record(EngineMetrics.VALIDATION_SAMPLE_INTERVAL, System.nanoTime() - start);
+        return valid;
+    }
+
+    /**
+     * Checks if the Sudoku board is completely filled and all values are valid.
+     * Answered in O(1) from the filled and conflict counters.
+     *
+     * @return true if all cells are filled with valid values; false otherwise.
+     */
+    @Override
+    public boolean isSudokuCompleteAndValid() {
+        return filledCount == cells.length && conflictCount == 0;
+    }
+
+    // ----------------------------------------------------------
+    // Node Access
+    // ----------------------------------------------------------
+
+    /**
+     * Returns the string value of a cell by its TextField ID.
+     * This method is part of the {@link IBoard} interface.
+     *
+     * @param textFieldId the TextField ID (e.g., "P1C3")
+     * @return the value stored in that cell, or " " if it is empty
+     */
+    @Override
+    public String getValueNode(String textFieldId) {
+        return geometry.valueString(cells[geometry.indexOf(textFieldId)]);
+    }
+
+    /**
+     * Returns the digit stored in a cell addressed by its {@link Geometry} cell index.
+     *
+     * @param cell the cell index
+     * @return the digit, or 0 if the cell is empty
+     */
+    @Override
+    public int getValue(int cell) {
+        return cells[cell];
+    }
+
+    /**
+     * Returns the {@link Node} view of a cell.
+     * This method is part of the {@link IBoard} interface.
+     * The node mirrors the cell value; changes must go through {@link #setNodeValue(String, String)}.
+     *
+     * @param textFieldId the TextField ID (e.g., "P1C2")
+     * @return the corresponding {@link Node}
+     */
+    @Override
+    public Node getNode(String textFieldId) {
+        return nodes[geometry.indexOf(textFieldId)];
+    }
+
+    /**
+     * Returns the Zobrist hash of the values on the board.
+     * This method is part of the {@link IBoard} interface.
+     *
+     * @return the 64-bit hash of the position
+     */
+    @Override
+    public long getZobristHash() {
+        return hash;
+    }
+
+    /**
+     * Returns the candidates of a cell using its TextField ID.
+     * This method is part of the {@link IBoard} interface.
+     *
+     * @param textFieldId the TextField ID (e.g., "P1C3")
+     * @return the mask of the digits still possible in the cell, 0 if it is filled
+     */
+    @Override
+    public int getCandidates(String textFieldId) {
+        return candidates[geometry.indexOf(textFieldId)];
+    }
+
+    /**
+     * Returns the candidates of a cell addressed by its {@link Geometry} cell index.
+     * They are refreshed with the conflict state on every write.
+     * This method is part of the {@link IBoard} interface.
+     *
+     * @param cell the cell index
+     * @return the mask of the digits still possible in the cell, 0 if it is filled
+     */
+    @Override
+    public int getCandidates(int cell) {
+        return candidates[cell];
+    }
+
+    /**
+     * Returns the {@link Node} view of a cell addressed by its {@link Geometry} cell index.
+     *
+     * @param cell the cell index
+     * @return the corresponding {@link Node}
+     */
+    @Override
+    public Node getNode(int cell) {
+        return nodes[cell];
+    }
+}
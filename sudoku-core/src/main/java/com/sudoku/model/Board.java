@@ -0,0 +1,475 @@
+package com.sudoku.model;
+
+import java.util.*;
+
+/**
+ * Represents the logical structure of a Sudoku board.
+ * <p>
+ * This class builds the Sudoku board as a tree-like structure:
+ * the root node contains one section node per block,
+ * and each section node contains its cell nodes.
+ * The shape of the board (6×6 by default) is given by a {@link Geometry}.
+ * </p>
+ *
+ * <p>Example structure (6×6):</p>
+ * <pre>
+ * Root (0)
+ * ├── Section 1 (1)
+ * │   ├── Cell P1C1 (index 0)
+ * │   ├── Cell P1C2 (index 1)
+ * │   └── ...
+ * ├── Section 2 (2)
+ * │   ├── Cell P2C1 (index 3)
+ * │   └── ...
+ * </pre>
+ *
+ * <p>
+ * The board is loaded from a {@link Puzzle}, whose clues become the initial
+ * values. Unless a puzzle is given, a unique-solution one is generated with
+ * {@link PuzzleGenerator}.
+ * </p>
+ */
+public class Board implements IBoard {
+
+    /** Shape of the board. */
+    private final Geometry geometry;
+
+    /** Root node representing the entire Sudoku board. */
+    private Node root;
+
+    /** The puzzle the board was loaded from. */
+    private final Puzzle puzzle;
+
+    /** The Sudoku generator holding the solution of the puzzle. */
+    private final SudokuGenerator generator;
+
+    /** Cell nodes indexed by their {@link Geometry} cell index, so int-addressed access skips the tree walk. */
+    private final Node[] cellNodes;
+
+    /** Candidate digits of every cell, updated on each write. */
+    private final CandidateGrid candidates;
+
+    /** Zobrist keys of the geometry. */
+    private final Zobrist zobrist;
+
+    /** Zobrist hash of the values on the board, updated on each write. */
+    private long hash;
+
+    /** Validation calls since the last batch recorded in the {@link EngineMetrics}. */
+    private int validations;
+
+    /**
+     * Returns the Sudoku generator.
+     * @return The {@link SudokuGenerator} instance.
+     */
+    @Override
+    public SudokuGenerator getGenerator() {return this.generator;}
+
+    /**
+     * Returns the shape of the board.
+     * @return The {@link Geometry} of this board.
+     */
+    @Override
+    public Geometry getGeometry() {return this.geometry;}
+
+    /**
+     * Returns the puzzle the board was loaded from.
+     * @return The {@link Puzzle} instance.
+     */
+    @Override
+    public Puzzle getPuzzle() {return this.puzzle;}
+
+    /**
+     * Returns the cell nodes of a section, in the order of their TextField IDs
+     * ({@code P#C1}, {@code P#C2}, ...). The list is a read-only view of the tree.
+     *
+     * @param section the section index (0-based)
+     * @return the cell {@link Node}s of the section
+     */
+    public List<Node> getSectionNodes(int section) {
+        return Collections.unmodifiableList(root.getChildren().get(section).getChildren());
+    }
+
+    /**
+     * Constructs a classic 6×6 Sudoku board with a unique-solution puzzle.
+     */
+    public Board() {
+        this(Geometry.SIX);
+    }
+
+    /**
+     * Constructs a Sudoku board of the given shape with a newly generated
+     * unique-solution puzzle.
+     *
+     * @param geometry the shape of the board
+     */
+    public Board(Geometry geometry) {
+        this(new PuzzleGenerator(geometry).generate());
+    }
+
+    /**
+     * Constructs a Sudoku board from an existing puzzle.
+     * <ul>
+     * <li>Creates an empty hierarchical structure (sections and cells).</li>
+     * <li>Writes the clues of the puzzle as initial values.</li>
+     * </ul>
+     *
+     * @param puzzle the puzzle to load
+     */
+    public Board(Puzzle puzzle) {
+        this.puzzle = puzzle;
+        this.geometry = puzzle.getGeometry();
+        this.generator = new SudokuGenerator(puzzle);
+        this.cellNodes = new Node[geometry.getCellCount()];
+        this.candidates = new CandidateGrid(geometry);
+        this.zobrist = Zobrist.of(geometry);
+        root = new Node(0);
+        root.setValor(""); // Set initial value for the root (not used in actual game logic)
+        initializeStructure();
+        fillInitialValues();
+    }
+
+    // ----------------------------------------------------------
+    // Initialization
+    // ----------------------------------------------------------
+
+    /**
+     * Builds the logical structure of the Sudoku board:
+     * one section node per block, each containing its empty cell nodes.
+     */
+    private void initializeStructure() {
+        // Clear existing children to ensure a fresh structure
+        root.getChildren().clear();
+
+        for (int section = 0; section < geometry.getSize(); section++) {
+            Node sectionNode = new Node(section + 1);
+            root.addCHildren(sectionNode); // Add section to root
+
+            for (int cell : geometry.sectionCells(section)) {
+                // The cell node is identified by its index on the board
+                Node cellNode = new Node(cell);
+                sectionNode.addCHildren(cellNode); // Add cell to its section
+                cellNodes[cell] = cellNode;
+            }
+        }
+    }
+
+    /**
+     * Fills the board with the clues of the puzzle.
+     * <ul>
+     * <li>Walks every section of the tree.</li>
+     * <li>Writes the clue of each cell the puzzle shows.</li>
+     * <li>Marks those cells as initial (fixed) values that cannot be changed by the user.</li>
+     * </ul>
+     */
+    private void fillInitialValues() {
+        for (Node section : root.getChildren()) {
+            for (Node child : section.getChildren()) {
+                if (puzzle.isGiven(child.getId())) {
+                    // Set the initial value on the board
+                    setNodeValue(child.getId(), puzzle.getGiven(child.getId()));
+                    // Mark this cell as an initial clue
+                    child.setIsInitialValue(true);
+                }
+            }
+        }
+    }
+
+    // ----------------------------------------------------------
+    // Node Value Handling
+    // ----------------------------------------------------------
+
+    /**
+     * Sets the value of a cell node based on the corresponding TextField ID.
+     * This method is part of the {@link IBoard} interface.
+     *
+     * @param idTextfield the TextField ID (e.g., "P1C3")
+     * @param value the new value to assign
+     */
+    @Override
+    public void setNodeValue(String idTextfield, String value) {
+        int cell = geometry.indexOf(idTextfield);
+        int digit = geometry.digitOf(value);
+        hash = zobrist.update(hash, cell, getValue(cell), digit);
+        cellNodes[cell].setValor(value);
+        candidates.set(cell, digit);
+    }
+
+    /**
+     * Sets the value of a cell addressed by its {@link Geometry} cell index.
+     * This method is part of the {@link IBoard} interface.
+     *
+     * @param cell  the cell index
+     * @param value the digit to assign, or 0 to clear the cell
+     */
+    @Override
+    public void setNodeValue(int cell, int value) {
+        hash = zobrist.update(hash, cell, getValue(cell), value);
+        cellNodes[cell].setValor(geometry.valueString(value));
+        candidates.set(cell, value);
+    }
+
+    /**
+     * The tree does not track conflicts incrementally, so every write is
+     * reported as affecting all cells.
+     *
+     * @return the number of cells of the board
+     */
+    @Override
+    public int getChangedCellCount() {
+        return geometry.getCellCount();
+    }
+
+    /**
+     * Returns the TextField ID of the cell at the given position.
+     *
+     * @param index position in the change list
+     * @return the ID of the cell
+     */
+    @Override
+    public String getChangedCellId(int index) {
+        return geometry.idOf(index);
+    }
+
+    /**
+     * Returns the cell index at the given position; every cell is reported.
+     *
+     * @param index position in the change list
+     * @return the same index
+     */
+    @Override
+    public int getChangedCell(int index) {
+        return index;
+    }
+
+    // ----------------------------------------------------------
+    // Validation
+    // ----------------------------------------------------------
+
+    /**
+     * Validates the value of a cell using its TextField ID.
+     * This method is part of the {@link IBoard} interface.
+     * <ul>
+     * <li>No repetition in the same section (block).</li>
+     * <li>No repetition in the same column.</li>
+     * <li>No repetition in the same row.</li>
+     * </ul>
+     * @param textFieldId the TextField ID (e.g., "P1C3")
+     * @return {@code true} if the value does not violate Sudoku rules
+     */
+    @Override
+    public boolean validateInput(String textFieldId) {
+        return validateInput(geometry.indexOf(textFieldId));
+    }
+
+    /**
+     * Validates the value of a cell addressed by its {@link Geometry} cell index.
+     * This method is part of the {@link IBoard} interface.
+     * Calls are recorded in the {@link EngineMetrics} in batches, timing one call per batch.
+     *
+     * @param cell the cell index
+     * @return {@code true} if the value does not violate Sudoku rules
+     */
+    @Override
+    public boolean validateInput(int cell) {
+        if (++validations < EngineMetrics.VALIDATION_SAMPLE_INTERVAL) {
+            return isValid(cell);
+        }
+        validations = 0;
+        long start = System.nanoTime();
+        boolean valid = isValid(cell);
+        EngineMetrics.VALIDATION.record(EngineMetrics.VALIDATION_SAMPLE_INTERVAL, System.nanoTime() - start);
+        return valid;
+    }
+
+    /**
+     * Checks the value of a cell against its section, column and row.
+     *
+     * @param cell the cell index
+     * @return {@code true} if the value does not violate Sudoku rules (empty cells are valid)
+     */
+    private boolean isValid(int cell) {
+        String childValue = cellNodes[cell].getValue();
+        // If the cell is empty, it's considered valid for the purpose of not violating rules.
+        // It's checked for completeness later by isSudokuCompleteAndValid.
+        if (childValue.isBlank()) {
+            return true;
+        }
+
+        return validateSection(geometry.sectionOf(cell), childValue)
+                && validateColumn(geometry.colOf(cell), childValue)
+                && validateRow(geometry.rowOf(cell), childValue);
+    }
+
+    /**
+     * Validates that a section (block) does not contain repeated values.
+     * <p>
+     * Walks the cell nodes of the section in the tree and counts the matches
+     * in place, so no object is allocated.
+     * </p>
+     *
+     * @param section    the section index (0-based)
+     * @param childValue the value to validate against existing values in the section.
+     * @return {@code true} if the value is not repeated within the section, or if it's the only instance.
+     */
+    private boolean validateSection(int section, String childValue) {
+        List<Node> sectionNodes = root.getChildren().get(section).getChildren();
+        int count = 0;
+        for (int i = 0; i < sectionNodes.size(); i++) {
+            if (sectionNodes.get(i).getValue().equals(childValue) && ++count > 1) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Validates that a value is not repeated within the same Sudoku column.
+     *
+     * @param col        the column of the cell being validated (0-based).
+     * @param childValue the value to validate against existing values in the column.
+     * @return {@code true} if the column is valid (value not repeated or is the only instance).
+     */
+    private boolean validateColumn(int col, String childValue) {
+        return countInUnit(geometry.colCells(col), childValue) <= 1;
+    }
+
+    /**
+     * Validates that a value is not repeated within the same Sudoku row.
+     *
+     * @param row        the row of the cell being validated (0-based).
+     * @param childValue the value to validate against existing values in the row.
+     * @return {@code true} if the cell with respect to the row is valid (value not repeated or is the only instance).
+     */
+    private boolean validateRow(int row, String childValue) {
+        return countInUnit(geometry.rowCells(row), childValue) <= 1;
+    }
+
+    /**
+     * Counts the cells of a row or column holding a value, stopping at the second match.
+     *
+     * @param cells      the cell indices of the unit
+     * @param childValue the value to look for
+     * @return the number of matches, at most 2
+     */
+    private int countInUnit(int[] cells, String childValue) {
+        int count = 0;
+        for (int cell : cells) {
+            if (cellNodes[cell].getValue().equals(childValue) && ++count > 1) {
+                break;
+            }
+        }
+        return count;
+    }
+
+    // ----------------------------------------------------------
+    // Node Access
+    // ----------------------------------------------------------
+
+    /**
+     * Returns the string value of a node by its TextField ID.
+     * This method is part of the {@link IBoard} interface.
+     *
+     * @param textFieldId the TextField ID (e.g., "P1C3")
+     * @return the value stored in that node
+     */
+    @Override
+    public String getValueNode(String textFieldId) {
+        return cellNodes[geometry.indexOf(textFieldId)].getValue();
+    }
+
+    /**
+     * Returns the digit stored in a cell addressed by its {@link Geometry} cell index.
+     * This method is part of the {@link IBoard} interface.
+     *
+     * @param cell the cell index
+     * @return the digit, or 0 if the cell is empty
+     */
+    @Override
+    public int getValue(int cell) {
+        return geometry.digitOf(cellNodes[cell].getValue());
+    }
+
+    /**
+     * Finds a specific node using a TextField ID.
+     * This method is part of the {@link IBoard} interface.
+     *
+     * @param textFieldId the TextField ID (e.g., "P1C2")
+     * @return the corresponding {@link Node}
+     */
+    @Override
+    public Node getNode(String textFieldId) {
+        return cellNodes[geometry.indexOf(textFieldId)];
+    }
+
+    /**
+     * Returns the candidates of a cell using its TextField ID.
+     * This method is part of the {@link IBoard} interface.
+     *
+     * @param textFieldId the TextField ID (e.g., "P1C3")
+     * @return the mask of the digits still possible in the cell, 0 if it is filled
+     */
+    @Override
+    public int getCandidates(String textFieldId) {
+        return candidates.get(geometry.indexOf(textFieldId));
+    }
+
+    /**
+     * Returns the candidates of a cell addressed by its {@link Geometry} cell index.
+     * They are maintained by every write, so this is a single array read.
+     * This method is part of the {@link IBoard} interface.
+     *
+     * @param cell the cell index
+     * @return the mask of the digits still possible in the cell, 0 if it is filled
+     */
+    @Override
+    public int getCandidates(int cell) {
+        return candidates.get(cell);
+    }
+
+    /**
+     * Returns the Zobrist hash of the values on the board.
+     * This method is part of the {@link IBoard} interface.
+     *
+     * @return the 64-bit hash of the position
+     */
+    @Override
+    public long getZobristHash() {
+        return hash;
+    }
+
+    /**
+     * Returns the {@link Node} of a cell addressed by its {@link Geometry} cell index.
+     * This method is part of the {@link IBoard} interface.
+     *
+     * @param cell the cell index
+     * @return the corresponding {@link Node}
+     */
+    @Override
+    public Node getNode(int cell) {
+        return cellNodes[cell];
+    }
+
+    /**
+     * Checks if the Sudoku board is completely filled and all values are valid.
+     * Like {@link #validateInput(int)}, the check allocates nothing; its
+     * checks are not recorded as validation calls.
+     *
+     * @return true if all cells are filled with valid values; false otherwise.
+     */
+    public boolean isSudokuCompleteAndValid() {
+        for (int cell = 0; cell < cellNodes.length; cell++) {
+            // if some cell is empty, the sudoku is not complete yet
+            if (cellNodes[cell].getValue().isBlank()) {
+                return false;
+            }
+
+            //if some is invalid, the sudoku is not completed already
+            if (!isValid(cell)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+}
@@ -0,0 +1,210 @@
+package com.sudoku.model;
+
+import java.util.Locale;
+import java.util.OptionalLong;
+
+/**
+ * Creates the {@link IBoard} implementation used by the game.
+ * <p>
+ * The implementation is selected with the {@code sudoku.board} system property:
+ * </p>
+ * <ul>
+ *   <li>{@code bitmask} (default) → {@link BitmaskBoard}, the flat array/bitmask structure
+ *   with incremental conflict tracking.</li>
+ *   <li>{@code tree} → {@link Board}, the node tree structure.</li>
+ * </ul>
+ * Example: {@code mvn -pl sudoku-ui javafx:run -Dsudoku.board=tree}
+ * <p>
+ * The grid size is selected with the {@code sudoku.size} system property
+ * (4, 6, 9, 12, 16 or 25; 6 by default), e.g. {@code -Dsudoku.size=9}.
+ * </p>
+ * <p>
+ * The way clues are chosen is selected with the {@code sudoku.puzzle} system
+ * property: {@code unique} (default) for puzzles with a single solution, or
+ * {@code sections} for the original random cells per section
+ * (see {@link PuzzleGenerator.Mode}).
+ * </p>
+ * <p>
+ * A difficulty tier can be requested with the {@code sudoku.difficulty} system
+ * property ({@code easy}, {@code medium}, {@code hard}, {@code expert} or
+ * {@code extreme}); puzzles are then generated until one of that tier comes out,
+ * within {@link PuzzleGenerator#DEFAULT_TIME_BUDGET_MILLIS}. Without it, the first
+ * puzzle generated is used whatever its tier.
+ * </p>
+ * <p>
+ * A puzzle can be replayed with the {@code sudoku.seed} system property, set to
+ * the seed printed with the puzzle when a game starts; with the same size and
+ * puzzle mode, the seed regenerates the same puzzle, whatever the requested tier.
+ * </p>
+ */
+public final class BoardFactory {
+
+    /** Name of the system property that selects the board implementation. */
+    public static final String BOARD_PROPERTY = "sudoku.board";
+
+    /** Name of the system property that selects the grid size. */
+    public static final String SIZE_PROPERTY = "sudoku.size";
+
+    /** Name of the system property that selects how clues are chosen. */
+    public static final String PUZZLE_PROPERTY = "sudoku.puzzle";
+
+    /** Name of the system property that requests a difficulty tier. */
+    public static final String DIFFICULTY_PROPERTY = "sudoku.difficulty";
+
+    /** Name of the system property that replays the puzzle of a seed. */
+    public static final String SEED_PROPERTY = "sudoku.seed";
+
+    /** Utility class, not meant to be instantiated. */
+    private BoardFactory() {
+    }
+
+    /**
+     * Creates a new board using the implementation selected by {@link #BOARD_PROPERTY}.
+     *
+     * @return a new {@link IBoard} with its initial values already filled
+     * @throws IllegalArgumentException if the property names an unknown implementation
+     */
+    public static IBoard createBoard() {
+        return createBoard(System.getProperty(BOARD_PROPERTY, "bitmask"), getConfiguredGeometry());
+    }
+
+    /**
+     * Creates a new board loaded from a puzzle, using the implementation selected by {@link #BOARD_PROPERTY}.
+     *
+     * @param puzzle the puzzle to load
+     * @return a new {@link IBoard} with the clues of the puzzle as initial values
+     * @throws IllegalArgumentException if the property names an unknown implementation
+     */
+    public static IBoard createBoard(Puzzle puzzle) {
+        return createBoard(System.getProperty(BOARD_PROPERTY, "bitmask"), puzzle);
+    }
+
+    /**
+     * Returns the geometry selected by {@link #SIZE_PROPERTY}.
+     *
+     * @return the configured {@link Geometry} (6×6 if the property is not set)
+     * @throws IllegalArgumentException if the property is not a supported size
+     */
+    public static Geometry getConfiguredGeometry() {
+        String size = System.getProperty(SIZE_PROPERTY, "6");
+        try {
+            return Geometry.of(Integer.parseInt(size.trim()));
+        } catch (NumberFormatException e) {
+            throw new IllegalArgumentException("Invalid grid size: " + size, e);
+        }
+    }
+
+    /**
+     * Returns the puzzle mode selected by {@link #PUZZLE_PROPERTY}.
+     *
+     * @return the configured {@link PuzzleGenerator.Mode} ({@code UNIQUE} if the property is not set)
+     * @throws IllegalArgumentException if the property names an unknown mode
+     */
+    public static PuzzleGenerator.Mode getConfiguredMode() {
+        String mode = System.getProperty(PUZZLE_PROPERTY, "unique");
+        return switch (mode.trim()) {
+            case "unique" -> PuzzleGenerator.Mode.UNIQUE;
+            case "sections" -> PuzzleGenerator.Mode.SECTIONS;
+            default -> throw new IllegalArgumentException("Unknown puzzle mode: " + mode);
+        };
+    }
+
+    /**
+     * Returns the difficulty tier requested with {@link #DIFFICULTY_PROPERTY}.
+     *
+     * @return the requested {@link Difficulty}, or {@code null} if the property is not set
+     * @throws IllegalArgumentException if the property names an unknown tier
+     */
+    public static Difficulty getConfiguredDifficulty() {
+        String difficulty = System.getProperty(DIFFICULTY_PROPERTY);
+        if (difficulty == null || difficulty.isBlank()) {
+            return null;
+        }
+        try {
+            return Difficulty.valueOf(difficulty.trim().toUpperCase(Locale.ROOT));
+        } catch (IllegalArgumentException e) {
+            throw new IllegalArgumentException("Unknown difficulty: " + difficulty, e);
+        }
+    }
+
+    /**
+     * Returns the puzzle seed requested with {@link #SEED_PROPERTY}.
+     *
+     * @return the seed, or empty if the property is not set
+     * @throws IllegalArgumentException if the property is not a number
+     */
+    public static OptionalLong getConfiguredSeed() {
+        String seed = System.getProperty(SEED_PROPERTY);
+        if (seed == null || seed.isBlank()) {
+            return OptionalLong.empty();
+        }
+        try {
+            return OptionalLong.of(Long.parseLong(seed.trim()));
+        } catch (NumberFormatException e) {
+            throw new IllegalArgumentException("Invalid seed: " + seed, e);
+        }
+    }
+
+    /**
+     * Creates a new 6×6 board of the given implementation.
+     *
+     * @param type {@code "tree"} or {@code "bitmask"}
+     * @return a new {@link IBoard} with its initial values already filled
+     * @throws IllegalArgumentException if {@code type} is not a known implementation
+     */
+    public static IBoard createBoard(String type) {
+        return createBoard(type, Geometry.SIX);
+    }
+
+    /**
+     * Creates a new board of the given implementation and shape, with a puzzle
+     * generated in the mode selected by {@link #PUZZLE_PROPERTY} and of the tier
+     * requested with {@link #DIFFICULTY_PROPERTY}, if any, or from the seed
+     * given with {@link #SEED_PROPERTY}.
+     *
+     * @param type     {@code "tree"} or {@code "bitmask"}
+     * @param geometry the shape of the board
+     * @return a new {@link IBoard} with its initial values already filled
+     * @throws IllegalArgumentException if {@code type} is not a known implementation
+     */
+    public static IBoard createBoard(String type, Geometry geometry) {
+        return createBoard(type, generatePuzzle(geometry));
+    }
+
+    /**
+     * Generates a puzzle in the mode selected by {@link #PUZZLE_PROPERTY}, from
+     * the seed given with {@link #SEED_PROPERTY} or else of the tier requested
+     * with {@link #DIFFICULTY_PROPERTY}, if any.
+     *
+     * @param geometry the shape of the puzzle
+     * @return a new puzzle
+     * @throws IllegalArgumentException if a property has an invalid value
+     */
+    public static Puzzle generatePuzzle(Geometry geometry) {
+        PuzzleGenerator generator = new PuzzleGenerator(geometry, getConfiguredMode());
+        OptionalLong seed = getConfiguredSeed();
+        if (seed.isPresent()) {
+            return generator.generate(seed.getAsLong());
+        }
+        Difficulty difficulty = getConfiguredDifficulty();
+        return difficulty == null
+                ? generator.generate()
+                : generator.generate(difficulty, PuzzleGenerator.DEFAULT_TIME_BUDGET_MILLIS);
+    }
+
+    /**
+     * Creates a new board of the given implementation loaded from a puzzle.
+     *
+     * @param type   {@code "tree"} or {@code "bitmask"}
+     * @param puzzle the puzzle to load
+     * @return a new {@link IBoard} with the clues of the puzzle as initial values
+     * @throws IllegalArgumentException if {@code type} is not a known implementation
+     */
+    public static IBoard createBoard(String type, Puzzle puzzle) {
+        return switch (type) {
+            case "tree" -> new Board(puzzle);
+            case "bitmask" -> new BitmaskBoard(puzzle);
+            default -> throw new IllegalArgumentException("Unknown board implementation: " + type);
+        };
+    }
+}
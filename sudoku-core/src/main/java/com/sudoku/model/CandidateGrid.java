@@ -0,0 +1,129 @@
+package com.sudoku.model;
+
+import java.util.Arrays;
+
+/**
+ * Candidate digits (pencil marks) of every cell, kept up to date one write at a time.
+ * <p>
+ * The grid counts the digits placed in each row, column and section. A write
+ * changes the counts of the cell's three units, then recomputes the candidate
+ * mask of the cell and of its peers from the occupancy masks of their units,
+ * so its cost is one pass over the peers whatever the state of the board.
+ * </p>
+ * <p>
+ * Used by {@link Board}, whose cell values are strings; {@link BitmaskBoard}
+ * derives its candidates from its own unit masks.
+ * </p>
+ */
+final class CandidateGrid {
+
+    /** Shape of the board. */
+    private final Geometry geometry;
+
+    /** Number of rows, columns, sections and digits. */
+    private final int size;
+
+    /** Digit currently placed in each cell (0 means empty). */
+    private final int[] digits;
+
+    /**
+     * Occurrences of each digit per unit, addressed as {@code unit * (size + 1) + digit};
+     * rows are units {@code 0..size-1}, columns {@code size..2*size-1} and sections after them.
+     */
+    private final byte[] counts;
+
+    /** Digits placed at least once in each unit. */
+    private final int[] unitMask;
+
+    /** Candidate mask of each cell (0 for a filled cell). */
+    private final int[] candidates;
+
+    /**
+     * Creates the candidates of an empty board: every digit is possible everywhere.
+     *
+     * @param geometry the shape of the board
+     */
+    CandidateGrid(Geometry geometry) {
+        this.geometry = geometry;
+        this.size = geometry.getSize();
+        this.digits = new int[geometry.getCellCount()];
+        this.counts = new byte[geometry.getUnitCount() * (size + 1)];
+        this.unitMask = new int[geometry.getUnitCount()];
+        this.candidates = new int[geometry.getCellCount()];
+        Arrays.fill(candidates, geometry.getAllDigitsMask());
+    }
+
+    /**
+     * Records a write and refreshes the candidates of the cell and its peers.
+     *
+     * @param cell  the cell index
+     * @param digit the digit written (0 clears the cell)
+     */
+    void set(int cell, int digit) {
+        int old = digits[cell];
+        if (old == digit) return;
+        int row = geometry.rowOf(cell);
+        int col = size + geometry.colOf(cell);
+        int section = 2 * size + geometry.sectionOf(cell);
+        if (old != 0) {
+            remove(row, old);
+            remove(col, old);
+            remove(section, old);
+        }
+        if (digit != 0) {
+            add(row, digit);
+            add(col, digit);
+            add(section, digit);
+        }
+        digits[cell] = digit;
+        refresh(cell);
+        for (int peer : geometry.peersOf(cell)) {
+            refresh(peer);
+        }
+    }
+
+    /**
+     * Returns the candidates of a cell.
+     *
+     * @param cell the cell index
+     * @return the mask of the possible digits (bits {@code 1..size}), 0 for a filled cell
+     */
+    int get(int cell) {
+        return candidates[cell];
+    }
+
+    /**
+     * Registers one more occurrence of a digit in a unit.
+     *
+     * @param unit  the unit index
+     * @param digit the digit added
+     */
+    private void add(int unit, int digit) {
+        counts[unit * (size + 1) + digit]++;
+        unitMask[unit] |= 1 << digit;
+    }
+
+    /**
+     * Registers one less occurrence of a digit in a unit.
+     *
+     * @param unit  the unit index
+     * @param digit the digit removed
+     */
+    private void remove(int unit, int digit) {
+        if (--counts[unit * (size + 1) + digit] == 0) {
+            unitMask[unit] &= ~(1 << digit);
+        }
+    }
+
+    /**
+     * Recomputes the candidates of a cell from the occupancy of its units.
+     *
+     * @param cell the cell index
+     */
+    private void refresh(int cell) {
+        candidates[cell] = digits[cell] != 0 ? 0 : geometry.getAllDigitsMask()
+                & ~(unitMask[geometry.rowOf(cell)]
+                | unitMask[size + geometry.colOf(cell)]
+                | unitMask[2 * size + geometry.sectionOf(cell)]);
+    }
+}
@@ -0,0 +1,463 @@
+package com.sudoku.model;
+
+import java.util.Arrays;
+
+/**
+ * Maps grids and puzzles to a canonical form under the symmetries of their
+ * {@link Geometry}, so that disguised copies of a puzzle can be recognized.
+ * <p>
+ * Two grids are equivalent when one can be turned into the other by
+ * relabeling the digits, permuting the rows inside a band (a row of
+ * sections), permuting the bands, permuting the columns inside a stack (a
+ * column of sections), permuting the stacks and, for square sections only,
+ * transposing. The canonical form is the equivalent grid that is smallest in
+ * row-major order, empty cells (0) counting as the smallest value: equivalent
+ * grids, and only they, have the same canonical form.
+ * </p>
+ * <p>
+ * Since the digits of a row are distinct, the first output row only depends
+ * on where its empty cells fall: it is smallest when the stacks with the most
+ * empty cells come first, empty cells leading. The search therefore keeps
+ * only the source rows and orientations reaching the most leading empty
+ * cells, and only the column arrangements that realize that pattern. For
+ * each, it builds the remaining output rows with branch and bound: a row that
+ * compares greater than the same row of the best form found so far cuts its
+ * whole subtree. Digits are labeled in order of first appearance, which is
+ * the smallest relabeling for a given arrangement. Column arrangements grow
+ * factorially with the grid (1,296 for 9×9, 82,944 for 12×12), so grids
+ * larger than {@value #MAX_SIZE}×{@value #MAX_SIZE} are not supported.
+ * </p>
+ * <p>
+ * All working arrays are allocated once per canonicalizer; a canonicalizer
+ * must not be shared between threads, so give each worker its own.
+ * </p>
+ */
+public class Canonicalizer {
+
+    /** Largest supported side length. */
+    public static final int MAX_SIZE = 12;
+
+    /** Shape of the canonicalized grids. */
+    private final Geometry geometry;
+
+    /** Side length of the grid. */
+    private final int size;
+
+    /** Rows per band. */
+    private final int bandHeight;
+
+    /** Whether the sections are square, so that transposing is a symmetry. */
+    private final boolean square;
+
+    /** Every column arrangement keeping stacks together: output column {@code j} shows source column {@code arrangement[j]}. */
+    private final int[][] columnArrangements;
+
+    /** Grid being canonicalized, in the orientation being searched. */
+    private final int[] source;
+
+    /** Transposed copy of the grid, for square sections. */
+    private final int[] transposed;
+
+    /** Output grid being built. */
+    private final int[] current;
+
+    /** Best (smallest) output grid found so far. */
+    private final int[] best;
+
+    /** Source row of each output row being built. */
+    private final int[] rows;
+
+    /** Output label of each source digit, 0 while unassigned. */
+    private final int[] labels;
+
+    /** Whether each source row is already used by the output being built. */
+    private final boolean[] usedRows;
+
+    /** Whether each band is already used by the output being built. */
+    private final boolean[] usedBands;
+
+    /** Column arrangement being searched. */
+    private int[] columns;
+
+    /** Source row of the first output row being searched. */
+    private int firstRow;
+
+    /** Number of empty cells of a row in each stack, sorted in decreasing order. */
+    private final int[] emptiesPerStack;
+
+    /** The same counts for the best first rows found so far. */
+    private final int[] bestEmptiesPerStack;
+
+    /** Whether each cell of the smallest first output row is empty. */
+    private final boolean[] firstRowEmpty;
+
+    /** Whether the orientation being searched is transposed. */
+    private boolean searchingTransposed;
+
+    /** Number of times {@link #best} was replaced, to spot stale comparisons. */
+    private int bestUpdates;
+
+    /** Source row of each output row of the best form. */
+    private final int[] bestRows;
+
+    /** Column arrangement of the best form. */
+    private int[] bestColumns;
+
+    /** Output label of each source digit in the best form. */
+    private final int[] bestLabels;
+
+    /** Whether the best form uses the transposed grid. */
+    private boolean bestTransposed;
+
+    /**
+     * Creates a canonicalizer for grids of the given shape.
+     *
+     * @param geometry the shape of the grids
+     * @throws IllegalArgumentException if the grid is larger than {@value #MAX_SIZE}×{@value #MAX_SIZE}
+     */
+    public Canonicalizer(Geometry geometry) {
+        if (geometry.getSize() > MAX_SIZE) {
+            throw new IllegalArgumentException("Canonical forms are only supported up to "
+                    + MAX_SIZE + "x" + MAX_SIZE + ", not " + geometry);
+        }
+        this.geometry = geometry;
+        this.size = geometry.getSize();
+        this.bandHeight = geometry.getBoxRows();
+        this.square = geometry.getBoxRows() == geometry.getBoxCols();
+        this.columnArrangements = arrangements(size / geometry.getBoxCols(), geometry.getBoxCols());
+        int cells = geometry.getCellCount();
+        this.source = new int[cells];
+        this.transposed = new int[cells];
+        this.current = new int[cells];
+        this.best = new int[cells];
+        this.rows = new int[size];
+        this.labels = new int[size + 1];
+        this.usedRows = new boolean[size];
+        this.usedBands = new boolean[size / bandHeight];
+        this.bestRows = new int[size];
+        this.bestLabels = new int[size + 1];
+        this.emptiesPerStack = new int[size / geometry.getBoxCols()];
+        this.bestEmptiesPerStack = new int[emptiesPerStack.length];
+        this.firstRowEmpty = new boolean[size];
+    }
+
+    /**
+     * Returns the shape of the canonicalized grids.
+     * @return the {@link Geometry}
+     */
+    public Geometry getGeometry() {
+        return geometry;
+    }
+
+    // ----------------------------------------------------------
+    // Canonical forms
+    // ----------------------------------------------------------
+
+    /**
+     * Returns the canonical form of a grid.
+     *
+     * @param grid the value of each cell, 0 for empty; it is not modified
+     * @return a new array with the canonical form
+     * @throws IllegalArgumentException if the grid does not match the geometry
+     */
+    public int[] canonicalize(int[] grid) {
+        search(grid);
+        return best.clone();
+    }
+
+    /**
+     * Returns the canonical form of the solved grid of a generator.
+     *
+     * @param generator the generator, of this canonicalizer's geometry
+     * @return a new array with the canonical form of its solution
+     * @throws IllegalArgumentException if the generator has another geometry
+     */
+    public int[] canonicalize(SudokuGenerator generator) {
+        if (generator.getGeometry() != geometry) {
+            throw new IllegalArgumentException("Generator is not " + geometry);
+        }
+        int[] grid = new int[geometry.getCellCount()];
+        for (int cell = 0; cell < grid.length; cell++) {
+            grid[cell] = generator.getSolution(cell);
+        }
+        return canonicalize(grid);
+    }
+
+    /**
+     * Returns the canonical form of a puzzle: its givens in canonical form, with
+     * the solution moved by the same symmetry, and the same rating.
+     *
+     * @param puzzle the puzzle, of this canonicalizer's geometry
+     * @return the equivalent puzzle in canonical form
+     * @throws IllegalArgumentException if the puzzle has another geometry
+     */
+    public Puzzle canonicalize(Puzzle puzzle) {
+        if (puzzle.getGeometry() != geometry) {
+            throw new IllegalArgumentException("Puzzle is not " + geometry);
+        }
+        search(puzzle.getGivens());
+        int[] solution = puzzle.getSolution();
+        // Digits missing from the givens take the remaining labels in increasing order
+        int next = 1;
+        for (int digit = 1; digit <= size; digit++) {
+            if (bestLabels[digit] != 0) next++;
+        }
+        for (int digit = 1; digit <= size; digit++) {
+            if (bestLabels[digit] == 0) bestLabels[digit] = next++;
+        }
+        int[] moved = new int[solution.length];
+        for (int row = 0; row < size; row++) {
+            for (int col = 0; col < size; col++) {
+                int from = bestTransposed
+                        ? bestColumns[col] * size + bestRows[row]
+                        : bestRows[row] * size + bestColumns[col];
+                moved[row * size + col] = bestLabels[solution[from]];
+            }
+        }
+        return new Puzzle(geometry, best.clone(), moved, puzzle.getRating(), puzzle.getGenerationNanos());
+    }
+
+    // ----------------------------------------------------------
+    // Search
+    // ----------------------------------------------------------
+
+    /**
+     * Finds the canonical form of a grid into {@link #best}, and the symmetry reaching it.
+     *
+     * @param grid the grid
+     * @throws IllegalArgumentException if the grid does not match the geometry
+     */
+    private void search(int[] grid) {
+        if (grid.length != geometry.getCellCount()) {
+            throw new IllegalArgumentException("Grid must have " + geometry.getCellCount() + " cells");
+        }
+        Arrays.fill(best, Integer.MAX_VALUE);
+        int orientations = square ? 2 : 1;
+        if (square) {
+            for (int row = 0; row < size; row++) {
+                for (int col = 0; col < size; col++) {
+                    transposed[col * size + row] = grid[row * size + col];
+                }
+            }
+        }
+
+        // Most leading empty cells any first row can reach
+        Arrays.fill(bestEmptiesPerStack, -1);
+        for (int orientation = 0; orientation < orientations; orientation++) {
+            int[] oriented = orientation == 1 ? transposed : grid;
+            for (int row = 0; row < size; row++) {
+                countEmpties(oriented, row);
+                if (Arrays.compare(emptiesPerStack, bestEmptiesPerStack) > 0) {
+                    System.arraycopy(emptiesPerStack, 0, bestEmptiesPerStack, 0, emptiesPerStack.length);
+                }
+            }
+        }
+        int stackWidth = geometry.getBoxCols();
+        for (int stack = 0; stack < bestEmptiesPerStack.length; stack++) {
+            for (int col = 0; col < stackWidth; col++) {
+                firstRowEmpty[stack * stackWidth + col] = col < bestEmptiesPerStack[stack];
+            }
+        }
+
+        for (int orientation = 0; orientation < orientations; orientation++) {
+            searchingTransposed = orientation == 1;
+            System.arraycopy(searchingTransposed ? transposed : grid, 0, source, 0, source.length);
+            for (int row = 0; row < size; row++) {
+                countEmpties(source, row);
+                if (!Arrays.equals(emptiesPerStack, bestEmptiesPerStack)) {
+                    continue;
+                }
+                firstRow = row;
+                for (int[] arrangement : columnArrangements) {
+                    if (placesEmpties(row, arrangement)) {
+                        columns = arrangement;
+                        searchRows(0, 1, false);
+                    }
+                }
+            }
+        }
+    }
+
+    /**
+     * Counts the empty cells of a row in each stack into {@link #emptiesPerStack},
+     * sorted in decreasing order.
+     *
+     * @param grid the grid
+     * @param row  the row index
+     */
+    private void countEmpties(int[] grid, int row) {
+        Arrays.fill(emptiesPerStack, 0);
+        int stackWidth = geometry.getBoxCols();
+        for (int col = 0; col < size; col++) {
+            if (grid[row * size + col] == 0) emptiesPerStack[col / stackWidth]++;
+        }
+        Arrays.sort(emptiesPerStack);
+        for (int left = 0, right = emptiesPerStack.length - 1; left < right; left++, right--) {
+            int swap = emptiesPerStack[left];
+            emptiesPerStack[left] = emptiesPerStack[right];
+            emptiesPerStack[right] = swap;
+        }
+    }
+
+    /**
+     * Tells whether a column arrangement turns a source row into the smallest first row.
+     *
+     * @param row         the source row
+     * @param arrangement the column arrangement
+     * @return {@code true} if its empty cells fall where {@link #firstRowEmpty} expects them
+     */
+    private boolean placesEmpties(int row, int[] arrangement) {
+        for (int col = 0; col < size; col++) {
+            if ((source[row * size + arrangement[col]] == 0) != firstRowEmpty[col]) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Chooses the source row of an output row, then of the following ones,
+     * cutting every choice that makes the output greater than the best form.
+     *
+     * @param row       the output row to fill
+     * @param nextLabel the label of the next digit to appear
+     * @param less      whether the rows above are already smaller than the best form
+     */
+    private void searchRows(int row, int nextLabel, boolean less) {
+        if (row == size) {
+            System.arraycopy(current, 0, best, 0, best.length);
+            System.arraycopy(rows, 0, bestRows, 0, size);
+            System.arraycopy(labels, 0, bestLabels, 0, labels.length);
+            bestColumns = columns;
+            bestTransposed = searchingTransposed;
+            bestUpdates++;
+            return;
+        }
+        int updates = bestUpdates;
+        int first;
+        int last;
+        if (row == 0) {
+            first = firstRow;
+            last = firstRow + 1;
+        } else if (row % bandHeight == 0) {
+            first = 0;
+            last = size;
+        } else {
+            // Later rows of a band come from the band of the first one
+            first = rows[row - 1] / bandHeight * bandHeight;
+            last = first + bandHeight;
+        }
+        for (int candidate = first; candidate < last; candidate++) {
+            int band = candidate / bandHeight;
+            if (usedRows[candidate] || (row % bandHeight == 0 && usedBands[band])) {
+                continue;
+            }
+            // A better form found below makes the rows above equal to it, no longer smaller
+            boolean smaller = less && updates == bestUpdates;
+            int label = nextLabel;
+            int base = row * size;
+            int order = smaller ? -1 : 0;
+            int col = 0;
+            for (; col < size; col++) {
+                int digit = source[candidate * size + columns[col]];
+                int value = 0;
+                if (digit != 0) {
+                    value = labels[digit];
+                    if (value == 0) {
+                        value = labels[digit] = label++;
+                    }
+                }
+                current[base + col] = value;
+                if (order == 0 && value != best[base + col]) {
+                    order = value < best[base + col] ? -1 : 1;
+                    if (order > 0) break;
+                }
+            }
+            if (order <= 0) {
+                usedRows[candidate] = true;
+                usedBands[band] = true;
+                rows[row] = candidate;
+                searchRows(row + 1, label, order < 0);
+                usedRows[candidate] = false;
+                if (row % bandHeight == 0) usedBands[band] = false;
+            }
+            // Forget the labels this row introduced
+            for (int undo = Math.min(col, size - 1); undo >= 0; undo--) {
+                int digit = source[candidate * size + columns[undo]];
+                if (digit != 0 && labels[digit] >= nextLabel) {
+                    labels[digit] = 0;
+                }
+            }
+        }
+    }
+
+    /**
+     * Lists every arrangement of the lines of a grid that keeps groups of lines
+     * together: the groups are permuted, and the lines inside each group.
+     *
+     * @param groups    the number of groups (stacks)
+     * @param groupSize the number of lines per group
+     * @return the arrangements, each mapping an output line to a source line
+     */
+    private static int[][] arrangements(int groups, int groupSize) {
+        int[][] groupOrders = permutations(groups);
+        int[][] lineOrders = permutations(groupSize);
+        int perGroupOrder = 1;
+        for (int group = 0; group < groups; group++) {
+            perGroupOrder *= lineOrders.length;
+        }
+        int[][] result = new int[groupOrders.length * perGroupOrder][];
+        int next = 0;
+        for (int[] groupOrder : groupOrders) {
+            for (int choice = 0; choice < perGroupOrder; choice++) {
+                int[] arrangement = new int[groups * groupSize];
+                int rest = choice;
+                for (int group = 0; group < groups; group++) {
+                    int[] lineOrder = lineOrders[rest % lineOrders.length];
+                    rest /= lineOrders.length;
+                    for (int line = 0; line < groupSize; line++) {
+                        arrangement[group * groupSize + line] = groupOrder[group] * groupSize + lineOrder[line];
+                    }
+                }
+                result[next++] = arrangement;
+            }
+        }
+        return result;
+    }
+
+    /**
+     * Lists the permutations of {@code 0..n-1}.
+     *
+     * @param n the number of elements
+     * @return every permutation, in lexicographic order
+     */
+    private static int[][] permutations(int n) {
+        int count = 1;
+        for (int i = 2; i <= n; i++) {
+            count *= i;
+        }
+        int[][] result = new int[count][];
+        int[] permutation = new int[n];
+        for (int i = 0; i < n; i++) {
+            permutation[i] = i;
+        }
+        for (int index = 0; index < count; index++) {
+            result[index] = permutation.clone();
+            // Next permutation in lexicographic order
+            int pivot = n - 2;
+            while (pivot >= 0 && permutation[pivot] >= permutation[pivot + 1]) pivot--;
+            if (pivot < 0) break;
+            int swap = n - 1;
+            while (permutation[swap] <= permutation[pivot]) swap--;
+            int tmp = permutation[pivot];
+            permutation[pivot] = permutation[swap];
+            permutation[swap] = tmp;
+            for (int left = pivot + 1, right = n - 1; left < right; left++, right--) {
+                tmp = permutation[left];
+                permutation[left] = permutation[right];
+                permutation[right] = tmp;
+            }
+        }
+        return result;
+    }
+}
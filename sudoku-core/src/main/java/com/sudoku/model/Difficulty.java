@@ -0,0 +1,18 @@
+package com.sudoku.model;
+
+/**
+ * Difficulty tier of a puzzle, given by the hardest {@link Technique} a player
+ * needs to solve it (see {@link DifficultyRater}).
+ */
+public enum Difficulty {
+    /** Hidden singles are enough. */
+    EASY,
+    /** Needs naked singles. */
+    MEDIUM,
+    /** Needs pointing or box/line reductions. */
+    HARD,
+    /** Needs naked or hidden pairs. */
+    EXPERT,
+    /** Cannot be solved with the rated techniques alone; needs trial and error. */
+    EXTREME
+}
@@ -0,0 +1,490 @@
+package com.sudoku.model;
+
+import java.util.Arrays;
+
+/**
+ * Rates puzzles by solving them the way a person would.
+ * <p>
+ * The rater keeps a candidate bitmask per cell and repeatedly applies the
+ * easiest {@link Technique} that makes progress: hidden singles, naked singles,
+ * pointing, box/line reductions, naked pairs and hidden pairs, in that order.
+ * Every application adds the technique's weight to the score, and the hardest
+ * technique needed gives the {@link Difficulty} tier. A puzzle the techniques
+ * cannot finish is rated {@link Difficulty#EXTREME}, with a penalty per cell
+ * left unsolved.
+ * </p>
+ * <p>
+ * All working arrays are allocated once per rater, so rating allocates only
+ * the returned {@link DifficultyRating} and is cheap enough for rejection
+ * sampling (see {@link PuzzleGenerator#generate(Difficulty, long)}). A rater must
+ * not be shared between threads.
+ * </p>
+ * <p>
+ * The {@link HintEngine} drives the same techniques one step at a time on the
+ * candidates of a board being played, through the package-private hint methods.
+ * </p>
+ */
+public class DifficultyRater {
+
+    /** Score added for every cell the techniques leave unsolved. */
+    private static final int UNSOLVED_CELL_PENALTY = 10;
+
+    /** Bits holding the digit in a single found by the hint methods, below the cell index. */
+    private static final int DIGIT_BITS = 5;
+
+    /** Shape of the rated puzzles. */
+    private final Geometry geometry;
+
+    /** Side length of the grid. */
+    private final int size;
+
+    /** Candidate bitmask of each cell (bit {@code d} for digit {@code d}); 0 once the cell is filled. */
+    private final int[] candidates;
+
+    /** Per digit, a bitmask of rows, columns, sections or unit positions, reused by the techniques. */
+    private final int[] seen;
+
+    /** Per digit, a second bitmask used together with {@link #seen}. */
+    private final int[] seenToo;
+
+    /** Number of empty cells left. */
+    private int empty;
+
+    /** Score accumulated so far. */
+    private int score;
+
+    /** Hardest technique applied so far, or {@code null}. */
+    private Technique hardest;
+
+    /**
+     * Creates a rater for puzzles of the given shape.
+     *
+     * @param geometry the shape of the puzzles
+     */
+    public DifficultyRater(Geometry geometry) {
+        this.geometry = geometry;
+        this.size = geometry.getSize();
+        this.candidates = new int[geometry.getCellCount()];
+        this.seen = new int[size + 1];
+        this.seenToo = new int[size + 1];
+    }
+
+    /**
+     * Returns the shape of the rated puzzles.
+     * @return the {@link Geometry}
+     */
+    public Geometry getGeometry() {
+        return geometry;
+    }
+
+    /**
+     * Rates the clues of a puzzle.
+     *
+     * @param puzzle the puzzle to rate
+     * @return its rating
+     * @throws IllegalArgumentException if the puzzle does not match the geometry
+     */
+    public DifficultyRating rate(Puzzle puzzle) {
+        return rate(puzzle.getGivens());
+    }
+
+    /**
+     * Rates a grid of clues.
+     *
+     * @param givens the clue of each cell, 0 for an empty cell; it is not modified
+     * @return its rating
+     * @throws IllegalArgumentException if the grid does not match the geometry
+     */
+    public DifficultyRating rate(int[] givens) {
+        if (givens.length != geometry.getCellCount()) {
+            throw new IllegalArgumentException("Grid must have " + geometry.getCellCount() + " cells");
+        }
+        score = 0;
+        hardest = null;
+        if (load(givens)) {
+            solve();
+        }
+        if (empty > 0) {
+            return new DifficultyRating(Difficulty.EXTREME, score + empty * UNSOLVED_CELL_PENALTY, false);
+        }
+        return new DifficultyRating(hardest == null ? Difficulty.EASY : hardest.getDifficulty(), score, true);
+    }
+
+    // ----------------------------------------------------------
+    // Solving
+    // ----------------------------------------------------------
+
+    /**
+     * Sets up the candidates of the empty cells from the clues.
+     *
+     * @param givens the clues
+     * @return {@code false} if two clues repeat a digit in a unit
+     */
+    private boolean load(int[] givens) {
+        int allDigits = geometry.getAllDigitsMask();
+        Arrays.fill(candidates, allDigits);
+        empty = givens.length;
+        for (int cell = 0; cell < givens.length; cell++) {
+            if (givens[cell] != 0) {
+                int bit = 1 << givens[cell];
+                if ((candidates[cell] & bit) == 0) {
+                    return false;
+                }
+                place(cell, bit);
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Applies the easiest technique that makes progress until the grid is full
+     * or no technique applies.
+     */
+    private void solve() {
+        while (empty > 0) {
+            if (hiddenSingles() || nakedSingles() || pointing() || boxLineReduction()
+                    || nakedPairs() || hiddenPairs()) {
+                continue;
+            }
+            return; // Stuck
+        }
+    }
+
+    /**
+     * Fills a cell and removes its digit from the candidates of its peers.
+     *
+     * @param cell the cell index
+     * @param bit  the digit, as a one-bit mask
+     */
+    private void place(int cell, int bit) {
+        candidates[cell] = 0;
+        for (int peer : geometry.peersOf(cell)) {
+            candidates[peer] &= ~bit;
+        }
+        empty--;
+    }
+
+    /**
+     * Removes candidates from a cell.
+     *
+     * @param cell the cell index
+     * @param mask the digits to remove
+     * @return {@code true} if the cell had any of them
+     */
+    private boolean eliminate(int cell, int mask) {
+        if ((candidates[cell] & mask) == 0) {
+            return false;
+        }
+        candidates[cell] &= ~mask;
+        return true;
+    }
+
+    /**
+     * Records one application of a technique.
+     *
+     * @param technique the technique applied
+     */
+    private void applied(Technique technique) {
+        score += technique.getWeight();
+        if (hardest == null || technique.ordinal() > hardest.ordinal()) {
+            hardest = technique;
+        }
+    }
+
+    // ----------------------------------------------------------
+    // Hints
+    // ----------------------------------------------------------
+
+    /**
+     * Loads the candidates of a board being played, for the hint methods.
+     *
+     * @param board the board, whose geometry must match the rater's
+     */
+    void loadCandidates(IBoard board) {
+        score = 0;
+        hardest = null;
+        empty = 0;
+        for (int cell = 0; cell < candidates.length; cell++) {
+            candidates[cell] = board.getCandidates(cell);
+            if (board.getValue(cell) == 0) empty++;
+        }
+    }
+
+    /**
+     * Finds a digit that fits in a single cell of a unit, without placing it.
+     *
+     * @return the single, encoded for {@link #cellOf(int)} and {@link #digitOf(int)}, or -1 if there is none
+     */
+    int findHiddenSingle() {
+        for (int unit = 0; unit < geometry.getUnitCount(); unit++) {
+            int[] cells = geometry.unitCells(unit);
+            int once = 0;
+            int twice = 0;
+            for (int cell : cells) {
+                twice |= once & candidates[cell];
+                once |= candidates[cell];
+            }
+            int singles = once & ~twice;
+            if (singles != 0) {
+                int bit = singles & -singles;
+                for (int cell : cells) {
+                    if ((candidates[cell] & bit) != 0) {
+                        return cell << DIGIT_BITS | Integer.numberOfTrailingZeros(bit);
+                    }
+                }
+            }
+        }
+        return -1;
+    }
+
+    /**
+     * Finds a cell with a single candidate, without placing it.
+     *
+     * @return the single, encoded for {@link #cellOf(int)} and {@link #digitOf(int)}, or -1 if there is none
+     */
+    int findNakedSingle() {
+        for (int cell = 0; cell < candidates.length; cell++) {
+            int mask = candidates[cell];
+            if (mask != 0 && (mask & (mask - 1)) == 0) {
+                return cell << DIGIT_BITS | Integer.numberOfTrailingZeros(mask);
+            }
+        }
+        return -1;
+    }
+
+    /**
+     * Runs the easiest elimination technique that removes a candidate.
+     *
+     * @return the technique applied, or {@code null} if none makes progress
+     */
+    Technique eliminate() {
+        if (pointing()) return Technique.POINTING;
+        if (boxLineReduction()) return Technique.BOX_LINE_REDUCTION;
+        if (nakedPairs()) return Technique.NAKED_PAIR;
+        if (hiddenPairs()) return Technique.HIDDEN_PAIR;
+        return null;
+    }
+
+    /**
+     * Returns the cell of a single found by the hint methods.
+     *
+     * @param single the encoded single
+     * @return the cell index
+     */
+    static int cellOf(int single) {
+        return single >>> DIGIT_BITS;
+    }
+
+    /**
+     * Returns the digit of a single found by the hint methods.
+     *
+     * @param single the encoded single
+     * @return the digit
+     */
+    static int digitOf(int single) {
+        return single & ((1 << DIGIT_BITS) - 1);
+    }
+
+    // ----------------------------------------------------------
+    // Techniques
+    // ----------------------------------------------------------
+
+    /**
+     * Places every digit that fits in a single cell of a unit.
+     *
+     * @return {@code true} if a digit was placed
+     */
+    private boolean hiddenSingles() {
+        boolean progress = false;
+        for (int unit = 0; unit < geometry.getUnitCount(); unit++) {
+            int[] cells = geometry.unitCells(unit);
+            int once = 0;
+            int twice = 0;
+            for (int cell : cells) {
+                twice |= once & candidates[cell];
+                once |= candidates[cell];
+            }
+            for (int singles = once & ~twice; singles != 0; singles &= singles - 1) {
+                int bit = singles & -singles;
+                for (int cell : cells) {
+                    if ((candidates[cell] & bit) != 0) {
+                        place(cell, bit);
+                        applied(Technique.HIDDEN_SINGLE);
+                        progress = true;
+                        break;
+                    }
+                }
+            }
+        }
+        return progress;
+    }
+
+    /**
+     * Places the digit of every cell with a single candidate.
+     *
+     * @return {@code true} if a digit was placed
+     */
+    private boolean nakedSingles() {
+        boolean progress = false;
+        for (int cell = 0; cell < candidates.length; cell++) {
+            int mask = candidates[cell];
+            if (mask != 0 && (mask & (mask - 1)) == 0) {
+                place(cell, mask);
+                applied(Technique.NAKED_SINGLE);
+                progress = true;
+            }
+        }
+        return progress;
+    }
+
+    /**
+     * Removes a digit from the rest of a row or column when all its candidates
+     * in a section lie on that line.
+     *
+     * @return {@code true} if a candidate was removed
+     */
+    private boolean pointing() {
+        boolean progress = false;
+        for (int section = 0; section < size; section++) {
+            int[] cells = geometry.sectionCells(section);
+            Arrays.fill(seen, 0);
+            Arrays.fill(seenToo, 0);
+            for (int cell : cells) {
+                for (int mask = candidates[cell]; mask != 0; mask &= mask - 1) {
+                    int digit = Integer.numberOfTrailingZeros(mask);
+                    seen[digit] |= 1 << geometry.rowOf(cell);
+                    seenToo[digit] |= 1 << geometry.colOf(cell);
+                }
+            }
+            for (int digit = 1; digit <= size; digit++) {
+                int bit = 1 << digit;
+                boolean removed = false;
+                if (Integer.bitCount(seen[digit]) == 1) {
+                    for (int cell : geometry.rowCells(Integer.numberOfTrailingZeros(seen[digit]))) {
+                        if (geometry.sectionOf(cell) != section) removed |= eliminate(cell, bit);
+                    }
+                }
+                if (Integer.bitCount(seenToo[digit]) == 1) {
+                    for (int cell : geometry.colCells(Integer.numberOfTrailingZeros(seenToo[digit]))) {
+                        if (geometry.sectionOf(cell) != section) removed |= eliminate(cell, bit);
+                    }
+                }
+                if (removed) {
+                    applied(Technique.POINTING);
+                    progress = true;
+                }
+            }
+        }
+        return progress;
+    }
+
+    /**
+     * Removes a digit from the rest of a section when all its candidates in a
+     * row or column lie in that section.
+     *
+     * @return {@code true} if a candidate was removed
+     */
+    private boolean boxLineReduction() {
+        boolean progress = false;
+        for (int line = 0; line < 2 * size; line++) {
+            int[] cells = geometry.unitCells(line);
+            boolean isRow = line < size;
+            Arrays.fill(seen, 0);
+            for (int cell : cells) {
+                for (int mask = candidates[cell]; mask != 0; mask &= mask - 1) {
+                    seen[Integer.numberOfTrailingZeros(mask)] |= 1 << geometry.sectionOf(cell);
+                }
+            }
+            for (int digit = 1; digit <= size; digit++) {
+                if (Integer.bitCount(seen[digit]) != 1) {
+                    continue;
+                }
+                int bit = 1 << digit;
+                boolean removed = false;
+                for (int cell : geometry.sectionCells(Integer.numberOfTrailingZeros(seen[digit]))) {
+                    int cellLine = isRow ? geometry.rowOf(cell) : size + geometry.colOf(cell);
+                    if (cellLine != line) removed |= eliminate(cell, bit);
+                }
+                if (removed) {
+                    applied(Technique.BOX_LINE_REDUCTION);
+                    progress = true;
+                }
+            }
+        }
+        return progress;
+    }
+
+    /**
+     * Removes the two candidates of a pair of cells that share exactly those
+     * candidates from the other cells of their unit.
+     *
+     * @return {@code true} if a candidate was removed
+     */
+    private boolean nakedPairs() {
+        boolean progress = false;
+        for (int unit = 0; unit < geometry.getUnitCount(); unit++) {
+            int[] cells = geometry.unitCells(unit);
+            for (int i = 0; i < cells.length; i++) {
+                int pair = candidates[cells[i]];
+                if (Integer.bitCount(pair) != 2) {
+                    continue;
+                }
+                for (int j = i + 1; j < cells.length; j++) {
+                    if (candidates[cells[j]] != pair) {
+                        continue;
+                    }
+                    boolean removed = false;
+                    for (int k = 0; k < cells.length; k++) {
+                        if (k != i && k != j) removed |= eliminate(cells[k], pair);
+                    }
+                    if (removed) {
+                        applied(Technique.NAKED_PAIR);
+                        progress = true;
+                    }
+                    break;
+                }
+            }
+        }
+        return progress;
+    }
+
+    /**
+     * Restricts two cells to two digits when, in some unit, those digits fit
+     * only in those two cells.
+     *
+     * @return {@code true} if a candidate was removed
+     */
+    private boolean hiddenPairs() {
+        boolean progress = false;
+        for (int unit = 0; unit < geometry.getUnitCount(); unit++) {
+            int[] cells = geometry.unitCells(unit);
+            Arrays.fill(seen, 0);
+            for (int position = 0; position < cells.length; position++) {
+                for (int mask = candidates[cells[position]]; mask != 0; mask &= mask - 1) {
+                    seen[Integer.numberOfTrailingZeros(mask)] |= 1 << position;
+                }
+            }
+            for (int first = 1; first <= size; first++) {
+                if (Integer.bitCount(seen[first]) != 2) {
+                    continue;
+                }
+                for (int second = first + 1; second <= size; second++) {
+                    if (seen[second] != seen[first]) {
+                        continue;
+                    }
+                    int others = ~((1 << first) | (1 << second));
+                    boolean removed = false;
+                    for (int positions = seen[first]; positions != 0; positions &= positions - 1) {
+                        removed |= eliminate(cells[Integer.numberOfTrailingZeros(positions)], others);
+                    }
+                    if (removed) {
+                        applied(Technique.HIDDEN_PAIR);
+                        progress = true;
+                    }
+                    break;
+                }
+            }
+        }
+        return progress;
+    }
+}
@@ -0,0 +1,62 @@
+package com.sudoku.model;
+
+/**
+ * Result of rating a puzzle with the {@link DifficultyRater}.
+ */
+public final class DifficultyRating {
+
+    /** Tier of the puzzle. */
+    private final Difficulty difficulty;
+
+    /** Sum of the weights of the techniques applied, plus a penalty per cell left unsolved. */
+    private final int score;
+
+    /** Whether the rated techniques alone solved the puzzle. */
+    private final boolean solved;
+
+    /**
+     * Creates a rating.
+     *
+     * @param difficulty the tier of the puzzle
+     * @param score      the score of the puzzle
+     * @param solved     whether the rated techniques alone solved the puzzle
+     */
+    public DifficultyRating(Difficulty difficulty, int score, boolean solved) {
+        this.difficulty = difficulty;
+        this.score = score;
+        this.solved = solved;
+    }
+
+    /**
+     * Returns the tier of the puzzle.
+     * @return the {@link Difficulty}
+     */
+    public Difficulty getDifficulty() {
+        return difficulty;
+    }
+
+    /**
+     * Returns the score of the puzzle; higher is harder.
+     * @return the score
+     */
+    public int getScore() {
+        return score;
+    }
+
+    /**
+     * Tells whether the rated techniques alone solved the puzzle.
+     * @return {@code true} if no trial and error is needed
+     */
+    public boolean isSolved() {
+        return solved;
+    }
+
+    /**
+     * Returns a one-line description of the rating, e.g. {@code "HARD (score 87)"}.
+     * @return the description
+     */
+    @Override
+    public String toString() {
+        return difficulty + " (score " + score + ")";
+    }
+}
@@ -0,0 +1,691 @@
+package com.sudoku.model;
+
+import java.util.Arrays;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.random.RandomGenerator;
+
+/**
+ * Exact-cover Sudoku solver based on Knuth's Dancing Links (DLX).
+ * <p>
+ * Every candidate placement (a digit in a cell) is a row of the exact-cover
+ * matrix, and every Sudoku rule is a column: each cell holds one digit, and
+ * each row, column and block holds each digit once. The sparse matrix is kept
+ * in flat {@code int} arrays (left, right, up, down and column links) that are
+ * allocated once per solver, so the search allocates nothing.
+ * </p>
+ * <p>
+ * Instead of building the full matrix and covering the rows of the givens,
+ * every call links only the constraints the givens leave open and the
+ * candidates they still allow. On a nearly complete 25×25 grid that is a few
+ * thousand nodes instead of covering hundreds of givens, which is what makes
+ * repeated uniqueness checks cheap.
+ * </p>
+ * <p>
+ * Grids are passed as {@code int} arrays addressed by {@link Geometry} cell
+ * index, with 0 for an empty cell. A solver keeps search state between calls
+ * and must not be shared between threads.
+ * </p>
+ *
+ * Example usage:
+ * <pre>
+ *     DlxSolver solver = new DlxSolver(Geometry.NINE);
+ *     int[] grid = new int[Geometry.NINE.getCellCount()];
+ *     solver.fill(grid, new SplittableRandom(42)); // random complete grid, the same for the same seed
+ *     grid[0] = 0;
+ *     int solutions = solver.countSolutions(grid, 2); // 1
+ * </pre>
+ */
+public final class DlxSolver {
+
+    /** Search nodes between two checks of the {@link #cancellation} flag; a power of two. */
+    private static final int CANCEL_CHECK_INTERVAL = 1024;
+
+    /** Shape of the grids solved. */
+    private final Geometry geometry;
+
+    /** Side length of the grid. */
+    private final int size;
+
+    /** Number of constraint columns; headers are nodes 1..columns and node 0 is the root. */
+    private final int columns;
+
+    /** Horizontal links. */
+    private final int[] left;
+
+    /** Horizontal links. */
+    private final int[] right;
+
+    /** Vertical links. */
+    private final int[] up;
+
+    /** Vertical links. */
+    private final int[] down;
+
+    /** Column header of each node. */
+    private final int[] column;
+
+    /** Candidate ({@code cell * size + digit - 1}) of the matrix row each node belongs to. */
+    private final int[] candidate;
+
+    /** Digits used by the givens in each row, column and block (rows first, then columns, then blocks). */
+    private final int[] used;
+
+    /** Number of rows still linked into each column, indexed by header. */
+    private final int[] columnSize;
+
+    /** Nodes of the rows chosen so far, one per search level. */
+    private final int[] chosen;
+
+    /** Rows of the column being branched on, one slice of {@code size} entries per search level. */
+    private final int[] order;
+
+    /** Solution found by the current call, in the same layout as the input grid. */
+    private final int[] solution;
+
+    /** Current search depth. */
+    private int depth;
+
+    /** Random source for {@link #fill(int[], RandomGenerator)}; {@code null} for a deterministic search. */
+    private RandomGenerator random;
+
+    /** Search nodes the current attempt may still visit before it is abandoned. */
+    private long remainingNodes;
+
+    /** Flag abandoning the search when raised, or {@code null}; see {@link #share(AtomicBoolean, AtomicInteger, int)}. */
+    private AtomicBoolean cancellation;
+
+    /** Counter the solutions found are added to, or {@code null}. */
+    private AtomicInteger sharedSolutions;
+
+    /** Value of {@link #sharedSolutions} at which {@link #cancellation} is raised. */
+    private int sharedLimit;
+
+    /** Solutions found by the current call and not yet added to {@link #sharedSolutions}. */
+    private int unpublishedSolutions;
+
+    /** Search nodes explored since the last {@link #recordSearch(GenerationStats)}. */
+    private long nodesExplored;
+
+    /** Rows tried since the last {@link #recordSearch(GenerationStats)}. */
+    private long candidatesTried;
+
+    /** Dead ends reached since the last {@link #recordSearch(GenerationStats)}. */
+    private long backtracks;
+
+    /**
+     * Builds the exact-cover matrix for the given geometry.
+     *
+     * @param geometry the shape of the grids to solve
+     */
+    public DlxSolver(Geometry geometry) {
+        this.geometry = geometry;
+        this.size = geometry.getSize();
+        int cells = geometry.getCellCount();
+        this.columns = 4 * cells;
+        int nodes = 1 + columns + 4 * cells * size;
+        this.left = new int[nodes];
+        this.right = new int[nodes];
+        this.up = new int[nodes];
+        this.down = new int[nodes];
+        this.column = new int[nodes];
+        this.candidate = new int[nodes];
+        this.used = new int[3 * size];
+        this.columnSize = new int[columns + 1];
+        this.chosen = new int[cells];
+        this.order = new int[cells * size];
+        this.solution = new int[cells];
+    }
+
+    /**
+     * Returns the shape of the grids this solver handles.
+     * @return the {@link Geometry}
+     */
+    public Geometry getGeometry() {
+        return geometry;
+    }
+
+    // ----------------------------------------------------------
+    // Matrix construction
+    // ----------------------------------------------------------
+
+    /**
+     * Links the constraints left open by the givens and one row per candidate
+     * they still allow, in candidate order ({@code cell * size + digit - 1}).
+     * <p>
+     * Expects {@link #used} to hold the digits of the givens.
+     * </p>
+     *
+     * @param grid the partial grid
+     */
+    private void build(int[] grid) {
+        int cells = geometry.getCellCount();
+        int previous = 0;
+        for (int header = 1; header <= columns; header++) {
+            up[header] = header;
+            down[header] = header;
+            column[header] = header;
+            columnSize[header] = 0;
+            if (isOpen(grid, header - 1)) {
+                right[previous] = header;
+                left[header] = previous;
+                previous = header;
+            }
+        }
+        right[previous] = 0;
+        left[0] = previous;
+
+        int node = columns + 1;
+        int allDigits = geometry.getAllDigitsMask();
+        for (int cell = 0; cell < cells; cell++) {
+            if (grid[cell] != 0) {
+                continue;
+            }
+            int row = geometry.rowOf(cell);
+            int col = geometry.colOf(cell);
+            int box = geometry.sectionOf(cell);
+            int candidates = allDigits & ~(used[row] | used[size + col] | used[2 * size + box]);
+            for (; candidates != 0; candidates &= candidates - 1) {
+                int digit = Integer.numberOfTrailingZeros(candidates) - 1;
+                int first = node;
+                appendNode(node++, 1 + cell);
+                appendNode(node++, 1 + cells + row * size + digit);
+                appendNode(node++, 1 + 2 * cells + col * size + digit);
+                appendNode(node++, 1 + 3 * cells + box * size + digit);
+                for (int i = 0; i < 4; i++) {
+                    candidate[first + i] = cell * size + digit;
+                    left[first + i] = first + (i + 3) % 4;
+                    right[first + i] = first + (i + 1) % 4;
+                }
+            }
+        }
+    }
+
+    /**
+     * Tells whether a constraint is still open, that is, not already satisfied by a given.
+     *
+     * @param grid       the partial grid
+     * @param constraint the constraint (column header minus one)
+     * @return {@code true} if the constraint must be covered by the search
+     */
+    private boolean isOpen(int[] grid, int constraint) {
+        int cells = geometry.getCellCount();
+        int kind = constraint / cells;
+        int unit = (constraint % cells) / size;
+        int bit = 1 << (constraint % size + 1);
+        return switch (kind) {
+            case 0 -> grid[constraint] == 0;
+            case 1 -> (used[unit] & bit) == 0;
+            case 2 -> (used[size + unit] & bit) == 0;
+            default -> (used[2 * size + unit] & bit) == 0;
+        };
+    }
+
+    /**
+     * Links a node at the bottom of a column.
+     *
+     * @param node   the node to link
+     * @param header the column header
+     */
+    private void appendNode(int node, int header) {
+        column[node] = header;
+        up[node] = up[header];
+        down[node] = header;
+        down[up[header]] = node;
+        up[header] = node;
+        columnSize[header]++;
+    }
+
+    // ----------------------------------------------------------
+    // Public API
+    // ----------------------------------------------------------
+
+    /**
+     * Solves a partial grid, writing the first solution found into it.
+     *
+     * @param grid the grid to solve, left unchanged if it has no solution
+     * @return {@code true} if the grid was solved
+     * @throws IllegalArgumentException if the grid does not match the geometry
+     */
+    public boolean solve(int[] grid) {
+        random = null;
+        remainingNodes = Long.MAX_VALUE;
+        if (run(grid, 1) == 0) {
+            return false;
+        }
+        System.arraycopy(solution, 0, grid, 0, grid.length);
+        return true;
+    }
+
+    /**
+     * Solves a partial grid within a node budget, writing the first solution
+     * found into it.
+     * <p>
+     * Used where a grid comes from outside and one bad grid must not hold a
+     * thread for long: sparse or contradictory 16×16 and 25×25 grids can send
+     * the search into dead subtrees of millions of nodes.
+     * </p>
+     *
+     * @param grid     the grid to solve, left unchanged unless it is solved
+     * @param maxNodes the number of search nodes after which the search is abandoned
+     * @return 1 if the grid was solved, 0 if it has no solution, or -1 if the
+     *         search was abandoned or cancelled
+     * @throws IllegalArgumentException if the grid does not match the geometry or {@code maxNodes < 1}
+     */
+    public int solve(int[] grid, long maxNodes) {
+        if (maxNodes < 1) {
+            throw new IllegalArgumentException("Node budget must be at least 1");
+        }
+        random = null;
+        remainingNodes = maxNodes;
+        if (run(grid, 1) == 1) {
+            System.arraycopy(solution, 0, grid, 0, grid.length);
+            return 1;
+        }
+        return remainingNodes < 0 ? -1 : 0;
+    }
+
+    /**
+     * Counts the solutions of a partial grid, stopping at {@code limit}.
+     * <p>
+     * A limit of 2 is enough to tell whether a puzzle has a unique solution.
+     * </p>
+     *
+     * @param grid  the grid to examine; it is not modified
+     * @param limit the number of solutions after which the search stops
+     * @return the number of solutions, at most {@code limit}
+     * @throws IllegalArgumentException if the grid does not match the geometry or {@code limit < 1}
+     */
+    public int countSolutions(int[] grid, int limit) {
+        if (limit < 1) {
+            throw new IllegalArgumentException("Limit must be at least 1");
+        }
+        random = null;
+        remainingNodes = Long.MAX_VALUE;
+        return run(grid, limit);
+    }
+
+    /**
+     * Counts the solutions of a partial grid, stopping at {@code limit} or when
+     * the search has visited {@code maxNodes} nodes, whichever comes first.
+     * <p>
+     * Used when a definite answer is only worth a bounded amount of work, such as
+     * checking whether a clue can be removed from a large puzzle.
+     * </p>
+     *
+     * @param grid     the grid to examine; it is not modified
+     * @param limit    the number of solutions after which the search stops
+     * @param maxNodes the number of search nodes after which the search is abandoned
+     * @return the number of solutions, at most {@code limit}, or -1 if the search was abandoned
+     * @throws IllegalArgumentException if the grid does not match the geometry, {@code limit < 1}
+     *                                  or {@code maxNodes < 1}
+     */
+    public int countSolutions(int[] grid, int limit, long maxNodes) {
+        if (limit < 1) {
+            throw new IllegalArgumentException("Limit must be at least 1");
+        }
+        if (maxNodes < 1) {
+            throw new IllegalArgumentException("Node budget must be at least 1");
+        }
+        random = null;
+        remainingNodes = maxNodes;
+        int found = run(grid, limit);
+        return remainingNodes < 0 && found < limit ? -1 : found;
+    }
+
+    /**
+     * Completes a grid with a random solution, usually starting from an empty grid.
+     * <p>
+     * Candidates are tried in random order. An unlucky attempt can wander into a
+     * large dead subtree on the bigger grids, so each attempt gets a node budget
+     * and the search restarts with twice the budget when it runs out.
+     * </p>
+     *
+     * @param grid   the grid to fill, left unchanged if it cannot be completed
+     * @param random the random source deciding which solution is produced; the
+     *               same seeded source always produces the same solution
+     * @return {@code true} if the grid was filled
+     * @throws IllegalArgumentException if the grid does not match the geometry
+     */
+    public boolean fill(int[] grid, RandomGenerator random) {
+        this.random = random;
+        try {
+            for (long budget = 4L * geometry.getCellCount(); ; budget *= 2) {
+                remainingNodes = budget;
+                int found = run(grid, 1);
+                if (found == 1) {
+                    System.arraycopy(solution, 0, grid, 0, grid.length);
+                    return true;
+                }
+                if (remainingNodes >= 0) {
+                    return false; // Exhausted the whole search space
+                }
+            }
+        } finally {
+            this.random = null;
+        }
+    }
+
+    /**
+     * Returns the search nodes explored since the last {@link #recordSearch(GenerationStats)}.
+     * @return the number of nodes
+     */
+    long getNodesExplored() {
+        return nodesExplored;
+    }
+
+    /**
+     * Adds the search work done since the last call (nodes explored, rows
+     * tried and dead ends) to generation statistics, and starts counting anew.
+     * The search only counts in plain fields, so recording costs nothing per node.
+     *
+     * @param stats the statistics to add the work to
+     */
+    void recordSearch(GenerationStats stats) {
+        stats.recordSearch(nodesExplored, candidatesTried, backtracks);
+        nodesExplored = 0;
+        candidatesTried = 0;
+        backtracks = 0;
+    }
+
+    // ----------------------------------------------------------
+    // Parallel search support
+    // ----------------------------------------------------------
+
+    /**
+     * Makes the search of the following calls part of a search shared with
+     * other solvers, as {@link ParallelSolver} runs it over sibling subtrees.
+     * <p>
+     * The search gives up soon after {@code cancellation} is raised, as if its
+     * node budget had run out. When {@code solutions} is given, the solutions
+     * found are also added to it, in batches every few thousand nodes and at
+     * the end of each call, and {@code cancellation} is raised once it reaches
+     * {@code limit}, so that sibling searches stop counting past a common limit.
+     * </p>
+     *
+     * @param cancellation the flag to poll, or {@code null} to never give up
+     * @param solutions    the shared count of solutions, or {@code null}
+     * @param limit        the shared count at which the flag is raised
+     */
+    void share(AtomicBoolean cancellation, AtomicInteger solutions, int limit) {
+        this.cancellation = cancellation;
+        this.sharedSolutions = solutions;
+        this.sharedLimit = limit;
+    }
+
+    /**
+     * Returns the choices of the first level of the search of a partial grid:
+     * the rows of the most constrained column, once the forced naked singles
+     * are placed. Splitting a search on them splits it exactly as this solver
+     * branches.
+     *
+     * @param grid       the partial grid; the forced naked singles are written into it
+     * @param placements receives the candidates of the choices, as {@code cell * size + digit - 1};
+     *                   at least {@code size} long
+     * @return the number of choices, 0 if the grid has no solution, or -1 if
+     *         placing the naked singles completed it
+     * @throws IllegalArgumentException if the grid does not match the geometry
+     */
+    int branch(int[] grid, int[] placements) {
+        if (grid.length != geometry.getCellCount()) {
+            throw new IllegalArgumentException("Grid must have " + geometry.getCellCount() + " cells");
+        }
+        if (!givensConsistent(grid)) {
+            return 0;
+        }
+        System.arraycopy(grid, 0, solution, 0, grid.length);
+        if (!placeNakedSingles(solution)) {
+            return 0;
+        }
+        System.arraycopy(solution, 0, grid, 0, grid.length);
+        build(solution);
+        if (right[0] == 0) {
+            return -1;
+        }
+        int best = bestColumn();
+        int count = 0;
+        for (int node = down[best]; node != best; node = down[node]) {
+            placements[count++] = candidate[node];
+        }
+        return count;
+    }
+
+    // ----------------------------------------------------------
+    // Search
+    // ----------------------------------------------------------
+
+    /**
+     * Builds the matrix for the givens of a grid and runs the search.
+     * <p>
+     * The search starts from {@link #solution}, a copy of the grid completed with
+     * its forced naked singles, and writes the chosen rows into it.
+     * </p>
+     *
+     * @param grid  the partial grid
+     * @param limit the number of solutions after which the search stops
+     * @return the number of solutions found, at most {@code limit}
+     */
+    private int run(int[] grid, int limit) {
+        if (grid.length != geometry.getCellCount()) {
+            throw new IllegalArgumentException("Grid must have " + geometry.getCellCount() + " cells");
+        }
+        if (!givensConsistent(grid)) {
+            return 0;
+        }
+        System.arraycopy(grid, 0, solution, 0, grid.length);
+        if (!placeNakedSingles(solution)) {
+            return 0;
+        }
+        build(solution);
+        depth = 0;
+        unpublishedSolutions = 0;
+        int found = search(limit);
+        publishSolutions();
+        return found;
+    }
+
+    /**
+     * Adds the solutions found since the last call to {@link #sharedSolutions},
+     * raising {@link #cancellation} once it reaches {@link #sharedLimit}.
+     */
+    private void publishSolutions() {
+        if (sharedSolutions != null && unpublishedSolutions > 0) {
+            if (sharedSolutions.addAndGet(unpublishedSolutions) >= sharedLimit) {
+                cancellation.set(true);
+            }
+            unpublishedSolutions = 0;
+        }
+    }
+
+    /**
+     * Fills, until none is left, every empty cell whose row, column and block
+     * leave a single digit. Those placements are forced, so they change neither
+     * the solutions nor their number, and they shrink the matrix the search
+     * works on, often to nothing on a well-constrained puzzle.
+     *
+     * @param grid the grid to complete in place; {@link #used} must hold its digits
+     * @return {@code false} if some empty cell has no digit left
+     */
+    private boolean placeNakedSingles(int[] grid) {
+        int allDigits = geometry.getAllDigitsMask();
+        boolean placed = true;
+        while (placed) {
+            placed = false;
+            for (int cell = 0; cell < grid.length; cell++) {
+                if (grid[cell] != 0) {
+                    continue;
+                }
+                int row = geometry.rowOf(cell);
+                int col = size + geometry.colOf(cell);
+                int box = 2 * size + geometry.sectionOf(cell);
+                int candidates = allDigits & ~(used[row] | used[col] | used[box]);
+                if (candidates == 0) {
+                    return false;
+                }
+                if ((candidates & (candidates - 1)) == 0) {
+                    grid[cell] = Integer.numberOfTrailingZeros(candidates);
+                    used[row] |= candidates;
+                    used[col] |= candidates;
+                    used[box] |= candidates;
+                    placed = true;
+                }
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Checks that the givens are within range and do not repeat a digit in a
+     * unit, recording their digits in {@link #used}.
+     *
+     * @param grid the partial grid
+     * @return {@code true} if no unit repeats a given digit
+     * @throws IllegalArgumentException if a value is outside 0–size
+     */
+    private boolean givensConsistent(int[] grid) {
+        Arrays.fill(used, 0);
+        for (int cell = 0; cell < grid.length; cell++) {
+            int digit = grid[cell];
+            if (digit == 0) {
+                continue;
+            }
+            if (digit < 0 || digit > size) {
+                throw new IllegalArgumentException("Cell value must be between 0 and " + size + ": " + digit);
+            }
+            int bit = 1 << digit;
+            int row = geometry.rowOf(cell);
+            int col = size + geometry.colOf(cell);
+            int box = 2 * size + geometry.sectionOf(cell);
+            if (((used[row] | used[col] | used[box]) & bit) != 0) {
+                return false;
+            }
+            used[row] |= bit;
+            used[col] |= bit;
+            used[box] |= bit;
+        }
+        return true;
+    }
+
+    /**
+     * Recursively covers the column with the fewest rows left.
+     *
+     * @param limit the number of solutions after which the search stops
+     * @return the number of solutions found below this level, at most {@code limit}
+     */
+    private int search(int limit) {
+        if (right[0] == 0) {
+            recordSolution();
+            unpublishedSolutions++;
+            return 1;
+        }
+        if (--remainingNodes < 0) {
+            return 0; // Attempt abandoned, fill() restarts
+        }
+        if ((remainingNodes & (CANCEL_CHECK_INTERVAL - 1)) == 0 && cancellation != null) {
+            publishSolutions();
+            if (cancellation.get()) {
+                remainingNodes = -1;
+                return 0; // Cancelled, handled as an abandoned attempt
+            }
+        }
+
+        nodesExplored++;
+        int best = bestColumn();
+        int count = columnSize[best];
+        if (count == 0) {
+            backtracks++;
+            return 0; // Dead end
+        }
+
+        cover(best);
+        int base = depth * size;
+        int rows = 0;
+        for (int node = down[best]; node != best; node = down[node]) {
+            order[base + rows++] = node;
+        }
+        if (random != null) {
+            for (int i = rows - 1; i > 0; i--) {
+                int j = random.nextInt(i + 1);
+                int tmp = order[base + i];
+                order[base + i] = order[base + j];
+                order[base + j] = tmp;
+            }
+        }
+
+        int found = 0;
+        for (int i = 0; i < rows && found < limit && remainingNodes >= 0; i++) {
+            int node = order[base + i];
+            candidatesTried++;
+            chosen[depth++] = node;
+            for (int j = right[node]; j != node; j = right[j]) {
+                cover(column[j]);
+            }
+            found += search(limit - found);
+            for (int j = left[node]; j != node; j = left[j]) {
+                uncover(column[j]);
+            }
+            depth--;
+        }
+        uncover(best);
+        return found;
+    }
+
+    /**
+     * Finds the column with the fewest rows left, the first one on ties.
+     *
+     * @return the header of the column; the matrix must have a column left
+     */
+    private int bestColumn() {
+        int best = right[0];
+        for (int header = right[best]; header != 0 && columnSize[best] > 1; header = right[header]) {
+            if (columnSize[header] < columnSize[best]) {
+                best = header;
+            }
+        }
+        return best;
+    }
+
+    /**
+     * Copies the chosen rows into {@link #solution} when a solution is reached.
+     */
+    private void recordSolution() {
+        for (int i = 0; i < depth; i++) {
+            int placed = candidate[chosen[i]];
+            solution[placed / size] = placed % size + 1;
+        }
+    }
+
+    /**
+     * Removes a column from the header list and all of its rows from the other columns.
+     *
+     * @param header the column header
+     */
+    private void cover(int header) {
+        right[left[header]] = right[header];
+        left[right[header]] = left[header];
+        for (int i = down[header]; i != header; i = down[i]) {
+            for (int j = right[i]; j != i; j = right[j]) {
+                down[up[j]] = down[j];
+                up[down[j]] = up[j];
+                columnSize[column[j]]--;
+            }
+        }
+    }
+
+    /**
+     * Reverts {@link #cover(int)}, relinking in the exact reverse order.
+     *
+     * @param header the column header
+     */
+    private void uncover(int header) {
+        for (int i = up[header]; i != header; i = up[i]) {
+            for (int j = left[i]; j != i; j = left[j]) {
+                columnSize[column[j]]++;
+                down[up[j]] = j;
+                up[down[j]] = j;
+            }
+        }
+        right[left[header]] = header;
+        left[right[header]] = header;
+    }
+}
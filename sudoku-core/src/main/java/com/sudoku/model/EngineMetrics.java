@@ -0,0 +1,128 @@
+package com.sudoku.model;
+
+import java.lang.management.ManagementFactory;
+import javax.management.JMException;
+import javax.management.MBeanServer;
+import javax.management.ObjectName;
+import javax.management.StandardMBean;
+
+/**
+ * Counters and timings of the engine, published as platform MBeans so that
+ * any JMX client ({@code jconsole}, {@code jcmd}, a monitoring agent) can read
+ * them from a running game, server or tool.
+ * <p>
+ * The statistics are always kept. Three MBeans publish them under the
+ * {@value #DOMAIN} domain once {@link #registerMBeans()} has been called, as
+ * the {@code main} methods of the game, the server and the tools do:
+ * </p>
+ * <ul>
+ *   <li>{@code com.sudoku:type=Generator}: every complete grid of a
+ *   {@link SudokuGenerator} and every puzzle of a {@link PuzzleGenerator},
+ *   with the search nodes explored, candidates tried and backtracks of the
+ *   searches behind them ({@link GenerationStatsMXBean}).</li>
+ *   <li>{@code com.sudoku:type=Validation}: the {@code validateInput} calls of
+ *   both board implementations ({@link OperationStatsMXBean}).</li>
+ *   <li>{@code com.sudoku:type=HintEngine}: every {@link HintEngine#findHint()}
+ *   ({@link OperationStatsMXBean}).</li>
+ * </ul>
+ * <p>
+ * Recording is kept off the hot paths. The searches count their work in plain
+ * fields and record it once per generation. Validation takes about a
+ * nanosecond on a {@link BitmaskBoard}, less than reading the clock, so each
+ * board counts its calls in a plain field and records them in batches of
+ * {@value #VALIDATION_SAMPLE_INTERVAL}, timing only the call that closes the
+ * batch; a board drops the calls of its last, incomplete batch.
+ * </p>
+ * <p>
+ * Registration is explicit because starting the platform MBean server loads
+ * some 160 JMX classes and takes about 300 ms: done on class load, it stalled
+ * the first generation or keystroke of every library user and test.
+ * </p>
+ */
+public final class EngineMetrics {
+
+    /** JMX domain of the engine MBeans. */
+    public static final String DOMAIN = "com.sudoku";
+
+    /** Validation calls per batch recorded, of which one is timed. */
+    static final int VALIDATION_SAMPLE_INTERVAL = 64;
+
+    /** Statistics of the generators. */
+    static final GenerationStats GENERATION = new GenerationStats();
+
+    /** Statistics of board validation. */
+    static final OperationStats VALIDATION = new OperationStats();
+
+    /** Statistics of the hint engine. */
+    static final OperationStats HINTS = new OperationStats();
+
+    /** Whether {@link #registerMBeans()} has run; guarded by the class lock. */
+    private static boolean registered;
+
+    /** Static holder only, not meant to be instantiated. */
+    private EngineMetrics() {
+    }
+
+    /**
+     * Publishes the statistics as platform MBeans. Later calls do nothing.
+     * <p>
+     * If the MBeans cannot be registered a warning is printed; the statistics
+     * are still kept.
+     * </p>
+     */
+    public static synchronized void registerMBeans() {
+        if (registered) {
+            return;
+        }
+        registered = true;
+        try {
+            MBeanServer server = ManagementFactory.getPlatformMBeanServer();
+            register(server, "Generator", new StandardMBean(GENERATION, GenerationStatsMXBean.class, true));
+            register(server, "Validation", new StandardMBean(VALIDATION, OperationStatsMXBean.class, true));
+            register(server, "HintEngine", new StandardMBean(HINTS, OperationStatsMXBean.class, true));
+        } catch (JMException | SecurityException e) {
+            // The counters still work; only the JMX view is missing
+            System.err.println("Could not register the engine MBeans: " + e.getMessage());
+        }
+    }
+
+    /**
+     * Registers an MBean, unless an MBean of that name exists already (the
+     * engine loaded a second time in the same JVM).
+     *
+     * @param server the MBean server
+     * @param type   the {@code type} key of the name
+     * @param mbean  the MBean
+     * @throws JMException if the MBean cannot be registered
+     */
+    private static void register(MBeanServer server, String type, StandardMBean mbean) throws JMException {
+        ObjectName name = new ObjectName(DOMAIN, "type", type);
+        if (!server.isRegistered(name)) {
+            server.registerMBean(mbean, name);
+        }
+    }
+
+    /**
+     * Returns the statistics of the generators, as published on JMX.
+     * @return the generator statistics
+     */
+    public static GenerationStatsMXBean generation() {
+        return GENERATION;
+    }
+
+    /**
+     * Returns the statistics of board validation, as published on JMX.
+     * @return the validation statistics
+     */
+    public static OperationStatsMXBean validation() {
+        return VALIDATION;
+    }
+
+    /**
+     * Returns the statistics of the hint engine, as published on JMX.
+     * @return the hint statistics
+     */
+    public static OperationStatsMXBean hints() {
+        return HINTS;
+    }
+}
@@ -0,0 +1,48 @@
+package com.sudoku.model;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Enabled;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+import jdk.jfr.Threshold;
+
+/**
+ * Flight Recorder event of one puzzle generated by a {@link PuzzleGenerator},
+ * from the filling of the solution to the rating of the clues.
+ * <p>
+ * Disabled by default: a disabled event is never committed, and the JIT removes
+ * its allocation, so generation costs the same as without it. Enable it in a
+ * recording with {@code +com.sudoku.Generation#enabled=true}.
+ * </p>
+ */
+@Name("com.sudoku.Generation")
+@Label("Puzzle Generation")
+@Category({"Sudoku", "Engine"})
+@Description("A puzzle generated, from the solution fill to the rating of its clues")
+@Enabled(false)
+@Threshold("0 ms")
+@StackTrace(false)
+final class GenerationEvent extends jdk.jfr.Event {
+
+    /** Side length of the grid. */
+    @Label("Size")
+    int size;
+
+    /** Seed the puzzle was drawn from; the same generator settings and seed give the same puzzle. */
+    @Label("Seed")
+    long seed;
+
+    /** Search nodes explored by the fill and the uniqueness checks. */
+    @Label("Nodes Explored")
+    long nodesExplored;
+
+    /** Number of clues kept. */
+    @Label("Clues")
+    int clues;
+
+    /** Difficulty tier of the puzzle. */
+    @Label("Difficulty")
+    String difficulty;
+}
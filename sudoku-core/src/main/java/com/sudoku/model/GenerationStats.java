@@ -0,0 +1,71 @@
+package com.sudoku.model;
+
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Statistics of the generators: the timings of every generation, plus the
+ * search work the generators add up in plain fields and record once per
+ * generation, so the search loops themselves never touch a shared counter.
+ */
+final class GenerationStats extends OperationStats implements GenerationStatsMXBean {
+
+    /** Search nodes explored. */
+    private final LongAdder nodes = new LongAdder();
+
+    /** Candidate placements tried. */
+    private final LongAdder candidates = new LongAdder();
+
+    /** Dead ends backtracked from. */
+    private final LongAdder backtracks = new LongAdder();
+
+    /**
+     * Records the work of the searches of one generation.
+     *
+     * @param nodes      the search nodes explored
+     * @param candidates the candidate placements tried
+     * @param backtracks the dead ends backtracked from
+     */
+    void recordSearch(long nodes, long candidates, long backtracks) {
+        this.nodes.add(nodes);
+        this.candidates.add(candidates);
+        this.backtracks.add(backtracks);
+    }
+
+    /**
+     * Returns the number of search nodes explored.
+     * @return the number of nodes
+     */
+    @Override
+    public long getNodesExplored() {
+        return nodes.sum();
+    }
+
+    /**
+     * Returns the number of candidate placements tried.
+     * @return the number of candidates tried
+     */
+    @Override
+    public long getCandidatesTried() {
+        return candidates.sum();
+    }
+
+    /**
+     * Returns the number of dead ends backtracked from.
+     * @return the number of backtracks
+     */
+    @Override
+    public long getBacktracks() {
+        return backtracks.sum();
+    }
+
+    /**
+     * Clears the counters, including the search work.
+     */
+    @Override
+    public void reset() {
+        super.reset();
+        nodes.reset();
+        candidates.reset();
+        backtracks.reset();
+    }
+}
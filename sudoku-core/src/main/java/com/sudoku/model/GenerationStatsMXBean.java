@@ -0,0 +1,28 @@
+package com.sudoku.model;
+
+/**
+ * Management interface of the generator metrics: the timings of every
+ * generation, plus the work done by the searches filling and checking the grids.
+ */
+public interface GenerationStatsMXBean extends OperationStatsMXBean {
+
+    /**
+     * Returns the number of search nodes explored: the positions at which the
+     * search picked a cell or constraint to branch on.
+     * @return the number of nodes
+     */
+    long getNodesExplored();
+
+    /**
+     * Returns the number of candidate placements tried by the searches.
+     * @return the number of candidates tried
+     */
+    long getCandidatesTried();
+
+    /**
+     * Returns the number of dead ends the searches backtracked from: positions
+     * where some cell or constraint had no candidate left.
+     * @return the number of backtracks
+     */
+    long getBacktracks();
+}
@@ -0,0 +1,427 @@
+package com.sudoku.model;
+
+/**
+ * Describes the shape of a Sudoku grid: its size and the size of its sections (boxes).
+ * <p>
+ * A geometry of size {@code n} with sections of {@code boxRows × boxCols} cells has
+ * {@code n × n} cells, {@code n} rows, {@code n} columns and {@code n} sections, and
+ * uses the digits {@code 1..n}. Everything that depends on the shape (unit membership,
+ * peers, the mapping between the FXML cell IDs {@code P#C#} and dense cell indices)
+ * is precomputed once per geometry, so boards, generators and the UI only do table
+ * lookups on their hot paths.
+ * </p>
+ *
+ * <p>Supported shapes:</p>
+ * <ul>
+ *   <li>{@link #FOUR}: 4×4 with 2×2 sections</li>
+ *   <li>{@link #SIX}: 6×6 with 2×3 sections (the classic game)</li>
+ *   <li>{@link #NINE}: 9×9 with 3×3 sections</li>
+ *   <li>{@link #TWELVE}: 12×12 with 3×4 sections</li>
+ *   <li>{@link #SIXTEEN}: 16×16 with 4×4 sections</li>
+ *   <li>{@link #TWENTY_FIVE}: 25×25 with 5×5 sections</li>
+ * </ul>
+ *
+ * <p>
+ * Cells are indexed in row-major order ({@code row * size + col}). Sections are numbered
+ * left to right, top to bottom, and the cells inside a section the same way:
+ * </p>
+ * <pre>
+ * 6×6:  +---------+---------+
+ *       |   P1    |   P2    |     P1: C1 C2 C3
+ *       +---------+---------+         C4 C5 C6
+ *       |   P3    |   P4    |
+ *       +---------+---------+
+ *       |   P5    |   P6    |
+ *       +---------+---------+
+ * </pre>
+ */
+public final class Geometry {
+
+    /** 4×4 grid with 2×2 sections. */
+    public static final Geometry FOUR = new Geometry(2, 2);
+
+    /** 6×6 grid with 2×3 sections. */
+    public static final Geometry SIX = new Geometry(2, 3);
+
+    /** 9×9 grid with 3×3 sections. */
+    public static final Geometry NINE = new Geometry(3, 3);
+
+    /** 12×12 grid with 3×4 sections. */
+    public static final Geometry TWELVE = new Geometry(3, 4);
+
+    /** 16×16 grid with 4×4 sections. */
+    public static final Geometry SIXTEEN = new Geometry(4, 4);
+
+    /** 25×25 grid with 5×5 sections. */
+    public static final Geometry TWENTY_FIVE = new Geometry(5, 5);
+
+    /** All supported geometries, from the smallest to the largest. */
+    private static final Geometry[] ALL = {FOUR, SIX, NINE, TWELVE, SIXTEEN, TWENTY_FIVE};
+
+    /** Largest digit any geometry can hold, so digit bitmasks always fit in an {@code int}. */
+    public static final int MAX_SIZE = 25;
+
+    /** Value strings indexed by digit, shared by all geometries. 0 is the empty cell. */
+    private static final String[] VALUE_STRINGS = new String[MAX_SIZE + 1];
+
+    static {
+        VALUE_STRINGS[0] = " ";
+        for (int digit = 1; digit <= MAX_SIZE; digit++) {
+            VALUE_STRINGS[digit] = String.valueOf(digit);
+        }
+    }
+
+    /** Number of rows, columns, sections and digits. */
+    private final int size;
+
+    /** Number of rows in each section. */
+    private final int boxRows;
+
+    /** Number of columns in each section. */
+    private final int boxCols;
+
+    /** Number of cells ({@code size * size}). */
+    private final int cells;
+
+    /** Row of each cell index. */
+    private final int[] rowOf;
+
+    /** Column of each cell index. */
+    private final int[] colOf;
+
+    /** Section (0-based) of each cell index. */
+    private final int[] sectionOf;
+
+    /** Position (0-based) of each cell index inside its section. */
+    private final int[] cellOf;
+
+    /** Cell index for a section/cell pair, addressed as {@code section * size + cell} (both 0-based). */
+    private final int[] indexOfSectionCell;
+
+    /** TextField ID of each cell index. */
+    private final String[] idOf;
+
+    /** Peers of each cell: the other cells sharing its row, column or section. */
+    private final int[][] peers;
+
+    /** Cells of each row, column and section: rows first, then columns, then sections. */
+    private final int[][] units;
+
+    /**
+     * Builds a geometry and precomputes all its lookup tables.
+     *
+     * @param boxRows number of rows in each section
+     * @param boxCols number of columns in each section
+     */
+    private Geometry(int boxRows, int boxCols) {
+        this.boxRows = boxRows;
+        this.boxCols = boxCols;
+        this.size = boxRows * boxCols;
+        this.cells = size * size;
+
+        rowOf = new int[cells];
+        colOf = new int[cells];
+        sectionOf = new int[cells];
+        cellOf = new int[cells];
+        indexOfSectionCell = new int[cells];
+        idOf = new String[cells];
+
+        int stacks = size / boxCols; // sections per band
+        for (int section = 0; section < size; section++) {
+            for (int cell = 0; cell < size; cell++) {
+                int row = (section / stacks) * boxRows + cell / boxCols;
+                int col = (section % stacks) * boxCols + cell % boxCols;
+                int index = row * size + col;
+                indexOfSectionCell[section * size + cell] = index;
+                idOf[index] = "P" + (section + 1) + "C" + (cell + 1);
+                rowOf[index] = row;
+                colOf[index] = col;
+                sectionOf[index] = section;
+                cellOf[index] = cell;
+            }
+        }
+
+        units = new int[3 * size][size];
+        int[] filled = new int[3 * size];
+        for (int index = 0; index < cells; index++) {
+            int row = rowOf[index];
+            int col = size + colOf[index];
+            int section = 2 * size + sectionOf[index];
+            units[row][filled[row]++] = index;
+            units[col][filled[col]++] = index;
+            units[section][filled[section]++] = index;
+        }
+
+        int peerCount = 2 * (size - 1) + (size - boxRows - boxCols + 1);
+        peers = new int[cells][peerCount];
+        for (int index = 0; index < cells; index++) {
+            int count = 0;
+            for (int other = 0; other < cells; other++) {
+                if (other != index && (rowOf[other] == rowOf[index]
+                        || colOf[other] == colOf[index]
+                        || sectionOf[other] == sectionOf[index])) {
+                    peers[index][count++] = other;
+                }
+            }
+        }
+    }
+
+    /**
+     * Returns the geometry of the given size.
+     *
+     * @param size the grid size (4, 6, 9, 12, 16 or 25)
+     * @return the matching geometry
+     * @throws IllegalArgumentException if no geometry has that size
+     */
+    public static Geometry of(int size) {
+        for (Geometry geometry : ALL) {
+            if (geometry.size == size) return geometry;
+        }
+        throw new IllegalArgumentException("Unsupported grid size: " + size);
+    }
+
+    /**
+     * Returns all supported geometries, from the smallest to the largest.
+     *
+     * @return a new array with the geometries
+     */
+    public static Geometry[] values() {
+        return ALL.clone();
+    }
+
+    // ----------------------------------------------------------
+    // Shape
+    // ----------------------------------------------------------
+
+    /**
+     * Returns the number of rows, columns, sections and digits.
+     * @return the grid size
+     */
+    public int getSize() { return size; }
+
+    /**
+     * Returns the number of rows in each section.
+     * @return the section height
+     */
+    public int getBoxRows() { return boxRows; }
+
+    /**
+     * Returns the number of columns in each section.
+     * @return the section width
+     */
+    public int getBoxCols() { return boxCols; }
+
+    /**
+     * Returns the number of cells on the board.
+     * @return {@code size * size}
+     */
+    public int getCellCount() { return cells; }
+
+    /**
+     * Returns how many cells of each section are revealed as clues in a new game:
+     * a third of the section, and never fewer than two (two for the 6×6 grid).
+     * @return the number of initial values per section
+     */
+    public int getInitialValuesPerSection() { return Math.max(2, size / 3); }
+
+    /**
+     * Returns the bitmask holding every digit of this geometry (bits {@code 1..size}).
+     * @return the full digit mask
+     */
+    public int getAllDigitsMask() { return ((1 << size) - 1) << 1; }
+
+    // ----------------------------------------------------------
+    // Cell lookups
+    // ----------------------------------------------------------
+
+    /**
+     * Returns the row of a cell.
+     * @param index the cell index
+     * @return the row (0-based)
+     */
+    public int rowOf(int index) { return rowOf[index]; }
+
+    /**
+     * Returns the column of a cell.
+     * @param index the cell index
+     * @return the column (0-based)
+     */
+    public int colOf(int index) { return colOf[index]; }
+
+    /**
+     * Returns the section of a cell.
+     * @param index the cell index
+     * @return the section (0-based)
+     */
+    public int sectionOf(int index) { return sectionOf[index]; }
+
+    /**
+     * Returns the position of a cell inside its section.
+     * @param index the cell index
+     * @return the position (0-based)
+     */
+    public int cellOf(int index) { return cellOf[index]; }
+
+    /**
+     * Returns the index of the cell at a row and column.
+     * @param row the row (0-based)
+     * @param col the column (0-based)
+     * @return the cell index
+     */
+    public int cellAt(int row, int col) { return row * size + col; }
+
+    /**
+     * Returns the peers of a cell (the other cells in its row, column and section).
+     * The array is shared and must not be modified.
+     *
+     * @param index the cell index
+     * @return the peer cell indices
+     */
+    public int[] peersOf(int index) { return peers[index]; }
+
+    /**
+     * Returns the cells of a row. The array is shared and must not be modified.
+     * @param row the row (0-based)
+     * @return the cell indices of the row, left to right
+     */
+    public int[] rowCells(int row) { return units[row]; }
+
+    /**
+     * Returns the cells of a column. The array is shared and must not be modified.
+     * @param col the column (0-based)
+     * @return the cell indices of the column, top to bottom
+     */
+    public int[] colCells(int col) { return units[size + col]; }
+
+    /**
+     * Returns the cells of a section. The array is shared and must not be modified.
+     * @param section the section (0-based)
+     * @return the cell indices of the section, in reading order
+     */
+    public int[] sectionCells(int section) { return units[2 * size + section]; }
+
+    /**
+     * Returns the cells of a unit: rows are units {@code 0..size-1}, columns
+     * {@code size..2*size-1} and sections {@code 2*size..3*size-1}.
+     * The array is shared and must not be modified.
+     * @param unit the unit (0-based, see above)
+     * @return the cell indices of the unit
+     */
+    public int[] unitCells(int unit) { return units[unit]; }
+
+    /**
+     * Returns the number of units (rows, columns and sections).
+     * @return {@code 3 * size}
+     */
+    public int getUnitCount() { return units.length; }
+
+    // ----------------------------------------------------------
+    // Cell IDs
+    // ----------------------------------------------------------
+
+    /**
+     * Converts a TextField ID in the format {@code P#C#} into a cell index
+     * using plain character arithmetic (no substring, no boxing).
+     *
+     * @param textFieldId the ID of the text field (e.g., "P1C3" or "P12C25")
+     * @return the cell index
+     * @throws IllegalArgumentException if the ID does not name a cell of this geometry
+     */
+    public int indexOf(String textFieldId) {
+        int length = textFieldId.length();
+        if (length < 4 || textFieldId.charAt(0) != 'P') {
+            throw new IllegalArgumentException("Invalid cell ID: " + textFieldId);
+        }
+        int pos = 1;
+        int section = 0;
+        char c;
+        while (pos < length && (c = textFieldId.charAt(pos)) >= '0' && c <= '9') {
+            section = section * 10 + (c - '0');
+            pos++;
+        }
+        if (pos >= length - 1 || textFieldId.charAt(pos) != 'C') {
+            throw new IllegalArgumentException("Invalid cell ID: " + textFieldId);
+        }
+        pos++;
+        int cell = 0;
+        while (pos < length && (c = textFieldId.charAt(pos)) >= '0' && c <= '9') {
+            cell = cell * 10 + (c - '0');
+            pos++;
+        }
+        if (pos != length || section < 1 || section > size || cell < 1 || cell > size) {
+            throw new IllegalArgumentException("Invalid cell ID: " + textFieldId);
+        }
+        return indexOfSectionCell[(section - 1) * size + (cell - 1)];
+    }
+
+    /**
+     * Returns the cell index of a section/cell pair, numbered as in the TextField IDs.
+     *
+     * @param section the section number (1-based)
+     * @param cell    the cell number inside the section (1-based)
+     * @return the cell index
+     */
+    public int indexOf(int section, int cell) {
+        return indexOfSectionCell[(section - 1) * size + (cell - 1)];
+    }
+
+    /**
+     * Returns the TextField ID of a cell. The string is shared, not built.
+     *
+     * @param index the cell index
+     * @return the ID (e.g., "P1C3")
+     */
+    public String idOf(int index) {
+        return idOf[index];
+    }
+
+    // ----------------------------------------------------------
+    // Values
+    // ----------------------------------------------------------
+
+    /**
+     * Returns the string shown for a digit. The string is shared, not built.
+     *
+     * @param digit the digit (0 for an empty cell)
+     * @return " " for 0, otherwise the decimal digit
+     */
+    public String valueString(int digit) {
+        return VALUE_STRINGS[digit];
+    }
+
+    /**
+     * Converts a cell value as used by the UI (" ", "" or a decimal number) into a digit.
+     *
+     * @param value the value to convert
+     * @return the digit (0 for an empty cell)
+     * @throws IllegalArgumentException if the value is not empty nor a digit of this geometry
+     */
+    public int digitOf(String value) {
+        int length = value.length();
+        int start = 0;
+        while (start < length && value.charAt(start) == ' ') start++;
+        while (length > start && value.charAt(length - 1) == ' ') length--;
+        if (start == length) return 0;
+        int digit = 0;
+        for (int pos = start; pos < length; pos++) {
+            int d = value.charAt(pos) - '0';
+            if (d < 0 || d > 9 || pos - start > 1) {
+                throw new IllegalArgumentException("Invalid cell value: " + value);
+            }
+            digit = digit * 10 + d;
+        }
+        if (digit < 1 || digit > size) {
+            throw new IllegalArgumentException("Invalid cell value: " + value);
+        }
+        return digit;
+    }
+
+    /**
+     * Returns a short description such as {@code 9x9 (3x3)}.
+     * @return the description
+     */
+    @Override
+    public String toString() {
+        return size + "x" + size + " (" + boxRows + "x" + boxCols + ")";
+    }
+}
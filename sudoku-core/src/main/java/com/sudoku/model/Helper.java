@@ -0,0 +1,73 @@
+package com.sudoku.model;
+
+/**
+ * Provides hint-related functionality for the Sudoku game.
+ * <p>
+ * The {@code Helper} class asks a {@link HintEngine} for the next cell a person
+ * could deduce on the {@link IBoard} (or a wrong cell to correct), writes its
+ * value, and returns the hint or the cell identifier in the format {@code P#C#}, where:
+ * </p>
+ * <ul>
+ *   <li>{@code P#} = Parent section index (1–size, e.g. 1–6)</li>
+ *   <li>{@code C#} = Child cell index within the section (1–size)</li>
+ * </ul>
+ * This is typically used to implement the “Help” or “Hint” feature in the game UI.
+ */
+public class Helper {
+
+    /** Reference to the current Sudoku board. */
+    private IBoard board;
+
+    /** Engine finding the next deducible cell of the board. */
+    private HintEngine engine;
+
+    /**
+     * Constructs a {@code Helper} associated with a specific {@link IBoard}.
+     *
+     * @param board the {@link IBoard} instance to operate on
+     */
+    public Helper(IBoard board) {
+        this.board = board;
+        this.engine = new HintEngine(board);
+    }
+
+    /**
+     * Provides a hint by filling the next deducible cell, or correcting a wrong
+     * one, with its correct Sudoku value.
+     * <p>
+     * Cells the player already filled correctly are never touched; see
+     * {@link HintEngine#findHint()} for the order in which hints are chosen.
+     * </p>
+     *
+     * @return the {@link Hint} applied, or {@code null} if the board is already solved
+     */
+    public Hint getHint() {
+        return engine.applyHint();
+    }
+
+    /**
+     * Finds the hint {@link #getHint()} would apply, without writing it, for a
+     * view that writes the value through its own input path.
+     *
+     * @return the next {@link Hint}, or {@code null} if the board is already solved
+     */
+    public Hint findHint() {
+        return engine.findHint();
+    }
+
+    /**
+     * Provides a hint like {@link #getHint()} and returns the node’s ID in the format
+     * {@code P#C#}, which matches the {@code TextField} ID in the UI.
+     *
+     * @return the ID of the cell that was updated (e.g. {@code "P2C3"}),
+     *         or {@code null} if no suitable cell was found
+     */
+    public String getValueHelp() {
+        Hint hint = engine.applyHint();
+        if (hint == null) {
+            System.out.println("⚠ No available cells for hint.");
+            return null;
+        }
+        return board.getGeometry().idOf(hint.getCell()); // ID matches the TextField in the UI
+    }
+}
@@ -0,0 +1,87 @@
+package com.sudoku.model;
+
+/**
+ * Result of asking the {@link HintEngine} for a hint: the cell to write,
+ * the value it takes and why.
+ * <p>
+ * A hint is one of three kinds:
+ * </p>
+ * <ul>
+ *   <li>a <em>correction</em>, when the player wrote a wrong value in the cell;</li>
+ *   <li>a <em>deduction</em>, when the {@link #getTechnique() technique} forces the
+ *       value from the cells already filled;</li>
+ *   <li>a <em>reveal</em>, when no known technique makes progress and the value is
+ *       taken from the solution.</li>
+ * </ul>
+ */
+public final class Hint {
+
+    /** Index of the cell to write. */
+    private final int cell;
+
+    /** Value the cell takes. */
+    private final int value;
+
+    /** Hardest technique needed to deduce the value, or {@code null} for a correction or a reveal. */
+    private final Technique technique;
+
+    /** Whether the cell held a wrong value. */
+    private final boolean correction;
+
+    /**
+     * Creates a hint.
+     *
+     * @param cell       the index of the cell to write
+     * @param value      the value the cell takes
+     * @param technique  the hardest technique needed to deduce the value, or {@code null}
+     * @param correction whether the cell held a wrong value
+     */
+    public Hint(int cell, int value, Technique technique, boolean correction) {
+        this.cell = cell;
+        this.value = value;
+        this.technique = technique;
+        this.correction = correction;
+    }
+
+    /**
+     * Returns the index of the cell to write.
+     * @return the cell index, see {@link Geometry#idOf(int)} for its UI id
+     */
+    public int getCell() {
+        return cell;
+    }
+
+    /**
+     * Returns the value the cell takes.
+     * @return the value, from 1 to the size of the board
+     */
+    public int getValue() {
+        return value;
+    }
+
+    /**
+     * Returns the hardest technique needed to deduce the value.
+     * @return the {@link Technique}, or {@code null} for a correction or a reveal
+     */
+    public Technique getTechnique() {
+        return technique;
+    }
+
+    /**
+     * Tells whether the hint replaces a wrong value written by the player.
+     * @return {@code true} for a correction
+     */
+    public boolean isCorrection() {
+        return correction;
+    }
+
+    /**
+     * Returns a one-line description of the hint, e.g. {@code "cell 12 = 4 (HIDDEN_SINGLE)"}.
+     * @return the description
+     */
+    @Override
+    public String toString() {
+        String reason = correction ? "correction" : technique == null ? "revealed" : technique.toString();
+        return "cell " + cell + " = " + value + " (" + reason + ")";
+    }
+}
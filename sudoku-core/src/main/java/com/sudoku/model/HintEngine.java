@@ -0,0 +1,127 @@
+package com.sudoku.model;
+
+/**
+ * Finds the next cell a person could fill on the current board, and the
+ * technique that forces its value.
+ * <p>
+ * The engine starts from the candidates the board maintains
+ * ({@link IBoard#getCandidates(int)}) and looks for a hidden single, then a
+ * naked single. When there is none, it applies the elimination techniques of
+ * the {@link DifficultyRater} one at a time, easiest first, on a working copy
+ * of the candidates until a single appears. The hint reports the hardest
+ * technique used on the way.
+ * </p>
+ * <p>
+ * Hints only ever touch empty or wrong cells: a wrong value written by the
+ * player is corrected first, since deductions from it would not be sound,
+ * and a cell is revealed from the solution only when no technique makes
+ * progress. All working state is allocated once per engine, and an engine
+ * must not be shared between threads.
+ * </p>
+ */
+public class HintEngine {
+
+    /** Board the hints are computed for. */
+    private final IBoard board;
+
+    /** Puzzle of the board, holding the solution used to spot wrong values. */
+    private final Puzzle puzzle;
+
+    /** Candidate state and techniques of the deduction, working on a copy of the board's candidates. */
+    private final DifficultyRater rater;
+
+    /**
+     * Creates a hint engine for a board.
+     *
+     * @param board the board to give hints for
+     */
+    public HintEngine(IBoard board) {
+        this.board = board;
+        this.puzzle = board.getPuzzle();
+        this.rater = new DifficultyRater(board.getGeometry());
+    }
+
+    /**
+     * Finds the next hint without changing the board, recording the call in
+     * the {@link EngineMetrics} and as a {@link HintEvent}.
+     *
+     * @return the hint, or {@code null} if every cell already holds its solved value
+     */
+    public Hint findHint() {
+        HintEvent event = new HintEvent();
+        event.begin();
+        long start = System.nanoTime();
+        Hint hint = nextHint();
+        EngineMetrics.HINTS.record(System.nanoTime() - start);
+        event.end();
+        if (event.shouldCommit()) {
+            event.size = board.getGeometry().getSize();
+            event.cell = hint == null ? -1 : hint.getCell();
+            event.technique = hint == null ? null
+                    : hint.isCorrection() ? "CORRECTION"
+                    : hint.getTechnique() == null ? "REVEAL"
+                    : hint.getTechnique().name();
+            event.commit();
+        }
+        return hint;
+    }
+
+    /**
+     * Finds the next hint: a wrong value to correct, a cell forced by the
+     * techniques, or a cell revealed from the solution.
+     *
+     * @return the hint, or {@code null} if every cell already holds its solved value
+     */
+    private Hint nextHint() {
+        int cells = board.getGeometry().getCellCount();
+        int firstEmpty = -1;
+        for (int cell = 0; cell < cells; cell++) {
+            int value = board.getValue(cell);
+            if (value == 0) {
+                firstEmpty = firstEmpty < 0 ? cell : firstEmpty;
+            } else if (value != puzzle.getSolution(cell)) {
+                return new Hint(cell, puzzle.getSolution(cell), null, true);
+            }
+        }
+        if (firstEmpty < 0) {
+            return null;
+        }
+
+        rater.loadCandidates(board);
+        Technique hardest = null;
+        while (true) {
+            int found = rater.findHiddenSingle();
+            Technique technique = Technique.HIDDEN_SINGLE;
+            if (found < 0) {
+                found = rater.findNakedSingle();
+                technique = Technique.NAKED_SINGLE;
+            }
+            if (found >= 0) {
+                if (hardest == null || technique.ordinal() > hardest.ordinal()) {
+                    hardest = technique;
+                }
+                return new Hint(DifficultyRater.cellOf(found), DifficultyRater.digitOf(found), hardest, false);
+            }
+            Technique elimination = rater.eliminate();
+            if (elimination == null) {
+                return new Hint(firstEmpty, puzzle.getSolution(firstEmpty), null, false);
+            }
+            if (hardest == null || elimination.ordinal() > hardest.ordinal()) {
+                hardest = elimination;
+            }
+        }
+    }
+
+    /**
+     * Finds the next hint and writes it into the board.
+     *
+     * @return the hint applied, or {@code null} if every cell already holds its solved value
+     */
+    public Hint applyHint() {
+        Hint hint = findHint();
+        if (hint != null) {
+            board.setNodeValue(hint.getCell(), hint.getValue());
+        }
+        return hint;
+    }
+}
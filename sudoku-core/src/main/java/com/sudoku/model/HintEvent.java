@@ -0,0 +1,38 @@
+package com.sudoku.model;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Enabled;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+import jdk.jfr.Threshold;
+
+/**
+ * Flight Recorder event of one hint computed by a {@link HintEngine}.
+ * <p>
+ * Disabled by default, and free when disabled; enable it in a recording with
+ * {@code +com.sudoku.Hint#enabled=true}.
+ * </p>
+ */
+@Name("com.sudoku.Hint")
+@Label("Hint")
+@Category({"Sudoku", "Engine"})
+@Description("A hint computed for the board being played")
+@Enabled(false)
+@Threshold("0 ms")
+@StackTrace(false)
+final class HintEvent extends jdk.jfr.Event {
+
+    /** Side length of the grid. */
+    @Label("Size")
+    int size;
+
+    /** Cell of the hint, or -1 when the board was already solved. */
+    @Label("Cell")
+    int cell;
+
+    /** Hardest technique needed, {@code "CORRECTION"} or {@code "REVEAL"}, or {@code null} when solved. */
+    @Label("Technique")
+    String technique;
+}
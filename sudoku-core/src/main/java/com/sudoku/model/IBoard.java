@@ -0,0 +1,175 @@
+package com.sudoku.model;
+/**
+ * Defines the core functionality for interacting with the logic
+ * of a Sudoku board (6x6 by default, any shape described by {@link Geometry}).
+ * This interface abstracts the internal board structure (like the node hierarchy)
+ * and exposes only the necessary methods for the view (GUI) or controller.
+ * <p>
+ * Every cell operation comes in two flavours: one addressed by the GUI text field
+ * ID ({@code "P1C3"}) and one addressed by the dense cell index of {@link Geometry},
+ * which is the one to use on hot paths since it never parses nor allocates.
+ * </p>
+ */
+public interface IBoard {
+
+        /**
+         * Sets the value of a cell on the board.
+         * The cell is identified using a GUI text field ID, which is mapped
+         * to the cell's coordinates.
+         *
+         * @param textFieldId The ID of the text field (e.g., "P1C3", implying Section 1, Cell 3).
+         * @param value The new value (as a String) to assign to the cell.
+         */
+        void setNodeValue(String textFieldId, String value);
+
+        /**
+         * Sets the value of a cell addressed by its {@link Geometry} index.
+         *
+         * @param cell  The cell index.
+         * @param value The digit to assign (1–size), or 0 to clear the cell.
+         */
+        void setNodeValue(int cell, int value);
+
+        /**
+         * Returns how many cells changed their conflict state (or their value)
+         * with the last call to {@link #setNodeValue(String, String)}.
+         * The view uses it together with {@link #getChangedCellId(int)} to
+         * restyle only the affected cells instead of the whole grid.
+         *
+         * @return the number of cells affected by the last write
+         */
+        int getChangedCellCount();
+
+        /**
+         * Returns the text field ID of one of the cells affected by the last write.
+         *
+         * @param index position in the change list, from 0 to {@link #getChangedCellCount()} - 1
+         * @return the ID of the affected cell (e.g., "P1C3")
+         */
+        String getChangedCellId(int index);
+
+        /**
+         * Returns the {@link Geometry} index of one of the cells affected by the last write.
+         *
+         * @param index position in the change list, from 0 to {@link #getChangedCellCount()} - 1
+         * @return the index of the affected cell
+         */
+        int getChangedCell(int index);
+
+        /**
+         * Validates if the current value contained in a cell complies with
+         * Sudoku rules (no repetition in row, column, or block).
+         * The cell is identified using a text field ID.
+         *
+         * @param textFieldId The ID of the text field (e.g., "P1C3").
+         * @return {@code true} if the value is valid according to Sudoku rules;
+         * {@code false} otherwise.
+         */
+        boolean validateInput(String textFieldId);
+
+        /**
+         * Validates the value of a cell addressed by its {@link Geometry} index.
+         *
+         * @param cell The cell index.
+         * @return {@code true} if the value is valid (empty cells are valid).
+         */
+        boolean validateInput(int cell);
+
+        /**
+         * Returns the current string value of a specific cell on the board.
+         *
+         * @param textFieldId The ID of the text field (e.g., "P1C3").
+         * @return The value (as a String) stored in that cell.
+         */
+        String getValueNode(String textFieldId);
+
+        /**
+         * Returns the digit stored in a cell addressed by its {@link Geometry} index.
+         *
+         * @param cell The cell index.
+         * @return The digit (1–size), or 0 if the cell is empty.
+         */
+        int getValue(int cell);
+
+        /**
+         * Finds the corresponding cell for the text field ID and returns its Node object.
+         * Note: This method exposes the internal {@link Node} structure and might
+         * be re-evaluated if strict abstraction is a priority.
+         *
+         * @param textFieldId The ID of the text field (e.g., "P1C2").
+         * @return The corresponding {@link Node} for the cell or {@code null} if not found.
+         */
+        Node getNode(String textFieldId);
+
+        /**
+         * Returns the {@link Node} of a cell addressed by its {@link Geometry} index.
+         *
+         * @param cell The cell index.
+         * @return The corresponding {@link Node}.
+         */
+        Node getNode(int cell);
+
+        /**
+         * Returns the candidates (pencil marks) of a cell using its TextField ID.
+         *
+         * @param textFieldId The ID of the text field (e.g., "P1C3").
+         * @return The candidate mask, as described in {@link #getCandidates(int)}.
+         */
+        int getCandidates(String textFieldId);
+
+        /**
+         * Returns the candidates (pencil marks) of a cell: the digits not yet placed
+         * in its row, column or section. Bit {@code d} is set when digit {@code d}
+         * is still possible (bits 1 to size, as in {@link Geometry#getAllDigitsMask()}).
+         * <p>
+         * Implementations update the candidates of the written cell and its peers on
+         * every write, so reading them is constant time and allocates nothing.
+         * </p>
+         *
+         * @param cell The cell index.
+         * @return The candidate mask, or 0 if the cell is filled.
+         */
+        int getCandidates(int cell);
+
+        /**
+         * Returns the Zobrist hash of the values on the board (see {@link Zobrist}).
+         * <p>
+         * Implementations update it with two XORs on every write, so reading it is
+         * constant time. Boards of the same geometry holding the same values have
+         * the same hash, whatever their implementation, and in every run.
+         * </p>
+         *
+         * @return The 64-bit hash of the position.
+         */
+        long getZobristHash();
+
+        /**
+         * Checks if the Sudoku board is completely filled and if all values entered are valid.
+         *
+         * @return {@code true} if all cells are filled with valid values that
+         * do not violate any Sudoku rule; {@code false} otherwise.
+         */
+        boolean isSudokuCompleteAndValid();
+
+        /**
+         * Returns the shape of this board.
+         *
+         * @return The {@link Geometry} of the board.
+         */
+        Geometry getGeometry();
+
+        /**
+         * Returns the puzzle this board was loaded from.
+         *
+         * @return The {@link Puzzle} holding the clues and the solution.
+         */
+        Puzzle getPuzzle();
+
+        /**
+         * Returns the Sudoku generator associated with this board.
+         *
+         * @return The {@link SudokuGenerator} object used to create the solution.
+         */
+        SudokuGenerator getGenerator();
+
+}
@@ -0,0 +1,206 @@
+package com.sudoku.model;
+
+/**
+ * Undo/redo history of a game, stored as one {@code int} per move.
+ * <p>
+ * A move packs the cell index, the value it had and the value written
+ * (see {@link #cellOf(int)}, {@link #oldValueOf(int)} and {@link #newValueOf(int)}).
+ * Moves live in a ring buffer allocated once, so recording, undoing and
+ * redoing are O(1) and never allocate. When the buffer is full, the oldest
+ * move is dropped: memory stays bounded however long the session.
+ * </p>
+ * <p>
+ * Recording a move after an undo discards the moves that could have been
+ * redone, as in a text editor. A log must not be shared between threads.
+ * </p>
+ */
+public final class MoveLog {
+
+    /** Moves kept by default: 65,536 moves in 256 KB. */
+    public static final int DEFAULT_CAPACITY = 1 << 16;
+
+    /** Returned by {@link #undo()} and {@link #redo()} when there is no move. */
+    public static final int NO_MOVE = -1;
+
+    /** Bits holding each value of a move; values go up to 25. */
+    private static final int VALUE_BITS = 5;
+
+    /** Mask of one value of a move. */
+    private static final int VALUE_MASK = (1 << VALUE_BITS) - 1;
+
+    /** Ring buffer of the moves; its length is a power of two. */
+    private final int[] moves;
+
+    /** Position of the oldest move kept in {@link #moves}. */
+    private int start;
+
+    /** Number of moves kept, applied or undone. */
+    private int count;
+
+    /** Number of kept moves currently applied; the moves after it can be redone. */
+    private int applied;
+
+    /**
+     * Creates a log keeping {@link #DEFAULT_CAPACITY} moves.
+     */
+    public MoveLog() {
+        this(DEFAULT_CAPACITY);
+    }
+
+    /**
+     * Creates a log keeping the given number of moves.
+     *
+     * @param capacity the number of moves kept, a power of two
+     * @throws IllegalArgumentException if the capacity is not a positive power of two
+     */
+    public MoveLog(int capacity) {
+        if (capacity <= 0 || Integer.bitCount(capacity) != 1) {
+            throw new IllegalArgumentException("Capacity must be a positive power of two: " + capacity);
+        }
+        this.moves = new int[capacity];
+    }
+
+    // ----------------------------------------------------------
+    // History
+    // ----------------------------------------------------------
+
+    /**
+     * Records a move, dropping the moves that could have been redone and,
+     * if the log is full, the oldest move. A move that changes nothing is ignored.
+     *
+     * @param cell     the cell index
+     * @param oldValue the value the cell had (0 for empty)
+     * @param newValue the value written (0 for empty)
+     */
+    public void record(int cell, int oldValue, int newValue) {
+        if (oldValue == newValue) {
+            return;
+        }
+        count = applied;
+        if (count == moves.length) {
+            start = (start + 1) & (moves.length - 1);
+            count--;
+        }
+        moves[(start + count) & (moves.length - 1)] =
+                cell << (2 * VALUE_BITS) | oldValue << VALUE_BITS | newValue;
+        count++;
+        applied = count;
+    }
+
+    /**
+     * Steps back over the last applied move. The caller writes its
+     * {@linkplain #oldValueOf(int) old value} back into the board.
+     *
+     * @return the move undone, or {@link #NO_MOVE} if there is none
+     */
+    public int undo() {
+        if (applied == 0) {
+            return NO_MOVE;
+        }
+        applied--;
+        return moves[(start + applied) & (moves.length - 1)];
+    }
+
+    /**
+     * Steps forward over the last undone move. The caller writes its
+     * {@linkplain #newValueOf(int) new value} back into the board.
+     *
+     * @return the move redone, or {@link #NO_MOVE} if there is none
+     */
+    public int redo() {
+        if (applied == count) {
+            return NO_MOVE;
+        }
+        return moves[(start + applied++) & (moves.length - 1)];
+    }
+
+    /**
+     * Tells whether a move can be undone.
+     * @return {@code true} if {@link #undo()} returns a move
+     */
+    public boolean canUndo() {
+        return applied > 0;
+    }
+
+    /**
+     * Tells whether a move can be redone.
+     * @return {@code true} if {@link #redo()} returns a move
+     */
+    public boolean canRedo() {
+        return applied < count;
+    }
+
+    /**
+     * Returns the number of moves kept, applied or undone.
+     * @return the number of moves, at most the capacity
+     */
+    public int size() {
+        return count;
+    }
+
+    /**
+     * Returns the number of kept moves currently applied; the moves from this
+     * position on can be redone.
+     * @return the number of applied moves
+     */
+    public int getAppliedCount() {
+        return applied;
+    }
+
+    /**
+     * Returns a kept move, e.g. to save the history.
+     *
+     * @param index the position of the move, from 0 (oldest) to {@link #size()} - 1
+     * @return the move, to be read with {@link #cellOf(int)}, {@link #oldValueOf(int)} and {@link #newValueOf(int)}
+     * @throws IllegalArgumentException if the index is out of range
+     */
+    public int get(int index) {
+        if (index < 0 || index >= count) {
+            throw new IllegalArgumentException("Move index out of range: " + index);
+        }
+        return moves[(start + index) & (moves.length - 1)];
+    }
+
+    /**
+     * Forgets every move.
+     */
+    public void clear() {
+        start = 0;
+        count = 0;
+        applied = 0;
+    }
+
+    // ----------------------------------------------------------
+    // Moves
+    // ----------------------------------------------------------
+
+    /**
+     * Returns the cell of a move.
+     *
+     * @param move a move returned by {@link #undo()} or {@link #redo()}
+     * @return the cell index
+     */
+    public static int cellOf(int move) {
+        return move >>> (2 * VALUE_BITS);
+    }
+
+    /**
+     * Returns the value a cell had before a move.
+     *
+     * @param move a move returned by {@link #undo()} or {@link #redo()}
+     * @return the old value, 0 for empty
+     */
+    public static int oldValueOf(int move) {
+        return (move >>> VALUE_BITS) & VALUE_MASK;
+    }
+
+    /**
+     * Returns the value a move wrote.
+     *
+     * @param move a move returned by {@link #undo()} or {@link #redo()}
+     * @return the new value, 0 for empty
+     */
+    public static int newValueOf(int move) {
+        return move & VALUE_MASK;
+    }
+}
@@ -15,8 +15,11 @@ import java.util.ArrayList;
  */
 public class Node {
 
-    /** Unique identifier of the node. */
-    private Float id;
+    /**
+     * Identifier of the node: 0 for the root, the section number (1-based) for
+     * a section, and the {@link Geometry} cell index for a cell.
+     */
+    private int id;
 
     /** Value assigned to this node (e.g., a number from 1–6 or empty). */
     private String valor;
@@ -32,7 +35,7 @@ public class Node {
      *
      * @param id the identifier of the node
      */
-    public Node(Float id) {
+    public Node(int id) {
         this.id = id;
         this.children = new ArrayList<>();
         this.valor = " ";
@@ -44,14 +47,14 @@ public class Node {
      *
      * @return the node ID
      */
-    public Float getId() { return id; }
+    public int getId() { return id; }
 
     /**
      * Sets the node’s identifier.
      *
      * @param id the new node ID
      */
-    public void setId(Float id) { this.id = id; }
+    public void setId(int id) { this.id = id; }
 
     /**
      * Gets the current value of this node.
@@ -0,0 +1,230 @@
+package com.sudoku.model;
+
+import java.util.concurrent.atomic.LongAccumulator;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Call count and duration histogram of one engine operation, updated
+ * concurrently by every thread running it.
+ * <p>
+ * Every counter is a {@link LongAdder}, so threads recording at the same time
+ * update separate cells instead of contending on one word, and recording
+ * allocates nothing once the cells exist. Durations go into a log-linear
+ * histogram: values below {@value #SUB_BUCKETS} ns have a bucket each, and
+ * every power of two above is split into {@value #SUB_BUCKETS} buckets, which
+ * covers every {@code long} duration in {@value #BUCKETS} buckets with a
+ * relative error of at most 12.5%. Reading the statistics walks the buckets
+ * and is meant for the occasional management client, not the hot path.
+ * </p>
+ */
+class OperationStats implements OperationStatsMXBean {
+
+    /** Bits of a duration kept below its leading bit to pick its bucket. */
+    private static final int SUB_BUCKET_BITS = 3;
+
+    /** Buckets per power of two. */
+    private static final int SUB_BUCKETS = 1 << SUB_BUCKET_BITS;
+
+    /** Buckets covering every non-negative {@code long}. */
+    private static final int BUCKETS = (64 - SUB_BUCKET_BITS) * SUB_BUCKETS;
+
+    /** Calls recorded, timed or not. */
+    private final LongAdder calls = new LongAdder();
+
+    /** Calls timed. */
+    private final LongAdder timed = new LongAdder();
+
+    /** Sum of the durations of the timed calls, in nanoseconds. */
+    private final LongAdder timedNanos = new LongAdder();
+
+    /** Longest duration timed, in nanoseconds. */
+    private final LongAccumulator maxNanos = new LongAccumulator(Math::max, 0);
+
+    /** Number of timed calls per duration bucket. */
+    private final LongAdder[] histogram = new LongAdder[BUCKETS];
+
+    /**
+     * Creates empty statistics.
+     */
+    OperationStats() {
+        for (int i = 0; i < BUCKETS; i++) {
+            histogram[i] = new LongAdder();
+        }
+    }
+
+    /**
+     * Records one timed call.
+     *
+     * @param nanos the duration of the call, in nanoseconds
+     */
+    void record(long nanos) {
+        record(1, nanos);
+    }
+
+    /**
+     * Records a batch of calls of which one was timed.
+     *
+     * @param calls the number of calls, including the timed one
+     * @param nanos the duration of the timed call, in nanoseconds
+     */
+    void record(long calls, long nanos) {
+        long duration = Math.max(nanos, 0);
+        this.calls.add(calls);
+        timed.increment();
+        timedNanos.add(duration);
+        maxNanos.accumulate(duration);
+        histogram[bucketOf(duration)].increment();
+    }
+
+    // ----------------------------------------------------------
+    // Histogram
+    // ----------------------------------------------------------
+
+    /**
+     * Returns the bucket of a duration.
+     *
+     * @param nanos the duration, not negative
+     * @return the bucket index
+     */
+    private static int bucketOf(long nanos) {
+        if (nanos < SUB_BUCKETS) {
+            return (int) nanos;
+        }
+        int exponent = 63 - Long.numberOfLeadingZeros(nanos);
+        int shift = exponent - SUB_BUCKET_BITS;
+        return ((shift + 1) << SUB_BUCKET_BITS) + (int) ((nanos >>> shift) & (SUB_BUCKETS - 1));
+    }
+
+    /**
+     * Returns the largest duration falling into a bucket.
+     *
+     * @param bucket the bucket index
+     * @return the upper bound of the bucket, in nanoseconds
+     */
+    private static long upperBoundOf(int bucket) {
+        if (bucket < SUB_BUCKETS) {
+            return bucket;
+        }
+        int shift = (bucket >>> SUB_BUCKET_BITS) - 1;
+        long lower = (long) (SUB_BUCKETS + (bucket & (SUB_BUCKETS - 1))) << shift;
+        return lower + (1L << shift) - 1;
+    }
+
+    /**
+     * Returns a percentile of the timed durations, by the nearest-rank method
+     * over the buckets.
+     *
+     * @param percent the percentile, from 0 to 100
+     * @return the upper bound of the bucket holding it, capped by the maximum, in microseconds
+     */
+    private double percentile(double percent) {
+        long[] counts = new long[BUCKETS];
+        long total = 0;
+        for (int i = 0; i < BUCKETS; i++) {
+            counts[i] = histogram[i].sum();
+            total += counts[i];
+        }
+        if (total == 0) {
+            return 0;
+        }
+        long rank = Math.max((long) Math.ceil(percent / 100 * total), 1);
+        int bucket = 0;
+        long seen = counts[0];
+        while (seen < rank) {
+            seen += counts[++bucket];
+        }
+        return Math.min(upperBoundOf(bucket), maxNanos.get()) / 1e3;
+    }
+
+    // ----------------------------------------------------------
+    // Management interface
+    // ----------------------------------------------------------
+
+    /**
+     * Returns the number of calls recorded.
+     * @return the number of calls
+     */
+    @Override
+    public long getCount() {
+        return calls.sum();
+    }
+
+    /**
+     * Returns the number of calls timed.
+     * @return the number of timed calls
+     */
+    @Override
+    public long getTimedCount() {
+        return timed.sum();
+    }
+
+    /**
+     * Returns the estimated time spent in the operation.
+     * @return the total time, in milliseconds
+     */
+    @Override
+    public double getTotalMillis() {
+        long samples = timed.sum();
+        return samples == 0 ? 0 : (double) timedNanos.sum() / samples * calls.sum() / 1e6;
+    }
+
+    /**
+     * Returns the mean duration of the timed calls.
+     * @return the mean, in microseconds
+     */
+    @Override
+    public double getMeanMicros() {
+        long samples = timed.sum();
+        return samples == 0 ? 0 : (double) timedNanos.sum() / samples / 1e3;
+    }
+
+    /**
+     * Returns the median duration of the timed calls.
+     * @return the 50th percentile, in microseconds
+     */
+    @Override
+    public double getP50Micros() {
+        return percentile(50);
+    }
+
+    /**
+     * Returns the 90th percentile of the timed durations.
+     * @return the 90th percentile, in microseconds
+     */
+    @Override
+    public double getP90Micros() {
+        return percentile(90);
+    }
+
+    /**
+     * Returns the 99th percentile of the timed durations.
+     * @return the 99th percentile, in microseconds
+     */
+    @Override
+    public double getP99Micros() {
+        return percentile(99);
+    }
+
+    /**
+     * Returns the longest duration timed.
+     * @return the maximum, in microseconds
+     */
+    @Override
+    public double getMaxMicros() {
+        return maxNanos.get() / 1e3;
+    }
+
+    /**
+     * Clears the counters.
+     */
+    @Override
+    public void reset() {
+        calls.reset();
+        timed.reset();
+        timedNanos.reset();
+        maxNanos.reset();
+        for (LongAdder bucket : histogram) {
+            bucket.reset();
+        }
+    }
+}
@@ -0,0 +1,69 @@
+package com.sudoku.model;
+
+/**
+ * Management interface of the timings of one engine operation, published by
+ * {@link EngineMetrics} on the platform MBean server.
+ * <p>
+ * Percentiles come from a log-linear histogram whose buckets are an eighth of
+ * a power of two wide, so they are within 12.5% of the exact value. Operations
+ * too fast to time on every call are timed on a sample of the calls: the count
+ * is exact, while the total time is estimated from the mean of the samples.
+ * </p>
+ */
+public interface OperationStatsMXBean {
+
+    /**
+     * Returns the number of calls recorded.
+     * @return the number of calls
+     */
+    long getCount();
+
+    /**
+     * Returns the number of calls whose duration was measured.
+     * @return the number of timed calls, at most {@link #getCount()}
+     */
+    long getTimedCount();
+
+    /**
+     * Returns the time spent in the operation, estimated from the timed calls
+     * when not every call is timed.
+     * @return the total time, in milliseconds
+     */
+    double getTotalMillis();
+
+    /**
+     * Returns the mean duration of the timed calls.
+     * @return the mean, in microseconds
+     */
+    double getMeanMicros();
+
+    /**
+     * Returns the median duration of the timed calls.
+     * @return the 50th percentile, in microseconds
+     */
+    double getP50Micros();
+
+    /**
+     * Returns the 90th percentile of the duration of the timed calls.
+     * @return the 90th percentile, in microseconds
+     */
+    double getP90Micros();
+
+    /**
+     * Returns the 99th percentile of the duration of the timed calls.
+     * @return the 99th percentile, in microseconds
+     */
+    double getP99Micros();
+
+    /**
+     * Returns the longest duration of the timed calls.
+     * @return the maximum, in microseconds
+     */
+    double getMaxMicros();
+
+    /**
+     * Clears the counters. Calls recorded while the counters are cleared may be
+     * partly kept.
+     */
+    void reset();
+}
@@ -0,0 +1,310 @@
+package com.sudoku.model;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * Solver spreading the {@link DlxSolver} search over every core with fork/join.
+ * <p>
+ * A grid is first searched sequentially within {@value #SEQUENTIAL_NODES}
+ * nodes, so easy grids cost one plain search. Past that budget the search tree
+ * is split at shallow depth, the way the sequential search branches (on the
+ * placements of its most constrained constraint), into about
+ * {@value #TASKS_PER_WORKER} fork/join tasks per worker: each split shares the
+ * task target of its subtree between its children, and a subtree whose share
+ * falls below two is searched sequentially, to the end, by the
+ * {@link DlxSolver} of the worker thread. Having many more tasks than workers
+ * lets work stealing even out subtrees of very different sizes.
+ * </p>
+ * <p>
+ * All the tasks of a call share a flag that the searches poll. Once a solution
+ * is found, or the solutions counted reach the limit, the flag is raised and
+ * sibling tasks stop within a few microseconds, whether queued or searching.
+ * When counting, the sequential searches add their solutions to a counter
+ * shared by the call, in batches every few thousand nodes, so the limit stops
+ * them all soon after it is reached instead of each counting up to it.
+ * </p>
+ * <p>
+ * Unlike {@link DlxSolver}, a parallel solver can be shared between threads:
+ * calls do not share state, and each worker thread keeps its own sequential
+ * solver.
+ * </p>
+ *
+ * Example usage:
+ * <pre>
+ *     ParallelSolver solver = new ParallelSolver(Geometry.SIXTEEN);
+ *     boolean solved = solver.solve(grid);              // on the common pool
+ *     int solutions = solver.countSolutions(grid, 1000);
+ * </pre>
+ */
+public final class ParallelSolver {
+
+    /** Search nodes a grid may visit sequentially before its search is split. */
+    static final long SEQUENTIAL_NODES = 20_000;
+
+    /** Number of tasks the search is split into, per worker thread. */
+    static final int TASKS_PER_WORKER = 16;
+
+    /** Shape of the grids solved. */
+    private final Geometry geometry;
+
+    /** Pool the tasks run on. */
+    private final ForkJoinPool pool;
+
+    /** Sequential solver of each worker thread. */
+    private final ThreadLocal<DlxSolver> solvers;
+
+    /**
+     * Creates a solver running on the common fork/join pool.
+     *
+     * @param geometry the shape of the grids to solve
+     */
+    public ParallelSolver(Geometry geometry) {
+        this(geometry, ForkJoinPool.commonPool());
+    }
+
+    /**
+     * Creates a solver running on the given pool, whose parallelism sets the
+     * number of cores used.
+     *
+     * @param geometry the shape of the grids to solve
+     * @param pool     the pool the tasks run on
+     */
+    public ParallelSolver(Geometry geometry, ForkJoinPool pool) {
+        this.geometry = geometry;
+        this.pool = pool;
+        this.solvers = ThreadLocal.withInitial(() -> new DlxSolver(geometry));
+    }
+
+    /**
+     * Returns the shape of the grids this solver handles.
+     * @return the {@link Geometry}
+     */
+    public Geometry getGeometry() {
+        return geometry;
+    }
+
+    /**
+     * Returns the number of worker threads of the pool.
+     * @return the parallelism
+     */
+    public int getParallelism() {
+        return pool.getParallelism();
+    }
+
+    /**
+     * Solves a partial grid, writing a solution into it. When the grid has
+     * several solutions, which one is found depends on the scheduling.
+     *
+     * @param grid the grid to solve, left unchanged if it has no solution
+     * @return {@code true} if the grid was solved
+     * @throws IllegalArgumentException if the grid does not match the geometry
+     */
+    public boolean solve(int[] grid) {
+        checkGrid(grid);
+        Search search = new Search(true, 1);
+        pool.invoke(new Subtree(search, grid.clone(), 0));
+        int[] solution = search.solution.get();
+        if (solution == null) {
+            return false;
+        }
+        System.arraycopy(solution, 0, grid, 0, grid.length);
+        return true;
+    }
+
+    /**
+     * Counts the solutions of a partial grid, stopping at {@code limit}.
+     *
+     * @param grid  the grid to examine; it is not modified
+     * @param limit the number of solutions after which the search stops
+     * @return the number of solutions, at most {@code limit}
+     * @throws IllegalArgumentException if the grid does not match the geometry or {@code limit < 1}
+     */
+    public int countSolutions(int[] grid, int limit) {
+        if (limit < 1) {
+            throw new IllegalArgumentException("Limit must be at least 1");
+        }
+        checkGrid(grid);
+        Search search = new Search(false, limit);
+        pool.invoke(new Subtree(search, grid.clone(), 0));
+        return Math.min(search.found.get(), limit);
+    }
+
+    /**
+     * Checks that a grid matches the geometry.
+     *
+     * @param grid the grid
+     * @throws IllegalArgumentException if it does not
+     */
+    private void checkGrid(int[] grid) {
+        if (grid.length != geometry.getCellCount()) {
+            throw new IllegalArgumentException("Grid must have " + geometry.getCellCount() + " cells");
+        }
+        for (int value : grid) {
+            if (value < 0 || value > geometry.getSize()) {
+                throw new IllegalArgumentException(
+                        "Cell value must be between 0 and " + geometry.getSize() + ": " + value);
+            }
+        }
+    }
+
+    // ----------------------------------------------------------
+    // Tasks
+    // ----------------------------------------------------------
+
+    /**
+     * State shared by the tasks of one call.
+     */
+    private static final class Search {
+
+        /** Whether the call solves ({@code true}) or counts. */
+        final boolean solving;
+
+        /** Number of solutions after which the search stops. */
+        final int limit;
+
+        /** Raised once the search is done; polled by every task and sequential search. */
+        final AtomicBoolean stop = new AtomicBoolean();
+
+        /** Solutions counted so far, when counting. */
+        final AtomicInteger found = new AtomicInteger();
+
+        /** First solution found, when solving. */
+        final AtomicReference<int[]> solution = new AtomicReference<>();
+
+        /**
+         * Creates the state of a call.
+         *
+         * @param solving whether the call solves or counts
+         * @param limit   the number of solutions after which the search stops
+         */
+        Search(boolean solving, int limit) {
+            this.solving = solving;
+            this.limit = limit;
+        }
+    }
+
+    /**
+     * Task searching the subtree of a partial grid.
+     */
+    @SuppressWarnings("serial") // Tasks are never serialized
+    private final class Subtree extends RecursiveAction {
+
+        /** State of the call. */
+        private final Search search;
+
+        /** Partial grid at the root of the subtree, owned by the task. */
+        private final int[] grid;
+
+        /** Number of tasks the subtree should be split into, 0 for the root of the search. */
+        private final int tasks;
+
+        /**
+         * Creates a task.
+         *
+         * @param search the state of the call
+         * @param grid   the partial grid, not shared with any other task
+         * @param tasks  the number of tasks to split the subtree into, 0 for the root
+         */
+        Subtree(Search search, int[] grid, int tasks) {
+            this.search = search;
+            this.grid = grid;
+            this.tasks = tasks;
+        }
+
+        /**
+         * Searches the subtree, sequentially or by splitting it.
+         */
+        @Override
+        protected void compute() {
+            if (search.stop.get()) {
+                return;
+            }
+            DlxSolver solver = solvers.get();
+            if (tasks == 0) {
+                if (!trySequentially(solver)) {
+                    split(solver, TASKS_PER_WORKER * pool.getParallelism());
+                }
+            } else if (tasks >= 2) {
+                split(solver, tasks);
+            } else {
+                searchSequentially(solver);
+            }
+        }
+
+        /**
+         * Searches the whole grid with the sequential solver within
+         * {@value #SEQUENTIAL_NODES} nodes, recording the result only if the
+         * search completes, since it is otherwise redone by splitting.
+         *
+         * @param solver the sequential solver of the worker thread
+         * @return {@code false} if the search was abandoned
+         */
+        private boolean trySequentially(DlxSolver solver) {
+            if (search.solving) {
+                int found = solver.solve(grid, SEQUENTIAL_NODES);
+                if (found == 1) {
+                    search.solution.set(grid);
+                }
+                return found >= 0;
+            }
+            int found = solver.countSolutions(grid, search.limit, SEQUENTIAL_NODES);
+            if (found >= 0) {
+                search.found.set(found);
+            }
+            return found >= 0;
+        }
+
+        /**
+         * Searches the subtree to the end with the sequential solver, unless the
+         * call is done first, recording what it finds.
+         *
+         * @param solver the sequential solver of the worker thread
+         */
+        private void searchSequentially(DlxSolver solver) {
+            try {
+                if (search.solving) {
+                    solver.share(search.stop, null, 0);
+                    if (solver.solve(grid, Long.MAX_VALUE) == 1 && search.solution.compareAndSet(null, grid)) {
+                        search.stop.set(true);
+                    }
+                } else {
+                    solver.share(search.stop, search.found, search.limit);
+                    solver.countSolutions(grid, search.limit, Long.MAX_VALUE);
+                }
+            } finally {
+                solver.share(null, null, 0);
+            }
+        }
+
+        /**
+         * Forks one task per choice of the first level of the sequential search
+         * of the subtree, sharing the task target between them.
+         *
+         * @param solver the sequential solver of the worker thread
+         * @param target the number of tasks to split the subtree into
+         */
+        private void split(DlxSolver solver, int target) {
+            int size = geometry.getSize();
+            int[] placements = new int[size];
+            int count = solver.branch(grid, placements);
+            if (count < 0) {
+                // The forced placements completed the grid
+                searchSequentially(solver);
+                return;
+            }
+            List<Subtree> children = new ArrayList<>(count);
+            for (int i = 0; i < count; i++) {
+                int[] child = grid.clone();
+                child[placements[i] / size] = placements[i] % size + 1;
+                children.add(new Subtree(search, child, Math.max(target / count, 1)));
+            }
+            invokeAll(children);
+        }
+    }
+}
@@ -0,0 +1,218 @@
+package com.sudoku.model;
+
+import java.util.OptionalLong;
+
+/**
+ * Immutable Sudoku puzzle: the clues shown to the player together with the
+ * solution they lead to.
+ * <p>
+ * Both grids are addressed by {@link Geometry} cell index; in the givens,
+ * 0 marks a cell the player has to fill. The puzzle also records its
+ * {@link DifficultyRating} and how long it took to generate, so that callers
+ * can report them. A generated puzzle also keeps its seed: the same
+ * {@link PuzzleGenerator} settings regenerate it, byte for byte, from the seed
+ * ({@link PuzzleGenerator#generate(long)}).
+ * </p>
+ *
+ * Example usage:
+ * <pre>
+ *     Puzzle puzzle = new PuzzleGenerator(Geometry.NINE).generate();
+ *     IBoard board = BoardFactory.createBoard("bitmask", puzzle);
+ * </pre>
+ */
+public final class Puzzle {
+
+    /** Shape of the puzzle. */
+    private final Geometry geometry;
+
+    /** Clue of each cell, or 0 if the cell is empty. */
+    private final int[] givens;
+
+    /** Solved value of each cell. */
+    private final int[] solution;
+
+    /** Difficulty of the clues. */
+    private final DifficultyRating rating;
+
+    /** Time spent generating the puzzle, in nanoseconds. */
+    private final long generationNanos;
+
+    /** Seed the puzzle was generated from, empty if it was not generated from one. */
+    private final OptionalLong seed;
+
+    /**
+     * Creates a puzzle from its clues and solution, without a seed.
+     *
+     * @param geometry        the shape of the puzzle
+     * @param givens          the clue of each cell, 0 for an empty cell (copied)
+     * @param solution        the solved value of each cell (copied)
+     * @param rating          the difficulty of the clues
+     * @param generationNanos the time spent generating the puzzle, in nanoseconds
+     * @throws IllegalArgumentException if a grid does not match the geometry, or a clue
+     *                                  differs from the solution
+     */
+    public Puzzle(Geometry geometry, int[] givens, int[] solution, DifficultyRating rating, long generationNanos) {
+        this(geometry, givens, solution, rating, generationNanos, OptionalLong.empty());
+    }
+
+    /**
+     * Creates a puzzle generated from a seed.
+     *
+     * @param geometry        the shape of the puzzle
+     * @param givens          the clue of each cell, 0 for an empty cell (copied)
+     * @param solution        the solved value of each cell (copied)
+     * @param rating          the difficulty of the clues
+     * @param generationNanos the time spent generating the puzzle, in nanoseconds
+     * @param seed            the seed the puzzle was generated from
+     * @throws IllegalArgumentException if a grid does not match the geometry, or a clue
+     *                                  differs from the solution
+     */
+    public Puzzle(Geometry geometry, int[] givens, int[] solution, DifficultyRating rating, long generationNanos,
+                  long seed) {
+        this(geometry, givens, solution, rating, generationNanos, OptionalLong.of(seed));
+    }
+
+    /**
+     * Creates a puzzle, checking its grids.
+     *
+     * @param geometry        the shape of the puzzle
+     * @param givens          the clue of each cell, 0 for an empty cell (copied)
+     * @param solution        the solved value of each cell (copied)
+     * @param rating          the difficulty of the clues
+     * @param generationNanos the time spent generating the puzzle, in nanoseconds
+     * @param seed            the seed the puzzle was generated from, if any
+     * @throws IllegalArgumentException if a grid does not match the geometry, or a clue
+     *                                  differs from the solution
+     */
+    private Puzzle(Geometry geometry, int[] givens, int[] solution, DifficultyRating rating, long generationNanos,
+                   OptionalLong seed) {
+        int cells = geometry.getCellCount();
+        if (givens.length != cells || solution.length != cells) {
+            throw new IllegalArgumentException("Grids must have " + cells + " cells");
+        }
+        for (int cell = 0; cell < cells; cell++) {
+            if (givens[cell] != 0 && givens[cell] != solution[cell]) {
+                throw new IllegalArgumentException("Clue of cell " + cell + " differs from the solution");
+            }
+        }
+        this.geometry = geometry;
+        this.givens = givens.clone();
+        this.solution = solution.clone();
+        this.rating = rating;
+        this.generationNanos = generationNanos;
+        this.seed = seed;
+    }
+
+    /**
+     * Returns the shape of the puzzle.
+     * @return the {@link Geometry}
+     */
+    public Geometry getGeometry() {
+        return geometry;
+    }
+
+    /**
+     * Returns the clue of a cell.
+     *
+     * @param cell the cell index
+     * @return the clue, or 0 if the cell is empty
+     */
+    public int getGiven(int cell) {
+        return givens[cell];
+    }
+
+    /**
+     * Tells whether a cell is a clue.
+     *
+     * @param cell the cell index
+     * @return {@code true} if the cell is shown to the player
+     */
+    public boolean isGiven(int cell) {
+        return givens[cell] != 0;
+    }
+
+    /**
+     * Returns the solved value of a cell.
+     *
+     * @param cell the cell index
+     * @return the digit of the solution at that cell
+     */
+    public int getSolution(int cell) {
+        return solution[cell];
+    }
+
+    /**
+     * Returns a copy of the clues.
+     * @return the clue of each cell, 0 for an empty cell
+     */
+    public int[] getGivens() {
+        return givens.clone();
+    }
+
+    /**
+     * Returns a copy of the solution.
+     * @return the solved value of each cell
+     */
+    public int[] getSolution() {
+        return solution.clone();
+    }
+
+    /**
+     * Returns the number of clues.
+     * @return the number of non-empty cells in the givens
+     */
+    public int getClueCount() {
+        int clues = 0;
+        for (int given : givens) {
+            if (given != 0) {
+                clues++;
+            }
+        }
+        return clues;
+    }
+
+    /**
+     * Returns the difficulty rating of the clues.
+     * @return the {@link DifficultyRating}
+     */
+    public DifficultyRating getRating() {
+        return rating;
+    }
+
+    /**
+     * Returns the difficulty tier of the clues.
+     * @return the {@link Difficulty}
+     */
+    public Difficulty getDifficulty() {
+        return rating.getDifficulty();
+    }
+
+    /**
+     * Returns the time spent generating the puzzle.
+     * @return the generation time, in nanoseconds
+     */
+    public long getGenerationNanos() {
+        return generationNanos;
+    }
+
+    /**
+     * Returns the seed the puzzle was generated from.
+     * @return the seed, or empty for a puzzle loaded, decoded or transformed rather than generated
+     */
+    public OptionalLong getSeed() {
+        return seed;
+    }
+
+    /**
+     * Returns a one-line description of the puzzle, e.g.
+     * {@code "9x9 (3x3) puzzle, 24 clues, HARD (score 87), generated in 5.2 ms from seed 42"}.
+     *
+     * @return the description
+     */
+    @Override
+    public String toString() {
+        String description = String.format("%s puzzle, %d clues, %s, generated in %.1f ms",
+                geometry, getClueCount(), rating, generationNanos / 1e6);
+        return seed.isPresent() ? description + " from seed " + seed.getAsLong() : description;
+    }
+}
@@ -0,0 +1,287 @@
+package com.sudoku.model;
+
+import java.nio.ByteBuffer;
+import java.util.OptionalLong;
+
+/**
+ * Packed binary format of {@link Puzzle}s: a fixed-size record per puzzle,
+ * preceded in a file by a {@value #HEADER_SIZE}-byte header.
+ * <p>
+ * A record holds, in this order:
+ * </p>
+ * <ul>
+ *   <li>the {@link Difficulty} ordinal (1 byte), flags (1 byte, bit 0 set when
+ *   the rater solved the puzzle, bit 1 when the seed is known) and the rating
+ *   score (4 bytes);</li>
+ *   <li>the seed the puzzle was generated from (8 bytes, 0 if unknown; 0 is
+ *   also a valid seed, hence the flag);</li>
+ *   <li>one bit per cell telling whether the cell is a clue;</li>
+ *   <li>the solution, {@code digit - 1} packed in {@link #bitsPerCell(Geometry)}
+ *   bits per cell (3 bits for 6×6, 4 for 9×9, 5 for 25×25).</li>
+ * </ul>
+ * <p>
+ * The givens are the solution masked by the clue bits, so each cell costs one
+ * bit more than its digit. A 9×9 record takes 67 bytes. Cells are read in place
+ * with absolute gets, so a record can be inspected inside a mapped file without
+ * being copied (see {@link PuzzleLibrary}).
+ * </p>
+ * <p>
+ * The header holds the magic number {@code "SDKP"}, the format version, the grid
+ * size and the record size, so that a reader can check a file before mapping it.
+ * </p>
+ */
+public final class PuzzleCodec {
+
+    /** Magic number opening a puzzle file ({@code "SDKP"}). */
+    public static final int MAGIC = 0x53444B50;
+
+    /** Version of the format written by this class. */
+    public static final short VERSION = 1;
+
+    /** Size, in bytes, of the file header. */
+    public static final int HEADER_SIZE = 16;
+
+    /** Offset of the difficulty ordinal in a record. */
+    private static final int DIFFICULTY_OFFSET = 0;
+
+    /** Offset of the flags in a record. */
+    private static final int FLAGS_OFFSET = 1;
+
+    /** Offset of the rating score in a record. */
+    private static final int SCORE_OFFSET = 2;
+
+    /** Offset of the seed in a record. */
+    private static final int SEED_OFFSET = 6;
+
+    /** Offset of the clue bits in a record. */
+    private static final int CLUES_OFFSET = 14;
+
+    /** Flag set when the rater solved the puzzle with its techniques. */
+    private static final int SOLVED_FLAG = 1;
+
+    /** Flag set when the record holds the seed of the puzzle. */
+    private static final int SEEDED_FLAG = 2;
+
+    /** Shape of the encoded puzzles. */
+    private final Geometry geometry;
+
+    /** Bits used by each digit of the solution. */
+    private final int bitsPerCell;
+
+    /** Offset of the packed solution in a record. */
+    private final int solutionOffset;
+
+    /** Size of a record, in bytes. */
+    private final int recordSize;
+
+    /**
+     * Creates the codec of a geometry.
+     *
+     * @param geometry the shape of the encoded puzzles
+     */
+    public PuzzleCodec(Geometry geometry) {
+        this.geometry = geometry;
+        this.bitsPerCell = bitsPerCell(geometry);
+        this.solutionOffset = CLUES_OFFSET + (geometry.getCellCount() + 7) / 8;
+        // One spare byte so that a cell can always be read as a 16-bit window
+        this.recordSize = solutionOffset + (geometry.getCellCount() * bitsPerCell + 7) / 8 + 1;
+    }
+
+    /**
+     * Returns the number of bits a solved digit takes in a record.
+     *
+     * @param geometry the shape of the puzzles
+     * @return the bits needed for {@code digit - 1}, i.e. {@code ceil(log2(size))}
+     */
+    public static int bitsPerCell(Geometry geometry) {
+        return 32 - Integer.numberOfLeadingZeros(geometry.getSize() - 1);
+    }
+
+    /**
+     * Returns the shape of the encoded puzzles.
+     * @return the {@link Geometry}
+     */
+    public Geometry getGeometry() {
+        return geometry;
+    }
+
+    /**
+     * Returns the size of a record.
+     * @return the record size, in bytes
+     */
+    public int getRecordSize() {
+        return recordSize;
+    }
+
+    // ----------------------------------------------------------
+    // Header
+    // ----------------------------------------------------------
+
+    /**
+     * Writes the file header at the given position of a buffer.
+     *
+     * @param buffer the destination
+     * @param offset the position of the header in {@code buffer}
+     */
+    public void writeHeader(ByteBuffer buffer, int offset) {
+        buffer.putInt(offset, MAGIC);
+        buffer.putShort(offset + 4, VERSION);
+        buffer.put(offset + 6, (byte) geometry.getSize());
+        buffer.put(offset + 7, (byte) 0);
+        buffer.putInt(offset + 8, recordSize);
+        buffer.putInt(offset + 12, 0);
+    }
+
+    /**
+     * Reads a file header and returns the codec of its geometry.
+     *
+     * @param buffer the buffer holding the header
+     * @param offset the position of the header in {@code buffer}
+     * @return the codec of the file
+     * @throws IllegalArgumentException if the header is not one of this format
+     */
+    public static PuzzleCodec readHeader(ByteBuffer buffer, int offset) {
+        if (buffer.getInt(offset) != MAGIC) {
+            throw new IllegalArgumentException("Not a puzzle file");
+        }
+        short version = buffer.getShort(offset + 4);
+        if (version != VERSION) {
+            throw new IllegalArgumentException("Unsupported puzzle file version: " + version);
+        }
+        PuzzleCodec codec = new PuzzleCodec(Geometry.of(buffer.get(offset + 6)));
+        if (buffer.getInt(offset + 8) != codec.recordSize) {
+            throw new IllegalArgumentException("Record size does not match the grid size");
+        }
+        return codec;
+    }
+
+    // ----------------------------------------------------------
+    // Records
+    // ----------------------------------------------------------
+
+    /**
+     * Writes a puzzle as a record at the given position of a buffer, with its
+     * {@link Puzzle#getSeed() seed} if it has one.
+     *
+     * @param puzzle the puzzle, of this codec's geometry
+     * @param buffer the destination
+     * @param offset the position of the record in {@code buffer}
+     * @throws IllegalArgumentException if the puzzle has another geometry
+     */
+    public void encode(Puzzle puzzle, ByteBuffer buffer, int offset) {
+        if (puzzle.getGeometry() != geometry) {
+            throw new IllegalArgumentException("Puzzle is not " + geometry);
+        }
+        DifficultyRating rating = puzzle.getRating();
+        OptionalLong seed = puzzle.getSeed();
+        // The bits are ORed into the record in place, so it starts cleared
+        for (int at = offset + CLUES_OFFSET; at < offset + recordSize; at++) {
+            buffer.put(at, (byte) 0);
+        }
+        buffer.put(offset + DIFFICULTY_OFFSET, (byte) rating.getDifficulty().ordinal());
+        buffer.put(offset + FLAGS_OFFSET,
+                (byte) ((rating.isSolved() ? SOLVED_FLAG : 0) | (seed.isPresent() ? SEEDED_FLAG : 0)));
+        for (int cell = 0; cell < geometry.getCellCount(); cell++) {
+            if (puzzle.isGiven(cell)) {
+                int at = offset + CLUES_OFFSET + (cell >>> 3);
+                buffer.put(at, (byte) (buffer.get(at) | 1 << (cell & 7)));
+            }
+            int bit = cell * bitsPerCell;
+            int value = (puzzle.getSolution(cell) - 1) << (bit & 7);
+            int at = offset + solutionOffset + (bit >>> 3);
+            buffer.put(at, (byte) (buffer.get(at) | value));
+            buffer.put(at + 1, (byte) (buffer.get(at + 1) | value >>> 8));
+        }
+        buffer.putInt(offset + SCORE_OFFSET, rating.getScore());
+        buffer.putLong(offset + SEED_OFFSET, seed.orElse(0));
+    }
+
+    /**
+     * Reads a whole record back into a puzzle (the only copying read).
+     *
+     * @param buffer the buffer holding the record
+     * @param offset the position of the record in {@code buffer}
+     * @return the puzzle, with a generation time of 0 and the seed of the record, if any
+     */
+    public Puzzle decode(ByteBuffer buffer, int offset) {
+        int cells = geometry.getCellCount();
+        int[] givens = new int[cells];
+        int[] solution = new int[cells];
+        for (int cell = 0; cell < cells; cell++) {
+            solution[cell] = getSolution(buffer, offset, cell);
+            if (isGiven(buffer, offset, cell)) {
+                givens[cell] = solution[cell];
+            }
+        }
+        DifficultyRating rating = new DifficultyRating(getDifficulty(buffer, offset),
+                buffer.getInt(offset + SCORE_OFFSET),
+                (buffer.get(offset + FLAGS_OFFSET) & SOLVED_FLAG) != 0);
+        OptionalLong seed = getSeed(buffer, offset);
+        return seed.isPresent()
+                ? new Puzzle(geometry, givens, solution, rating, 0, seed.getAsLong())
+                : new Puzzle(geometry, givens, solution, rating, 0);
+    }
+
+    /**
+     * Returns the difficulty tier stored in a record.
+     *
+     * @param buffer the buffer holding the record
+     * @param offset the position of the record in {@code buffer}
+     * @return the {@link Difficulty}
+     */
+    public Difficulty getDifficulty(ByteBuffer buffer, int offset) {
+        return Difficulty.values()[buffer.get(offset + DIFFICULTY_OFFSET)];
+    }
+
+    /**
+     * Returns the seed stored in a record.
+     *
+     * @param buffer the buffer holding the record
+     * @param offset the position of the record in {@code buffer}
+     * @return the seed, or empty if unknown
+     */
+    public OptionalLong getSeed(ByteBuffer buffer, int offset) {
+        return (buffer.get(offset + FLAGS_OFFSET) & SEEDED_FLAG) != 0
+                ? OptionalLong.of(buffer.getLong(offset + SEED_OFFSET))
+                : OptionalLong.empty();
+    }
+
+    /**
+     * Tells whether a cell of a record is a clue.
+     *
+     * @param buffer the buffer holding the record
+     * @param offset the position of the record in {@code buffer}
+     * @param cell   the cell index
+     * @return {@code true} if the cell is shown to the player
+     */
+    public boolean isGiven(ByteBuffer buffer, int offset, int cell) {
+        return (buffer.get(offset + CLUES_OFFSET + (cell >>> 3)) & (1 << (cell & 7))) != 0;
+    }
+
+    /**
+     * Returns the clue of a cell of a record.
+     *
+     * @param buffer the buffer holding the record
+     * @param offset the position of the record in {@code buffer}
+     * @param cell   the cell index
+     * @return the clue, or 0 if the cell is empty
+     */
+    public int getGiven(ByteBuffer buffer, int offset, int cell) {
+        return isGiven(buffer, offset, cell) ? getSolution(buffer, offset, cell) : 0;
+    }
+
+    /**
+     * Returns the solved value of a cell of a record.
+     *
+     * @param buffer the buffer holding the record
+     * @param offset the position of the record in {@code buffer}
+     * @param cell   the cell index
+     * @return the digit of the solution at that cell
+     */
+    public int getSolution(ByteBuffer buffer, int offset, int cell) {
+        int bit = cell * bitsPerCell;
+        int at = offset + solutionOffset + (bit >>> 3);
+        int window = (buffer.get(at) & 0xFF) | (buffer.get(at + 1) & 0xFF) << 8;
+        return ((window >>> (bit & 7)) & ((1 << bitsPerCell) - 1)) + 1;
+    }
+}
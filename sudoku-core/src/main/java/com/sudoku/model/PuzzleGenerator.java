@@ -0,0 +1,318 @@
+package com.sudoku.model;
+
+import java.util.SplittableRandom;
+
+/**
+ * Generates {@link Puzzle}s: a random complete grid and the clues shown from it.
+ * <p>
+ * Two modes are available:
+ * </p>
+ * <ul>
+ *   <li>{@link Mode#UNIQUE} (default) starts from the full solution and removes
+ *   clues in random order, keeping a clue whenever removing it would allow a
+ *   second solution. The check is {@link DlxSolver#countSolutions(int[], int, long)}
+ *   with an early exit at 2, so the resulting puzzle has exactly one solution.</li>
+ *   <li>{@link Mode#SECTIONS} reveals {@link Geometry#getInitialValuesPerSection()}
+ *   random cells per section, as the game originally did. The puzzle may have
+ *   several solutions.</li>
+ * </ul>
+ * <p>
+ * Every puzzle is rated with a {@link DifficultyRater}.
+ * {@link #generate(Difficulty, long)} keeps generating within a time budget
+ * until a puzzle of the requested tier comes out.
+ * </p>
+ * <p>
+ * All the randomness of a puzzle flows from a single {@code long} seed through
+ * a {@link SplittableRandom}: the fill of the solution and the order in which
+ * clues are tried. A puzzle is therefore identified by its seed
+ * ({@link Puzzle#getSeed()}) with the geometry and mode, and
+ * {@link #generate(long)} regenerates it byte for byte. The seeds themselves
+ * come from a stream that the generator's own seed starts, so a seeded
+ * generator produces the same sequence of puzzles on every run; parallel
+ * workers each get their own generator and stream, and share no random state.
+ * </p>
+ * <p>
+ * A generator keeps a {@link DlxSolver} and a {@link DifficultyRater} between
+ * calls and must not be shared between threads.
+ * </p>
+ */
+public class PuzzleGenerator {
+
+    /**
+     * How the clues are chosen from the solution.
+     */
+    public enum Mode {
+        /** Remove clues while the puzzle keeps a single solution. */
+        UNIQUE,
+        /** Reveal a fixed number of random cells per section. */
+        SECTIONS
+    }
+
+    /**
+     * Fewest search nodes a uniqueness check may visit; larger grids get one
+     * node per eight cells.
+     */
+    private static final long MIN_CHECK_NODES = 64;
+
+    /** Time budget, in milliseconds, the game gives to find a puzzle of the requested tier. */
+    public static final long DEFAULT_TIME_BUDGET_MILLIS = 500;
+
+    /** Shape of the generated puzzles. */
+    private final Geometry geometry;
+
+    /** How the clues are chosen. */
+    private final Mode mode;
+
+    /** Solver used both to fill the solution and to count solutions. */
+    private final DlxSolver solver;
+
+    /** Rater of the generated clues. */
+    private final DifficultyRater rater;
+
+    /** Stream of the seeds of the puzzles. */
+    private SplittableRandom seeds;
+
+    /** Random source of the puzzle being generated: the solution and the order in which clues are tried. */
+    private SplittableRandom random;
+
+    /** Search nodes a uniqueness check may visit before the clue is kept without a definite answer. */
+    private final long checkNodes;
+
+    /**
+     * Creates a generator of unique-solution puzzles.
+     *
+     * @param geometry the shape of the puzzles
+     */
+    public PuzzleGenerator(Geometry geometry) {
+        this(geometry, Mode.UNIQUE);
+    }
+
+    /**
+     * Creates a generator with the given mode, whose seeds start from a random seed.
+     *
+     * @param geometry the shape of the puzzles
+     * @param mode     how the clues are chosen
+     */
+    public PuzzleGenerator(Geometry geometry, Mode mode) {
+        this(geometry, mode, new SplittableRandom());
+    }
+
+    /**
+     * Creates a generator with the given mode, producing the same sequence of
+     * puzzles for the same seed.
+     *
+     * @param geometry the shape of the puzzles
+     * @param mode     how the clues are chosen
+     * @param seed     the seed of the stream of puzzle seeds
+     */
+    public PuzzleGenerator(Geometry geometry, Mode mode, long seed) {
+        this(geometry, mode, new SplittableRandom(seed));
+    }
+
+    /**
+     * Creates a generator drawing the seeds of its puzzles from a stream.
+     *
+     * @param geometry the shape of the puzzles
+     * @param mode     how the clues are chosen
+     * @param seeds    the stream of puzzle seeds
+     */
+    private PuzzleGenerator(Geometry geometry, Mode mode, SplittableRandom seeds) {
+        this.geometry = geometry;
+        this.mode = mode;
+        this.seeds = seeds;
+        this.solver = new DlxSolver(geometry);
+        this.rater = new DifficultyRater(geometry);
+        this.checkNodes = Math.max(MIN_CHECK_NODES, geometry.getCellCount() / 8);
+    }
+
+    /**
+     * Returns the shape of the generated puzzles.
+     * @return the {@link Geometry}
+     */
+    public Geometry getGeometry() {
+        return geometry;
+    }
+
+    /**
+     * Returns how the clues are chosen.
+     * @return the {@link Mode}
+     */
+    public Mode getMode() {
+        return mode;
+    }
+
+    /**
+     * Restarts the stream of puzzle seeds, so that the following puzzles are
+     * the ones a generator created with this seed would produce.
+     *
+     * @param seed the seed of the stream of puzzle seeds
+     */
+    public void setSeed(long seed) {
+        seeds = new SplittableRandom(seed);
+    }
+
+    /**
+     * Generates a new puzzle from the next seed of the stream, timing the whole process.
+     *
+     * @return the puzzle, with its seed, rating and generation time
+     */
+    public Puzzle generate() {
+        return generate(seeds.nextLong(), System.nanoTime());
+    }
+
+    /**
+     * Generates the puzzle of a seed: with the same geometry and mode, the
+     * same seed always gives the same givens, solution and rating.
+     *
+     * @param seed the seed of the puzzle, e.g. from {@link Puzzle#getSeed()}
+     * @return the puzzle, with its seed, rating and generation time
+     */
+    public Puzzle generate(long seed) {
+        return generate(seed, System.nanoTime());
+    }
+
+    /**
+     * Generates puzzles until one of the requested tier comes out or the time
+     * budget runs out (rejection sampling). At least one puzzle is generated.
+     *
+     * @param target       the requested difficulty tier
+     * @param budgetMillis the time budget, in milliseconds
+     * @return the first puzzle of the requested tier or, if the budget ran out,
+     *         the generated puzzle whose tier was closest to it; its generation
+     *         time covers every rejected candidate. Candidates are drawn from the
+     *         stream of seeds, so a seeded generator returns the same puzzle on
+     *         every run unless the budget runs out first
+     */
+    public Puzzle generate(Difficulty target, long budgetMillis) {
+        long start = System.nanoTime();
+        long deadline = start + budgetMillis * 1_000_000L;
+        Puzzle closest = null;
+        do {
+            Puzzle candidate = generate(seeds.nextLong(), start);
+            if (candidate.getDifficulty() == target) {
+                return candidate;
+            }
+            if (closest == null || distance(candidate, target) < distance(closest, target)) {
+                closest = candidate;
+            }
+        } while (System.nanoTime() < deadline);
+        return closest;
+    }
+
+    /**
+     * Generates and rates the puzzle of a seed, recording it in the
+     * {@link EngineMetrics} and as a {@link GenerationEvent}.
+     *
+     * @param seed  the seed of the puzzle
+     * @param start the {@link System#nanoTime()} the generation time is measured from
+     * @return the puzzle
+     */
+    private Puzzle generate(long seed, long start) {
+        GenerationEvent event = new GenerationEvent();
+        event.begin();
+        long begin = System.nanoTime();
+        random = new SplittableRandom(seed);
+        int[] solution = new int[geometry.getCellCount()];
+        solver.fill(solution, random);
+        int[] givens = mode == Mode.UNIQUE ? removeClues(solution) : revealPerSection(solution);
+        DifficultyRating rating = rater.rate(givens);
+        long end = System.nanoTime();
+        Puzzle puzzle = new Puzzle(geometry, givens, solution, rating, end - start, seed);
+        event.end();
+        if (event.shouldCommit()) {
+            event.size = geometry.getSize();
+            event.seed = seed;
+            event.nodesExplored = solver.getNodesExplored();
+            event.clues = puzzle.getClueCount();
+            event.difficulty = rating.getDifficulty().name();
+            event.commit();
+        }
+        EngineMetrics.GENERATION.record(end - begin);
+        solver.recordSearch(EngineMetrics.GENERATION);
+        return puzzle;
+    }
+
+    /**
+     * Returns how many tiers a puzzle is away from the target.
+     *
+     * @param puzzle the puzzle
+     * @param target the requested tier
+     * @return the distance between the tiers
+     */
+    private static int distance(Puzzle puzzle, Difficulty target) {
+        return Math.abs(puzzle.getDifficulty().ordinal() - target.ordinal());
+    }
+
+    // ----------------------------------------------------------
+    // Clue selection
+    // ----------------------------------------------------------
+
+    /**
+     * Removes clues from the solution in random order, keeping every clue whose
+     * removal would leave more than one solution.
+     * <p>
+     * Each check may visit a bounded number of search nodes; when it runs out the
+     * clue is kept, which costs a clue but never uniqueness.
+     * </p>
+     *
+     * @param solution the complete grid
+     * @return the clues of a puzzle whose only solution is {@code solution}
+     */
+    private int[] removeClues(int[] solution) {
+        int[] givens = solution.clone();
+        for (int cell : shuffledCells()) {
+            int value = givens[cell];
+            givens[cell] = 0;
+            if (solver.countSolutions(givens, 2, checkNodes) != 1) {
+                givens[cell] = value; // Needed for uniqueness (or undecided within the budget)
+            }
+        }
+        return givens;
+    }
+
+    /**
+     * Reveals {@link Geometry#getInitialValuesPerSection()} random cells of each section.
+     *
+     * @param solution the complete grid
+     * @return the clues
+     */
+    private int[] revealPerSection(int[] solution) {
+        int[] givens = new int[solution.length];
+        for (int section = 0; section < geometry.getSize(); section++) {
+            int[] cells = geometry.sectionCells(section).clone();
+            shuffle(cells);
+            for (int i = 0; i < geometry.getInitialValuesPerSection(); i++) {
+                givens[cells[i]] = solution[cells[i]];
+            }
+        }
+        return givens;
+    }
+
+    /**
+     * Returns all cell indices in random order.
+     *
+     * @return a permutation of the cell indices
+     */
+    private int[] shuffledCells() {
+        int[] cells = new int[geometry.getCellCount()];
+        for (int cell = 0; cell < cells.length; cell++) {
+            cells[cell] = cell;
+        }
+        shuffle(cells);
+        return cells;
+    }
+
+    /**
+     * Shuffles an array in place (Fisher–Yates) with the generator's random source.
+     *
+     * @param values the array to shuffle
+     */
+    private void shuffle(int[] values) {
+        for (int i = values.length - 1; i > 0; i--) {
+            int j = random.nextInt(i + 1);
+            int tmp = values[i];
+            values[i] = values[j];
+            values[j] = tmp;
+        }
+    }
+}
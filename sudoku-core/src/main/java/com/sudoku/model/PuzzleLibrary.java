@@ -0,0 +1,304 @@
+package com.sudoku.model;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.OptionalLong;
+
+/**
+ * Read-only bank of puzzles stored in a {@link PuzzleCodec} file and
+ * memory-mapped, so that a multi-gigabyte bank is never loaded onto the heap.
+ * <p>
+ * A single mapping is limited to 2 GB, so the file is mapped in chunks of
+ * whole records; puzzle {@code N} is found with one division and read in place
+ * with absolute gets. Reads do not move any buffer position, so one library
+ * can be shared by any number of threads.
+ * </p>
+ *
+ * Example usage:
+ * <pre>
+ *     try (PuzzleLibrary.Writer writer = PuzzleLibrary.create(path, Geometry.NINE)) {
+ *         writer.append(new PuzzleGenerator(Geometry.NINE).generate());
+ *     }
+ *     PuzzleLibrary library = PuzzleLibrary.open(path);
+ *     Puzzle puzzle = library.get(0);
+ * </pre>
+ */
+public final class PuzzleLibrary {
+
+    /** Largest number of bytes mapped by one buffer. */
+    private static final long MAX_CHUNK_BYTES = Integer.MAX_VALUE;
+
+    /** Format of the records. */
+    private final PuzzleCodec codec;
+
+    /** Mapped chunks of the file, each holding {@link #recordsPerChunk} records (the last one fewer). */
+    private final MappedByteBuffer[] chunks;
+
+    /** Number of records in a full chunk. */
+    private final long recordsPerChunk;
+
+    /** Number of puzzles in the library. */
+    private final long size;
+
+    /**
+     * Creates a library over mapped chunks.
+     *
+     * @param codec           the format of the records
+     * @param chunks          the mapped chunks
+     * @param recordsPerChunk the number of records in a full chunk
+     * @param size            the number of puzzles
+     */
+    private PuzzleLibrary(PuzzleCodec codec, MappedByteBuffer[] chunks, long recordsPerChunk, long size) {
+        this.codec = codec;
+        this.chunks = chunks;
+        this.recordsPerChunk = recordsPerChunk;
+        this.size = size;
+    }
+
+    /**
+     * Maps a puzzle file.
+     *
+     * @param path the file, as written by {@link Writer}
+     * @return the library
+     * @throws IOException              if the file cannot be read
+     * @throws IllegalArgumentException if the file is not a puzzle file, or is truncated
+     */
+    public static PuzzleLibrary open(Path path) throws IOException {
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+            long length = channel.size();
+            if (length < PuzzleCodec.HEADER_SIZE) {
+                throw new IllegalArgumentException("Not a puzzle file: " + path);
+            }
+            ByteBuffer header = ByteBuffer.allocate(PuzzleCodec.HEADER_SIZE);
+            while (header.hasRemaining() && channel.read(header, header.position()) >= 0) {
+                // Read the whole header
+            }
+            PuzzleCodec codec = PuzzleCodec.readHeader(header, 0);
+            int recordSize = codec.getRecordSize();
+            long data = length - PuzzleCodec.HEADER_SIZE;
+            if (data % recordSize != 0) {
+                throw new IllegalArgumentException("Truncated puzzle file: " + path);
+            }
+            long size = data / recordSize;
+            long recordsPerChunk = MAX_CHUNK_BYTES / recordSize;
+            MappedByteBuffer[] chunks = new MappedByteBuffer[(int) ((size + recordsPerChunk - 1) / recordsPerChunk)];
+            for (int i = 0; i < chunks.length; i++) {
+                long first = i * recordsPerChunk;
+                long records = Math.min(recordsPerChunk, size - first);
+                chunks[i] = channel.map(FileChannel.MapMode.READ_ONLY,
+                        PuzzleCodec.HEADER_SIZE + first * recordSize, records * recordSize);
+            }
+            return new PuzzleLibrary(codec, chunks, recordsPerChunk, size);
+        }
+    }
+
+    /**
+     * Creates (or replaces) a puzzle file and returns a writer appending to it.
+     *
+     * @param path     the file
+     * @param geometry the shape of the puzzles
+     * @return the writer, to be closed once every puzzle is appended
+     * @throws IOException if the file cannot be written
+     */
+    public static Writer create(Path path, Geometry geometry) throws IOException {
+        return new Writer(path, new PuzzleCodec(geometry));
+    }
+
+    /**
+     * Returns the shape of the puzzles.
+     * @return the {@link Geometry}
+     */
+    public Geometry getGeometry() {
+        return codec.getGeometry();
+    }
+
+    /**
+     * Returns the number of puzzles.
+     * @return the puzzle count
+     */
+    public long size() {
+        return size;
+    }
+
+    // ----------------------------------------------------------
+    // Reads
+    // ----------------------------------------------------------
+
+    /**
+     * Decodes a puzzle.
+     *
+     * @param index the puzzle index
+     * @return the puzzle
+     * @throws IndexOutOfBoundsException if the index is out of range
+     */
+    public Puzzle get(long index) {
+        return codec.decode(chunkOf(index), offsetOf(index));
+    }
+
+    /**
+     * Returns a read-only view of a record, sharing the mapped memory.
+     *
+     * @param index the puzzle index
+     * @return a buffer of {@link PuzzleCodec#getRecordSize()} bytes, to be read with the codec at offset 0
+     * @throws IndexOutOfBoundsException if the index is out of range
+     */
+    public ByteBuffer record(long index) {
+        return chunkOf(index).slice(offsetOf(index), codec.getRecordSize()).asReadOnlyBuffer();
+    }
+
+    /**
+     * Returns the difficulty tier of a puzzle without decoding it.
+     *
+     * @param index the puzzle index
+     * @return the {@link Difficulty}
+     * @throws IndexOutOfBoundsException if the index is out of range
+     */
+    public Difficulty getDifficulty(long index) {
+        return codec.getDifficulty(chunkOf(index), offsetOf(index));
+    }
+
+    /**
+     * Returns the seed a puzzle was generated from.
+     *
+     * @param index the puzzle index
+     * @return the seed, or empty if unknown
+     * @throws IndexOutOfBoundsException if the index is out of range
+     */
+    public OptionalLong getSeed(long index) {
+        return codec.getSeed(chunkOf(index), offsetOf(index));
+    }
+
+    /**
+     * Returns the clue of a cell without decoding the puzzle.
+     *
+     * @param index the puzzle index
+     * @param cell  the cell index
+     * @return the clue, or 0 if the cell is empty
+     * @throws IndexOutOfBoundsException if the index is out of range
+     */
+    public int getGiven(long index, int cell) {
+        return codec.getGiven(chunkOf(index), offsetOf(index), cell);
+    }
+
+    /**
+     * Returns the solved value of a cell without decoding the puzzle.
+     *
+     * @param index the puzzle index
+     * @param cell  the cell index
+     * @return the digit of the solution at that cell
+     * @throws IndexOutOfBoundsException if the index is out of range
+     */
+    public int getSolution(long index, int cell) {
+        return codec.getSolution(chunkOf(index), offsetOf(index), cell);
+    }
+
+    /**
+     * Returns the chunk holding a record.
+     *
+     * @param index the puzzle index
+     * @return the mapped chunk
+     * @throws IndexOutOfBoundsException if the index is out of range
+     */
+    private MappedByteBuffer chunkOf(long index) {
+        if (index < 0 || index >= size) {
+            throw new IndexOutOfBoundsException("Puzzle " + index + " of " + size);
+        }
+        return chunks[(int) (index / recordsPerChunk)];
+    }
+
+    /**
+     * Returns the position of a record inside its chunk.
+     *
+     * @param index the puzzle index
+     * @return the byte offset
+     */
+    private int offsetOf(long index) {
+        return (int) (index % recordsPerChunk) * codec.getRecordSize();
+    }
+
+    // ----------------------------------------------------------
+    // Writing
+    // ----------------------------------------------------------
+
+    /**
+     * Appends puzzles to a new puzzle file through a buffer of whole records.
+     * Not thread-safe.
+     */
+    public static final class Writer implements Closeable {
+
+        /** Records gathered before each write. */
+        private static final int BUFFERED_RECORDS = 1024;
+
+        /** Format of the records. */
+        private final PuzzleCodec codec;
+
+        /** Channel of the file. */
+        private final FileChannel channel;
+
+        /** Records not yet written. */
+        private final ByteBuffer buffer;
+
+        /**
+         * Creates the file and writes its header.
+         *
+         * @param path  the file
+         * @param codec the format of the records
+         * @throws IOException if the file cannot be written
+         */
+        private Writer(Path path, PuzzleCodec codec) throws IOException {
+            this.codec = codec;
+            this.channel = FileChannel.open(path, StandardOpenOption.CREATE,
+                    StandardOpenOption.TRUNCATE_EXISTING, StandardOpenOption.WRITE);
+            this.buffer = ByteBuffer.allocate(PuzzleCodec.HEADER_SIZE + BUFFERED_RECORDS * codec.getRecordSize());
+            codec.writeHeader(buffer, 0);
+            buffer.position(PuzzleCodec.HEADER_SIZE);
+        }
+
+        /**
+         * Appends a puzzle, with its seed if it has one.
+         *
+         * @param puzzle the puzzle
+         * @throws IOException              if the file cannot be written
+         * @throws IllegalArgumentException if the puzzle has another geometry
+         */
+        public void append(Puzzle puzzle) throws IOException {
+            if (buffer.remaining() < codec.getRecordSize()) {
+                flush();
+            }
+            codec.encode(puzzle, buffer, buffer.position());
+            buffer.position(buffer.position() + codec.getRecordSize());
+        }
+
+        /**
+         * Writes the buffered records.
+         *
+         * @throws IOException if the file cannot be written
+         */
+        private void flush() throws IOException {
+            buffer.flip();
+            while (buffer.hasRemaining()) {
+                channel.write(buffer);
+            }
+            buffer.clear();
+        }
+
+        /**
+         * Writes the remaining records and closes the file.
+         *
+         * @throws IOException if the file cannot be written
+         */
+        @Override
+        public void close() throws IOException {
+            try {
+                flush();
+            } finally {
+                channel.close();
+            }
+        }
+    }
+}
@@ -0,0 +1,466 @@
+package com.sudoku.model;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Bounded pool of ready-made puzzles, kept per grid size and difficulty tier
+ * and filled by a background producer thread.
+ * <p>
+ * Each size/tier pair has its own shelf of at most {@code capacity} puzzles.
+ * A single daemon thread keeps every shelf full, generating one puzzle at a
+ * time for the emptiest shelf, and sleeps while all of them are full.
+ * {@link #take(Geometry, Difficulty)} is an O(1) poll: when the shelf has a
+ * puzzle (a <em>hit</em>) it returns a completed future. On a <em>miss</em> the
+ * future is completed by the producer, which serves waiting takes before
+ * refilling any shelf and honors their tier; the caller never generates, so a
+ * take from the JavaFX application thread cannot freeze the window.
+ * </p>
+ * <p>
+ * The pool counts hits and misses, and measures the <em>refill latency</em>:
+ * the time between a puzzle being taken and its replacement being ready.
+ * </p>
+ *
+ * Example usage:
+ * <pre>
+ *     PuzzlePool pool = PuzzlePool.getShared();
+ *     pool.register(Geometry.NINE, Difficulty.HARD);  // start filling early
+ *     pool.take(Geometry.NINE, Difficulty.HARD).thenAccept(puzzle -> ...);
+ * </pre>
+ */
+public class PuzzlePool implements AutoCloseable {
+
+    /** Number of puzzles kept per size/tier pair by the shared pool. */
+    public static final int DEFAULT_CAPACITY = 4;
+
+    /** Shelves, one per size/tier pair. */
+    private final Map<Key, Shelf> shelves = new ConcurrentHashMap<>();
+
+    /** Shelves in registration order, as visited by the producer; guarded by {@link #lock}. */
+    private final List<Shelf> order = new ArrayList<>();
+
+    /** Lock the producer waits on while every shelf is full. */
+    private final Object lock = new Object();
+
+    /** Maximum number of puzzles per shelf. */
+    private final int capacity;
+
+    /** How the producer chooses clues. */
+    private final PuzzleGenerator.Mode mode;
+
+    /** Background thread filling the shelves. */
+    private final Thread producer;
+
+    /** Takes served from a shelf. */
+    private final AtomicLong hits = new AtomicLong();
+
+    /** Takes that found their shelf empty. */
+    private final AtomicLong misses = new AtomicLong();
+
+    /** Puzzles added to replace a taken one. */
+    private final AtomicLong refills = new AtomicLong();
+
+    /** Sum of the refill latencies, in nanoseconds. */
+    private final AtomicLong refillNanos = new AtomicLong();
+
+    /** Largest refill latency, in nanoseconds. */
+    private final AtomicLong maxRefillNanos = new AtomicLong();
+
+    /** Whether {@link #close()} has been called. */
+    private volatile boolean closed;
+
+    /**
+     * Holder of the pool shared by the game windows, created on first use.
+     */
+    private static class Holder {
+        /** Shared pool, generating in the mode selected by {@link BoardFactory#getConfiguredMode()}. */
+        private static final PuzzlePool INSTANCE = new PuzzlePool(DEFAULT_CAPACITY, BoardFactory.getConfiguredMode());
+    }
+
+    /**
+     * Returns the pool shared by the game windows.
+     *
+     * @return the shared {@link PuzzlePool}
+     */
+    public static PuzzlePool getShared() {
+        return Holder.INSTANCE;
+    }
+
+    /**
+     * Creates a pool and starts its producer thread.
+     *
+     * @param capacity the maximum number of puzzles kept per size/tier pair
+     * @param mode     how the clues of the pooled puzzles are chosen
+     * @throws IllegalArgumentException if {@code capacity < 1}
+     */
+    public PuzzlePool(int capacity, PuzzleGenerator.Mode mode) {
+        if (capacity < 1) {
+            throw new IllegalArgumentException("Capacity must be at least 1");
+        }
+        this.capacity = capacity;
+        this.mode = mode;
+        this.producer = new Thread(this::produce, "puzzle-pool");
+        this.producer.setDaemon(true);
+        this.producer.start();
+    }
+
+    // ----------------------------------------------------------
+    // Consumers
+    // ----------------------------------------------------------
+
+    /**
+     * Makes sure puzzles of a size and tier are being pooled, so that the
+     * first {@link #take(Geometry, Difficulty)} is already a hit.
+     *
+     * @param geometry   the size of the puzzles
+     * @param difficulty the tier of the puzzles, or {@code null} for any tier
+     */
+    public void register(Geometry geometry, Difficulty difficulty) {
+        shelf(geometry, difficulty);
+    }
+
+    /**
+     * Takes a puzzle of the given size and tier.
+     * <p>
+     * On a hit this only polls the shelf and wakes the producer, and the future
+     * is already complete. On a miss the take waits in line on its shelf and
+     * the producer completes the future with the next puzzle of that size and
+     * tier, ahead of any refill. A caller that gives up may cancel the future;
+     * its puzzle then goes to the shelf.
+     * </p>
+     *
+     * @param geometry   the size of the puzzle
+     * @param difficulty the requested tier, or {@code null} for any tier
+     * @return the puzzle, completed exceptionally with an {@link IllegalStateException}
+     *         if the pool is closed before it is ready, or with the exception
+     *         thrown by the generator if its generation fails
+     */
+    public CompletableFuture<Puzzle> take(Geometry geometry, Difficulty difficulty) {
+        Shelf shelf = shelf(geometry, difficulty);
+        Puzzle puzzle = shelf.puzzles.poll();
+        synchronized (lock) {
+            if (puzzle == null) {
+                puzzle = shelf.puzzles.poll(); // The producer offers under the lock
+            }
+            if (puzzle != null) {
+                hits.incrementAndGet();
+                shelf.takenAt.addLast(System.nanoTime());
+                lock.notifyAll();
+                return CompletableFuture.completedFuture(puzzle);
+            }
+            misses.incrementAndGet();
+            if (closed) {
+                return CompletableFuture.failedFuture(new IllegalStateException("Puzzle pool closed"));
+            }
+            CompletableFuture<Puzzle> waiter = new CompletableFuture<>();
+            shelf.waiters.addLast(waiter);
+            lock.notifyAll();
+            return waiter;
+        }
+    }
+
+    /**
+     * Returns the number of puzzles ready for a size and tier.
+     *
+     * @param geometry   the size of the puzzles
+     * @param difficulty the tier of the puzzles, or {@code null} for any tier
+     * @return the number of pooled puzzles
+     */
+    public int available(Geometry geometry, Difficulty difficulty) {
+        Shelf shelf = shelves.get(new Key(geometry, difficulty));
+        return shelf == null ? 0 : shelf.puzzles.size();
+    }
+
+    /**
+     * Returns, creating it if needed, the shelf of a size/tier pair.
+     *
+     * @param geometry   the size of the puzzles
+     * @param difficulty the tier of the puzzles, or {@code null}
+     * @return the shelf
+     */
+    private Shelf shelf(Geometry geometry, Difficulty difficulty) {
+        Key key = new Key(geometry, difficulty);
+        Shelf shelf = shelves.get(key);
+        if (shelf != null) {
+            return shelf;
+        }
+        synchronized (lock) {
+            shelf = shelves.get(key);
+            if (shelf == null) {
+                shelf = new Shelf(geometry, difficulty, new PuzzleGenerator(geometry, mode), capacity);
+                shelves.put(key, shelf);
+                order.add(shelf);
+                lock.notifyAll();
+            }
+            return shelf;
+        }
+    }
+
+    // ----------------------------------------------------------
+    // Producer
+    // ----------------------------------------------------------
+
+    /**
+     * Body of the producer thread: serves the waiting takes, then fills the
+     * emptiest shelf, one puzzle at a time, and waits while every shelf is
+     * full and no take is waiting.
+     */
+    private void produce() {
+        try {
+            while (!closed) {
+                Shelf shelf;
+                synchronized (lock) {
+                    while ((shelf = next()) == null) {
+                        lock.wait();
+                        if (closed) {
+                            return;
+                        }
+                    }
+                }
+                Puzzle puzzle;
+                try {
+                    puzzle = shelf.difficulty == null
+                            ? shelf.generator.generate()
+                            : shelf.generator.generate(shelf.difficulty, PuzzleGenerator.DEFAULT_TIME_BUDGET_MILLIS);
+                } catch (RuntimeException | Error e) {
+                    // Fail the takes waiting on this shelf, not the producer serving all of them
+                    System.err.println("Puzzle pool could not generate for " + shelf.geometry + ": " + e);
+                    synchronized (lock) {
+                        shelf.failing = true;
+                        CompletableFuture<Puzzle> waiter;
+                        while ((waiter = shelf.waiters.pollFirst()) != null) {
+                            waiter.completeExceptionally(e);
+                        }
+                    }
+                    continue;
+                }
+                Long takenAt = null;
+                synchronized (lock) {
+                    shelf.failing = false;
+                    if (!serveWaiter(shelf, puzzle) && shelf.puzzles.offer(puzzle)) {
+                        takenAt = shelf.takenAt.pollFirst();
+                    }
+                }
+                if (takenAt != null) {
+                    recordRefill(System.nanoTime() - takenAt);
+                }
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt(); // Closing
+        }
+    }
+
+    /**
+     * Returns the first shelf with a waiting take or, failing that, the shelf
+     * with the fewest puzzles, if any is not full. A shelf whose last generation
+     * failed is only retried for a waiting take, so that a broken shelf does not
+     * keep the producer spinning. Called under the lock.
+     *
+     * @return the shelf to generate for next, or {@code null} if there is none
+     */
+    private Shelf next() {
+        for (Shelf shelf : order) {
+            if (!shelf.waiters.isEmpty()) {
+                return shelf;
+            }
+        }
+        Shelf emptiest = null;
+        for (Shelf shelf : order) {
+            int size = shelf.puzzles.size();
+            if (size < capacity && !shelf.failing && (emptiest == null || size < emptiest.puzzles.size())) {
+                emptiest = shelf;
+            }
+        }
+        return emptiest;
+    }
+
+    /**
+     * Hands a puzzle to the oldest waiting take of a shelf that has not been
+     * cancelled. Called under the lock.
+     *
+     * @param shelf  the shelf the puzzle was generated for
+     * @param puzzle the puzzle
+     * @return {@code true} if a take received the puzzle
+     */
+    private static boolean serveWaiter(Shelf shelf, Puzzle puzzle) {
+        CompletableFuture<Puzzle> waiter;
+        while ((waiter = shelf.waiters.pollFirst()) != null) {
+            if (waiter.complete(puzzle)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Adds one refill latency to the statistics.
+     *
+     * @param nanos the latency, in nanoseconds
+     */
+    private void recordRefill(long nanos) {
+        refills.incrementAndGet();
+        refillNanos.addAndGet(nanos);
+        maxRefillNanos.accumulateAndGet(nanos, Math::max);
+    }
+
+    /**
+     * Stops the producer thread. Puzzles already pooled can still be taken;
+     * waiting and later misses fail with an {@link IllegalStateException}.
+     */
+    @Override
+    public void close() {
+        synchronized (lock) {
+            closed = true;
+            for (Shelf shelf : order) {
+                CompletableFuture<Puzzle> waiter;
+                while ((waiter = shelf.waiters.pollFirst()) != null) {
+                    waiter.completeExceptionally(new IllegalStateException("Puzzle pool closed"));
+                }
+            }
+        }
+        producer.interrupt();
+    }
+
+    // ----------------------------------------------------------
+    // Statistics
+    // ----------------------------------------------------------
+
+    /**
+     * Returns the number of takes served from the pool.
+     * @return the hit count
+     */
+    public long getHitCount() {
+        return hits.get();
+    }
+
+    /**
+     * Returns the number of takes that found the pool empty.
+     * @return the miss count
+     */
+    public long getMissCount() {
+        return misses.get();
+    }
+
+    /**
+     * Returns the number of taken puzzles that have been replaced.
+     * @return the refill count
+     */
+    public long getRefillCount() {
+        return refills.get();
+    }
+
+    /**
+     * Returns the average time between a puzzle being taken and its replacement being ready.
+     * @return the average refill latency, in nanoseconds (0 before the first refill)
+     */
+    public long getAverageRefillNanos() {
+        long count = refills.get();
+        return count == 0 ? 0 : refillNanos.get() / count;
+    }
+
+    /**
+     * Returns the longest time between a puzzle being taken and its replacement being ready.
+     * @return the maximum refill latency, in nanoseconds
+     */
+    public long getMaxRefillNanos() {
+        return maxRefillNanos.get();
+    }
+
+    /**
+     * Returns a one-line summary of the statistics, e.g.
+     * {@code "pool: 12 hits, 1 misses, refill avg 3.1 ms, max 9.8 ms"}.
+     *
+     * @return the summary
+     */
+    @Override
+    public String toString() {
+        return String.format("pool: %d hits, %d misses, refill avg %.1f ms, max %.1f ms",
+                getHitCount(), getMissCount(), getAverageRefillNanos() / 1e6, getMaxRefillNanos() / 1e6);
+    }
+
+    // ----------------------------------------------------------
+    // Shelves
+    // ----------------------------------------------------------
+
+    /**
+     * Identifies a shelf: a grid size and a tier ({@code null} for any tier).
+     */
+    private static final class Key {
+
+        /** Size of the puzzles. */
+        private final Geometry geometry;
+
+        /** Tier of the puzzles, or {@code null}. */
+        private final Difficulty difficulty;
+
+        /**
+         * Creates a key.
+         *
+         * @param geometry   the size of the puzzles
+         * @param difficulty the tier of the puzzles, or {@code null}
+         */
+        private Key(Geometry geometry, Difficulty difficulty) {
+            this.geometry = geometry;
+            this.difficulty = difficulty;
+        }
+
+        @Override
+        public boolean equals(Object other) {
+            return other instanceof Key key && key.geometry == geometry && key.difficulty == difficulty;
+        }
+
+        @Override
+        public int hashCode() {
+            return Objects.hash(geometry.getSize(), difficulty);
+        }
+    }
+
+    /**
+     * Puzzles ready for one size/tier pair, with the generator that refills them.
+     */
+    private static final class Shelf {
+
+        /** Size of the puzzles. */
+        private final Geometry geometry;
+
+        /** Tier of the puzzles, or {@code null} for any tier. */
+        private final Difficulty difficulty;
+
+        /** Generator used by the producer thread only. */
+        private final PuzzleGenerator generator;
+
+        /** Puzzles ready to be taken. */
+        private final ArrayBlockingQueue<Puzzle> puzzles;
+
+        /** {@link System#nanoTime()} of each take not yet refilled, oldest first; guarded by the pool lock. */
+        private final ArrayDeque<Long> takenAt = new ArrayDeque<>();
+
+        /** Takes that missed, oldest first, waiting for the producer; guarded by the pool lock. */
+        private final ArrayDeque<CompletableFuture<Puzzle>> waiters = new ArrayDeque<>();
+
+        /** Whether the last generation for this shelf failed; guarded by the pool lock. */
+        private boolean failing;
+
+        /**
+         * Creates an empty shelf.
+         *
+         * @param geometry   the size of the puzzles
+         * @param difficulty the tier of the puzzles, or {@code null}
+         * @param generator  the generator refilling the shelf
+         * @param capacity   the maximum number of puzzles
+         */
+        private Shelf(Geometry geometry, Difficulty difficulty, PuzzleGenerator generator, int capacity) {
+            this.geometry = geometry;
+            this.difficulty = difficulty;
+            this.generator = generator;
+            this.puzzles = new ArrayBlockingQueue<>(capacity);
+        }
+    }
+}
@@ -0,0 +1,265 @@
+package com.sudoku.model;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.zip.CRC32;
+
+/**
+ * Snapshot of a game in progress: the puzzle, the values entered, the move
+ * history and the time played, with a compact binary file format.
+ * <p>
+ * A save file holds, in this order:
+ * </p>
+ * <ul>
+ *   <li>a {@value #HEADER_SIZE}-byte header: the magic number {@code "SDKS"}, the
+ *   format version, the grid size, the time played in milliseconds, the number
+ *   of moves kept and the number of them applied;</li>
+ *   <li>the puzzle, as a {@link PuzzleCodec} record (givens, solution, rating and seed);</li>
+ *   <li>the value of each cell, one byte per cell (0 for empty);</li>
+ *   <li>the moves, one {@code int} each, as packed by {@link MoveLog};</li>
+ *   <li>a CRC-32 of everything before it.</li>
+ * </ul>
+ * <p>
+ * A 9×9 game with a hundred moves takes under 600 bytes. {@link #write(Path)}
+ * writes a temporary file, forces it to disk and renames it over the save
+ * atomically, so a crash leaves either the previous save or the new one,
+ * never a torn file; the checksum catches what the file system does not.
+ * </p>
+ */
+public final class SavedGame {
+
+    /** Magic number opening a save file ({@code "SDKS"}). */
+    public static final int MAGIC = 0x53444B53;
+
+    /** Version of the format written by this class. */
+    public static final short VERSION = 1;
+
+    /** Size, in bytes, of the file header. */
+    public static final int HEADER_SIZE = 24;
+
+    /** Size, in bytes, of the checksum closing the file. */
+    private static final int CHECKSUM_SIZE = 4;
+
+    /** Puzzle being played. */
+    private final Puzzle puzzle;
+
+    /** Value of each cell, 0 for empty. */
+    private final int[] values;
+
+    /** Moves of the history, oldest first, as packed by {@link MoveLog}. */
+    private final int[] moves;
+
+    /** Number of moves applied; the others can be redone. */
+    private final int appliedMoves;
+
+    /** Time played, in milliseconds. */
+    private final long elapsedMillis;
+
+    /**
+     * Creates a snapshot.
+     *
+     * @param puzzle        the puzzle being played
+     * @param values        the value of each cell, 0 for empty
+     * @param moves         the moves of the history, oldest first
+     * @param appliedMoves  the number of moves applied
+     * @param elapsedMillis the time played, in milliseconds
+     * @throws IllegalArgumentException if the values do not match the puzzle, or the
+     *                                  number of applied moves is out of range
+     */
+    public SavedGame(Puzzle puzzle, int[] values, int[] moves, int appliedMoves, long elapsedMillis) {
+        if (values.length != puzzle.getGeometry().getCellCount()) {
+            throw new IllegalArgumentException("Grid must have " + puzzle.getGeometry().getCellCount() + " cells");
+        }
+        if (appliedMoves < 0 || appliedMoves > moves.length) {
+            throw new IllegalArgumentException("Applied moves out of range: " + appliedMoves);
+        }
+        this.puzzle = puzzle;
+        this.values = values;
+        this.moves = moves;
+        this.appliedMoves = appliedMoves;
+        this.elapsedMillis = elapsedMillis;
+    }
+
+    /**
+     * Takes a snapshot of a game. It only copies arrays, so it is cheap enough
+     * to run on the UI thread before handing the snapshot to a background writer.
+     *
+     * @param board         the board being played
+     * @param log           the move history of the game
+     * @param elapsedMillis the time played, in milliseconds
+     * @return the snapshot
+     */
+    public static SavedGame capture(IBoard board, MoveLog log, long elapsedMillis) {
+        int[] values = new int[board.getGeometry().getCellCount()];
+        for (int cell = 0; cell < values.length; cell++) {
+            values[cell] = board.getValue(cell);
+        }
+        int[] moves = new int[log.size()];
+        for (int i = 0; i < moves.length; i++) {
+            moves[i] = log.get(i);
+        }
+        return new SavedGame(board.getPuzzle(), values, moves, log.getAppliedCount(), elapsedMillis);
+    }
+
+    // ----------------------------------------------------------
+    // Restoring
+    // ----------------------------------------------------------
+
+    /**
+     * Returns the puzzle being played.
+     * @return the {@link Puzzle}
+     */
+    public Puzzle getPuzzle() {
+        return puzzle;
+    }
+
+    /**
+     * Returns the time played.
+     * @return the time played, in milliseconds
+     */
+    public long getElapsedMillis() {
+        return elapsedMillis;
+    }
+
+    /**
+     * Creates a board of the configured implementation holding the saved values.
+     *
+     * @return the board, as created by {@link BoardFactory#createBoard(Puzzle)}
+     */
+    public IBoard restoreBoard() {
+        IBoard board = BoardFactory.createBoard(puzzle);
+        for (int cell = 0; cell < values.length; cell++) {
+            if (!puzzle.isGiven(cell) && values[cell] != 0) {
+                board.setNodeValue(cell, values[cell]);
+            }
+        }
+        return board;
+    }
+
+    /**
+     * Creates a move history holding the saved moves, with the same moves left to redo.
+     *
+     * @return the {@link MoveLog}
+     */
+    public MoveLog restoreMoves() {
+        MoveLog log = new MoveLog();
+        for (int move : moves) {
+            log.record(MoveLog.cellOf(move), MoveLog.oldValueOf(move), MoveLog.newValueOf(move));
+        }
+        for (int i = appliedMoves; i < moves.length; i++) {
+            log.undo();
+        }
+        return log;
+    }
+
+    // ----------------------------------------------------------
+    // File format
+    // ----------------------------------------------------------
+
+    /**
+     * Writes the snapshot to a file, atomically replacing any previous save.
+     *
+     * @param file the save file; its directory is created if needed
+     * @throws IOException if the file cannot be written
+     */
+    public void write(Path file) throws IOException {
+        Geometry geometry = puzzle.getGeometry();
+        PuzzleCodec codec = new PuzzleCodec(geometry);
+        int cells = geometry.getCellCount();
+        int size = HEADER_SIZE + codec.getRecordSize() + cells + 4 * moves.length + CHECKSUM_SIZE;
+        ByteBuffer buffer = ByteBuffer.allocate(size);
+        buffer.putInt(0, MAGIC);
+        buffer.putShort(4, VERSION);
+        buffer.put(6, (byte) geometry.getSize());
+        buffer.put(7, (byte) 0);
+        buffer.putLong(8, elapsedMillis);
+        buffer.putInt(16, moves.length);
+        buffer.putInt(20, appliedMoves);
+        codec.encode(puzzle, buffer, HEADER_SIZE);
+        int at = HEADER_SIZE + codec.getRecordSize();
+        for (int cell = 0; cell < cells; cell++) {
+            buffer.put(at++, (byte) values[cell]);
+        }
+        for (int move : moves) {
+            buffer.putInt(at, move);
+            at += 4;
+        }
+        CRC32 crc = new CRC32();
+        crc.update(buffer.array(), 0, at);
+        buffer.putInt(at, (int) crc.getValue());
+
+        Path directory = file.toAbsolutePath().getParent();
+        Files.createDirectories(directory);
+        Path temporary = directory.resolve(file.getFileName() + ".tmp");
+        try (FileChannel channel = FileChannel.open(temporary, StandardOpenOption.CREATE,
+                StandardOpenOption.WRITE, StandardOpenOption.TRUNCATE_EXISTING)) {
+            while (buffer.hasRemaining()) {
+                channel.write(buffer);
+            }
+            channel.force(true);
+        }
+        Files.move(temporary, file, StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+    }
+
+    /**
+     * Reads a snapshot back from a file.
+     *
+     * @param file the save file
+     * @return the snapshot
+     * @throws IOException              if the file cannot be read
+     * @throws IllegalArgumentException if the file is not a save of this format, or is corrupted
+     */
+    public static SavedGame read(Path file) throws IOException {
+        ByteBuffer buffer;
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            long length = channel.size();
+            if (length < HEADER_SIZE + CHECKSUM_SIZE || length > Integer.MAX_VALUE) {
+                throw new IllegalArgumentException("Not a save file");
+            }
+            buffer = ByteBuffer.allocate((int) length);
+            while (buffer.hasRemaining()) {
+                if (channel.read(buffer) < 0) {
+                    throw new IllegalArgumentException("Truncated save file");
+                }
+            }
+        }
+        if (buffer.getInt(0) != MAGIC) {
+            throw new IllegalArgumentException("Not a save file");
+        }
+        short version = buffer.getShort(4);
+        if (version != VERSION) {
+            throw new IllegalArgumentException("Unsupported save file version: " + version);
+        }
+        int end = buffer.capacity() - CHECKSUM_SIZE;
+        CRC32 crc = new CRC32();
+        crc.update(buffer.array(), 0, end);
+        if (buffer.getInt(end) != (int) crc.getValue()) {
+            throw new IllegalArgumentException("Corrupted save file");
+        }
+
+        Geometry geometry = Geometry.of(buffer.get(6));
+        PuzzleCodec codec = new PuzzleCodec(geometry);
+        int cells = geometry.getCellCount();
+        int moveCount = buffer.getInt(16);
+        if (end != HEADER_SIZE + codec.getRecordSize() + cells + 4L * moveCount) {
+            throw new IllegalArgumentException("Save file size does not match its content");
+        }
+        Puzzle puzzle = codec.decode(buffer, HEADER_SIZE);
+        int at = HEADER_SIZE + codec.getRecordSize();
+        int[] values = new int[cells];
+        for (int cell = 0; cell < cells; cell++) {
+            values[cell] = buffer.get(at++);
+        }
+        int[] moves = new int[moveCount];
+        for (int i = 0; i < moveCount; i++) {
+            moves[i] = buffer.getInt(at);
+            at += 4;
+        }
+        return new SavedGame(puzzle, values, moves, buffer.getInt(20), buffer.getLong(8));
+    }
+}
@@ -0,0 +1,509 @@
+package com.sudoku.model;
+
+import java.util.*;
+
+/**
+ * Important clarification: This class was created with AI (the only one generated entirely by AI).
+ * The main idea is to create a solved sudoku and be able to obtain the numbers of the sections.
+ * Generates a fully solved Sudoku board, by default with the {@link DlxSolver}
+ * exact-cover engine.
+ * <p>
+ * The shape of the grid is given by a {@link Geometry}; by default it is the
+ * 6×6 grid with 6 blocks (2×3 each):
+ * <ul>
+ *     <li>Block layout: 3 rows × 2 columns of blocks.</li>
+ *     <li>Each block contains 2 rows and 3 columns of cells.</li>
+ * </ul>
+ * The generator can also return the numbers from a specific block (1–size).
+ * </p>
+ * <p>
+ * The original backtracking search is kept as {@link Engine#BACKTRACKING} for
+ * comparison. It keeps one bitmask of used digits per row, column and block, and
+ * always fills the empty cell with the fewest candidates first.
+ * </p>
+ *
+ * <p><strong>Block numbering layout (6×6):</strong></p>
+ * <pre>
+ * +---------+---------+
+ * | Block 1 | Block 2 |
+ * +---------+---------+
+ * | Block 3 | Block 4 |
+ * +---------+---------+
+ * | Block 5 | Block 6 |
+ * +---------+---------+
+ * </pre>
+ *
+ * Example usage:
+ * <pre>
+ *     SudokuGenerator generator = new SudokuGenerator(Geometry.NINE);
+ *     generator.printSudoku();
+ *     List&lt;Integer&gt; section1 = generator.getSection(1);
+ * </pre>
+ */
+public class SudokuGenerator {
+
+    /**
+     * Search used to fill the grid.
+     */
+    public enum Engine {
+        /** Dancing Links exact-cover search ({@link DlxSolver}). */
+        DLX,
+        /** Recursive backtracking over row, column and block bitmasks. */
+        BACKTRACKING
+    }
+
+    /** Search used to fill the grid. */
+    private final Engine engine;
+
+    /** Shape of the generated grid. */
+    private final Geometry geometry;
+
+    /** Total grid size (rows, columns and digits). */
+    private final int size;
+
+    /** Number of rows in each block. */
+    private final int boxRows;
+
+    /** Number of columns in each block. */
+    private final int boxCols;
+
+    /** Solved Sudoku grid, addressed as {@code grid[row][col]}. */
+    private final int[][] grid;
+
+    /** Digits already used in each row. */
+    private final int[] rowMask;
+
+    /** Digits already used in each column. */
+    private final int[] colMask;
+
+    /** Digits already used in each block. */
+    private final int[] boxMask;
+
+    /** Seed of the grid; empty for a loaded puzzle. */
+    private final OptionalLong seed;
+
+    /** Random source of the grid, from the seed of the generator; {@code null} for a loaded puzzle. */
+    private final SplittableRandom random;
+
+    /** Cells that may still be filled by the current attempt before it is abandoned. */
+    private long remainingNodes;
+
+    /** Search nodes explored by the backtracking search. */
+    private long nodesExplored;
+
+    /** Numbers tried in a cell by the backtracking search. */
+    private long candidatesTried;
+
+    /** Dead ends the backtracking search backed up from. */
+    private long backtracks;
+
+    /**
+     * Constructs a new SudokuGenerator for the classic 6×6 grid and immediately
+     * generates a valid completed Sudoku grid.
+     */
+    public SudokuGenerator() {
+        this(Geometry.SIX);
+    }
+
+    /**
+     * Constructs a new SudokuGenerator for the given geometry and immediately
+     * generates a valid completed Sudoku grid with the DLX engine.
+     *
+     * @param geometry the shape of the grid
+     */
+    public SudokuGenerator(Geometry geometry) {
+        this(geometry, Engine.DLX);
+    }
+
+    /**
+     * Constructs a new SudokuGenerator for the given geometry and immediately
+     * generates a valid completed Sudoku grid with the given engine, from a
+     * random seed, kept in {@link #getSeed()} to replay the grid.
+     *
+     * @param geometry the shape of the grid
+     * @param engine   the search used to fill the grid
+     */
+    public SudokuGenerator(Geometry geometry, Engine engine) {
+        this(geometry, engine, new SplittableRandom().nextLong());
+    }
+
+    /**
+     * Constructs a new SudokuGenerator for the given geometry and immediately
+     * generates a valid completed Sudoku grid with the given engine. The same
+     * geometry, engine and seed always give the same grid. The generation and
+     * its search work are recorded in the {@link EngineMetrics}.
+     *
+     * @param geometry the shape of the grid
+     * @param engine   the search used to fill the grid
+     * @param seed     the seed of the grid
+     */
+    public SudokuGenerator(Geometry geometry, Engine engine, long seed) {
+        this.geometry = geometry;
+        this.engine = engine;
+        this.seed = OptionalLong.of(seed);
+        this.random = new SplittableRandom(seed);
+        this.size = geometry.getSize();
+        this.boxRows = geometry.getBoxRows();
+        this.boxCols = geometry.getBoxCols();
+        this.grid = new int[size][size];
+        this.rowMask = new int[size];
+        this.colMask = new int[size];
+        this.boxMask = new int[size];
+        long start = System.nanoTime();
+        if (engine == Engine.DLX) {
+            generateWithDlx();
+        } else {
+            generate();
+            EngineMetrics.GENERATION.recordSearch(nodesExplored, candidatesTried, backtracks);
+        }
+        EngineMetrics.GENERATION.record(System.nanoTime() - start);
+    }
+
+    /**
+     * Constructs a SudokuGenerator holding the solution of an existing puzzle
+     * instead of generating a new grid, so that a board loaded from a
+     * {@link Puzzle} can still answer {@link #getSection(int)}.
+     *
+     * @param puzzle the puzzle whose solution is exposed
+     */
+    public SudokuGenerator(Puzzle puzzle) {
+        this.geometry = puzzle.getGeometry();
+        this.engine = Engine.DLX; // Puzzles are filled by the DLX solver
+        this.seed = OptionalLong.empty(); // The grid was not drawn here
+        this.random = null; // Nothing left to generate
+        this.size = geometry.getSize();
+        this.boxRows = geometry.getBoxRows();
+        this.boxCols = geometry.getBoxCols();
+        this.grid = new int[size][size];
+        this.rowMask = new int[size];
+        this.colMask = new int[size];
+        this.boxMask = new int[size];
+        for (int index = 0; index < geometry.getCellCount(); index++) {
+            place(geometry.rowOf(index), geometry.colOf(index), puzzle.getSolution(index));
+        }
+    }
+
+    /**
+     * Returns the shape of the generated grid.
+     * @return the {@link Geometry}
+     */
+    public Geometry getGeometry() {
+        return geometry;
+    }
+
+    /**
+     * Returns the search used to fill the grid.
+     * @return the {@link Engine}
+     */
+    public Engine getEngine() {
+        return engine;
+    }
+
+    /**
+     * Returns the seed the grid was generated from; the same geometry, engine
+     * and seed give the same grid again.
+     * @return the seed, or empty if the grid is the solution of a loaded puzzle
+     */
+    public OptionalLong getSeed() {
+        return seed;
+    }
+
+    // ----------------------------------------------------------
+    // Grid generation
+    // ----------------------------------------------------------
+
+    /**
+     * Generates a complete Sudoku grid with a {@link DlxSolver} filling an empty grid.
+     *
+     * @return {@code true} if the Sudoku was successfully generated
+     */
+    private boolean generateWithDlx() {
+        int[] cells = new int[geometry.getCellCount()];
+        DlxSolver solver = new DlxSolver(geometry);
+        boolean filled = solver.fill(cells, random);
+        solver.recordSearch(EngineMetrics.GENERATION);
+        if (!filled) {
+            return false;
+        }
+        for (int index = 0; index < cells.length; index++) {
+            place(geometry.rowOf(index), geometry.colOf(index), cells[index]);
+        }
+        return true;
+    }
+
+    /**
+     * Generates a complete Sudoku grid using recursive backtracking.
+     * <p>
+     * Random backtracking occasionally wanders into a huge dead subtree on the
+     * larger grids, so each attempt gets a budget of filled cells; when it runs
+     * out, the grid is cleared and a new random attempt starts with twice the budget.
+     * </p>
+     *
+     * @return {@code true} if the Sudoku was successfully generated
+     */
+    private boolean generate() {
+        long budget = 4L * geometry.getCellCount();
+        while (true) {
+            remainingNodes = budget;
+            if (fillCell()) return true;
+            if (remainingNodes >= 0) return false; // Exhausted the whole search space
+            for (int row = 0; row < size; row++) {
+                for (int col = 0; col < size; col++) {
+                    if (grid[row][col] != 0) clear(row, col);
+                }
+            }
+            budget *= 2;
+        }
+    }
+
+    /**
+     * Recursively fills the empty cell with the fewest candidates,
+     * trying its candidates in random order.
+     * <p>
+     * Before branching on a cell with several candidates, the rows, columns and
+     * blocks are checked for a number that fits in a single place (or in none,
+     * which is a dead end), since that move is forced.
+     * </p>
+     *
+     * @return {@code true} if the grid is successfully filled
+     */
+    private boolean fillCell() {
+        if (--remainingNodes < 0) return false; // Attempt abandoned, generate() restarts
+        nodesExplored++;
+
+        int bestRow = -1;
+        int bestCol = -1;
+        int bestCandidates = 0;
+        int bestCount = Integer.MAX_VALUE;
+        for (int row = 0; row < size && bestCount > 1; row++) {
+            for (int col = 0; col < size; col++) {
+                if (grid[row][col] != 0) continue;
+                int candidates = candidates(row, col);
+                int count = Integer.bitCount(candidates);
+                if (count < bestCount) {
+                    bestRow = row;
+                    bestCol = col;
+                    bestCandidates = candidates;
+                    bestCount = count;
+                    if (count <= 1) break;
+                }
+            }
+        }
+        if (bestRow < 0) return true; // Base case: entire grid filled
+        if (bestCount == 0) {
+            backtracks++;
+            return false; // Dead end
+        }
+
+        if (bestCount > 1) {
+            int forced = findHiddenSingle();
+            if (forced < 0) {
+                backtracks++;
+                return false; // Some number has no place left in a unit
+            }
+            if (forced > 0) {
+                int index = forced >>> 5;
+                bestRow = geometry.rowOf(index);
+                bestCol = geometry.colOf(index);
+                bestCandidates = 1 << (forced & 31);
+                bestCount = 1;
+            }
+        }
+
+        int[] nums = new int[bestCount];
+        for (int i = 0, mask = bestCandidates; mask != 0; mask &= mask - 1) {
+            nums[i++] = Integer.numberOfTrailingZeros(mask);
+        }
+        shuffle(nums); // Randomize order
+
+        for (int num : nums) {
+            candidatesTried++;
+            place(bestRow, bestCol, num);
+            if (fillCell()) {
+                return true;
+            }
+            clear(bestRow, bestCol); // Backtrack
+        }
+        return false;
+    }
+
+    /**
+     * Looks for a number that can only go in one cell of a row, column or block.
+     *
+     * @return {@code (cell << 5) | number} for the first forced placement found,
+     *         0 if there is none, or -1 if some missing number has no place at all
+     */
+    private int findHiddenSingle() {
+        for (int unit = 0; unit < 3 * size; unit++) {
+            int[] cells = unit < size ? geometry.rowCells(unit)
+                    : unit < 2 * size ? geometry.colCells(unit - size)
+                    : geometry.sectionCells(unit - 2 * size);
+            int used = 0;
+            int once = 0;
+            int twice = 0;
+            for (int index : cells) {
+                int row = geometry.rowOf(index);
+                int col = geometry.colOf(index);
+                if (grid[row][col] != 0) {
+                    used |= 1 << grid[row][col];
+                } else {
+                    int candidates = candidates(row, col);
+                    twice |= once & candidates;
+                    once |= candidates;
+                }
+            }
+            int missing = geometry.getAllDigitsMask() & ~used;
+            if ((missing & ~once) != 0) return -1;
+            int singles = once & ~twice;
+            if (singles != 0) {
+                int num = Integer.numberOfTrailingZeros(singles);
+                for (int index : cells) {
+                    int row = geometry.rowOf(index);
+                    int col = geometry.colOf(index);
+                    if (grid[row][col] == 0 && (candidates(row, col) & (1 << num)) != 0) {
+                        return (index << 5) | num;
+                    }
+                }
+            }
+        }
+        return 0;
+    }
+
+    /**
+     * Shuffles an array in place (Fisher–Yates) with the generator's random source.
+     *
+     * @param values the array to shuffle
+     */
+    private void shuffle(int[] values) {
+        for (int i = values.length - 1; i > 0; i--) {
+            int j = random.nextInt(i + 1);
+            int tmp = values[i];
+            values[i] = values[j];
+            values[j] = tmp;
+        }
+    }
+
+    /**
+     * Writes a number into the grid and marks it as used in its row, column and block.
+     *
+     * @param row the row index
+     * @param col the column index
+     * @param num the number to place
+     */
+    private void place(int row, int col, int num) {
+        grid[row][col] = num;
+        rowMask[row] |= 1 << num;
+        colMask[col] |= 1 << num;
+        boxMask[boxOf(row, col)] |= 1 << num;
+    }
+
+    /**
+     * Removes the number of a cell and releases it in its row, column and block.
+     *
+     * @param row the row index
+     * @param col the column index
+     */
+    private void clear(int row, int col) {
+        int bit = ~(1 << grid[row][col]);
+        grid[row][col] = 0;
+        rowMask[row] &= bit;
+        colMask[col] &= bit;
+        boxMask[boxOf(row, col)] &= bit;
+    }
+
+    // ----------------------------------------------------------
+    // Validation logic
+    // ----------------------------------------------------------
+
+    /**
+     * Returns the block index of a cell.
+     *
+     * @param row the row index
+     * @param col the column index
+     * @return the block index (0-based)
+     */
+    private int boxOf(int row, int col) {
+        return (row / boxRows) * (size / boxCols) + col / boxCols;
+    }
+
+    /**
+     * Returns the numbers that can still be placed in a cell, as a bitmask.
+     *
+     * @param row the row index of the cell
+     * @param col the column index of the cell
+     * @return bitmask where bit {@code n} is set if {@code n} is allowed
+     */
+    private int candidates(int row, int col) {
+        return geometry.getAllDigitsMask() & ~(rowMask[row] | colMask[col] | boxMask[boxOf(row, col)]);
+    }
+
+    // ----------------------------------------------------------
+    // Section retrieval
+    // ----------------------------------------------------------
+
+    /**
+     * Returns the list of numbers contained in one of the Sudoku blocks.
+     * <p>
+     * Blocks are numbered left to right, top to bottom. For the 6×6 grid:
+     * </p>
+     * <ul>
+     *   <li>Section 1 → (0,0)</li>
+     *   <li>Section 2 → (0,1)</li>
+     *   <li>Section 3 → (1,0)</li>
+     *   <li>Section 4 → (1,1)</li>
+     *   <li>Section 5 → (2,0)</li>
+     *   <li>Section 6 → (2,1)</li>
+     * </ul>
+     *
+     * @param sectionNumber the section index (1–size)
+     * @return list of integers (the values in that section, in reading order)
+     * @throws IllegalArgumentException if {@code sectionNumber} is not between 1 and size
+     */
+    public List<Integer> getSection(int sectionNumber) {
+        if (sectionNumber < 1 || sectionNumber > size) {
+            throw new IllegalArgumentException("Section number must be between 1 and " + size);
+        }
+
+        List<Integer> values = new ArrayList<>();
+        for (int index : geometry.sectionCells(sectionNumber - 1)) {
+            values.add(getSolution(index));
+        }
+        return values;
+    }
+
+    /**
+     * Returns the solved value of a cell.
+     *
+     * @param index the cell index (see {@link Geometry})
+     * @return the digit of the solution at that cell
+     */
+    public int getSolution(int index) {
+        return grid[geometry.rowOf(index)][geometry.colOf(index)];
+    }
+
+    // ----------------------------------------------------------
+    // Debugging / visualization
+    // ----------------------------------------------------------
+
+    /**
+     * Prints the complete Sudoku grid in a formatted way.
+     * Useful for debugging or visualization in console output.
+     */
+    public void printSudoku() {
+        int width = size > 9 ? 3 : 2;
+        for (int i = 0; i < size; i++) {
+            if (i % boxRows == 0 && i != 0) {
+                System.out.println("-".repeat(size * width + (size / boxCols - 1) * 2));
+            }
+            for (int j = 0; j < size; j++) {
+                if (j % boxCols == 0 && j != 0) {
+                    System.out.print("| ");
+                }
+                System.out.print(String.format("%" + (width - 1) + "d ", grid[i][j]));
+            }
+            System.out.println();
+        }
+    }
+
+
+}
@@ -0,0 +1,57 @@
+package com.sudoku.model;
+
+/**
+ * Human solving techniques known to the {@link DifficultyRater}, from the
+ * easiest to the hardest.
+ * <p>
+ * Each technique has a weight, added to the score of a puzzle every time the
+ * technique is applied, and the {@link Difficulty} tier of the puzzles that need it.
+ * </p>
+ */
+public enum Technique {
+    /** A digit fits in only one cell of a row, column or section. */
+    HIDDEN_SINGLE(1, Difficulty.EASY),
+    /** A cell has a single candidate left. */
+    NAKED_SINGLE(2, Difficulty.MEDIUM),
+    /** The candidates of a digit in a section all lie on one row or column, so it leaves the rest of that line. */
+    POINTING(4, Difficulty.HARD),
+    /** The candidates of a digit in a row or column all lie in one section, so it leaves the rest of that section. */
+    BOX_LINE_REDUCTION(5, Difficulty.HARD),
+    /** Two cells of a unit share the same two candidates, which leave the rest of the unit. */
+    NAKED_PAIR(6, Difficulty.EXPERT),
+    /** Two digits fit only in the same two cells of a unit, which lose their other candidates. */
+    HIDDEN_PAIR(7, Difficulty.EXPERT);
+
+    /** Score added each time the technique is applied. */
+    private final int weight;
+
+    /** Tier of the puzzles that need the technique. */
+    private final Difficulty difficulty;
+
+    /**
+     * Creates a technique.
+     *
+     * @param weight     score added each time the technique is applied
+     * @param difficulty tier of the puzzles that need the technique
+     */
+    Technique(int weight, Difficulty difficulty) {
+        this.weight = weight;
+        this.difficulty = difficulty;
+    }
+
+    /**
+     * Returns the score added each time the technique is applied.
+     * @return the weight
+     */
+    public int getWeight() {
+        return weight;
+    }
+
+    /**
+     * Returns the tier of the puzzles that need the technique.
+     * @return the {@link Difficulty}
+     */
+    public Difficulty getDifficulty() {
+        return difficulty;
+    }
+}
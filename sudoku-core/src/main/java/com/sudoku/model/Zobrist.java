@@ -0,0 +1,104 @@
+package com.sudoku.model;
+
+import java.util.Map;
+import java.util.SplittableRandom;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Zobrist keys of a {@link Geometry}: one random 64-bit key per cell and value,
+ * XOR-ed together into the hash of a position.
+ * <p>
+ * The hash of a grid is the XOR of the keys of its filled cells (an empty
+ * cell adds nothing, so the empty grid hashes to 0). Writing a cell updates
+ * the hash with two XORs, see {@link #update(long, int, int, int)}, which is
+ * how every {@link IBoard} keeps {@link IBoard#getZobristHash()} current.
+ * </p>
+ * <p>
+ * The keys are drawn from a fixed seed per grid size, so a position has the
+ * same hash in every run, on every board implementation and after a save and
+ * reload: hashes can be stored, e.g. to dedupe a puzzle corpus by
+ * {@link #hash(int[]) hashing its givens}, or to key a solver cache.
+ * </p>
+ */
+public final class Zobrist {
+
+    /** Seed of the keys, mixed with the grid size. */
+    private static final long SEED = 0x5D0C_5EED_2B0A_12D5L;
+
+    /** Keys of each geometry, created on first use. */
+    private static final Map<Geometry, Zobrist> BY_GEOMETRY = new ConcurrentHashMap<>();
+
+    /** Number of values per cell, including 0 for empty. */
+    private final int stride;
+
+    /** Key of each cell and value, at {@code cell * stride + value}; 0 for the empty value. */
+    private final long[] keys;
+
+    /**
+     * Draws the keys of a geometry.
+     *
+     * @param geometry the shape of the hashed grids
+     */
+    private Zobrist(Geometry geometry) {
+        this.stride = geometry.getSize() + 1;
+        this.keys = new long[geometry.getCellCount() * stride];
+        SplittableRandom random = new SplittableRandom(SEED + geometry.getSize());
+        for (int i = 0; i < keys.length; i++) {
+            if (i % stride != 0) {
+                keys[i] = random.nextLong();
+            }
+        }
+    }
+
+    /**
+     * Returns the keys of a geometry.
+     *
+     * @param geometry the shape of the hashed grids
+     * @return the shared {@link Zobrist} keys of the geometry
+     */
+    public static Zobrist of(Geometry geometry) {
+        return BY_GEOMETRY.computeIfAbsent(geometry, Zobrist::new);
+    }
+
+    /**
+     * Returns the key of a value in a cell.
+     *
+     * @param cell  the cell index
+     * @param value the value, 0 for empty
+     * @return the key, 0 for the empty value
+     */
+    public long key(int cell, int value) {
+        return keys[cell * stride + value];
+    }
+
+    /**
+     * Updates a hash for a write.
+     *
+     * @param hash     the hash before the write
+     * @param cell     the cell index
+     * @param oldValue the value the cell had, 0 for empty
+     * @param newValue the value written, 0 for empty
+     * @return the hash after the write
+     */
+    public long update(long hash, int cell, int oldValue, int newValue) {
+        return hash ^ keys[cell * stride + oldValue] ^ keys[cell * stride + newValue];
+    }
+
+    /**
+     * Hashes a whole grid.
+     *
+     * @param values the value of each cell, 0 for empty
+     * @return the hash of the grid
+     * @throws IllegalArgumentException if the grid does not match the geometry
+     */
+    public long hash(int[] values) {
+        if (values.length * stride != keys.length) {
+            throw new IllegalArgumentException("Grid must have " + keys.length / stride + " cells");
+        }
+        long hash = 0;
+        for (int cell = 0; cell < values.length; cell++) {
+            hash ^= keys[cell * stride + values[cell]];
+        }
+        return hash;
+    }
+}
@@ -0,0 +1,392 @@
+package com.sudoku.tools;
+
+import com.sudoku.model.Canonicalizer;
+import com.sudoku.model.Difficulty;
+import com.sudoku.model.EngineMetrics;
+import com.sudoku.model.Geometry;
+import com.sudoku.model.Puzzle;
+import com.sudoku.model.PuzzleCodec;
+import com.sudoku.model.PuzzleGenerator;
+import com.sudoku.model.Zobrist;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Locale;
+import java.util.Set;
+import java.util.SplittableRandom;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinTask;
+import java.util.concurrent.RecursiveAction;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Headless command-line tool that generates puzzles in bulk on every core.
+ * <p>
+ * The work is split with fork/join into batches of {@link #BATCH_SIZE} puzzles.
+ * Each worker thread owns its {@link PuzzleGenerator} (and so its own solver),
+ * so workers never contend. Randomness comes from one {@link SplittableRandom}
+ * split along with the range, so every batch draws from its own independent
+ * stream, fixed by its place in the range and not by the thread running it. A
+ * finished batch is encoded into one buffer and written at its own offset of
+ * the output file with a single positional write, so the corpus is streamed to
+ * disk as it is generated and memory use does not grow with the puzzle count. Progress and the final throughput, in puzzles per
+ * second, are reported on the standard error.
+ * </p>
+ * <p>
+ * Each line of the output holds the givens, a comma and the solution, one
+ * character per cell in row-major order: digits {@code 1-9} then letters
+ * {@code A-P} for grids larger than 9×9, and {@code .} for an empty cell.
+ * With {@code --format binary} the file is a {@link PuzzleCodec} bank instead,
+ * readable with {@link com.sudoku.model.PuzzleLibrary}. In both formats the
+ * puzzles are in the order of their index in the range, and with {@code --seed}
+ * the file is the same byte for byte from one run to the next, whatever the
+ * number of threads. Two options make it depend on timing again: with
+ * {@code --dedupe}, which of two equivalent puzzles is kept depends on which
+ * batch finishes first, and a {@code --difficulty} tier not found within the
+ * time budget falls back to the puzzle at hand.
+ * </p>
+ * <p>
+ * With {@code --dedupe}, every puzzle is mapped to its {@link Canonicalizer}
+ * form, and a puzzle whose form was already written (the same puzzle with
+ * digits relabeled, or rows, columns, bands or stacks permuted) is generated
+ * again. Forms are remembered by their 64-bit {@link Zobrist} hash, 8 bytes
+ * plus the set overhead per puzzle; grids up to 12×12 are supported.
+ * </p>
+ * <p>
+ * The tool does not use JavaFX and runs without a display, from the class path:
+ * </p>
+ * <pre>
+ *     java -cp sudoku-core/target/classes com.sudoku.tools.BulkGenerator --count 1000000 --size 9 --out puzzles.txt
+ * </pre>
+ * Options: {@code --count <n>} (default 1000), {@code --size <n>} (default 9),
+ * {@code --threads <n>} (default: available processors), {@code --mode unique|sections}
+ * (default unique), {@code --difficulty <tier>} (default: any tier),
+ * {@code --format text|binary} (default text), {@code --out <file>} (default {@code puzzles.txt}),
+ * {@code --seed <n>} (default: a fresh seed every run) and {@code --dedupe}.
+ */
+public final class BulkGenerator {
+
+    /** Number of puzzles generated, encoded and written together by one task. */
+    static final int BATCH_SIZE = 256;
+
+    /** Characters of the digits 1 to 25; index 0 marks an empty cell. */
+    private static final String SYMBOLS = ".123456789ABCDEFGHIJKLMNOP";
+
+    /** Seconds between two progress reports. */
+    private static final long PROGRESS_SECONDS = 5;
+
+    /** Duplicates in a row after which {@code --dedupe} gives up, the grid having too few distinct puzzles. */
+    private static final int MAX_DUPLICATES_IN_A_ROW = 10_000;
+
+    /** Shape of the puzzles. */
+    private final Geometry geometry;
+
+    /** How the clues are chosen. */
+    private final PuzzleGenerator.Mode mode;
+
+    /** Requested tier, or {@code null} for any tier. */
+    private final Difficulty difficulty;
+
+    /** Format of the binary records, or {@code null} to write text lines. */
+    private final PuzzleCodec codec;
+
+    /** Channel the encoded batches are written to, each at its own offset. */
+    private final FileChannel out;
+
+    /** Generator of each worker thread. */
+    private final ThreadLocal<PuzzleGenerator> generators;
+
+    /** Puzzles written so far. */
+    private final AtomicLong written = new AtomicLong();
+
+    /** Hashes of the canonical forms written so far, or {@code null} when not deduplicating. */
+    private final Set<Long> forms;
+
+    /** Canonicalizer of each worker thread, when deduplicating. */
+    private final ThreadLocal<Canonicalizer> canonicalizers;
+
+    /** Puzzles dropped as duplicates. */
+    private final AtomicLong duplicates = new AtomicLong();
+
+    /**
+     * Creates a bulk generator writing to an open channel.
+     *
+     * @param geometry   the shape of the puzzles
+     * @param mode       how the clues are chosen
+     * @param difficulty the requested tier, or {@code null} for any tier
+     * @param codec      the format of binary records, or {@code null} for text lines
+     * @param out        the channel the puzzles are written to, after the header if any
+     * @param dedupe     whether to drop puzzles equivalent to one already written
+     */
+    BulkGenerator(Geometry geometry, PuzzleGenerator.Mode mode, Difficulty difficulty, PuzzleCodec codec,
+                  FileChannel out, boolean dedupe) {
+        this.geometry = geometry;
+        this.mode = mode;
+        this.difficulty = difficulty;
+        this.codec = codec;
+        this.out = out;
+        this.generators = ThreadLocal.withInitial(() -> new PuzzleGenerator(geometry, mode));
+        this.forms = dedupe ? ConcurrentHashMap.newKeySet() : null;
+        this.canonicalizers = ThreadLocal.withInitial(() -> new Canonicalizer(geometry));
+    }
+
+    /**
+     * Entry point of the tool.
+     *
+     * @param args the command-line options, see the class description
+     */
+    public static void main(String[] args) {
+        long count = 1000;
+        int size = 9;
+        int threads = Runtime.getRuntime().availableProcessors();
+        PuzzleGenerator.Mode mode = PuzzleGenerator.Mode.UNIQUE;
+        Difficulty difficulty = null;
+        boolean binary = false;
+        boolean dedupe = false;
+        Path path = Path.of("puzzles.txt");
+        SplittableRandom random = new SplittableRandom();
+        try {
+            for (int i = 0; i < args.length; i++) {
+                String option = args[i];
+                if (option.equals("--dedupe")) {
+                    dedupe = true;
+                    continue;
+                }
+                if (i + 1 == args.length) {
+                    throw new IllegalArgumentException("Missing value for " + option);
+                }
+                String value = args[++i];
+                switch (option) {
+                    case "--count" -> count = Long.parseLong(value);
+                    case "--size" -> size = Integer.parseInt(value);
+                    case "--threads" -> threads = Integer.parseInt(value);
+                    case "--mode" -> mode = PuzzleGenerator.Mode.valueOf(value.toUpperCase(Locale.ROOT));
+                    case "--difficulty" -> difficulty = Difficulty.valueOf(value.toUpperCase(Locale.ROOT));
+                    case "--format" -> binary = switch (value) {
+                        case "text" -> false;
+                        case "binary" -> true;
+                        default -> throw new IllegalArgumentException("Unknown format: " + value);
+                    };
+                    case "--out" -> path = Path.of(value);
+                    case "--seed" -> random = new SplittableRandom(Long.parseLong(value));
+                    default -> throw new IllegalArgumentException("Unknown option: " + option);
+                }
+            }
+            if (count < 1 || threads < 1) {
+                throw new IllegalArgumentException("--count and --threads must be positive");
+            }
+            if (dedupe && size > Canonicalizer.MAX_SIZE) {
+                throw new IllegalArgumentException("--dedupe supports grids up to "
+                        + Canonicalizer.MAX_SIZE + "x" + Canonicalizer.MAX_SIZE);
+            }
+            EngineMetrics.registerMBeans();
+            run(Geometry.of(size), mode, difficulty, binary, dedupe, count, threads, path, random);
+        } catch (IllegalArgumentException e) {
+            System.err.println(e.getMessage());
+            System.err.println("Usage: BulkGenerator [--count n] [--size n] [--threads n]"
+                    + " [--mode unique|sections] [--difficulty tier] [--format text|binary] [--out file] [--seed n] [--dedupe]");
+            System.exit(2);
+        } catch (IOException | UncheckedIOException e) {
+            System.err.println("Error while writing the puzzles: " + e.getMessage());
+            System.exit(1);
+        } catch (IllegalStateException e) {
+            System.err.println(e.getMessage());
+            System.exit(1);
+        }
+    }
+
+    /**
+     * Generates puzzles into a file and reports the throughput.
+     *
+     * @param geometry   the shape of the puzzles
+     * @param mode       how the clues are chosen
+     * @param difficulty the requested tier, or {@code null} for any tier
+     * @param binary     whether to write a {@link PuzzleCodec} bank instead of text lines
+     * @param dedupe     whether to drop puzzles equivalent to one already written
+     * @param count      the number of puzzles
+     * @param threads    the number of worker threads
+     * @param path       the output file, replaced if it exists
+     * @param random     the root of the random streams of the batches
+     * @throws IOException           if the file cannot be written
+     * @throws IllegalStateException if deduplicating and the grid has too few distinct puzzles
+     */
+    static void run(Geometry geometry, PuzzleGenerator.Mode mode, Difficulty difficulty, boolean binary,
+                    boolean dedupe, long count, int threads, Path path, SplittableRandom random)
+            throws IOException {
+        System.err.printf("Generating %d %s puzzles (%s, %s) on %d threads into %s%n", count, geometry,
+                mode, difficulty == null ? "any tier" : difficulty, threads, path);
+        ForkJoinPool pool = new ForkJoinPool(threads);
+        try (FileChannel out = FileChannel.open(path, StandardOpenOption.CREATE,
+                StandardOpenOption.TRUNCATE_EXISTING, StandardOpenOption.WRITE)) {
+            PuzzleCodec codec = null;
+            if (binary) {
+                codec = new PuzzleCodec(geometry);
+                ByteBuffer header = ByteBuffer.allocate(PuzzleCodec.HEADER_SIZE);
+                codec.writeHeader(header, 0);
+                while (header.hasRemaining()) {
+                    out.write(header);
+                }
+            }
+            BulkGenerator generator = new BulkGenerator(geometry, mode, difficulty, codec, out, dedupe);
+            long start = System.nanoTime();
+            ForkJoinTask<Void> task = pool.submit(generator.new Batches(0, count, random));
+            while (!task.isDone()) {
+                try {
+                    task.get(PROGRESS_SECONDS, TimeUnit.SECONDS);
+                } catch (TimeoutException e) {
+                    long done = generator.written.get();
+                    System.err.printf("  %d / %d (%.0f puzzles/s)%n", done, count, rate(done, start));
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    throw new IOException("Interrupted", e);
+                } catch (ExecutionException e) {
+                    if (e.getCause() instanceof UncheckedIOException io) {
+                        throw io.getCause();
+                    }
+                    if (e.getCause() instanceof IllegalStateException state) {
+                        // fork/join rethrows a copy wrapping the exception of the worker thread
+                        throw state.getCause() instanceof IllegalStateException original ? original : state;
+                    }
+                    throw new IllegalStateException(e.getCause());
+                }
+            }
+            System.err.printf("Generated %d puzzles in %.2f s: %.0f puzzles/s%n",
+                    count, (System.nanoTime() - start) / 1e9, rate(count, start));
+            if (dedupe) {
+                System.err.printf("Dropped %d duplicates%n", generator.duplicates.get());
+            }
+        } finally {
+            pool.shutdown();
+        }
+    }
+
+    /**
+     * Returns a throughput.
+     *
+     * @param puzzles the number of puzzles generated
+     * @param start   the {@link System#nanoTime()} the generation started at
+     * @return the puzzles per second
+     */
+    private static double rate(long puzzles, long start) {
+        return puzzles / ((System.nanoTime() - start) / 1e9);
+    }
+
+    /**
+     * Generates one batch on the current thread and writes it at its place in
+     * the output.
+     *
+     * @param from    the index of the first puzzle of the batch
+     * @param puzzles the number of puzzles in the batch
+     * @param random  the random stream of the batch
+     */
+    private void generateBatch(long from, int puzzles, SplittableRandom random) {
+        PuzzleGenerator generator = generators.get();
+        generator.setSeed(random.nextLong());
+        int cells = geometry.getCellCount();
+        byte[] line = new byte[2 * cells + 2];
+        int recordSize = codec == null ? line.length : codec.getRecordSize();
+        long position = (codec == null ? 0 : PuzzleCodec.HEADER_SIZE) + from * recordSize;
+        ByteBuffer batch = ByteBuffer.allocate(puzzles * recordSize);
+        int duplicatesInARow = 0;
+        for (int i = 0; i < puzzles; i++) {
+            Puzzle puzzle = difficulty == null
+                    ? generator.generate()
+                    : generator.generate(difficulty, PuzzleGenerator.DEFAULT_TIME_BUDGET_MILLIS);
+            if (forms != null && !isNewForm(puzzle)) {
+                duplicates.incrementAndGet();
+                if (++duplicatesInARow == MAX_DUPLICATES_IN_A_ROW) {
+                    throw new IllegalStateException("Gave up after " + duplicatesInARow
+                            + " duplicates in a row: " + geometry + " has too few distinct puzzles");
+                }
+                i--;
+                continue;
+            }
+            duplicatesInARow = 0;
+            if (codec != null) {
+                codec.encode(puzzle, batch, batch.position());
+                batch.position(batch.position() + codec.getRecordSize());
+                continue;
+            }
+            for (int cell = 0; cell < cells; cell++) {
+                line[cell] = (byte) SYMBOLS.charAt(puzzle.getGiven(cell));
+                line[cells + 1 + cell] = (byte) SYMBOLS.charAt(puzzle.getSolution(cell));
+            }
+            line[cells] = ',';
+            line[line.length - 1] = '\n';
+            batch.put(line);
+        }
+        batch.flip();
+        try {
+            while (batch.hasRemaining()) {
+                position += out.write(batch, position);
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        written.addAndGet(puzzles);
+    }
+
+    /**
+     * Records the canonical form of a puzzle.
+     *
+     * @param puzzle the puzzle
+     * @return {@code true} if no equivalent puzzle was recorded before
+     */
+    private boolean isNewForm(Puzzle puzzle) {
+        int[] form = canonicalizers.get().canonicalize(puzzle.getGivens());
+        return forms.add(Zobrist.of(geometry).hash(form));
+    }
+
+    /**
+     * Fork/join task generating a range of puzzles, split in halves down to
+     * batches of {@link #BATCH_SIZE}. Each half gets a stream split from the
+     * stream of the range, so the stream of a batch only depends on the root
+     * seed and the bounds of the batch.
+     */
+    @SuppressWarnings("serial") // Tasks are never serialized
+    private final class Batches extends RecursiveAction {
+
+        /** First puzzle of the range (inclusive). */
+        private final long from;
+
+        /** End of the range (exclusive). */
+        private final long to;
+
+        /** Random stream of the range. */
+        private final SplittableRandom random;
+
+        /**
+         * Creates a task for a range of puzzles.
+         *
+         * @param from   the first puzzle (inclusive)
+         * @param to     the end of the range (exclusive)
+         * @param random the random stream of the range, owned by the task
+         */
+        private Batches(long from, long to, SplittableRandom random) {
+            this.from = from;
+            this.to = to;
+            this.random = random;
+        }
+
+        @Override
+        protected void compute() {
+            if (to - from <= BATCH_SIZE) {
+                generateBatch(from, (int) (to - from), random);
+                return;
+            }
+            long middle = (from + to) >>> 1;
+            // Split before forking: the children must not share a stream
+            SplittableRandom left = random.split();
+            SplittableRandom right = random.split();
+            invokeAll(new Batches(from, middle, left), new Batches(middle, to, right));
+        }
+    }
+}
@@ -0,0 +1,640 @@
+package com.sudoku.tools;
+
+import com.sudoku.model.Difficulty;
+import com.sudoku.model.DifficultyRater;
+import com.sudoku.model.DifficultyRating;
+import com.sudoku.model.DlxSolver;
+import com.sudoku.model.EngineMetrics;
+import com.sudoku.model.Geometry;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Locale;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * Headless command-line tool that streams a text dump of puzzles through a
+ * validate, solve or rate pipeline on every core.
+ * <p>
+ * The input holds one puzzle per line, one character per cell in row-major
+ * order: digits {@code 1-9} then letters {@code A-P} for grids larger than 9×9,
+ * and {@code .} or {@code 0} for an empty cell, as written by {@link BulkGenerator}.
+ * A reader thread pulls the file through a {@value #READ_BUFFER_SIZE}-byte NIO
+ * buffer and parses the bytes of each line straight into a batch of
+ * {@value #BATCH_SIZE} grids, without creating a {@code String} per line.
+ * Worker threads, each owning a {@link DlxSolver} and a {@link DifficultyRater},
+ * process the batches and encode their output lines into the batch; a writer
+ * thread puts the batches back in input order and appends them to the output
+ * file with one channel write each.
+ * </p>
+ * <p>
+ * The batches come from a fixed pool of two per worker, recycled once written:
+ * when the workers or the writer fall behind, the reader waits for a free batch.
+ * Memory use is therefore bounded by the pool and the read buffer, whatever
+ * the size of the file. Progress and the final throughput, in puzzles per
+ * second, are reported on the standard error.
+ * </p>
+ * <p>
+ * The output has one line per input line, in the same order: the givens
+ * (normalized, with {@code .} for empty cells), a comma and the result.
+ * </p>
+ * <ul>
+ *   <li>{@code validate}: {@code unique}, {@code multiple} or {@code none} solutions;</li>
+ *   <li>{@code solve}: the first solution found, or {@code none};</li>
+ *   <li>{@code rate}: the tier and score of a unique puzzle, as {@code hard,57},
+ *   otherwise {@code multiple} or {@code none}.</li>
+ * </ul>
+ * A line of the wrong length or with a character that is not a cell gives
+ * {@code ,invalid}, with empty givens. A sparse or contradictory grid can send
+ * the search into dead subtrees of millions of nodes, holding back every line
+ * after it; the search of a puzzle is therefore abandoned after
+ * {@code --max-nodes} nodes, and the puzzle gives {@code timeout}. The tool runs
+ * without a display:
+ * <pre>
+ *     java -cp sudoku-core/target/classes com.sudoku.tools.PuzzleImporter --in dump.txt --mode solve --out solved.txt
+ * </pre>
+ * Options: {@code --in <file>} (required), {@code --out <file>} (default {@code results.txt}),
+ * {@code --mode validate|solve|rate} (default validate), {@code --size <n>} (default 9),
+ * {@code --threads <n>} (default: available processors) and {@code --max-nodes <n>}
+ * (default {@value #DEFAULT_MAX_NODES}, a few tenths of a second).
+ */
+public final class PuzzleImporter {
+
+    /** What is done with each puzzle. */
+    enum Mode {
+        /** Counts the solutions, up to two. */
+        VALIDATE,
+        /** Finds a solution. */
+        SOLVE,
+        /** Rates unique puzzles with the logical solver. */
+        RATE
+    }
+
+    /** Number of puzzles read, processed and written together. */
+    static final int BATCH_SIZE = 512;
+
+    /** Size, in bytes, of the read buffer; a longer line is invalid. */
+    private static final int READ_BUFFER_SIZE = 1 << 20;
+
+    /** Search nodes a puzzle may visit before it is reported as a timeout, unless set with {@code --max-nodes}. */
+    static final long DEFAULT_MAX_NODES = 1_000_000;
+
+    /** Batches in flight per worker thread. */
+    private static final int BATCHES_PER_WORKER = 2;
+
+    /** Characters of the digits 1 to 25; index 0 marks an empty cell. */
+    private static final String SYMBOLS = ".123456789ABCDEFGHIJKLMNOP";
+
+    /** Digit of each ASCII character of a cell, -1 if it is not one. */
+    private static final byte[] DIGIT_OF = new byte[128];
+
+    static {
+        Arrays.fill(DIGIT_OF, (byte) -1);
+        DIGIT_OF['0'] = 0;
+        for (int digit = 0; digit < SYMBOLS.length(); digit++) {
+            DIGIT_OF[SYMBOLS.charAt(digit)] = (byte) digit;
+            DIGIT_OF[Character.toLowerCase(SYMBOLS.charAt(digit))] = (byte) digit;
+        }
+    }
+
+    /** Seconds between two progress reports. */
+    private static final long PROGRESS_SECONDS = 5;
+
+    /** Results written after the givens, by {@link Result} ordinal. */
+    private static final byte[][] RESULT_BYTES = {
+            ascii(",unique\n"), ascii(",multiple\n"), ascii(",none\n"), ascii(",invalid\n"), ascii(","),
+            ascii(",timeout\n")
+    };
+
+    /** Tier names written by {@link Mode#RATE}, by {@link Difficulty} ordinal. */
+    private static final byte[][] TIER_BYTES = new byte[Difficulty.values().length][];
+
+    static {
+        for (Difficulty difficulty : Difficulty.values()) {
+            TIER_BYTES[difficulty.ordinal()] = ascii(difficulty.name().toLowerCase(Locale.ROOT));
+        }
+    }
+
+    /** Outcome of a puzzle, counted for the final report. */
+    private enum Result {
+        /** Exactly one solution. */
+        UNIQUE,
+        /** Several solutions. */
+        MULTIPLE,
+        /** No solution. */
+        NONE,
+        /** Not a grid of the expected size. */
+        INVALID,
+        /** Solved, in {@link Mode#SOLVE}. */
+        SOLVED,
+        /** Search abandoned after the node budget. */
+        TIMEOUT
+    }
+
+    /** Shape of the puzzles. */
+    private final Geometry geometry;
+
+    /** What is done with each puzzle. */
+    private final Mode mode;
+
+    /** Number of worker threads. */
+    private final int threads;
+
+    /** Search nodes a puzzle may visit before it is reported as a timeout. */
+    private final long maxNodes;
+
+    /** Number of batches of the pool. */
+    private final int batches;
+
+    /** Batches ready to be filled by the reader. */
+    private final BlockingQueue<Batch> free;
+
+    /** Batches filled by the reader, waiting for a worker. */
+    private final BlockingQueue<Batch> parsed;
+
+    /** Batches processed by the workers, in any order, waiting for the writer. */
+    private final BlockingQueue<Batch> processed;
+
+    /** Puzzles written so far. */
+    private final AtomicLong written = new AtomicLong();
+
+    /** Puzzles of each {@link Result}, counted by the writer. */
+    private final long[] results = new long[Result.values().length];
+
+    /** First error raised by a pipeline thread. */
+    private final AtomicReference<Throwable> failure = new AtomicReference<>();
+
+    /** Batch marking the end of the input, sent to each worker, then by each worker to the writer. */
+    private final Batch end = new Batch(0, 0);
+
+    /**
+     * Creates a pipeline.
+     *
+     * @param geometry the shape of the puzzles
+     * @param mode     what is done with each puzzle
+     * @param threads  the number of worker threads
+     * @param maxNodes the search nodes a puzzle may visit before it is reported as a timeout
+     */
+    PuzzleImporter(Geometry geometry, Mode mode, int threads, long maxNodes) {
+        this.geometry = geometry;
+        this.mode = mode;
+        this.threads = threads;
+        this.maxNodes = maxNodes;
+        this.batches = BATCHES_PER_WORKER * threads + 2;
+        this.free = new ArrayBlockingQueue<>(batches);
+        this.parsed = new ArrayBlockingQueue<>(batches + threads);
+        this.processed = new ArrayBlockingQueue<>(batches + threads);
+        // An output line holds the givens, a comma, the solution (or a shorter result) and a newline
+        int lineBytes = 2 * geometry.getCellCount() + 24;
+        for (int i = 0; i < batches; i++) {
+            free.add(new Batch(geometry.getCellCount(), lineBytes));
+        }
+    }
+
+    /**
+     * Entry point of the tool.
+     *
+     * @param args the command-line options, see the class description
+     */
+    public static void main(String[] args) {
+        Path in = null;
+        Path out = Path.of("results.txt");
+        Mode mode = Mode.VALIDATE;
+        int size = 9;
+        int threads = Runtime.getRuntime().availableProcessors();
+        long maxNodes = DEFAULT_MAX_NODES;
+        try {
+            for (int i = 0; i < args.length; i++) {
+                String option = args[i];
+                if (i + 1 == args.length) {
+                    throw new IllegalArgumentException("Missing value for " + option);
+                }
+                String value = args[++i];
+                switch (option) {
+                    case "--in" -> in = Path.of(value);
+                    case "--out" -> out = Path.of(value);
+                    case "--mode" -> mode = Mode.valueOf(value.toUpperCase(Locale.ROOT));
+                    case "--size" -> size = Integer.parseInt(value);
+                    case "--threads" -> threads = Integer.parseInt(value);
+                    case "--max-nodes" -> maxNodes = Long.parseLong(value);
+                    default -> throw new IllegalArgumentException("Unknown option: " + option);
+                }
+            }
+            if (in == null) {
+                throw new IllegalArgumentException("--in is required");
+            }
+            if (threads < 1 || maxNodes < 1) {
+                throw new IllegalArgumentException("--threads and --max-nodes must be positive");
+            }
+            EngineMetrics.registerMBeans();
+            run(Geometry.of(size), mode, threads, maxNodes, in, out);
+        } catch (IllegalArgumentException e) {
+            System.err.println(e.getMessage());
+            System.err.println("Usage: PuzzleImporter --in file [--out file] [--mode validate|solve|rate]"
+                    + " [--size n] [--threads n] [--max-nodes n]");
+            System.exit(2);
+        } catch (IOException | UncheckedIOException e) {
+            System.err.println("Error while importing the puzzles: " + e.getMessage());
+            System.exit(1);
+        }
+    }
+
+    /**
+     * Streams a file through the pipeline and reports the throughput.
+     *
+     * @param geometry the shape of the puzzles
+     * @param mode     what is done with each puzzle
+     * @param threads  the number of worker threads
+     * @param maxNodes the search nodes a puzzle may visit before it is reported as a timeout
+     * @param in       the input file
+     * @param out      the output file, replaced if it exists
+     * @throws IOException if a file cannot be read or written
+     */
+    static void run(Geometry geometry, Mode mode, int threads, long maxNodes, Path in, Path out)
+            throws IOException {
+        System.err.printf("Importing %s puzzles from %s (%s) on %d threads into %s%n", geometry, in,
+                mode.name().toLowerCase(Locale.ROOT), threads, out);
+        PuzzleImporter importer = new PuzzleImporter(geometry, mode, threads, maxNodes);
+        try (FileChannel input = FileChannel.open(in, StandardOpenOption.READ);
+             FileChannel output = FileChannel.open(out, StandardOpenOption.CREATE,
+                     StandardOpenOption.TRUNCATE_EXISTING, StandardOpenOption.WRITE)) {
+            long start = System.nanoTime();
+            List<Thread> pipeline = new ArrayList<>();
+            pipeline.add(new Thread(() -> importer.read(input), "import-reader"));
+            for (int i = 0; i < threads; i++) {
+                pipeline.add(new Thread(importer::process, "import-worker-" + i));
+            }
+            Thread writer = new Thread(() -> importer.write(output), "import-writer");
+            pipeline.add(writer);
+            for (Thread thread : pipeline) {
+                thread.setUncaughtExceptionHandler((t, e) -> importer.fail(e, pipeline));
+                thread.start();
+            }
+            try {
+                while (writer.isAlive()) {
+                    writer.join(PROGRESS_SECONDS * 1000);
+                    if (writer.isAlive()) {
+                        long done = importer.written.get();
+                        System.err.printf("  %d puzzles (%.0f puzzles/s)%n", done, rate(done, start));
+                    }
+                }
+                for (Thread thread : pipeline) {
+                    thread.join();
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new IOException("Interrupted", e);
+            }
+            Throwable error = importer.failure.get();
+            if (error instanceof UncheckedIOException io) {
+                throw io.getCause();
+            }
+            if (error != null) {
+                throw new IllegalStateException(error);
+            }
+            long count = importer.written.get();
+            System.err.printf("Imported %d puzzles in %.2f s: %.0f puzzles/s%n",
+                    count, (System.nanoTime() - start) / 1e9, rate(count, start));
+            StringBuilder summary = new StringBuilder();
+            for (Result result : Result.values()) {
+                if (importer.results[result.ordinal()] > 0) {
+                    summary.append(summary.length() == 0 ? "" : ", ").append(importer.results[result.ordinal()])
+                            .append(' ').append(result.name().toLowerCase(Locale.ROOT));
+                }
+            }
+            System.err.println(summary.length() == 0 ? "No puzzles" : summary);
+        }
+    }
+
+    /**
+     * Returns a throughput.
+     *
+     * @param puzzles the number of puzzles processed
+     * @param start   the {@link System#nanoTime()} the import started at
+     * @return the puzzles per second
+     */
+    private static double rate(long puzzles, long start) {
+        return puzzles / ((System.nanoTime() - start) / 1e9);
+    }
+
+    /**
+     * Records the first failure of a pipeline thread and interrupts the others,
+     * which may be waiting on a queue that will never be fed.
+     *
+     * @param error    the failure
+     * @param pipeline the threads of the pipeline
+     */
+    private void fail(Throwable error, List<Thread> pipeline) {
+        if (failure.compareAndSet(null, error)) {
+            for (Thread thread : pipeline) {
+                thread.interrupt();
+            }
+        }
+    }
+
+    // ----------------------------------------------------------
+    // Reader
+    // ----------------------------------------------------------
+
+    /**
+     * Reads the input, splits it into lines and parses them into batches; runs on the reader thread.
+     *
+     * @param input the input file
+     */
+    private void read(FileChannel input) {
+        ByteBuffer buffer = ByteBuffer.allocate(READ_BUFFER_SIZE);
+        byte[] bytes = buffer.array();
+        long sequence = 0;
+        boolean skipping = false; // Inside a line longer than the buffer, already recorded as invalid
+        try {
+            Batch batch = free.take();
+            boolean eof = false;
+            while (!eof) {
+                eof = input.read(buffer) < 0;
+                int from = 0;
+                int limit = buffer.position();
+                for (int at = from; at < limit; at++) {
+                    if (bytes[at] != '\n') {
+                        continue;
+                    }
+                    if (!skipping) {
+                        parseLine(bytes, from, at, batch);
+                    }
+                    skipping = false;
+                    from = at + 1;
+                    if (batch.count == BATCH_SIZE) {
+                        batch.sequence = sequence++;
+                        parsed.put(batch);
+                        batch = free.take();
+                    }
+                }
+                if (eof && from < limit && !skipping) {
+                    parseLine(bytes, from, limit, batch); // Last line without a newline
+                } else if (from == 0 && limit == bytes.length) {
+                    if (!skipping) {
+                        batch.valid[batch.count++] = false;
+                        skipping = true;
+                        if (batch.count == BATCH_SIZE) {
+                            batch.sequence = sequence++;
+                            parsed.put(batch);
+                            batch = free.take();
+                        }
+                    }
+                    from = limit;
+                }
+                buffer.position(from).limit(limit);
+                buffer.compact();
+            }
+            if (batch.count > 0) {
+                batch.sequence = sequence++;
+                parsed.put(batch);
+            }
+            for (int i = 0; i < threads; i++) {
+                parsed.put(end);
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    /**
+     * Parses one line into the next slot of a batch, marking it invalid if it
+     * is not a grid of the expected size.
+     *
+     * @param bytes the bytes read
+     * @param from  the index of the first byte of the line
+     * @param to    the index of its newline, or of the end of the input
+     * @param batch the batch to add the grid to; it has a free slot
+     */
+    private void parseLine(byte[] bytes, int from, int to, Batch batch) {
+        if (to > from && bytes[to - 1] == '\r') {
+            to--;
+        }
+        int cells = geometry.getCellCount();
+        int slot = batch.count++;
+        boolean valid = to - from == cells;
+        int base = slot * cells;
+        for (int i = 0; valid && i < cells; i++) {
+            int symbol = bytes[from + i];
+            int digit = symbol >= 0 ? DIGIT_OF[symbol] : -1;
+            valid = digit >= 0 && digit <= geometry.getSize();
+            batch.cells[base + i] = digit;
+        }
+        batch.valid[slot] = valid;
+    }
+
+    // ----------------------------------------------------------
+    // Workers
+    // ----------------------------------------------------------
+
+    /**
+     * Processes batches until the end of the input; runs on each worker thread.
+     */
+    private void process() {
+        DlxSolver solver = new DlxSolver(geometry);
+        DifficultyRater rater = mode == Mode.RATE ? new DifficultyRater(geometry) : null;
+        int[] grid = new int[geometry.getCellCount()];
+        try {
+            for (Batch batch = parsed.take(); batch != end; batch = parsed.take()) {
+                for (int slot = 0; slot < batch.count; slot++) {
+                    processPuzzle(batch, slot, grid, solver, rater);
+                }
+                processed.put(batch);
+            }
+            processed.put(end);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    /**
+     * Processes one puzzle of a batch and encodes its output line into the batch.
+     *
+     * @param batch  the batch
+     * @param slot   the position of the puzzle in the batch
+     * @param grid   scratch grid of the worker
+     * @param solver the solver of the worker
+     * @param rater  the rater of the worker, in {@link Mode#RATE}
+     */
+    private void processPuzzle(Batch batch, int slot, int[] grid, DlxSolver solver, DifficultyRater rater) {
+        ByteBuffer out = batch.out;
+        if (!batch.valid[slot]) {
+            batch.record(Result.INVALID);
+            return;
+        }
+        System.arraycopy(batch.cells, slot * grid.length, grid, 0, grid.length);
+        for (int value : grid) {
+            out.put((byte) SYMBOLS.charAt(value));
+        }
+        if (mode == Mode.SOLVE) {
+            int found = solver.solve(grid, maxNodes);
+            if (found == 1) {
+                out.put(RESULT_BYTES[Result.SOLVED.ordinal()]);
+                for (int value : grid) {
+                    out.put((byte) SYMBOLS.charAt(value));
+                }
+                out.put((byte) '\n');
+                batch.results[Result.SOLVED.ordinal()]++;
+            } else {
+                batch.record(found == 0 ? Result.NONE : Result.TIMEOUT);
+            }
+            return;
+        }
+        Result result = switch (solver.countSolutions(grid, 2, maxNodes)) {
+            case 0 -> Result.NONE;
+            case 1 -> Result.UNIQUE;
+            case 2 -> Result.MULTIPLE;
+            default -> Result.TIMEOUT;
+        };
+        if (mode == Mode.VALIDATE || result != Result.UNIQUE) {
+            batch.record(result);
+            return;
+        }
+        DifficultyRating rating = rater.rate(grid);
+        out.put((byte) ',').put(TIER_BYTES[rating.getDifficulty().ordinal()]).put((byte) ',');
+        putDecimal(out, rating.getScore());
+        out.put((byte) '\n');
+        batch.results[Result.UNIQUE.ordinal()]++;
+    }
+
+    /**
+     * Writes a non-negative number in decimal.
+     *
+     * @param out   the buffer
+     * @param value the number
+     */
+    private static void putDecimal(ByteBuffer out, int value) {
+        int divisor = 1;
+        while (divisor <= value / 10) {
+            divisor *= 10;
+        }
+        for (; divisor > 0; divisor /= 10) {
+            out.put((byte) ('0' + value / divisor % 10));
+        }
+    }
+
+    // ----------------------------------------------------------
+    // Writer
+    // ----------------------------------------------------------
+
+    /**
+     * Writes the processed batches in input order and recycles them; runs on the writer thread.
+     *
+     * @param output the output file
+     */
+    private void write(FileChannel output) {
+        Batch[] pending = new Batch[batches];
+        long next = 0;
+        int workersDone = 0;
+        try {
+            // A worker sends the end marker after its last batch, so every batch has arrived with the last marker
+            while (workersDone < threads) {
+                Batch batch = processed.take();
+                if (batch == end) {
+                    workersDone++;
+                    continue;
+                }
+                // Only `batches` batches exist, so the sequences in flight never share a slot
+                pending[(int) (batch.sequence % pending.length)] = batch;
+                for (Batch ready = pending[(int) (next % pending.length)];
+                     ready != null && ready.sequence == next;
+                     ready = pending[(int) (next % pending.length)]) {
+                    pending[(int) (next % pending.length)] = null;
+                    ready.out.flip();
+                    while (ready.out.hasRemaining()) {
+                        output.write(ready.out);
+                    }
+                    for (int i = 0; i < results.length; i++) {
+                        results[i] += ready.results[i];
+                    }
+                    written.addAndGet(ready.count);
+                    ready.clear();
+                    free.put(ready);
+                    next++;
+                }
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    /**
+     * Encodes an ASCII string.
+     *
+     * @param text the string
+     * @return its bytes
+     */
+    private static byte[] ascii(String text) {
+        return text.getBytes(StandardCharsets.US_ASCII);
+    }
+
+    /**
+     * Puzzles read, processed and written together, reused once written.
+     */
+    private static final class Batch {
+
+        /** Position of the batch in the input. */
+        long sequence;
+
+        /** Number of puzzles in the batch. */
+        int count;
+
+        /** Grids of the puzzles, one after the other. */
+        final int[] cells;
+
+        /** Whether each line was a grid of the expected size. */
+        final boolean[] valid;
+
+        /** Output lines of the puzzles processed so far. */
+        final ByteBuffer out;
+
+        /** Puzzles of each {@link Result} in the batch. */
+        final int[] results = new int[Result.values().length];
+
+        /**
+         * Allocates a batch.
+         *
+         * @param cells     the number of cells of a grid
+         * @param lineBytes the maximum size of an output line
+         */
+        Batch(int cells, int lineBytes) {
+            this.cells = new int[BATCH_SIZE * cells];
+            this.valid = new boolean[BATCH_SIZE];
+            this.out = ByteBuffer.allocate(BATCH_SIZE * lineBytes);
+        }
+
+        /**
+         * Ends the output line of a puzzle with a result and counts it.
+         *
+         * @param result the result, other than {@link Result#SOLVED}
+         */
+        void record(Result result) {
+            out.put(RESULT_BYTES[result.ordinal()]);
+            results[result.ordinal()]++;
+        }
+
+        /**
+         * Empties the batch for reuse.
+         */
+        void clear() {
+            count = 0;
+            out.clear();
+            Arrays.fill(results, 0);
+        }
+    }
+}
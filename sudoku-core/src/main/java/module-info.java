@@ -0,0 +1,15 @@
+/**
+ * Sudoku engine: boards, puzzle generation, solving, rating and validation.
+ * <p>
+ * Apart from {@code java.management}, which publishes the engine metrics as
+ * platform MBeans, and {@code jdk.jfr}, which defines its Flight Recorder
+ * events, the module needs nothing outside {@code java.base}, so it can be
+ * embedded in headless services; the JavaFX game lives in {@code com.sudoku}.
+ * </p>
+ */
+module com.sudoku.core {
+    requires java.management;
+    requires jdk.jfr;
+
+    exports com.sudoku.model;
+}
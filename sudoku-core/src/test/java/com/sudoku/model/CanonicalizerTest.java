@@ -0,0 +1,150 @@
+package com.sudoku.model;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.Arrays;
+import java.util.SplittableRandom;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Tests of {@link Canonicalizer}: equivalent grids, and only they, share a
+ * canonical form.
+ */
+class CanonicalizerTest {
+
+    /** Random disguises tried per grid. */
+    private static final int DISGUISES = 20;
+
+    /**
+     * Puzzles and solutions keep their form under random relabelings, row,
+     * band, column and stack permutations and, for square sections,
+     * transpositions, at every supported size.
+     */
+    @Test
+    void disguisedGridsHaveTheSameForm() {
+        for (Geometry geometry : Geometry.values()) {
+            if (geometry.getSize() > Canonicalizer.MAX_SIZE) {
+                continue;
+            }
+            Canonicalizer canonicalizer = new Canonicalizer(geometry);
+            Puzzle puzzle = new PuzzleGenerator(geometry).generate(geometry.getSize());
+            SplittableRandom random = new SplittableRandom(geometry.getCellCount());
+            for (int[] grid : new int[][] {puzzle.getGivens(), puzzle.getSolution()}) {
+                int[] form = canonicalizer.canonicalize(grid);
+                assertArrayEquals(form, canonicalizer.canonicalize(form), geometry + " form of the form");
+                int changed = 0;
+                for (int i = 0; i < DISGUISES; i++) {
+                    int[] disguised = disguise(geometry, grid, random);
+                    changed += Arrays.equals(grid, disguised) ? 0 : 1;
+                    assertArrayEquals(form, canonicalizer.canonicalize(disguised), geometry + " disguise " + i);
+                }
+                assertTrue(changed > DISGUISES / 2, geometry + " grids left as they were");
+            }
+        }
+    }
+
+    /**
+     * Puzzles that are not equivalent have different forms: two puzzles of
+     * different seeds, and a puzzle and the same puzzle with one more clue.
+     */
+    @Test
+    void differentPuzzlesHaveDifferentForms() {
+        for (Geometry geometry : new Geometry[] {Geometry.SIX, Geometry.NINE}) {
+            Canonicalizer canonicalizer = new Canonicalizer(geometry);
+            PuzzleGenerator generator = new PuzzleGenerator(geometry);
+            Puzzle first = generator.generate(1);
+            Puzzle second = generator.generate(2);
+            assertFalse(sameForm(canonicalizer, first.getGivens(), second.getGivens()), geometry + " two seeds");
+
+            int[] moreClues = first.getGivens();
+            for (int cell = 0; cell < moreClues.length; cell++) {
+                if (moreClues[cell] == 0) {
+                    moreClues[cell] = first.getSolution(cell);
+                    break;
+                }
+            }
+            assertFalse(sameForm(canonicalizer, first.getGivens(), moreClues), geometry + " one more clue");
+        }
+    }
+
+    /**
+     * Tells whether two grids have the same canonical form.
+     *
+     * @param canonicalizer the canonicalizer of their geometry
+     * @param first         a grid
+     * @param second        another grid
+     * @return {@code true} if the forms are equal
+     */
+    private static boolean sameForm(Canonicalizer canonicalizer, int[] first, int[] second) {
+        return Arrays.equals(canonicalizer.canonicalize(first), canonicalizer.canonicalize(second));
+    }
+
+    /**
+     * Applies a random symmetry of a geometry to a grid.
+     *
+     * @param geometry the shape of the grid
+     * @param grid     the grid, 0 for an empty cell
+     * @param random   the source of the symmetry
+     * @return the disguised grid
+     */
+    private static int[] disguise(Geometry geometry, int[] grid, SplittableRandom random) {
+        int size = geometry.getSize();
+        int[] labels = new int[size + 1];
+        int[] digits = permutation(size, random);
+        for (int digit = 1; digit <= size; digit++) {
+            labels[digit] = digits[digit - 1] + 1;
+        }
+        int[] rows = blockPermutation(size, geometry.getBoxRows(), random);
+        int[] columns = blockPermutation(size, geometry.getBoxCols(), random);
+        boolean transpose = geometry.getBoxRows() == geometry.getBoxCols() && random.nextBoolean();
+        int[] disguised = new int[grid.length];
+        for (int row = 0; row < size; row++) {
+            for (int column = 0; column < size; column++) {
+                int value = labels[grid[rows[row] * size + columns[column]]];
+                disguised[transpose ? column * size + row : row * size + column] = value;
+            }
+        }
+        return disguised;
+    }
+
+    /**
+     * Returns a random permutation of the lines of a grid that keeps the lines
+     * of each block of {@code blockSize} together.
+     *
+     * @param size      the number of lines
+     * @param blockSize the lines per block
+     * @param random    the source of the permutation
+     * @return the source line of each output line
+     */
+    private static int[] blockPermutation(int size, int blockSize, SplittableRandom random) {
+        int[] blocks = permutation(size / blockSize, random);
+        int[] lines = new int[size];
+        for (int block = 0; block < blocks.length; block++) {
+            int[] inside = permutation(blockSize, random);
+            for (int i = 0; i < blockSize; i++) {
+                lines[block * blockSize + i] = blocks[block] * blockSize + inside[i];
+            }
+        }
+        return lines;
+    }
+
+    /**
+     * Returns a random permutation of {@code 0..n-1}.
+     *
+     * @param n      the number of elements
+     * @param random the source of the permutation
+     * @return the permutation
+     */
+    private static int[] permutation(int n, SplittableRandom random) {
+        int[] elements = new int[n];
+        for (int i = 0; i < n; i++) {
+            int j = random.nextInt(i + 1);
+            elements[i] = elements[j];
+            elements[j] = i;
+        }
+        return elements;
+    }
+}
@@ -0,0 +1,137 @@
+package com.sudoku.model;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.SplittableRandom;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Tests of {@link DlxSolver} on grids whose number of solutions is known.
+ */
+class DlxSolverTest {
+
+    /** A 9×9 puzzle with a single solution, row by row, {@code .} for an empty cell. */
+    static final String PUZZLE =
+            "53..7...."
+            + "6..195..."
+            + ".98....6."
+            + "8...6...3"
+            + "4..8.3..1"
+            + "7...2...6"
+            + ".6....28."
+            + "...419..5"
+            + "....8..79";
+
+    /** The solution of {@link #PUZZLE}. */
+    static final String SOLUTION =
+            "534678912"
+            + "672195348"
+            + "198342567"
+            + "859761423"
+            + "426853791"
+            + "713924856"
+            + "961537284"
+            + "287419635"
+            + "345286179";
+
+    /**
+     * Cells of a rectangle of {@link #SOLUTION} holding 1 and 3 on two rows
+     * and two boxes: emptied, the digits can be swapped, so the grid has exactly
+     * two solutions.
+     */
+    private static final int[] DEADLY_RECTANGLE = {3 * 9 + 5, 3 * 9 + 8, 4 * 9 + 5, 4 * 9 + 8};
+
+    /** Solver of the 9×9 tests. */
+    private final DlxSolver solver = new DlxSolver(Geometry.NINE);
+
+    /**
+     * Parses a 9×9 grid written row by row.
+     *
+     * @param grid the grid, one digit per cell and {@code .} for an empty cell
+     * @return the values, 0 for an empty cell
+     */
+    static int[] parse(String grid) {
+        int[] values = new int[grid.length()];
+        for (int cell = 0; cell < values.length; cell++) {
+            char c = grid.charAt(cell);
+            values[cell] = c == '.' ? 0 : c - '0';
+        }
+        return values;
+    }
+
+    /**
+     * A grid with a wrong clue that breaks no rule on its own has no solution.
+     */
+    @Test
+    void countsNoSolution() {
+        int[] grid = parse(PUZZLE);
+        grid[2] = 1; // The solution has a 4 there
+        assertEquals(0, solver.countSolutions(grid, 2));
+        assertFalse(solver.solve(grid));
+    }
+
+    /**
+     * A proper puzzle has exactly one solution, which solve writes into the grid.
+     */
+    @Test
+    void countsAndFindsTheUniqueSolution() {
+        int[] grid = parse(PUZZLE);
+        assertEquals(1, solver.countSolutions(grid, 2));
+        assertEquals(1, solver.countSolutions(grid, 2, 1_000_000));
+        assertArrayEquals(parse(PUZZLE), grid, "countSolutions must not modify the grid");
+        assertTrue(solver.solve(grid));
+        assertArrayEquals(parse(SOLUTION), grid);
+    }
+
+    /**
+     * A solved grid with a deadly rectangle emptied has two solutions.
+     */
+    @Test
+    void countsTwoSolutions() {
+        int[] grid = parse(SOLUTION);
+        for (int cell : DEADLY_RECTANGLE) {
+            grid[cell] = 0;
+        }
+        assertEquals(2, solver.countSolutions(grid, 2));
+        assertEquals(2, solver.countSolutions(grid, 10));
+        assertEquals(1, solver.countSolutions(grid, 1));
+    }
+
+    /**
+     * A search that runs out of nodes before reaching the limit is abandoned.
+     */
+    @Test
+    void abandonsWhenTheNodeBudgetRunsOut() {
+        int[] empty = new int[Geometry.SIXTEEN.getCellCount()];
+        assertEquals(-1, new DlxSolver(Geometry.SIXTEEN).countSolutions(empty, 2, 10));
+        assertEquals(-1, new DlxSolver(Geometry.SIXTEEN).solve(empty.clone(), 10));
+    }
+
+    /**
+     * A filled grid is a complete and valid solution at every size.
+     */
+    @Test
+    void fillsValidGrids() {
+        for (Geometry geometry : Geometry.values()) {
+            int[] grid = new int[geometry.getCellCount()];
+            assertTrue(new DlxSolver(geometry).fill(grid, new SplittableRandom(geometry.getSize())));
+            IBoard board = new BitmaskBoard(new Puzzle(geometry, grid, grid, null, 0));
+            assertTrue(board.isSudokuCompleteAndValid(), geometry.toString());
+        }
+    }
+
+    /**
+     * Grids and limits that do not fit the solver are rejected.
+     */
+    @Test
+    void rejectsInvalidArguments() {
+        assertThrows(IllegalArgumentException.class, () -> solver.countSolutions(new int[16], 2));
+        assertThrows(IllegalArgumentException.class, () -> solver.countSolutions(parse(PUZZLE), 0));
+        assertThrows(IllegalArgumentException.class, () -> solver.countSolutions(parse(PUZZLE), 2, 0));
+    }
+}
@@ -0,0 +1,124 @@
+package com.sudoku.model;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Tests of the {@link MoveLog} ring buffer and move packing.
+ */
+class MoveLogTest {
+
+    /** Capacity of the small logs, so that tests wrap around quickly. */
+    private static final int CAPACITY = 4;
+
+    /**
+     * Past its capacity the log drops the oldest moves and keeps the order of
+     * the others, for several laps of the ring.
+     */
+    @Test
+    void dropsTheOldestMoveWhenFull() {
+        MoveLog log = new MoveLog(CAPACITY);
+        int recorded = 3 * CAPACITY + 1;
+        for (int cell = 0; cell < recorded; cell++) {
+            log.record(cell, 0, 1);
+        }
+        assertEquals(CAPACITY, log.size());
+        assertEquals(CAPACITY, log.getAppliedCount());
+        for (int i = 0; i < CAPACITY; i++) {
+            assertEquals(recorded - CAPACITY + i, MoveLog.cellOf(log.get(i)), "move " + i);
+        }
+        for (int cell = recorded - 1; cell >= recorded - CAPACITY; cell--) {
+            assertEquals(cell, MoveLog.cellOf(log.undo()));
+        }
+        assertEquals(MoveLog.NO_MOVE, log.undo(), "the dropped moves cannot be undone");
+    }
+
+    /**
+     * Recording after an undo discards the moves that could have been redone,
+     * also when the ring has wrapped around.
+     */
+    @Test
+    void recordAfterUndoTruncatesTheRedoTail() {
+        MoveLog log = new MoveLog(CAPACITY);
+        for (int cell = 0; cell < CAPACITY + 2; cell++) {
+            log.record(cell, 0, 1);
+        }
+        log.undo();
+        log.undo();
+        assertTrue(log.canRedo());
+        log.record(40, 2, 3);
+        assertFalse(log.canRedo());
+        assertEquals(MoveLog.NO_MOVE, log.redo());
+        assertEquals(CAPACITY - 1, log.size());
+        assertEquals(log.size(), log.getAppliedCount());
+        assertEquals(40, MoveLog.cellOf(log.get(log.size() - 1)));
+        assertEquals(40, MoveLog.cellOf(log.undo()));
+        assertEquals(3, MoveLog.cellOf(log.undo()));
+    }
+
+    /**
+     * Undo and redo return {@link MoveLog#NO_MOVE} at the ends of the history,
+     * and moves that change nothing are not recorded.
+     */
+    @Test
+    void undoAndRedoStopAtTheEnds() {
+        MoveLog log = new MoveLog(CAPACITY);
+        assertEquals(MoveLog.NO_MOVE, log.undo());
+        assertEquals(MoveLog.NO_MOVE, log.redo());
+        log.record(5, 3, 3);
+        assertEquals(0, log.size(), "a move that changes nothing");
+
+        log.record(5, 0, 3);
+        log.record(6, 0, 4);
+        assertEquals(MoveLog.NO_MOVE, log.redo());
+        assertEquals(6, MoveLog.cellOf(log.undo()));
+        assertEquals(5, MoveLog.cellOf(log.undo()));
+        assertEquals(MoveLog.NO_MOVE, log.undo());
+        assertFalse(log.canUndo());
+        assertEquals(5, MoveLog.cellOf(log.redo()));
+        assertEquals(6, MoveLog.cellOf(log.redo()));
+        assertEquals(MoveLog.NO_MOVE, log.redo());
+
+        log.clear();
+        assertEquals(0, log.size());
+        assertEquals(MoveLog.NO_MOVE, log.undo());
+    }
+
+    /**
+     * A move keeps its cell and values up to the last cell and largest value
+     * of a 25×25 grid.
+     */
+    @Test
+    void packsTheLargestGrid() {
+        MoveLog log = new MoveLog();
+        int lastCell = Geometry.of(25).getCellCount() - 1;
+        int[][] moves = {{lastCell, 0, 25}, {lastCell, 25, 1}, {lastCell, 24, 0}, {0, 25, 24}};
+        for (int[] move : moves) {
+            log.record(move[0], move[1], move[2]);
+        }
+        for (int i = moves.length - 1; i >= 0; i--) {
+            int move = log.undo();
+            assertEquals(moves[i][0], MoveLog.cellOf(move), "cell of move " + i);
+            assertEquals(moves[i][1], MoveLog.oldValueOf(move), "old value of move " + i);
+            assertEquals(moves[i][2], MoveLog.newValueOf(move), "new value of move " + i);
+        }
+    }
+
+    /**
+     * Capacities that are not positive powers of two and moves out of range
+     * are rejected.
+     */
+    @Test
+    void rejectsInvalidArguments() {
+        assertThrows(IllegalArgumentException.class, () -> new MoveLog(0));
+        assertThrows(IllegalArgumentException.class, () -> new MoveLog(6));
+        MoveLog log = new MoveLog(CAPACITY);
+        log.record(1, 0, 2);
+        assertThrows(IllegalArgumentException.class, () -> log.get(1));
+        assertThrows(IllegalArgumentException.class, () -> log.get(-1));
+    }
+}
@@ -0,0 +1,112 @@
+package com.sudoku.model;
+
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.ForkJoinPool;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Tests of {@link ParallelSolver} against the sequential {@link DlxSolver}.
+ */
+class ParallelSolverTest {
+
+    /** Pool of the parallel searches. */
+    private static ForkJoinPool pool;
+
+    /**
+     * Starts the pool.
+     */
+    @BeforeAll
+    static void startPool() {
+        pool = new ForkJoinPool(4);
+    }
+
+    /**
+     * Stops the pool.
+     */
+    @AfterAll
+    static void stopPool() {
+        pool.shutdown();
+    }
+
+    /**
+     * Parallel counts equal the sequential counts, for limits below, at and
+     * above the number of solutions.
+     */
+    @Test
+    void countsLikeTheSequentialSolver() {
+        int[] puzzle = DlxSolverTest.parse(DlxSolverTest.PUZZLE);
+        int[] wrongClue = puzzle.clone();
+        wrongClue[2] = 1;
+        int[] open = DlxSolverTest.parse(DlxSolverTest.SOLUTION);
+        for (int cell = 0; cell < open.length; cell += 2) {
+            open[cell] = 0; // Half the cells emptied, for a few solutions
+        }
+        checkCounts(Geometry.NINE, puzzle);
+        checkCounts(Geometry.NINE, wrongClue);
+        checkCounts(Geometry.NINE, open);
+        checkCounts(Geometry.FOUR, new int[Geometry.FOUR.getCellCount()]);
+        checkCounts(Geometry.SIX, new PuzzleGenerator(Geometry.SIX).generate(6).getGivens());
+    }
+
+    /**
+     * Solved grids are complete, valid and keep their clues, whether the
+     * grid has one solution or many.
+     */
+    @Test
+    void solvesToValidGrids() {
+        ParallelSolver solver = new ParallelSolver(Geometry.NINE, pool);
+        int[] grid = DlxSolverTest.parse(DlxSolverTest.PUZZLE);
+        assertTrue(solver.solve(grid));
+        assertArrayEquals(DlxSolverTest.parse(DlxSolverTest.SOLUTION), grid);
+
+        for (Geometry geometry : new Geometry[] {Geometry.FOUR, Geometry.NINE, Geometry.SIXTEEN}) {
+            int[] givens = new PuzzleGenerator(geometry).generate(geometry.getSize()).getGivens();
+            for (int cell = 0; cell < givens.length; cell += 5) {
+                givens[cell] = 0; // Usually several solutions, any of which will do
+            }
+            int[] solved = givens.clone();
+            assertTrue(new ParallelSolver(geometry, pool).solve(solved), geometry.toString());
+            for (int cell = 0; cell < givens.length; cell++) {
+                if (givens[cell] != 0) {
+                    assertEquals(givens[cell], solved[cell], geometry + " clue " + cell);
+                }
+            }
+            IBoard board = new BitmaskBoard(new Puzzle(geometry, solved, solved, null, 0));
+            assertTrue(board.isSudokuCompleteAndValid(), geometry.toString());
+        }
+
+        int[] wrongClue = DlxSolverTest.parse(DlxSolverTest.PUZZLE);
+        wrongClue[2] = 1;
+        int[] unchanged = wrongClue.clone();
+        assertFalse(solver.solve(wrongClue));
+        assertArrayEquals(unchanged, wrongClue, "an unsolvable grid is left unchanged");
+    }
+
+    /**
+     * Compares the parallel and sequential counts of a grid around its number
+     * of solutions.
+     *
+     * @param geometry the shape of the grid
+     * @param grid     the grid
+     */
+    private static void checkCounts(Geometry geometry, int[] grid) {
+        DlxSolver sequential = new DlxSolver(geometry);
+        ParallelSolver parallel = new ParallelSolver(geometry, pool);
+        int[] unchanged = grid.clone();
+        int solutions = sequential.countSolutions(grid, 1_000);
+        assertTrue(solutions < 1_000, "grid with too many solutions for the test");
+        for (int limit : new int[] {1, 2, Math.max(1, solutions - 1), Math.max(1, solutions), solutions + 1,
+                2 * solutions + 10}) {
+            assertEquals(sequential.countSolutions(grid, limit), parallel.countSolutions(grid, limit),
+                    geometry + " " + solutions + " solutions, limit " + limit);
+        }
+        assertArrayEquals(unchanged, grid, "countSolutions must not modify the grid");
+    }
+}
@@ -0,0 +1,110 @@
+package com.sudoku.model;
+
+import org.junit.jupiter.api.Test;
+
+import java.nio.ByteBuffer;
+import java.util.Arrays;
+import java.util.OptionalLong;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+/**
+ * Tests of the {@link PuzzleCodec} records and header.
+ */
+class PuzzleCodecTest {
+
+    /**
+     * A puzzle encoded and decoded keeps its givens, solution, rating and seed,
+     * at every size and behind other records. Seed 0 is told apart from a
+     * puzzle without a seed.
+     */
+    @Test
+    void recordRoundTrip() {
+        for (Geometry geometry : Geometry.values()) {
+            PuzzleCodec codec = new PuzzleCodec(geometry);
+            PuzzleGenerator generator = new PuzzleGenerator(geometry);
+            Puzzle seeded = generator.generate(-1);
+            Puzzle unseeded = new Puzzle(geometry, seeded.getGivens(), seeded.getSolution(), seeded.getRating(), 0);
+            Puzzle[] puzzles = {generator.generate(0), seeded, unseeded};
+            int recordSize = codec.getRecordSize();
+            ByteBuffer buffer = ByteBuffer.allocate(PuzzleCodec.HEADER_SIZE + puzzles.length * recordSize);
+            codec.writeHeader(buffer, 0);
+            for (int i = 0; i < puzzles.length; i++) {
+                codec.encode(puzzles[i], buffer, PuzzleCodec.HEADER_SIZE + i * recordSize);
+            }
+
+            PuzzleCodec read = PuzzleCodec.readHeader(buffer, 0);
+            assertSame(geometry, read.getGeometry());
+            for (int i = 0; i < puzzles.length; i++) {
+                int offset = PuzzleCodec.HEADER_SIZE + i * recordSize;
+                Puzzle decoded = read.decode(buffer, offset);
+                String message = geometry + " record " + i;
+                assertArrayEquals(puzzles[i].getGivens(), decoded.getGivens(), message);
+                assertArrayEquals(puzzles[i].getSolution(), decoded.getSolution(), message);
+                assertEquals(puzzles[i].getDifficulty(), decoded.getDifficulty(), message);
+                assertEquals(puzzles[i].getRating().getScore(), decoded.getRating().getScore(), message);
+                assertEquals(puzzles[i].getRating().isSolved(), decoded.getRating().isSolved(), message);
+                assertEquals(puzzles[i].getSeed(), decoded.getSeed(), message);
+                assertEquals(puzzles[i].getSeed(), read.getSeed(buffer, offset), message);
+                for (int cell = 0; cell < geometry.getCellCount(); cell++) {
+                    assertEquals(puzzles[i].getGiven(cell), read.getGiven(buffer, offset, cell), message);
+                }
+            }
+            assertEquals(OptionalLong.of(0), read.getSeed(buffer, PuzzleCodec.HEADER_SIZE), geometry + " seed 0");
+            assertEquals(OptionalLong.empty(), read.getSeed(buffer, PuzzleCodec.HEADER_SIZE + 2 * recordSize),
+                    geometry + " no seed");
+        }
+    }
+
+    /**
+     * A record written over old bytes, as in a reused write buffer, is the
+     * same as one written into a zeroed buffer.
+     */
+    @Test
+    void overwritesOldBytes() {
+        for (Geometry geometry : Geometry.values()) {
+            PuzzleCodec codec = new PuzzleCodec(geometry);
+            Puzzle puzzle = new PuzzleGenerator(geometry).generate(geometry.getSize());
+            ByteBuffer clean = ByteBuffer.allocate(codec.getRecordSize());
+            ByteBuffer dirty = ByteBuffer.allocate(codec.getRecordSize());
+            Arrays.fill(dirty.array(), (byte) 0xFF);
+            codec.encode(puzzle, clean, 0);
+            codec.encode(puzzle, dirty, 0);
+            assertArrayEquals(clean.array(), dirty.array(), geometry.toString());
+        }
+    }
+
+    /**
+     * Headers of another format or version, or whose record size does not
+     * match the grid size, are rejected.
+     */
+    @Test
+    void rejectsForeignHeaders() {
+        ByteBuffer header = ByteBuffer.allocate(PuzzleCodec.HEADER_SIZE);
+        new PuzzleCodec(Geometry.NINE).writeHeader(header, 0);
+
+        ByteBuffer magic = ByteBuffer.wrap(header.array().clone());
+        magic.putInt(0, SavedGame.MAGIC);
+        assertThrows(IllegalArgumentException.class, () -> PuzzleCodec.readHeader(magic, 0));
+        ByteBuffer version = ByteBuffer.wrap(header.array().clone());
+        version.putShort(4, (short) (PuzzleCodec.VERSION + 1));
+        assertThrows(IllegalArgumentException.class, () -> PuzzleCodec.readHeader(version, 0));
+        ByteBuffer size = ByteBuffer.wrap(header.array().clone());
+        size.put(6, (byte) 16);
+        assertThrows(IllegalArgumentException.class, () -> PuzzleCodec.readHeader(size, 0));
+    }
+
+    /**
+     * A puzzle of another size is not encoded.
+     */
+    @Test
+    void rejectsAnotherGeometry() {
+        Puzzle puzzle = new PuzzleGenerator(Geometry.SIX).generate(6);
+        PuzzleCodec codec = new PuzzleCodec(Geometry.NINE);
+        ByteBuffer buffer = ByteBuffer.allocate(codec.getRecordSize());
+        assertThrows(IllegalArgumentException.class, () -> codec.encode(puzzle, buffer, 0));
+    }
+}
@@ -0,0 +1,99 @@
+package com.sudoku.model;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.Arrays;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+
+/**
+ * Tests of {@link PuzzleGenerator}: the puzzles it makes are proper, and the
+ * same seed always makes the same puzzle.
+ */
+class PuzzleGeneratorTest {
+
+    /** Seeds tried per size. */
+    private static final long[] SEEDS = {0, 42, -7};
+
+    /**
+     * Puzzles of every size have exactly one solution, the one they carry.
+     */
+    @Test
+    void puzzlesHaveExactlyOneSolution() {
+        for (Geometry geometry : Geometry.values()) {
+            PuzzleGenerator generator = new PuzzleGenerator(geometry);
+            DlxSolver solver = new DlxSolver(geometry);
+            for (long seed : SEEDS) {
+                Puzzle puzzle = generator.generate(seed);
+                int[] grid = puzzle.getGivens();
+                assertEquals(1, solver.countSolutions(grid, 2), geometry + " seed " + seed);
+                solver.solve(grid);
+                assertArrayEquals(puzzle.getSolution(), grid, geometry + " seed " + seed);
+            }
+        }
+    }
+
+    /**
+     * The same seed gives the same givens, solution and rating, from any
+     * generator of the same geometry and mode.
+     */
+    @Test
+    void sameSeedGivesSamePuzzle() {
+        for (Geometry geometry : Geometry.values()) {
+            for (long seed : SEEDS) {
+                Puzzle first = new PuzzleGenerator(geometry).generate(seed);
+                PuzzleGenerator reused = new PuzzleGenerator(geometry);
+                reused.generate();
+                Puzzle second = reused.generate(seed);
+                assertSamePuzzle(first, second, geometry + " seed " + seed);
+                assertEquals(seed, second.getSeed().getAsLong());
+            }
+        }
+    }
+
+    /**
+     * A seeded generator produces the same sequence of puzzles, each of which
+     * its own seed regenerates.
+     */
+    @Test
+    void seededGeneratorsRepeatTheirSequence() {
+        PuzzleGenerator first = new PuzzleGenerator(Geometry.NINE, PuzzleGenerator.Mode.UNIQUE, 7);
+        PuzzleGenerator second = new PuzzleGenerator(Geometry.NINE, PuzzleGenerator.Mode.UNIQUE, 7);
+        PuzzleGenerator replay = new PuzzleGenerator(Geometry.NINE);
+        for (int i = 0; i < 5; i++) {
+            Puzzle puzzle = first.generate();
+            assertSamePuzzle(puzzle, second.generate(), "puzzle " + i);
+            assertSamePuzzle(puzzle, replay.generate(puzzle.getSeed().getAsLong()), "replay of puzzle " + i);
+        }
+        first.setSeed(7);
+        assertSamePuzzle(new PuzzleGenerator(Geometry.NINE, PuzzleGenerator.Mode.UNIQUE, 7).generate(),
+                first.generate(), "after setSeed");
+    }
+
+    /**
+     * Different seeds give different puzzles.
+     */
+    @Test
+    void differentSeedsGiveDifferentPuzzles() {
+        PuzzleGenerator generator = new PuzzleGenerator(Geometry.NINE);
+        int[] first = generator.generate(1).getGivens();
+        int[] second = generator.generate(2).getGivens();
+        assertFalse(Arrays.equals(first, second));
+    }
+
+    /**
+     * Asserts that two puzzles are identical.
+     *
+     * @param expected the expected puzzle
+     * @param actual   the puzzle checked
+     * @param message  the context of a failure
+     */
+    private static void assertSamePuzzle(Puzzle expected, Puzzle actual, String message) {
+        assertArrayEquals(expected.getGivens(), actual.getGivens(), message);
+        assertArrayEquals(expected.getSolution(), actual.getSolution(), message);
+        assertEquals(expected.getDifficulty(), actual.getDifficulty(), message);
+        assertEquals(expected.getRating().getScore(), actual.getRating().getScore(), message);
+    }
+}
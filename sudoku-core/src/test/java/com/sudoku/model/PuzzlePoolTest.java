@@ -0,0 +1,60 @@
+package com.sudoku.model;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertInstanceOf;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Tests of {@link PuzzlePool}: takes that drain a shelf are still served, by
+ * the producer and at the requested tier.
+ */
+class PuzzlePoolTest {
+
+    /** Takes made at once on a one-puzzle shelf. */
+    private static final int TAKES = 12;
+
+    /**
+     * Takes past the capacity of a shelf miss, and the producer completes
+     * them with puzzles of the requested size and tier.
+     *
+     * @throws Exception if a take fails or is not served in time
+     */
+    @Test
+    void missesAreServedAtTheRequestedTier() throws Exception {
+        Difficulty tier = new PuzzleGenerator(Geometry.FOUR).generate(4).getDifficulty();
+        try (PuzzlePool pool = new PuzzlePool(1, PuzzleGenerator.Mode.UNIQUE)) {
+            List<CompletableFuture<Puzzle>> takes = new ArrayList<>();
+            for (int i = 0; i < TAKES; i++) {
+                takes.add(pool.take(Geometry.FOUR, tier));
+            }
+            for (CompletableFuture<Puzzle> take : takes) {
+                Puzzle puzzle = take.get(30, TimeUnit.SECONDS);
+                assertEquals(Geometry.FOUR, puzzle.getGeometry());
+                assertEquals(tier, puzzle.getDifficulty());
+            }
+            assertEquals(TAKES, pool.getHitCount() + pool.getMissCount());
+            assertTrue(pool.getMissCount() >= TAKES - 1, "a one-puzzle shelf served " + pool.getHitCount() + " hits");
+        }
+    }
+
+    /**
+     * A miss on a closed pool fails instead of waiting forever.
+     */
+    @Test
+    void missAfterCloseFails() {
+        PuzzlePool pool = new PuzzlePool(1, PuzzleGenerator.Mode.UNIQUE);
+        pool.close();
+        CompletableFuture<Puzzle> take = pool.take(Geometry.NINE, null);
+        ExecutionException failure = assertThrows(ExecutionException.class, take::get);
+        assertInstanceOf(IllegalStateException.class, failure.getCause());
+    }
+}
@@ -0,0 +1,131 @@
+package com.sudoku.model;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.SplittableRandom;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+/**
+ * Tests of the {@link SavedGame} file format: a save reads back as the game
+ * that was written, and a damaged file is rejected.
+ */
+class SavedGameTest {
+
+    /** Time played recorded in the saves. */
+    private static final long ELAPSED_MILLIS = 754_321;
+
+    /** Moves undone before saving, left to redo. */
+    private static final int UNDONE_MOVES = 3;
+
+    /**
+     * A save written and read back restores the puzzle, the entries, the move
+     * history with its redo tail, and the time played, at every size.
+     *
+     * @param directory a temporary directory for the save files
+     * @throws IOException if a save file cannot be written or read
+     */
+    @Test
+    void roundTrip(@TempDir Path directory) throws IOException {
+        for (Geometry geometry : Geometry.values()) {
+            Puzzle puzzle = new PuzzleGenerator(geometry).generate(geometry.getSize());
+            IBoard board = new BitmaskBoard(puzzle);
+            MoveLog log = play(board, new SplittableRandom(geometry.getSize()));
+            Path file = directory.resolve("save-" + geometry.getSize() + ".bin");
+            SavedGame.capture(board, log, ELAPSED_MILLIS).write(file);
+
+            SavedGame saved = SavedGame.read(file);
+            assertArrayEquals(puzzle.getGivens(), saved.getPuzzle().getGivens(), geometry + " givens");
+            assertArrayEquals(puzzle.getSolution(), saved.getPuzzle().getSolution(), geometry + " solution");
+            assertEquals(puzzle.getDifficulty(), saved.getPuzzle().getDifficulty(), geometry + " difficulty");
+            assertEquals(puzzle.getSeed(), saved.getPuzzle().getSeed(), geometry + " seed");
+            assertEquals(ELAPSED_MILLIS, saved.getElapsedMillis(), geometry + " timer");
+            IBoard restored = saved.restoreBoard();
+            for (int cell = 0; cell < geometry.getCellCount(); cell++) {
+                assertEquals(board.getValue(cell), restored.getValue(cell), geometry + " cell " + cell);
+            }
+            MoveLog moves = saved.restoreMoves();
+            assertEquals(log.size(), moves.size(), geometry + " moves");
+            assertEquals(log.getAppliedCount(), moves.getAppliedCount(), geometry + " applied moves");
+            for (int i = 0; i < log.size(); i++) {
+                assertEquals(log.get(i), moves.get(i), geometry + " move " + i);
+            }
+            assertFalse(Files.exists(directory.resolve(file.getFileName() + ".tmp")), "temporary file left behind");
+        }
+    }
+
+    /**
+     * Flipping any single byte of a save makes it unreadable.
+     *
+     * @param directory a temporary directory for the save files
+     * @throws IOException if a save file cannot be written or read
+     */
+    @Test
+    void rejectsAFlippedByte(@TempDir Path directory) throws IOException {
+        Puzzle puzzle = new PuzzleGenerator(Geometry.NINE).generate(9);
+        IBoard board = new BitmaskBoard(puzzle);
+        MoveLog log = play(board, new SplittableRandom(9));
+        Path file = directory.resolve("save.bin");
+        SavedGame.capture(board, log, ELAPSED_MILLIS).write(file);
+        byte[] bytes = Files.readAllBytes(file);
+
+        Path damaged = directory.resolve("damaged.bin");
+        for (int at = 0; at < bytes.length; at++) {
+            byte[] copy = bytes.clone();
+            copy[at] ^= 0x10;
+            Files.write(damaged, copy);
+            assertThrows(IllegalArgumentException.class, () -> SavedGame.read(damaged), "byte " + at);
+        }
+    }
+
+    /**
+     * A truncated save is rejected.
+     *
+     * @param directory a temporary directory for the save files
+     * @throws IOException if a save file cannot be written or read
+     */
+    @Test
+    void rejectsATruncatedFile(@TempDir Path directory) throws IOException {
+        Puzzle puzzle = new PuzzleGenerator(Geometry.SIX).generate(6);
+        Path file = directory.resolve("save.bin");
+        SavedGame.capture(new BitmaskBoard(puzzle), new MoveLog(), 0).write(file);
+        byte[] bytes = Files.readAllBytes(file);
+        Files.write(file, Arrays.copyOf(bytes, bytes.length - 1));
+        assertThrows(IllegalArgumentException.class, () -> SavedGame.read(file));
+    }
+
+    /**
+     * Plays random moves on the empty cells of a board, then undoes the last
+     * {@link #UNDONE_MOVES} of them.
+     *
+     * @param board  the board played
+     * @param random the source of the moves
+     * @return the move history
+     */
+    private static MoveLog play(IBoard board, SplittableRandom random) {
+        Geometry geometry = board.getGeometry();
+        MoveLog log = new MoveLog();
+        while (log.size() < 2 * geometry.getSize()) {
+            int cell = random.nextInt(geometry.getCellCount());
+            if (board.getPuzzle().isGiven(cell)) {
+                continue;
+            }
+            int value = 1 + random.nextInt(geometry.getSize());
+            log.record(cell, board.getValue(cell), value);
+            board.setNodeValue(cell, value);
+        }
+        for (int i = 0; i < UNDONE_MOVES; i++) {
+            int move = log.undo();
+            board.setNodeValue(MoveLog.cellOf(move), MoveLog.oldValueOf(move));
+        }
+        return log;
+    }
+}
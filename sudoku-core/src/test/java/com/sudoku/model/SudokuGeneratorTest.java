@@ -0,0 +1,37 @@
+package com.sudoku.model;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Tests of the seeds of {@link SudokuGenerator}.
+ */
+class SudokuGeneratorTest {
+
+    /**
+     * The seed drawn by an unseeded generator replays its grid, with either engine.
+     */
+    @Test
+    void drawnSeedReplaysTheGrid() {
+        for (SudokuGenerator.Engine engine : SudokuGenerator.Engine.values()) {
+            SudokuGenerator drawn = new SudokuGenerator(Geometry.NINE, engine);
+            assertTrue(drawn.getSeed().isPresent(), engine.toString());
+            SudokuGenerator replayed = new SudokuGenerator(Geometry.NINE, engine, drawn.getSeed().getAsLong());
+            for (int section = 1; section <= Geometry.NINE.getSize(); section++) {
+                assertEquals(drawn.getSection(section), replayed.getSection(section), engine + " section " + section);
+            }
+        }
+    }
+
+    /**
+     * A generator holding a loaded puzzle has no seed.
+     */
+    @Test
+    void loadedPuzzleHasNoSeed() {
+        Puzzle puzzle = new PuzzleGenerator(Geometry.SIX).generate(6);
+        assertFalse(new SudokuGenerator(puzzle).getSeed().isPresent());
+    }
+}
@@ -0,0 +1,161 @@
+package com.sudoku.model;
+
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.DynamicTest;
+import org.junit.jupiter.api.TestFactory;
+
+import java.lang.management.ManagementFactory;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.IntSupplier;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assumptions.assumeTrue;
+
+/**
+ * Allocation regression test of the validation paths: every board
+ * implementation must validate cells, handle a keystroke and run the
+ * completion check without allocating a single byte in steady state.
+ * <p>
+ * Each path is warmed up, then run over about {@link #MEASURED_CELLS} cells while the
+ * bytes allocated by the current thread are read from
+ * {@link com.sun.management.ThreadMXBean#getCurrentThreadAllocatedBytes()}.
+ * The test is skipped on a JVM without thread allocation accounting.
+ * </p>
+ */
+class ValidationAllocationTest {
+
+    /** Cells visited before measuring a path, so that it is compiled; divided by the board size into passes. */
+    private static final int WARMUP_CELLS = 4_000_000;
+
+    /** Cells visited while measuring a path. */
+    private static final int MEASURED_CELLS = 400_000;
+
+    /** Board implementations checked. */
+    private static final String[] IMPLEMENTATIONS = {"tree", "bitmask"};
+
+    /** Thread allocation counter of the JVM. */
+    private static final com.sun.management.ThreadMXBean THREADS =
+            (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+
+    /** Bytes allocated by the measurement itself. */
+    private static long overhead;
+
+    /**
+     * Turns the allocation accounting on and measures its overhead.
+     */
+    @BeforeAll
+    static void enableAccounting() {
+        assumeTrue(THREADS.isThreadAllocatedMemorySupported(), "Thread allocation accounting not supported");
+        THREADS.setThreadAllocatedMemoryEnabled(true);
+        overhead = measure(() -> 0, MEASURED_CELLS);
+    }
+
+    /**
+     * Creates one test per path, board implementation and size.
+     *
+     * @return the tests
+     */
+    @TestFactory
+    List<DynamicTest> validationPathsDoNotAllocate() {
+        List<DynamicTest> tests = new ArrayList<>();
+        for (String implementation : IMPLEMENTATIONS) {
+            for (Geometry geometry : Geometry.values()) {
+                addTests(tests, implementation, geometry);
+            }
+        }
+        return tests;
+    }
+
+    /**
+     * Adds the tests of the paths of one board.
+     *
+     * @param tests          the list the tests are added to
+     * @param implementation the board implementation
+     * @param geometry       the board size
+     */
+    private static void addTests(List<DynamicTest> tests, String implementation, Geometry geometry) {
+        Puzzle puzzle = new PuzzleGenerator(geometry, PuzzleGenerator.Mode.UNIQUE, geometry.getSize()).generate();
+        IBoard board = BoardFactory.createBoard(implementation, puzzle);
+        int cells = geometry.getCellCount();
+        String[] ids = new String[cells];
+        int firstEmpty = -1;
+        for (int cell = 0; cell < cells; cell++) {
+            ids[cell] = geometry.idOf(cell);
+            if (!puzzle.isGiven(cell)) {
+                firstEmpty = firstEmpty < 0 ? cell : firstEmpty;
+                // Half-filled board with a few conflicts, so every comparison branch runs
+                if ((cell & 1) == 0) {
+                    board.setNodeValue(cell, 1 + cell % geometry.getSize());
+                }
+            }
+        }
+        int editable = firstEmpty;
+        String prefix = implementation + " " + geometry + " ";
+
+        tests.add(DynamicTest.dynamicTest(prefix + "validateInput(String)", () -> assertNoAllocation(geometry, () -> {
+            int valid = 0;
+            for (String id : ids) {
+                if (board.validateInput(id)) valid++;
+            }
+            return valid;
+        })));
+        tests.add(DynamicTest.dynamicTest(prefix + "validateInput(int)", () -> assertNoAllocation(geometry, () -> {
+            int valid = 0;
+            for (int cell = 0; cell < cells; cell++) {
+                if (board.validateInput(cell)) valid++;
+            }
+            return valid;
+        })));
+        tests.add(DynamicTest.dynamicTest(prefix + "keystroke", () -> assertNoAllocation(geometry, () -> {
+            board.setNodeValue(editable, board.getValue(editable) == 0 ? 1 : 0);
+            int valid = 0;
+            for (int i = 0; i < board.getChangedCellCount(); i++) {
+                if (board.validateInput(board.getChangedCell(i))) valid++;
+            }
+            return valid;
+        })));
+        // Completion check on the solved board, where every cell has to be validated
+        tests.add(DynamicTest.dynamicTest(prefix + "isSudokuCompleteAndValid", () -> {
+            for (int cell = 0; cell < cells; cell++) {
+                board.setNodeValue(cell, puzzle.getSolution(cell));
+            }
+            assertNoAllocation(geometry, () -> board.isSudokuCompleteAndValid() ? 1 : 0);
+        }));
+    }
+
+    /**
+     * Warms up and measures one path, failing if it allocates.
+     *
+     * @param geometry the board size
+     * @param path     one pass of the path
+     */
+    private static void assertNoAllocation(Geometry geometry, IntSupplier path) {
+        for (int i = 0; i < WARMUP_CELLS / geometry.getCellCount(); i++) {
+            path.getAsInt();
+        }
+        int passes = MEASURED_CELLS / geometry.getCellCount();
+        long bytes = measure(path, passes) - overhead;
+        assertEquals(0, Math.max(bytes, 0), "Bytes allocated over " + passes + " passes");
+    }
+
+    /**
+     * Returns the bytes the current thread allocates while running a path.
+     *
+     * @param path   one pass of the path
+     * @param passes the number of passes
+     * @return the bytes allocated by the passes
+     */
+    private static long measure(IntSupplier path, int passes) {
+        long before = THREADS.getCurrentThreadAllocatedBytes();
+        int sink = 0;
+        for (int i = 0; i < passes; i++) {
+            sink += path.getAsInt();
+        }
+        long after = THREADS.getCurrentThreadAllocatedBytes();
+        if (sink == Integer.MIN_VALUE) {
+            System.out.print(""); // Keeps the results alive
+        }
+        return after - before;
+    }
+}
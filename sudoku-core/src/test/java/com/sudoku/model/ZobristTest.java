@@ -0,0 +1,123 @@
+package com.sudoku.model;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.SplittableRandom;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/**
+ * Stability tests of the Zobrist hashes of the boards: the hash updated on
+ * every write must always equal the hash of the whole grid, be the same on
+ * every board implementation, and survive a save and reload.
+ */
+class ZobristTest {
+
+    /** Random writes per board size. */
+    private static final int WRITES = 5_000;
+
+    /**
+     * The incremental hash of each implementation equals {@link Zobrist#hash(int[])}
+     * after every random write, at every size.
+     */
+    @Test
+    void incrementalHashEqualsFullHash() {
+        for (Geometry geometry : Geometry.values()) {
+            for (String implementation : new String[] {"tree", "bitmask"}) {
+                Puzzle puzzle = generate(geometry);
+                IBoard board = BoardFactory.createBoard(implementation, puzzle);
+                Zobrist zobrist = Zobrist.of(geometry);
+                int[] values = puzzle.getGivens();
+                assertEquals(zobrist.hash(values), board.getZobristHash(), implementation + " " + geometry + " givens");
+                SplittableRandom random = new SplittableRandom(geometry.getSize());
+                for (int write = 0; write < WRITES; write++) {
+                    int cell = random.nextInt(values.length);
+                    if (puzzle.isGiven(cell)) {
+                        continue;
+                    }
+                    values[cell] = random.nextInt(geometry.getSize() + 1);
+                    board.setNodeValue(cell, values[cell]);
+                    assertEquals(zobrist.hash(values), board.getZobristHash(),
+                            implementation + " " + geometry + " write " + write);
+                }
+            }
+        }
+    }
+
+    /**
+     * A {@link Board} and a {@link BitmaskBoard} given the same writes have the same hash.
+     */
+    @Test
+    void implementationsAgree() {
+        for (Geometry geometry : Geometry.values()) {
+            Puzzle puzzle = generate(geometry);
+            IBoard tree = new Board(puzzle);
+            IBoard bitmask = new BitmaskBoard(puzzle);
+            assertEquals(tree.getZobristHash(), bitmask.getZobristHash(), geometry + " givens");
+            SplittableRandom random = new SplittableRandom(-geometry.getSize());
+            for (int write = 0; write < WRITES; write++) {
+                int cell = random.nextInt(geometry.getCellCount());
+                if (puzzle.isGiven(cell)) {
+                    continue;
+                }
+                int value = random.nextInt(geometry.getSize() + 1);
+                tree.setNodeValue(cell, value);
+                bitmask.setNodeValue(cell, value);
+                assertEquals(tree.getZobristHash(), bitmask.getZobristHash(), geometry + " write " + write);
+            }
+        }
+    }
+
+    /**
+     * A game written and read back with {@link SavedGame} restores boards of
+     * the same hash, whatever their implementation.
+     *
+     * @param directory a temporary directory for the save files
+     * @throws IOException if a save file cannot be written or read
+     */
+    @Test
+    void hashSurvivesSaveAndLoad(@TempDir Path directory) throws IOException {
+        for (Geometry geometry : Geometry.values()) {
+            Puzzle puzzle = generate(geometry);
+            IBoard board = new BitmaskBoard(puzzle);
+            MoveLog log = new MoveLog();
+            SplittableRandom random = new SplittableRandom(geometry.getCellCount());
+            for (int write = 0; write < geometry.getCellCount(); write++) {
+                int cell = random.nextInt(geometry.getCellCount());
+                if (!puzzle.isGiven(cell)) {
+                    int value = random.nextInt(geometry.getSize() + 1);
+                    log.record(cell, board.getValue(cell), value);
+                    board.setNodeValue(cell, value);
+                }
+            }
+            Path file = directory.resolve("save-" + geometry.getSize() + ".bin");
+            SavedGame.capture(board, log, 0).write(file);
+            SavedGame saved = SavedGame.read(file);
+
+            IBoard loaded = saved.restoreBoard();
+            assertEquals(board.getZobristHash(), loaded.getZobristHash(), geometry + " restored board");
+            for (String implementation : new String[] {"tree", "bitmask"}) {
+                IBoard restored = BoardFactory.createBoard(implementation, saved.getPuzzle());
+                for (int cell = 0; cell < geometry.getCellCount(); cell++) {
+                    if (!saved.getPuzzle().isGiven(cell)) {
+                        restored.setNodeValue(cell, loaded.getValue(cell));
+                    }
+                }
+                assertEquals(board.getZobristHash(), restored.getZobristHash(), implementation + " " + geometry);
+            }
+        }
+    }
+
+    /**
+     * Generates the puzzle of a fixed seed.
+     *
+     * @param geometry the shape of the puzzle
+     * @return the puzzle
+     */
+    private static Puzzle generate(Geometry geometry) {
+        return new PuzzleGenerator(geometry, PuzzleGenerator.Mode.UNIQUE, geometry.getSize()).generate();
+    }
+}
@@ -0,0 +1,125 @@
+package com.sudoku.tools;
+
+import com.sudoku.model.DlxSolver;
+import com.sudoku.model.Geometry;
+import com.sudoku.model.PuzzleGenerator;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/**
+ * Tests of the {@link PuzzleImporter} pipeline: a file streamed through
+ * several workers comes out in input order, one result line per input line.
+ */
+class PuzzleImporterTest {
+
+    /** Worker threads of the pipeline. */
+    private static final int THREADS = 4;
+
+    /** Input lines: more batches than the pipeline keeps in flight. */
+    private static final int LINES = 3 * (2 * THREADS + 2) * PuzzleImporter.BATCH_SIZE / 2;
+
+    /** Distinct puzzles the input cycles through. */
+    private static final int PUZZLES = 16;
+
+    /** A puzzle whose clue at cell 2 leaves it without a solution. */
+    private static final String NO_SOLUTION =
+            "531.7....6..195....98....6.8...6...34..8.3..17...2...6.6....28....419..5....8..79";
+
+    /**
+     * Lines of every kind, including CRLF endings, {@code 0} for empty cells,
+     * a line longer than the read buffer and a last line without a newline,
+     * give one result each, in order.
+     *
+     * @param directory a temporary directory for the input and output files
+     * @throws IOException if a file cannot be written or read
+     */
+    @Test
+    void resultsComeOutInInputOrder(@TempDir Path directory) throws IOException {
+        Geometry geometry = Geometry.NINE;
+        PuzzleGenerator generator = new PuzzleGenerator(geometry);
+        String[] puzzles = new String[PUZZLES];
+        for (int i = 0; i < PUZZLES; i++) {
+            puzzles[i] = format(generator.generate(i).getGivens());
+        }
+        DlxSolver solver = new DlxSolver(geometry);
+        StringBuilder input = new StringBuilder();
+        List<String> expected = new ArrayList<>();
+        for (int i = 0; i < LINES; i++) {
+            String line;
+            String givens;
+            if (i == LINES / 2) {
+                line = "1".repeat(3 << 19); // 1.5 MB, longer than the read buffer
+                givens = "";
+            } else if (i % 97 == 13) {
+                line = "not a puzzle";
+                givens = "";
+            } else {
+                givens = switch (i % 31) {
+                    case 7 -> ".".repeat(geometry.getCellCount());
+                    case 11 -> NO_SOLUTION;
+                    default -> puzzles[i % PUZZLES];
+                };
+                line = i % 3 == 0 ? givens.replace('.', '0') : givens;
+            }
+            input.append(line);
+            if (i < LINES - 1) {
+                input.append(i % 5 == 0 ? "\r\n" : "\n");
+            }
+            expected.add(givens + "," + (givens.isEmpty() ? "invalid" : result(solver, givens)));
+        }
+        Path in = directory.resolve("in.txt");
+        Path out = directory.resolve("out.txt");
+        Files.writeString(in, input, StandardCharsets.US_ASCII);
+
+        PuzzleImporter.run(geometry, PuzzleImporter.Mode.VALIDATE, THREADS, PuzzleImporter.DEFAULT_MAX_NODES, in, out);
+
+        List<String> actual = Files.readAllLines(out, StandardCharsets.US_ASCII);
+        assertEquals(expected.size(), actual.size(), "one output line per input line");
+        for (int i = 0; i < expected.size(); i++) {
+            assertEquals(expected.get(i), actual.get(i), "line " + (i + 1));
+        }
+    }
+
+    /**
+     * Returns the validation result of a grid, as the importer writes it.
+     *
+     * @param solver the solver of the grid's size
+     * @param givens the grid, {@code .} for an empty cell
+     * @return {@code none}, {@code unique} or {@code multiple}
+     */
+    private static String result(DlxSolver solver, String givens) {
+        int[] grid = new int[givens.length()];
+        for (int cell = 0; cell < grid.length; cell++) {
+            char symbol = givens.charAt(cell);
+            grid[cell] = symbol == '.' ? 0 : symbol - '0';
+        }
+        return switch (solver.countSolutions(grid, 2)) {
+            case 0 -> "none";
+            case 1 -> "unique";
+            default -> "multiple";
+        };
+    }
+
+    /**
+     * Formats a 9×9 grid as an input line.
+     *
+     * @param grid the grid, 0 for an empty cell
+     * @return one character per cell, {@code .} for an empty cell
+     */
+    private static String format(int[] grid) {
+        StringBuilder line = new StringBuilder(grid.length);
+        for (int value : grid) {
+            line.append(value == 0 ? '.' : (char) ('0' + value));
+        }
+        return line.toString();
+    }
+}
@@ -0,0 +1,589 @@
+package com.sudoku.server;
+
+import com.sudoku.model.Difficulty;
+import com.sudoku.model.DlxSolver;
+import com.sudoku.model.EngineMetrics;
+import com.sudoku.model.Geometry;
+import com.sudoku.model.Puzzle;
+import com.sudoku.model.PuzzleGenerator;
+import com.sudoku.model.PuzzlePool;
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpHandler;
+import com.sun.net.httpserver.HttpServer;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Queue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+/**
+ * Embedded HTTP service generating, solving and validating puzzles, built on
+ * the JDK's {@code com.sun.net.httpserver}.
+ * <p>
+ * Every request runs on its own virtual thread when the JVM has them (Java 21
+ * and later); on older JVMs the executor is looked up reflectively, fails, and
+ * a cached thread pool is used instead. Requests and responses are plain text,
+ * one grid per line in the {@link PuzzleText} format:
+ * </p>
+ * <ul>
+ *   <li>{@code GET /generate?size=9&difficulty=hard&count=1}: {@code count} lines
+ *   {@code givens,solution} of the requested tier, served from a {@link PuzzlePool};
+ *   every parameter is optional;</li>
+ *   <li>{@code POST /solve}: one puzzle per line; answers one line per puzzle, the
+ *   solution, {@code none} or {@code timeout};</li>
+ *   <li>{@code POST /validate}: one {@code grid,cell,value} move per line, the cell
+ *   indexed in row-major order and the value 0 to clear it; answers one line per
+ *   move, {@code conflict} if the value repeats in a row, column or box,
+ *   {@code wrong} if it breaks no rule but leaves the grid without a solution,
+ *   {@code timeout} if that could not be decided, {@code ok} otherwise.</li>
+ * </ul>
+ * <p>
+ * A {@code POST} body is a batch: up to {@value #MAX_BATCH} lines, of mixed
+ * sizes, answered in order in one response. A malformed request is answered
+ * with status 400 and the reason.
+ * </p>
+ * <p>
+ * Grids come from clients, and a sparse or contradictory 16×16 or 25×25 grid
+ * can stall the search for minutes. Each line therefore gets a budget of
+ * {@value #MAX_SEARCH_NODES} search nodes, a few tenths of a second, and is
+ * answered {@code timeout} when it runs out; a batch still running after
+ * {@value #REQUEST_DEADLINE_MILLIS} ms is abandoned with status 503. The same
+ * deadline bounds a {@code /generate} that has drained its shelf and waits on
+ * the pool's producer for the rest.
+ * </p>
+ * <p>
+ * Solvers are not thread-safe and virtual threads make thread-local caches
+ * useless, so the server keeps a queue of idle {@link DlxSolver}s per size
+ * that requests borrow from and give back.
+ * </p>
+ * The service runs headless, from the class path:
+ * <pre>
+ *     java -cp sudoku-core/target/classes:sudoku-server/target/classes com.sudoku.server.PuzzleServer --port 8080
+ * </pre>
+ * Options: {@code --host <address>} (default {@code 127.0.0.1}) and {@code --port <n>} (default 8080).
+ */
+public final class PuzzleServer implements AutoCloseable {
+
+    /** Maximum number of lines of a batch, and of puzzles per {@code /generate}. */
+    public static final int MAX_BATCH = 1000;
+
+    /** Maximum size, in bytes, of a request body: a full batch of 25×25 moves. */
+    private static final int MAX_BODY_BYTES = MAX_BATCH * 640;
+
+    /** Search nodes a line of {@code /solve} or {@code /validate} may visit before it is answered {@code timeout}. */
+    static final long MAX_SEARCH_NODES = 1_000_000;
+
+    /** Time after which a batch stops searching and is answered with status 503. */
+    static final long REQUEST_DEADLINE_MILLIS = 10_000;
+
+    /** Number of puzzles kept ready per size and tier by the pool of {@link #main(String[])}. */
+    private static final int POOL_CAPACITY = 64;
+
+    /**
+     * System property of the JDK server disabling Nagle's algorithm on its
+     * sockets. It applies to every {@code HttpServer} of the JVM, so only
+     * {@link #main(String[])} sets it; an application embedding the server
+     * chooses for itself.
+     */
+    public static final String NODELAY_PROPERTY = "sun.net.httpserver.nodelay";
+
+    /** Underlying JDK server. */
+    private final HttpServer server;
+
+    /** Executor running the requests. */
+    private final ExecutorService executor;
+
+    /** Whether {@link #executor} starts a virtual thread per request. */
+    private final boolean virtualThreads;
+
+    /** Pool the generated puzzles are taken from. */
+    private final PuzzlePool pool;
+
+    /** Idle solvers of each size. */
+    private final Map<Geometry, Queue<DlxSolver>> solvers = new ConcurrentHashMap<>();
+
+    /**
+     * Creates a server and starts listening.
+     *
+     * @param address the address to listen on, port 0 for any free port
+     * @param pool    the pool the generated puzzles are taken from
+     * @throws IOException if the address cannot be bound
+     */
+    public PuzzleServer(InetSocketAddress address, PuzzlePool pool) throws IOException {
+        this.pool = pool;
+        ExecutorService virtual = newVirtualThreadExecutor();
+        this.virtualThreads = virtual != null;
+        this.executor = virtual != null ? virtual : Executors.newCachedThreadPool(task -> {
+            Thread thread = new Thread(task, "puzzle-server");
+            thread.setDaemon(true);
+            return thread;
+        });
+        this.server = HttpServer.create(address, 0);
+        server.createContext("/generate", handler("GET", this::generate));
+        server.createContext("/solve", handler("POST", this::solve));
+        server.createContext("/validate", handler("POST", this::validate));
+        server.setExecutor(executor);
+        server.start();
+    }
+
+    /**
+     * Entry point of the service.
+     * <p>
+     * Unless it is set on the command line, {@link #NODELAY_PROPERTY} is turned
+     * on first: small responses otherwise wait for the client's delayed ACK,
+     * about 40 ms each. The JDK server reads the property once, when its first
+     * instance is created, and for every server of the JVM, which the service
+     * owns alone.
+     * </p>
+     *
+     * @param args the command-line options, see the class description
+     */
+    public static void main(String[] args) {
+        if (System.getProperty(NODELAY_PROPERTY) == null) {
+            System.setProperty(NODELAY_PROPERTY, "true");
+        }
+        String host = "127.0.0.1";
+        int port = 8080;
+        try {
+            for (int i = 0; i < args.length; i++) {
+                String option = args[i];
+                if (i + 1 == args.length) {
+                    throw new IllegalArgumentException("Missing value for " + option);
+                }
+                String value = args[++i];
+                switch (option) {
+                    case "--host" -> host = value;
+                    case "--port" -> port = Integer.parseInt(value);
+                    default -> throw new IllegalArgumentException("Unknown option: " + option);
+                }
+            }
+            EngineMetrics.registerMBeans();
+            PuzzlePool pool = new PuzzlePool(POOL_CAPACITY, PuzzleGenerator.Mode.UNIQUE);
+            PuzzleServer server = new PuzzleServer(new InetSocketAddress(host, port), pool);
+            Runtime.getRuntime().addShutdownHook(new Thread(() -> {
+                server.close();
+                pool.close();
+            }));
+            System.err.printf("Serving on http://%s:%d on %s%n", host, server.getPort(),
+                    server.usesVirtualThreads() ? "virtual threads" : "a cached thread pool");
+        } catch (IllegalArgumentException e) {
+            System.err.println(e.getMessage());
+            System.err.println("Usage: PuzzleServer [--host address] [--port n]");
+            System.exit(2);
+        } catch (IOException e) {
+            System.err.println("Cannot start the server: " + e.getMessage());
+            System.exit(1);
+        }
+    }
+
+    /**
+     * Returns the port the server listens on, useful when it was created with port 0.
+     * @return the local port
+     */
+    public int getPort() {
+        return server.getAddress().getPort();
+    }
+
+    /**
+     * Returns whether each request runs on its own virtual thread.
+     * @return {@code false} if the JVM has no virtual threads and a cached pool is used
+     */
+    public boolean usesVirtualThreads() {
+        return virtualThreads;
+    }
+
+    /**
+     * Stops listening, then stops the executor once the exchanges in progress are done.
+     */
+    @Override
+    public void close() {
+        server.stop(1);
+        executor.shutdown();
+    }
+
+    // ----------------------------------------------------------
+    // Endpoints
+    // ----------------------------------------------------------
+
+    /**
+     * Serves {@code GET /generate}.
+     *
+     * @param exchange the request
+     * @return one {@code givens,solution} line per puzzle
+     */
+    private String generate(HttpExchange exchange) {
+        Geometry geometry = Geometry.NINE;
+        Difficulty difficulty = null;
+        int count = 1;
+        String query = exchange.getRequestURI().getRawQuery();
+        if (query != null && !query.isEmpty()) {
+            for (String parameter : query.split("&")) {
+                int equals = parameter.indexOf('=');
+                String name = equals < 0 ? parameter : parameter.substring(0, equals);
+                String value = equals < 0 ? "" : parameter.substring(equals + 1);
+                switch (name) {
+                    case "size" -> geometry = Geometry.of(parseInt(name, value));
+                    case "difficulty" -> difficulty = parseDifficulty(value);
+                    case "count" -> count = parseInt(name, value);
+                    default -> throw new IllegalArgumentException("Unknown parameter: " + name);
+                }
+            }
+        }
+        if (count < 1 || count > MAX_BATCH) {
+            throw new IllegalArgumentException("count must be between 1 and " + MAX_BATCH);
+        }
+        long deadline = deadline();
+        StringBuilder out = new StringBuilder(count * (2 * geometry.getCellCount() + 2));
+        for (int i = 0; i < count; i++) {
+            Puzzle puzzle = await(pool.take(geometry, difficulty), deadline);
+            PuzzleText.append(out, puzzle.getGivens()).append(',');
+            PuzzleText.append(out, puzzle.getSolution()).append('\n');
+        }
+        return out.toString();
+    }
+
+    /**
+     * Serves {@code POST /solve}.
+     *
+     * @param exchange the request, one puzzle per line
+     * @return the solution of each puzzle, or {@code none}, one per line
+     * @throws IOException if the body cannot be read
+     */
+    private String solve(HttpExchange exchange) throws IOException {
+        List<String> lines = readLines(exchange);
+        long deadline = deadline();
+        StringBuilder out = new StringBuilder(lines.size() * (lines.get(0).length() + 1));
+        for (int i = 0; i < lines.size(); i++) {
+            checkDeadline(deadline);
+            try {
+                String line = lines.get(i);
+                Geometry geometry = PuzzleText.geometryOf(line.length());
+                int[] grid = PuzzleText.parse(line, geometry);
+                DlxSolver solver = borrowSolver(geometry);
+                try {
+                    switch (solver.solve(grid, MAX_SEARCH_NODES)) {
+                        case 1 -> PuzzleText.append(out, grid).append('\n');
+                        case 0 -> out.append("none\n");
+                        default -> out.append("timeout\n");
+                    }
+                } finally {
+                    releaseSolver(solver);
+                }
+            } catch (IllegalArgumentException e) {
+                throw new IllegalArgumentException("Line " + (i + 1) + ": " + e.getMessage());
+            }
+        }
+        return out.toString();
+    }
+
+    /**
+     * Serves {@code POST /validate}.
+     *
+     * @param exchange the request, one {@code grid,cell,value} move per line
+     * @return {@code ok}, {@code conflict}, {@code wrong} or {@code timeout} for each move, one per line
+     * @throws IOException if the body cannot be read
+     */
+    private String validate(HttpExchange exchange) throws IOException {
+        List<String> lines = readLines(exchange);
+        long deadline = deadline();
+        StringBuilder out = new StringBuilder(lines.size() * 9);
+        for (int i = 0; i < lines.size(); i++) {
+            checkDeadline(deadline);
+            try {
+                out.append(validateMove(lines.get(i))).append('\n');
+            } catch (IllegalArgumentException e) {
+                throw new IllegalArgumentException("Line " + (i + 1) + ": " + e.getMessage());
+            }
+        }
+        return out.toString();
+    }
+
+    /**
+     * Validates one move. A move clearing a cell is checked like any other:
+     * the grid left must still have a solution.
+     *
+     * @param line the move, as {@code grid,cell,value}
+     * @return {@code ok}, {@code conflict}, {@code wrong} or {@code timeout}
+     */
+    private String validateMove(String line) {
+        String[] fields = line.split(",", -1);
+        if (fields.length != 3) {
+            throw new IllegalArgumentException("Expected grid,cell,value");
+        }
+        Geometry geometry = PuzzleText.geometryOf(fields[0].length());
+        int[] grid = PuzzleText.parse(fields[0], geometry);
+        int cell = parseInt("cell", fields[1]);
+        int value = parseInt("value", fields[2]);
+        if (cell < 0 || cell >= grid.length) {
+            throw new IllegalArgumentException("Cell must be between 0 and " + (grid.length - 1));
+        }
+        if (value < 0 || value > geometry.getSize()) {
+            throw new IllegalArgumentException("Value must be between 0 and " + geometry.getSize());
+        }
+        if (value != 0) {
+            for (int peer : geometry.peersOf(cell)) {
+                if (grid[peer] == value) {
+                    return "conflict";
+                }
+            }
+        }
+        grid[cell] = value;
+        DlxSolver solver = borrowSolver(geometry);
+        try {
+            return switch (solver.countSolutions(grid, 1, MAX_SEARCH_NODES)) {
+                case 0 -> "wrong";
+                case 1 -> "ok";
+                default -> "timeout";
+            };
+        } finally {
+            releaseSolver(solver);
+        }
+    }
+
+    // ----------------------------------------------------------
+    // Plumbing
+    // ----------------------------------------------------------
+
+    /**
+     * Raised when a batch runs past its deadline; answered with status 503.
+     */
+    @SuppressWarnings("serial") // Never serialized
+    private static final class DeadlineExceededException extends RuntimeException {
+
+        /**
+         * Creates the exception.
+         *
+         * @param message the reason sent to the client
+         */
+        DeadlineExceededException(String message) {
+            super(message);
+        }
+    }
+
+    /**
+     * Returns the deadline of a batch starting now.
+     *
+     * @return the {@link System#nanoTime()} after which the batch is abandoned
+     */
+    private static long deadline() {
+        return System.nanoTime() + REQUEST_DEADLINE_MILLIS * 1_000_000L;
+    }
+
+    /**
+     * Abandons a batch that ran past its deadline.
+     *
+     * @param deadline the {@link System#nanoTime()} after which the batch is abandoned
+     * @throws DeadlineExceededException if the deadline has passed
+     */
+    private static void checkDeadline(long deadline) {
+        if (System.nanoTime() - deadline > 0) {
+            throw deadlineExceeded();
+        }
+    }
+
+    /**
+     * Returns the exception abandoning a batch past its deadline.
+     *
+     * @return the exception, to be thrown
+     */
+    private static DeadlineExceededException deadlineExceeded() {
+        return new DeadlineExceededException("Batch not done within " + REQUEST_DEADLINE_MILLIS
+                + " ms; retry with fewer or fuller grids");
+    }
+
+    /**
+     * Waits for a puzzle from the pool until the deadline of its batch.
+     *
+     * @param puzzle   the pending puzzle, cancelled if the deadline passes first
+     * @param deadline the {@link System#nanoTime()} after which the batch is abandoned
+     * @return the puzzle
+     * @throws DeadlineExceededException if the deadline passes first
+     */
+    private static Puzzle await(CompletableFuture<Puzzle> puzzle, long deadline) {
+        try {
+            return puzzle.get(Math.max(0, deadline - System.nanoTime()), TimeUnit.NANOSECONDS);
+        } catch (TimeoutException e) {
+            puzzle.cancel(false); // Its puzzle goes back to the shelf
+            throw deadlineExceeded();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt(); // Shutting down
+            throw new IllegalStateException("Interrupted while generating", e);
+        } catch (ExecutionException e) {
+            throw new IllegalStateException(e.getCause());
+        }
+    }
+
+    /**
+     * Body of an endpoint, returning the text of a successful response.
+     */
+    @FunctionalInterface
+    private interface Endpoint {
+        /**
+         * Handles a request.
+         *
+         * @param exchange the request
+         * @return the response body
+         * @throws IOException              if the request cannot be read
+         * @throws IllegalArgumentException if the request is malformed
+         */
+        String handle(HttpExchange exchange) throws IOException;
+    }
+
+    /**
+     * Wraps an endpoint into a handler that checks the method, maps malformed
+     * requests to status 400 and batches past their deadline to 503, and writes
+     * the response.
+     *
+     * @param method   the HTTP method the endpoint accepts
+     * @param endpoint the endpoint
+     * @return the handler
+     */
+    private static HttpHandler handler(String method, Endpoint endpoint) {
+        return exchange -> {
+            try (exchange) {
+                int status;
+                String body;
+                if (!exchange.getRequestMethod().equals(method)) {
+                    exchange.getResponseHeaders().set("Allow", method);
+                    status = 405;
+                    body = "Use " + method + "\n";
+                } else {
+                    try {
+                        body = endpoint.handle(exchange);
+                        status = 200;
+                    } catch (IllegalArgumentException e) {
+                        status = 400;
+                        body = e.getMessage() + "\n";
+                    } catch (DeadlineExceededException e) {
+                        status = 503;
+                        body = e.getMessage() + "\n";
+                    } catch (RuntimeException e) {
+                        status = 500;
+                        body = e + "\n";
+                    }
+                }
+                byte[] bytes = body.getBytes(StandardCharsets.US_ASCII);
+                exchange.getResponseHeaders().set("Content-Type", "text/plain; charset=us-ascii");
+                exchange.sendResponseHeaders(status, bytes.length);
+                try (OutputStream out = exchange.getResponseBody()) {
+                    out.write(bytes);
+                }
+            }
+        };
+    }
+
+    /**
+     * Reads the non-blank lines of a request body.
+     *
+     * @param exchange the request
+     * @return the lines, without their terminators; at least one
+     * @throws IOException              if the body cannot be read
+     * @throws IllegalArgumentException if the body is empty or too large
+     */
+    private static List<String> readLines(HttpExchange exchange) throws IOException {
+        byte[] body;
+        try (InputStream in = exchange.getRequestBody()) {
+            body = in.readNBytes(MAX_BODY_BYTES + 1);
+        }
+        if (body.length > MAX_BODY_BYTES) {
+            throw new IllegalArgumentException("Request body larger than " + MAX_BODY_BYTES + " bytes");
+        }
+        List<String> lines = new ArrayList<>();
+        int start = 0;
+        for (int i = 0; i <= body.length; i++) {
+            if (i == body.length || body[i] == '\n') {
+                int end = i > start && body[i - 1] == '\r' ? i - 1 : i;
+                if (end > start) {
+                    lines.add(new String(body, start, end - start, StandardCharsets.US_ASCII));
+                }
+                start = i + 1;
+            }
+        }
+        if (lines.isEmpty()) {
+            throw new IllegalArgumentException("Empty request");
+        }
+        if (lines.size() > MAX_BATCH) {
+            throw new IllegalArgumentException("At most " + MAX_BATCH + " lines per request");
+        }
+        return lines;
+    }
+
+    /**
+     * Takes an idle solver of a size, creating one if there is none.
+     *
+     * @param geometry the size of the grids to solve
+     * @return a solver used by no other request
+     */
+    private DlxSolver borrowSolver(Geometry geometry) {
+        DlxSolver solver = solvers.computeIfAbsent(geometry, g -> new ConcurrentLinkedQueue<>()).poll();
+        return solver != null ? solver : new DlxSolver(geometry);
+    }
+
+    /**
+     * Gives a solver back once a request is done with it.
+     *
+     * @param solver the solver taken with {@link #borrowSolver(Geometry)}
+     */
+    private void releaseSolver(DlxSolver solver) {
+        solvers.get(solver.getGeometry()).offer(solver);
+    }
+
+    /**
+     * Parses an integer parameter.
+     *
+     * @param name  the name of the parameter, for the error message
+     * @param value the text of the value
+     * @return the value
+     * @throws IllegalArgumentException if the value is not an integer
+     */
+    private static int parseInt(String name, String value) {
+        try {
+            return Integer.parseInt(value.trim());
+        } catch (NumberFormatException e) {
+            throw new IllegalArgumentException("Invalid " + name + ": " + value);
+        }
+    }
+
+    /**
+     * Parses a difficulty tier, ignoring case.
+     *
+     * @param value the name of the tier
+     * @return the tier
+     * @throws IllegalArgumentException if no tier has that name
+     */
+    private static Difficulty parseDifficulty(String value) {
+        try {
+            return Difficulty.valueOf(value.toUpperCase(Locale.ROOT));
+        } catch (IllegalArgumentException e) {
+            throw new IllegalArgumentException("Unknown difficulty: " + value);
+        }
+    }
+
+    /**
+     * Creates an executor starting a virtual thread per task, looked up
+     * reflectively so the server still compiles and runs on Java 17.
+     *
+     * @return the executor, or {@code null} if the JVM has no virtual threads
+     */
+    private static ExecutorService newVirtualThreadExecutor() {
+        try {
+            return (ExecutorService) Executors.class.getMethod("newVirtualThreadPerTaskExecutor").invoke(null);
+        } catch (ReflectiveOperationException | UnsupportedOperationException e) {
+            return null;
+        }
+    }
+}
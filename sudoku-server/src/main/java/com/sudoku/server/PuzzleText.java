@@ -0,0 +1,87 @@
+package com.sudoku.server;
+
+import com.sudoku.model.Geometry;
+
+/**
+ * Text form of a grid used on the wire, the same as the lines written by
+ * {@code BulkGenerator}: one character per cell in row-major order, digits
+ * {@code 1-9} then letters {@code A-P} for grids larger than 9×9, and
+ * {@code .} (or {@code 0}) for an empty cell.
+ * <p>
+ * The size of the grid follows from the length of the text: 81 characters
+ * are a 9×9 grid, 36 a 6×6 one, and so on.
+ * </p>
+ */
+public final class PuzzleText {
+
+    /** Characters of the digits 1 to 25; index 0 marks an empty cell. */
+    private static final String SYMBOLS = ".123456789ABCDEFGHIJKLMNOP";
+
+    /** Utility class, not meant to be instantiated. */
+    private PuzzleText() {
+    }
+
+    /**
+     * Returns the geometry of a grid from the length of its text.
+     *
+     * @param length the number of characters of the grid
+     * @return the geometry whose cell count is {@code length}
+     * @throws IllegalArgumentException if no supported grid has that many cells
+     */
+    public static Geometry geometryOf(int length) {
+        int size = (int) Math.round(Math.sqrt(length));
+        if (size * size != length) {
+            throw new IllegalArgumentException("A grid of " + length + " cells is not square");
+        }
+        return Geometry.of(size);
+    }
+
+    /**
+     * Parses a grid.
+     *
+     * @param text     the characters of the grid
+     * @param geometry the shape of the grid
+     * @return the value of each cell, 0 for empty
+     * @throws IllegalArgumentException if the text has the wrong length or a character
+     *                                  is not a digit of the geometry
+     */
+    public static int[] parse(CharSequence text, Geometry geometry) {
+        if (text.length() != geometry.getCellCount()) {
+            throw new IllegalArgumentException("Grid must have " + geometry.getCellCount() + " cells");
+        }
+        int[] values = new int[text.length()];
+        for (int cell = 0; cell < values.length; cell++) {
+            char symbol = Character.toUpperCase(text.charAt(cell));
+            int digit = symbol == '0' ? 0 : SYMBOLS.indexOf(symbol);
+            if (digit < 0 || digit > geometry.getSize()) {
+                throw new IllegalArgumentException("Invalid character '" + text.charAt(cell) + "' at cell " + cell);
+            }
+            values[cell] = digit;
+        }
+        return values;
+    }
+
+    /**
+     * Appends the text of a grid.
+     *
+     * @param out    the builder to append to
+     * @param values the value of each cell, 0 for empty
+     * @return the builder
+     */
+    public static StringBuilder append(StringBuilder out, int[] values) {
+        for (int value : values) {
+            out.append(SYMBOLS.charAt(value));
+        }
+        return out;
+    }
+
+    /**
+     * Formats a grid.
+     *
+     * @param values the value of each cell, 0 for empty
+     * @return the text of the grid
+     */
+    public static String format(int[] values) {
+        return append(new StringBuilder(values.length), values).toString();
+    }
+}
@@ -0,0 +1,11 @@
+/**
+ * Embedded HTTP service generating, solving and validating puzzles for other
+ * tools, on top of the {@code com.sudoku.core} engine and the JDK's own
+ * {@code com.sun.net.httpserver}.
+ */
+module com.sudoku.server {
+    requires transitive com.sudoku.core; // Its types appear in the server API
+    requires jdk.httpserver;
+
+    exports com.sudoku.server;
+}
@@ -0,0 +1,807 @@
+package com.sudoku.controller;
+
+import com.sudoku.model.AutoSaver;
+import com.sudoku.model.BoardFactory;
+import com.sudoku.model.Geometry;
+import com.sudoku.model.Helper;
+import com.sudoku.model.Hint;
+import com.sudoku.model.IBoard;
+import com.sudoku.model.MoveLog;
+import com.sudoku.model.SavedGame;
+import com.sudoku.view.GameWindow;
+import com.sudoku.view.SudokuMainMenu;
+import com.sudoku.view.VictoryWindow;
+import javafx.animation.Animation;
+import javafx.animation.KeyFrame;
+import javafx.animation.PauseTransition;
+import javafx.animation.Timeline;
+import javafx.application.Platform;
+import javafx.event.ActionEvent;
+import javafx.fxml.FXML;
+import javafx.fxml.FXMLLoader;
+import javafx.geometry.Pos;
+import javafx.scene.Node;
+import javafx.scene.Parent;
+import javafx.scene.Scene;
+import javafx.scene.control.Button;
+import javafx.scene.control.Label;
+import javafx.scene.control.TextField;
+import javafx.scene.control.TextFormatter;
+import javafx.scene.input.KeyCode;
+import javafx.scene.input.KeyEvent;
+import javafx.scene.layout.ColumnConstraints;
+import javafx.scene.layout.GridPane;
+import javafx.scene.layout.RowConstraints;
+import javafx.stage.Stage;
+import javafx.util.Duration;
+
+import java.io.IOException;
+import java.util.LinkedList;
+import java.util.Queue;
+
+/**
+ * Controller class for the Sudoku game window.
+ * <p>
+ * This class handles all the logic for managing user input, validating Sudoku rules,
+ * interacting with the Board model, updating the UI, and managing navigation between
+ * different sections of the application.
+ * </p>
+ */
+public class GameWindowController {
+    /** It tells us if the player completed the sudoku*/
+    private boolean victoryShown = false;
+
+
+    /** The main Sudoku board model instance (implementation chosen by {@link BoardFactory}). */
+    private final IBoard board;
+
+    /** Helper class used to generate Sudoku hints. */
+    private final Helper helper;
+
+    /** Shape of the board being played. */
+    private final Geometry geometry;
+
+    /** Side length, in pixels, of the square the grid is fitted into when it is built in code. */
+    private static final double GRID_EXTENT = 450;
+
+    /** Center of the grid laid out in the FXML view, kept when the grid is rebuilt for another size. */
+    private static final double GRID_CENTER_X = 620;
+
+    /** Vertical center of the grid laid out in the FXML view. */
+    private static final double GRID_CENTER_Y = 349;
+
+    /** Quiet time after the last edit before the game is autosaved, so a burst of edits costs one save. */
+    private static final Duration AUTOSAVE_DELAY = Duration.millis(500);
+
+    /** Time played in earlier sessions of this game, in milliseconds. */
+    private final long previousMillis;
+
+    /** {@link System#nanoTime()} when this session of the game started. */
+    private long sessionStartNanos;
+
+    /** Ticks the timer label every second while the game is played. */
+    private Timeline clock;
+
+    /** Debounces the autosave: restarted by every edit, saves when it runs out. */
+    private PauseTransition autosaveDelay;
+
+    /** Inline font size of the cells when the grid is built in code; empty for the FXML grid. */
+    private String cellFontStyle = "";
+
+    /** GridPane representing the Sudoku layout in the FXML view. */
+    @FXML
+    private GridPane sudokuGrid;
+
+    /** 2D array for easier access to Sudoku TextFields by row and column. */
+    private final TextField[][] textFields;
+
+    /** TextFields indexed by their {@link Geometry} cell index, used to restyle the cells reported by the board. */
+    private final TextField[] textFieldsByCell;
+
+    /** Pencil-mark label under each cell, indexed by {@link Geometry} cell index. */
+    private final Label[] pencilMarks;
+
+    /** Whether the pencil marks (candidates of the empty cells) are shown. */
+    private boolean pencilMarksShown = false;
+
+    /** Undo/redo history of the moves of the player and of the hints. */
+    private final MoveLog moveLog;
+
+    /** Set while an undo or redo writes a cell, so that the write is not recorded as a new move. */
+    private boolean replayingMove = false;
+
+    /** Queue storing the last six entered values by the player. */
+    private Queue<String> lastValues = new LinkedList<>();
+
+    /** Label used to display the last values entered by the user. */
+    @FXML
+    private Label textFieldLastValues;
+
+    /** Button to go back to the main menu. */
+    @FXML
+    private Button buttonBack;
+
+    /** Button to close the current game window. */
+    @FXML
+    private Button buttonClose;
+
+    /** Button to trigger the help (hint) feature. */
+    @FXML
+    private Button help;
+
+    /** Label telling which technique the last hint used. */
+    @FXML
+    private Label hintLabel;
+
+    /** Button that shows or hides the pencil marks. */
+    @FXML
+    private Button notesButton;
+
+    /** Label showing the time played. */
+    @FXML
+    private Label timerLabel;
+
+    /** Button that undoes the last move. */
+    @FXML
+    private Button undoButton;
+
+    /** Button that redoes the last undone move. */
+    @FXML
+    private Button redoButton;
+
+    /**
+     * Creates a controller playing a freshly generated board, as configured by {@link BoardFactory}.
+     */
+    public GameWindowController() {
+        this(BoardFactory.createBoard());
+    }
+
+    /**
+     * Creates a controller playing the given board, e.g. one loaded from a pooled puzzle.
+     *
+     * @param board the board to play
+     */
+    public GameWindowController(IBoard board) {
+        this(board, new MoveLog(), 0);
+    }
+
+    /**
+     * Creates a controller resuming a saved game, with its values, move history and time played.
+     *
+     * @param game the saved game
+     */
+    public GameWindowController(SavedGame game) {
+        this(game.restoreBoard(), game.restoreMoves(), game.getElapsedMillis());
+    }
+
+    /**
+     * Creates a controller playing a board with the given history.
+     *
+     * @param board          the board to play
+     * @param moveLog        the move history of the game
+     * @param previousMillis the time played in earlier sessions, in milliseconds
+     */
+    private GameWindowController(IBoard board, MoveLog moveLog, long previousMillis) {
+        this.board = board;
+        this.moveLog = moveLog;
+        this.previousMillis = previousMillis;
+        this.helper = new Helper(board);
+        this.geometry = board.getGeometry();
+        this.textFields = new TextField[geometry.getSize()][geometry.getSize()];
+        this.textFieldsByCell = new TextField[geometry.getCellCount()];
+        this.pencilMarks = new Label[geometry.getCellCount()];
+    }
+
+    /**
+     * Initializes the game window and configures all TextFields inside the Sudoku grid.
+     * <p>
+     * This method sets input filters, initializes the grid with board values,
+     * handles navigation with arrow keys, and listens to text changes to trigger validation.
+     * The FXML view lays out a 6×6 grid; for any other {@link Geometry} the grid is rebuilt in code.
+     * The hint label names the seed of a generated puzzle until the first hint.
+     * </p>
+     */
+    @FXML
+    private void initialize() {
+        if (geometry != Geometry.SIX) {
+            buildGrid();
+        }
+
+        for (Node node : sudokuGrid.getChildren()) {
+            if (node instanceof TextField) {
+                TextField tf = (TextField) node;
+                Integer row = GridPane.getRowIndex(tf);
+                Integer col = GridPane.getColumnIndex(tf);
+                textFields[row][col] = tf;
+                int cell = geometry.indexOf(tf.getId());
+                textFieldsByCell[cell] = tf;
+
+                ignoreInvalidInputs(tf);
+                setEmptyTextFields(tf);
+                setiIrrenewableValues(tf);
+
+                // we listen the changer
+                setiIrrenewableValues(tf);
+
+                // Listen for text changes in each field
+                tf.textProperty().addListener((obs, oldVal, newVal) -> {
+                    KeystrokeEvent event = new KeystrokeEvent();
+                    event.begin();
+                    int newValue = newVal.isEmpty() ? 0 : geometry.digitOf(newVal);
+                    if (!replayingMove) {
+                        moveLog.record(cell, oldVal.isEmpty() ? 0 : geometry.digitOf(oldVal), newValue);
+                        updateHistoryButtons();
+                    }
+                    board.setNodeValue(cell, newValue);
+                    autosaveDelay.playFromStart();
+
+                    // Restyle only the cells whose conflict state changed with this edit
+                    restyleChangedCells();
+                    refreshPencilMarks(cell);
+                    event.end();
+                    if (event.shouldCommit()) {
+                        event.size = geometry.getSize();
+                        event.cell = cell;
+                        event.value = newValue;
+                        event.valid = board.validateInput(cell);
+                        event.changedCells = board.getChangedCellCount();
+                        event.commit();
+                    }
+
+                    if (!newVal.isEmpty()) {
+                        if (!replayingMove) {
+                            addValueToList(newVal);
+                        }
+                        checkVictory();
+                    }
+                });
+
+                tf.addEventFilter(KeyEvent.KEY_PRESSED, e -> handleArrowNavigation(e, row, col));
+            }
+        }
+
+        addPencilMarks();
+        sudokuGrid.addEventFilter(KeyEvent.KEY_PRESSED, this::handleHistoryShortcut);
+        updateHistoryButtons();
+        startClock();
+
+        // Name the seed that replays the puzzle with -Dsudoku.seed
+        board.getPuzzle().getSeed().ifPresent(seed -> hintLabel.setText("Seed " + seed));
+
+        // Final validation on startup
+        validateAllTextFields();
+
+        if(board.isSudokuCompleteAndValid()){
+            System.out.println("ganaste un pene");
+        }
+    }
+
+    // ----------------------------------------------------------
+    // Timer and autosave
+    // ----------------------------------------------------------
+
+    /**
+     * Starts the timer of this session and the autosave debounce, and saves the
+     * game once so that a new game replaces the previous save right away.
+     */
+    private void startClock() {
+        sessionStartNanos = System.nanoTime();
+        clock = new Timeline(new KeyFrame(Duration.seconds(1), e -> showElapsedTime()));
+        clock.setCycleCount(Animation.INDEFINITE);
+        clock.play();
+        showElapsedTime();
+        autosaveDelay = new PauseTransition(AUTOSAVE_DELAY);
+        autosaveDelay.setOnFinished(e -> saveGame());
+        autosaveDelay.playFromStart();
+    }
+
+    /**
+     * Returns the time played on this game, over all its sessions.
+     *
+     * @return the time played, in milliseconds
+     */
+    private long getElapsedMillis() {
+        return previousMillis + (System.nanoTime() - sessionStartNanos) / 1_000_000;
+    }
+
+    /**
+     * Shows the time played as {@code m:ss}, or {@code h:mm:ss} past an hour.
+     */
+    private void showElapsedTime() {
+        long seconds = getElapsedMillis() / 1000;
+        timerLabel.setText(seconds >= 3600
+                ? String.format("%d:%02d:%02d", seconds / 3600, seconds / 60 % 60, seconds % 60)
+                : String.format("%d:%02d", seconds / 60, seconds % 60));
+    }
+
+    /**
+     * Hands a snapshot of the game to the background {@link AutoSaver}; taking it
+     * only copies a few arrays, so the FX thread never waits on the disk.
+     */
+    private void saveGame() {
+        if (!victoryShown) {
+            AutoSaver.getShared().save(SavedGame.capture(board, moveLog, getElapsedMillis()));
+        }
+    }
+
+    /**
+     * Stops the timer and the pending autosave, e.g. when the window closes.
+     */
+    private void stopClock() {
+        clock.stop();
+        autosaveDelay.stop();
+    }
+
+    /**
+     * Replaces the TextFields of the FXML grid with one TextField per cell of the
+     * current {@link Geometry}, fitted into the same area of the window.
+     * <p>
+     * The generated fields get the same {@code P{section}C{cell}} IDs as the FXML ones.
+     * </p>
+     */
+    private void buildGrid() {
+        int size = geometry.getSize();
+        double cellSize = Math.min(60, Math.floor(GRID_EXTENT / size));
+        double extent = cellSize * size;
+        cellFontStyle = "-fx-font-size: " + Math.round(cellSize * 0.5) + "px; ";
+
+        sudokuGrid.getChildren().removeIf(node -> node instanceof TextField);
+        sudokuGrid.getColumnConstraints().clear();
+        sudokuGrid.getRowConstraints().clear();
+        for (int i = 0; i < size; i++) {
+            sudokuGrid.getColumnConstraints().add(new ColumnConstraints(cellSize));
+            sudokuGrid.getRowConstraints().add(new RowConstraints(cellSize));
+        }
+        sudokuGrid.setMinSize(extent, extent);
+        sudokuGrid.setPrefSize(extent, extent);
+        sudokuGrid.setMaxSize(extent, extent);
+        sudokuGrid.setLayoutX(GRID_CENTER_X - extent / 2);
+        sudokuGrid.setLayoutY(GRID_CENTER_Y - extent / 2);
+
+        for (int cell = 0; cell < geometry.getCellCount(); cell++) {
+            TextField tf = new TextField();
+            tf.setId(geometry.idOf(cell));
+            tf.setAlignment(Pos.CENTER);
+            tf.setPrefSize(cellSize, cellSize);
+            sudokuGrid.add(tf, geometry.colOf(cell), geometry.rowOf(cell));
+        }
+    }
+
+    /**
+     * Adds one pencil-mark label under each cell of the grid. The labels are
+     * mouse-transparent, so clicks still reach the TextFields on top of them.
+     */
+    private void addPencilMarks() {
+        double cellExtent = sudokuGrid.getPrefWidth() / geometry.getSize();
+        long fontSize = Math.max(6, Math.round(cellExtent / (geometry.getBoxCols() * (geometry.getSize() > 9 ? 2.6 : 1.9))));
+        for (int cell = 0; cell < geometry.getCellCount(); cell++) {
+            Label label = new Label();
+            label.getStyleClass().add("pencil-mark");
+            label.setStyle("-fx-font-size: " + fontSize + "px;");
+            label.setMouseTransparent(true);
+            label.setMaxSize(Double.MAX_VALUE, Double.MAX_VALUE);
+            GridPane.setConstraints(label, geometry.colOf(cell), geometry.rowOf(cell));
+            sudokuGrid.getChildren().add(0, label);
+            pencilMarks[cell] = label;
+        }
+    }
+
+    /**
+     * Shows or hides the pencil marks of every empty cell.
+     *
+     * @param event the button click event
+     */
+    @FXML
+    void togglePencilMarks(ActionEvent event) {
+        pencilMarksShown = !pencilMarksShown;
+        notesButton.setText(pencilMarksShown ? "Hide notes" : "Notes");
+        for (int cell = 0; cell < geometry.getCellCount(); cell++) {
+            showPencilMarks(cell);
+        }
+    }
+
+    /**
+     * Updates the pencil marks after a write: only the written cell and its
+     * peers can have gained or lost candidates.
+     *
+     * @param cell the cell index that was written
+     */
+    private void refreshPencilMarks(int cell) {
+        if (!pencilMarksShown) {
+            return;
+        }
+        showPencilMarks(cell);
+        for (int peer : geometry.peersOf(cell)) {
+            showPencilMarks(peer);
+        }
+    }
+
+    /**
+     * Shows the candidates of a cell from {@link IBoard#getCandidates(int)},
+     * laid out like the digits of a section, or clears them if the cell is filled
+     * or the pencil marks are hidden.
+     *
+     * @param cell the cell index
+     */
+    private void showPencilMarks(int cell) {
+        Label label = pencilMarks[cell];
+        if (label == null) {
+            return;
+        }
+        int candidates = pencilMarksShown ? board.getCandidates(cell) : 0;
+        if (candidates == 0) {
+            label.setText("");
+            return;
+        }
+        int size = geometry.getSize();
+        String blank = size > 9 ? "  " : " ";
+        StringBuilder text = new StringBuilder();
+        for (int digit = 1; digit <= size; digit++) {
+            String value = (candidates & (1 << digit)) != 0 ? geometry.valueString(digit) : blank;
+            text.append(value.length() < blank.length() ? " " + value : value);
+            if (digit < size) {
+                text.append(digit % geometry.getBoxCols() == 0 ? '\n' : ' ');
+            }
+        }
+        label.setText(text.toString());
+    }
+
+    /**
+     * Fills TextFields with values from the board. If a node is empty (" "), it sets it as blank.
+     *
+     * @param tf the TextField to update
+     */
+    private void setEmptyTextFields(TextField tf) {
+        tf.setText(board.getValueNode(tf.getId()).equals(" ") ? "" : board.getValueNode(tf.getId()));
+    }
+
+    /**
+     * Restyles the cells affected by the last write to the board.
+     * <p>
+     * The board reports the edited cell and every peer whose conflict state
+     * changed, so the cost per keystroke does not depend on the grid size.
+     * </p>
+     */
+    private void restyleChangedCells() {
+        int changed = board.getChangedCellCount();
+        for (int i = 0; i < changed; i++) {
+            TextField tf = textFieldsByCell[board.getChangedCell(i)];
+            if (tf != null) {
+                styleTextField(tf);
+            }
+        }
+    }
+
+    /**
+     * Colors a TextField red if its value violates Sudoku rules, or restores the
+     * neutral style if it is empty or valid.
+     *
+     * @param tf the TextField to style
+     */
+    private void styleTextField(TextField tf) {
+        if (tf.getText().isEmpty() || board.validateInput(tf.getId())) {
+            tf.setStyle(cellFontStyle + "-fx-background-color: transparent; -fx-text-fill: #dcdcdc;");
+        } else {
+            tf.setStyle(cellFontStyle + "-fx-text-fill: red; -fx-border-width: 2px;");
+        }
+    }
+
+    /**
+     * Opens the victory window the first time the board is complete and valid,
+     * and closes the game window. Each check is recorded as a {@link VictoryCheckEvent}.
+     */
+    private void checkVictory() {
+        if (victoryShown) {
+            return;
+        }
+        VictoryCheckEvent event = new VictoryCheckEvent();
+        event.begin();
+        boolean won = board.isSudokuCompleteAndValid();
+        event.end();
+        if (event.shouldCommit()) {
+            event.size = geometry.getSize();
+            event.won = won;
+            event.commit();
+        }
+        if (!won) {
+            return;
+        }
+        victoryShown = true;
+        stopClock();
+        AutoSaver.getShared().delete();
+        Platform.runLater(() -> {
+            try {
+                System.out.println("Intentando abrir ventana de victoria...");
+
+                // Cargar la ventana de victoria
+                FXMLLoader loader = new FXMLLoader(getClass().getResource("/com/sudoku/VictoryWindow.fxml"));
+                Parent root = loader.load();
+
+                Stage victoryStage = new Stage();
+                victoryStage.setScene(new Scene(root));
+                victoryStage.setTitle("¡Victoria!");
+                victoryStage.setResizable(false);
+                victoryStage.show();
+
+                System.out.println("Ventana de victoria abierta!");
+
+                // Cerrar ventana actual del juego
+                Stage currentStage = (Stage) sudokuGrid.getScene().getWindow();
+                currentStage.close();
+
+            } catch (IOException e) {
+                System.err.println("ERROR AL ABRIR VENTANA DE VICTORIA:");
+                e.printStackTrace();
+            }
+        });
+    }
+
+    /**
+     * Validates all TextFields in the Sudoku grid, coloring them red if the value violates Sudoku rules.
+     * <p>
+     * Cells that are empty or valid are restored to a neutral visual style.
+     * </p>
+     */
+    private void validateAllTextFields() {
+        for (Node node : sudokuGrid.getChildren()) {
+            if (node instanceof TextField tf) {
+                styleTextField(tf);
+            }
+        }
+    }
+
+    /**
+     * Makes TextFields representing initial Sudoku values uneditable.
+     *
+     * @param tf the TextField to configure
+     */
+    private void setiIrrenewableValues(TextField tf) {
+        if (board.getNode(tf.getId()).getIsInitialValue()) {
+            tf.setEditable(false);
+        }
+    }
+
+    /**
+     * Restricts TextField input to the numbers 1 through the size of the board.
+     *
+     * @param tf the TextField to attach the filter to
+     */
+    private void ignoreInvalidInputs(TextField tf) {
+        tf.setTextFormatter(new TextFormatter<>(change -> {
+            String newText = change.getControlNewText();
+            if (newText.isEmpty()) {
+                return change;
+            }
+            if (newText.matches("[1-9][0-9]?") && Integer.parseInt(newText) <= geometry.getSize()) {
+                return change;
+            }
+            return null;
+        }));
+    }
+
+    /**
+     * Handles arrow key navigation across Sudoku cells.
+     *
+     * @param e   the KeyEvent triggered by an arrow key
+     * @param row the current row of the focused cell
+     * @param col the current column of the focused cell
+     */
+    private void handleArrowNavigation(KeyEvent e, int row, int col) {
+        switch (e.getCode()) {
+            case RIGHT -> moveFocus(row, col + 1);
+            case LEFT -> moveFocus(row, col - 1);
+            case DOWN -> moveFocus(row + 1, col);
+            case UP -> moveFocus(row - 1, col);
+        }
+    }
+
+    /**
+     * Handles the undo ({@code Ctrl+Z}) and redo ({@code Ctrl+Y} or {@code Ctrl+Shift+Z})
+     * shortcuts before the focused TextField can apply its own text undo.
+     *
+     * @param e the KeyEvent received by the grid
+     */
+    private void handleHistoryShortcut(KeyEvent e) {
+        if (!e.isShortcutDown()) {
+            return;
+        }
+        if (e.getCode() == KeyCode.Z && !e.isShiftDown()) {
+            undo(null);
+            e.consume();
+        } else if (e.getCode() == KeyCode.Y || e.getCode() == KeyCode.Z) {
+            redo(null);
+            e.consume();
+        }
+    }
+
+    /**
+     * Handles the "Undo" button action — puts back the value the last move replaced.
+     *
+     * @param event the button click event
+     */
+    @FXML
+    void undo(ActionEvent event) {
+        int move = moveLog.undo();
+        if (move != MoveLog.NO_MOVE) {
+            replayMove(MoveLog.cellOf(move), MoveLog.oldValueOf(move));
+        }
+    }
+
+    /**
+     * Handles the "Redo" button action — writes again the value of the last undone move.
+     *
+     * @param event the button click event
+     */
+    @FXML
+    void redo(ActionEvent event) {
+        int move = moveLog.redo();
+        if (move != MoveLog.NO_MOVE) {
+            replayMove(MoveLog.cellOf(move), MoveLog.newValueOf(move));
+        }
+    }
+
+    /**
+     * Writes a value of the move history into its cell. The text listener
+     * updates the board, the conflict styles of the changed cells and the
+     * pencil marks, without recording the write as a new move.
+     *
+     * @param cell  the cell index
+     * @param value the value to write, 0 for empty
+     */
+    private void replayMove(int cell, int value) {
+        replayingMove = true;
+        try {
+            textFieldsByCell[cell].setText(value == 0 ? "" : geometry.valueString(value));
+        } finally {
+            replayingMove = false;
+        }
+        updateHistoryButtons();
+    }
+
+    /**
+     * Enables the undo and redo buttons only when there is a move to undo or redo.
+     */
+    private void updateHistoryButtons() {
+        undoButton.setDisable(!moveLog.canUndo());
+        redoButton.setDisable(!moveLog.canRedo());
+    }
+
+    /**
+     * Moves the focus to another cell in the Sudoku grid.
+     *
+     * @param newRow the target row index
+     * @param newCol the target column index
+     */
+    private void moveFocus(int newRow, int newCol) {
+        int size = geometry.getSize();
+        if (newRow >= 0 && newRow < size && newCol >= 0 && newCol < size) {
+            TextField next = textFields[newRow][newCol];
+            if (next != null && next.isEditable()) {
+                next.requestFocus();
+            } else {
+                // Si no es editable, sigue avanzando en esa dirección
+                moveFocusRecursively(newRow, newCol, newRow - (next == null ? 0 : 0), newCol);
+            }
+        }
+    }
+
+    /**
+     * Recursively skips non-editable cells during navigation.
+     *
+     * @param row      the current row index
+     * @param col      the current column index
+     * @param deltaRow the row step
+     * @param deltaCol the column step
+     */
+    private void moveFocusRecursively(int row, int col, int deltaRow, int deltaCol) {
+        // Movimiento recursivo para saltar celdas bloqueadas
+        if (row < 0 || row >= geometry.getSize() || col < 0 || col >= geometry.getSize()) return;
+        TextField next = textFields[row][col];
+        if (next != null && next.isEditable()) {
+            next.requestFocus();
+        }
+    }
+
+    /**
+     * Adds a value to the queue of recently entered numbers and updates the display label.
+     *
+     * @param value the number entered by the user
+     */
+    private void addValueToList(String value) {
+        lastValues.add(value);
+        if (lastValues.size() > 6) {
+            lastValues.poll();
+        }
+        showLastValues();
+    }
+
+    /**
+     * Displays the last entered values on the label at the bottom of the UI.
+     */
+    void showLastValues() {
+        StringBuilder message = new StringBuilder();
+        for (String value : lastValues) {
+            message.append(value).append(" ");
+        }
+        textFieldLastValues.setText("Last Numbers Typing: "+ message);
+    }
+
+    /**
+     * Handles the "Back" button action — closes the game and reopens the main menu.
+     *
+     * @param event the button click event
+     * @throws IOException if the menu cannot be loaded
+     */
+    @FXML
+    void backMenu(ActionEvent event) throws IOException {
+        stopClock();
+        saveGame();
+        GameWindow.getInstance().closeInstance();
+        SudokuMainMenu.getInstance().showInstance();
+    }
+
+    /**
+     * Handles the "Close" button action — saves the game and closes the current game window.
+     *
+     * @param event the button click event
+     * @throws IOException if the window cannot be closed
+     */
+    @FXML
+    void closeGame(ActionEvent event) throws IOException {
+        stopClock();
+        saveGame();
+        AutoSaver.getShared().flush();
+        GameWindow.getInstance().closeInstance();
+    }
+
+    /**
+     * Handles the "Help" button action — fills a random empty cell with the correct value.
+     * The modified cell is highlighted briefly in gold.
+     * <p>
+     * The value is typed into the hint cell's TextField only: its text listener
+     * writes the board, records the move and restyles the cells whose conflict
+     * state changed, as for a keystroke.
+     * </p>
+     *
+     * @param event the button click event
+     */
+    @FXML
+    void help(ActionEvent event) {
+        Hint hint = helper.findHint();
+        if (hint != null) {
+            textFieldsByCell[hint.getCell()].setText(geometry.valueString(hint.getValue()));
+            highlightHintCell(hint.getCell());
+            hintLabel.setText(describeHint(hint));
+        }
+    }
+
+    /**
+     * Describes why a hint cell takes its value, e.g. {@code "Hidden single"}.
+     *
+     * @param hint the hint applied
+     * @return the text shown under the grid
+     */
+    private String describeHint(Hint hint) {
+        if (hint.isCorrection()) {
+            return "Corrected a wrong value";
+        }
+        if (hint.getTechnique() == null) {
+            return "Revealed from the solution";
+        }
+        String name = hint.getTechnique().name().replace('_', ' ').toLowerCase();
+        return Character.toUpperCase(name.charAt(0)) + name.substring(1);
+    }
+
+    /**
+     * Highlights a specific TextField temporarily to indicate a provided hint.
+     *
+     * @param cell the {@link Geometry} index of the cell to highlight, whose value was changed
+     */
+    private void highlightHintCell(int cell) {
+        TextField tf = textFieldsByCell[cell];
+        tf.setStyle(cellFontStyle + "-fx-background-color: gold; -fx-text-fill: black; -fx-font-weight: bold;");
+        PauseTransition pause = new PauseTransition(Duration.seconds(2));
+        pause.setOnFinished(e -> styleTextField(tf));
+        pause.play();
+    }
+}
@@ -0,0 +1,48 @@
+package com.sudoku.controller;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Enabled;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+import jdk.jfr.Threshold;
+
+/**
+ * Flight Recorder event of one keystroke in the grid: the write to the board,
+ * its validation and the restyling of the cells whose conflict state changed.
+ * <p>
+ * Disabled by default, and free when disabled; enable it in a recording with
+ * {@code +com.sudoku.Keystroke#enabled=true}, with a {@code threshold} to keep
+ * only the slow keystrokes.
+ * </p>
+ */
+@Name("com.sudoku.Keystroke")
+@Label("Keystroke Validation")
+@Category({"Sudoku", "Game"})
+@Description("A value typed or erased in the grid, validated and restyled")
+@Enabled(false)
+@Threshold("0 ms")
+@StackTrace(false)
+final class KeystrokeEvent extends jdk.jfr.Event {
+
+    /** Side length of the grid. */
+    @Label("Size")
+    int size;
+
+    /** Cell written. */
+    @Label("Cell")
+    int cell;
+
+    /** Value written, 0 when the cell was erased. */
+    @Label("Value")
+    int value;
+
+    /** Whether the value breaks no rule. */
+    @Label("Valid")
+    boolean valid;
+
+    /** Cells restyled because their conflict state changed. */
+    @Label("Changed Cells")
+    int changedCells;
+}
@@ -1,12 +1,19 @@
 package com.sudoku.controller;
 
+import com.sudoku.model.AutoSaver;
+import com.sudoku.model.BoardFactory;
+import com.sudoku.model.Geometry;
+import com.sudoku.model.Puzzle;
+import com.sudoku.model.PuzzlePool;
 import com.sudoku.view.GameWindow;
 import com.sudoku.view.SudokuMainMenu;
+import javafx.application.Platform;
 import javafx.event.ActionEvent;
 import javafx.fxml.FXML;
 import javafx.scene.control.Button;
 
 import java.io.IOException;
+import java.util.concurrent.CompletableFuture;
 
 /**
  * Controller class for the main menu of the Sudoku game.
@@ -46,18 +53,54 @@ public class SudokuMainMenuController {
      * Handles the "Play" button action.
      * <p>
      * This method closes the current main menu window and opens
-     * the game window to start a new Sudoku session.
+     * the game window to start a new Sudoku session. The puzzle is taken
+     * from the shared {@link PuzzlePool}, so the game opens without waiting
+     * on generation when the pool is warm, unless a seed asks for a given puzzle.
+     * Otherwise the puzzle is generated off the JavaFX application thread and
+     * the button shows that it is loading meanwhile.
      * </p>
      *
      * @param event the event triggered by clicking the "Play" button
      */
     @FXML
     void handlePlayButton(ActionEvent event) {
-        try {
-            System.out.println("Starting new game...");
+        System.out.println("Starting new game...");
+
+        Geometry geometry = BoardFactory.getConfiguredGeometry();
+        CompletableFuture<Puzzle> puzzle;
+        if (BoardFactory.getConfiguredSeed().isPresent()) {
+            puzzle = CompletableFuture.supplyAsync(() -> BoardFactory.generatePuzzle(geometry));
+        } else {
+            puzzle = PuzzlePool.getShared().take(geometry, BoardFactory.getConfiguredDifficulty());
+        }
+        if (puzzle.isDone()) {
+            startGame(puzzle.join());
+            return;
+        }
+        String label = playButton.getText();
+        playButton.setText("Generating...");
+        playButton.setDisable(true);
+        puzzle.whenCompleteAsync((ready, failure) -> {
+            playButton.setText(label);
+            playButton.setDisable(false);
+            if (failure != null) {
+                failure.printStackTrace();
+                System.err.println("Error while generating the puzzle.");
+            } else {
+                startGame(ready);
+            }
+        }, Platform::runLater);
+    }
 
+    /**
+     * Closes the main menu and opens the game window on a puzzle.
+     *
+     * @param puzzle the puzzle to play
+     */
+    private void startGame(Puzzle puzzle) {
+        try {
             SudokuMainMenu.closeInstance();
-            GameWindow.getInstance().show();
+            GameWindow.startGame(BoardFactory.createBoard(puzzle)).show();
 
         } catch (IOException e) {
             e.printStackTrace();
@@ -82,13 +125,15 @@ public class SudokuMainMenuController {
     /**
      * Handles the "Exit" button action.
      * <p>
-     * This method terminates the entire application immediately.
+     * This method waits for the last autosave to reach the disk, then
+     * terminates the entire application.
      * </p>
      *
      * @param event the event triggered by clicking the "Exit" button
      */
     @FXML
     void handleExitButton(ActionEvent event) {
+        AutoSaver.getShared().flush();
         System.exit(0);
     }
 }
@@ -0,0 +1,35 @@
+package com.sudoku.controller;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Enabled;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+import jdk.jfr.Threshold;
+
+/**
+ * Flight Recorder event of one victory check, run after every value typed
+ * until the board is complete and valid.
+ * <p>
+ * Disabled by default, and free when disabled; enable it in a recording with
+ * {@code +com.sudoku.VictoryCheck#enabled=true}.
+ * </p>
+ */
+@Name("com.sudoku.VictoryCheck")
+@Label("Victory Check")
+@Category({"Sudoku", "Game"})
+@Description("A check of whether the board is complete and valid")
+@Enabled(false)
+@Threshold("0 ms")
+@StackTrace(false)
+final class VictoryCheckEvent extends jdk.jfr.Event {
+
+    /** Side length of the grid. */
+    @Label("Size")
+    int size;
+
+    /** Whether the board was complete and valid, which wins the game. */
+    @Label("Won")
+    boolean won;
+}
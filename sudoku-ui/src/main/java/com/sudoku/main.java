@@ -0,0 +1,48 @@
+package com.sudoku;
+
+import com.sudoku.model.AutoSaver;
+import com.sudoku.model.Board;
+import com.sudoku.model.BoardFactory;
+import com.sudoku.model.EngineMetrics;
+import com.sudoku.model.PuzzlePool;
+import com.sudoku.model.SavedGame;
+import com.sudoku.view.GameWindow;
+import com.sudoku.view.SudokuMainMenu;
+
+import javafx.application.Application;
+import javafx.stage.Stage;
+
+public class main extends Application {
+
+    public static void main(String[] args) {
+        //Publish the engine statistics on JMX
+        EngineMetrics.registerMBeans();
+        launch(args);
+    }
+
+    @Override
+    public void start(Stage primaryStage) throws    Exception {
+
+
+        //System.out.println(board.validateInput(1.0f, 1.5f));
+
+        //Start filling the puzzle pool while the player is in the menu
+        PuzzlePool.getShared().register(BoardFactory.getConfiguredGeometry(), BoardFactory.getConfiguredDifficulty());
+
+        //Resume the saved game if there is one, otherwise the first window created is the main menu
+        SavedGame saved = AutoSaver.getShared().load();
+        if (saved != null) {
+            GameWindow.resumeGame(saved).show();
+        } else {
+            SudokuMainMenu.getInstance().show();
+        }
+
+
+    }
+
+    @Override
+    public void stop() {
+        //Write the last autosave before the JVM exits
+        AutoSaver.getShared().close();
+    }
+}
@@ -1,5 +1,9 @@
 package com.sudoku.view;
 
+import com.sudoku.controller.GameWindowController;
+import com.sudoku.model.BoardFactory;
+import com.sudoku.model.IBoard;
+import com.sudoku.model.SavedGame;
 import javafx.fxml.FXMLLoader;
 import javafx.scene.Parent;
 import javafx.scene.Scene;
@@ -11,7 +15,9 @@ import java.io.IOException;
  * <p>
  * This class extends {@link Stage} and is responsible for loading the game interface
  * defined in the {@code GameWindow.fxml} file. It uses the Singleton design pattern to ensure
- * that only one instance of the game window exists at any time.
+ * that only one instance of the game window exists at any time; {@link #startGame(IBoard)}
+ * replaces it with a window playing a new board, and {@link #resumeGame(SavedGame)} with
+ * a window resuming a saved game.
  * </p>
  */
 public class GameWindow extends Stage {
@@ -20,10 +26,12 @@ public class GameWindow extends Stage {
      * Private constructor that initializes and configures the game window.
      * Loads the FXML file, sets up the scene, defines window properties, and
      * removes the default window decorations for a custom UI.
+     * @param controller the controller of the game played in the window
      * @throws IOException if the FXML resource cannot be loaded
      */
-    private GameWindow() throws IOException {
+    private GameWindow(GameWindowController controller) throws IOException {
         FXMLLoader loader = new FXMLLoader(getClass().getResource("/com/sudoku/GameWindow.fxml"));
+        loader.setControllerFactory(type -> controller);
         Parent root = loader.load();
         Scene scene = new Scene(root);
         this.setScene(scene);
@@ -51,11 +59,48 @@ public class GameWindow extends Stage {
      */
     public static GameWindow getInstance() throws IOException {
         if (Holder.INSTANCE == null) {
-            Holder.INSTANCE = new GameWindow();
+            Holder.INSTANCE = new GameWindow(new GameWindowController(BoardFactory.createBoard()));
         }
         return Holder.INSTANCE;
     }
 
+    /**
+     * Replaces the current instance, if any, with a new window playing the given board.
+     *
+     * @param board the board to play
+     * @return the new {@link GameWindow} instance
+     * @throws IOException if the FXML file cannot be loaded
+     */
+    public static GameWindow startGame(IBoard board) throws IOException {
+        return replaceInstance(new GameWindowController(board));
+    }
+
+    /**
+     * Replaces the current instance, if any, with a new window resuming a saved game.
+     *
+     * @param game the saved game
+     * @return the new {@link GameWindow} instance
+     * @throws IOException if the FXML file cannot be loaded
+     */
+    public static GameWindow resumeGame(SavedGame game) throws IOException {
+        return replaceInstance(new GameWindowController(game));
+    }
+
+    /**
+     * Closes the current instance, if any, and replaces it with a window for the given controller.
+     *
+     * @param controller the controller of the new window
+     * @return the new {@link GameWindow} instance
+     * @throws IOException if the FXML file cannot be loaded
+     */
+    private static GameWindow replaceInstance(GameWindowController controller) throws IOException {
+        if (Holder.INSTANCE != null) {
+            Holder.INSTANCE.close();
+        }
+        Holder.INSTANCE = new GameWindow(controller);
+        return Holder.INSTANCE;
+    }
+
     /**
      * Displays the current instance of the {@link GameWindow}.
      * <p>
@@ -3,6 +3,8 @@ module com.sudoku {
     requires javafx.fxml;
     requires javafx.graphics;
     requires java.xml;
+    requires jdk.jfr;
+    requires com.sudoku.core;
 
 
     opens com.sudoku to javafx.fxml;